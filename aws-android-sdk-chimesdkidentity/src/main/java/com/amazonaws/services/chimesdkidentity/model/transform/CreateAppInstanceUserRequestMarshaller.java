@@ -15,11 +15,9 @@
 
 package com.amazonaws.services.chimesdkidentity.model.transform;
 
-import static com.amazonaws.util.StringUtils.UTF8;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 
 import android.text.TextUtils;
@@ -33,8 +31,8 @@ import com.amazonaws.transform.Marshaller;
 import com.amazonaws.util.BinaryUtils;
 import com.amazonaws.util.DateUtils;
 import com.amazonaws.util.StringUtils;
-import com.amazonaws.util.StringInputStream;
 import com.amazonaws.util.json.AwsJsonWriter;
+import com.amazonaws.util.json.JsonByteSink;
 import com.amazonaws.util.json.JsonUtils;
 
 import android.net.Uri;
@@ -61,8 +59,8 @@ public class CreateAppInstanceUserRequestMarshaller implements
         String encodedUriResourcePath = "/app-instance-users";
         request.setEncodedResourcePath(encodedUriResourcePath);
         try {
-            StringWriter stringWriter = new StringWriter();
-            AwsJsonWriter jsonWriter = JsonUtils.getJsonWriter(stringWriter);
+            JsonByteSink jsonSink = new JsonByteSink();
+            AwsJsonWriter jsonWriter = JsonUtils.getJsonWriter(jsonSink);
             jsonWriter.beginObject();
 
             if (createAppInstanceUserRequest.getAppInstanceArn() != null) {
@@ -104,10 +102,8 @@ public class CreateAppInstanceUserRequestMarshaller implements
 
             jsonWriter.endObject();
             jsonWriter.close();
-            String snippet = stringWriter.toString();
-            byte[] content = snippet.getBytes(UTF8);
-            request.setContent(new StringInputStream(snippet));
-            request.addHeader("Content-Length", Integer.toString(content.length));
+            request.setContent(jsonSink.toInputStream());
+            request.addHeader("Content-Length", Integer.toString(jsonSink.size()));
         } catch (Throwable t) {
             throw new AmazonClientException(
                     "Unable to marshall request to JSON: " + t.getMessage(), t);
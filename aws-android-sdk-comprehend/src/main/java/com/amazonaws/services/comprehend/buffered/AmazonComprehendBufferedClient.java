@@ -0,0 +1,591 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.comprehend.buffered;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.comprehend.AmazonComprehend;
+import com.amazonaws.services.comprehend.model.BatchDetectDominantLanguageItemResult;
+import com.amazonaws.services.comprehend.model.BatchDetectDominantLanguageRequest;
+import com.amazonaws.services.comprehend.model.BatchDetectDominantLanguageResult;
+import com.amazonaws.services.comprehend.model.BatchDetectEntitiesItemResult;
+import com.amazonaws.services.comprehend.model.BatchDetectEntitiesRequest;
+import com.amazonaws.services.comprehend.model.BatchDetectEntitiesResult;
+import com.amazonaws.services.comprehend.model.BatchDetectKeyPhrasesItemResult;
+import com.amazonaws.services.comprehend.model.BatchDetectKeyPhrasesRequest;
+import com.amazonaws.services.comprehend.model.BatchDetectKeyPhrasesResult;
+import com.amazonaws.services.comprehend.model.BatchDetectSentimentItemResult;
+import com.amazonaws.services.comprehend.model.BatchDetectSentimentRequest;
+import com.amazonaws.services.comprehend.model.BatchDetectSentimentResult;
+import com.amazonaws.services.comprehend.model.BatchDetectSyntaxItemResult;
+import com.amazonaws.services.comprehend.model.BatchDetectSyntaxRequest;
+import com.amazonaws.services.comprehend.model.BatchDetectSyntaxResult;
+import com.amazonaws.services.comprehend.model.BatchItemError;
+import com.amazonaws.services.comprehend.model.DetectDominantLanguageRequest;
+import com.amazonaws.services.comprehend.model.DetectDominantLanguageResult;
+import com.amazonaws.services.comprehend.model.DetectEntitiesRequest;
+import com.amazonaws.services.comprehend.model.DetectEntitiesResult;
+import com.amazonaws.services.comprehend.model.DetectKeyPhrasesRequest;
+import com.amazonaws.services.comprehend.model.DetectKeyPhrasesResult;
+import com.amazonaws.services.comprehend.model.DetectSentimentRequest;
+import com.amazonaws.services.comprehend.model.DetectSentimentResult;
+import com.amazonaws.services.comprehend.model.DetectSyntaxRequest;
+import com.amazonaws.services.comprehend.model.DetectSyntaxResult;
+import com.amazonaws.util.VersionInfoUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AmazonComprehendBufferedClient provides client-side batching of the single
+ * document detect calls. Rather than sending a call right away, it waits a
+ * short time (default=20ms) for other calls of the same operation and
+ * language, and sends them together with one BatchDetect call of up to 25
+ * documents. Each caller gets the result, or the error, of its own document.
+ * This reduces the number of calls, which keeps busy apps under the
+ * transactions per second limits, at the cost of a little latency per call.
+ * <br>
+ * Documents larger than the batch calls accept, entity detection with a
+ * custom endpoint, and requests with their own credentials, user agent,
+ * progress listener or metric collector are sent with single calls.
+ * <br>
+ * AmazonComprehendBufferedClient is thread-safe.<br>
+ */
+public class AmazonComprehendBufferedClient {
+
+    public static final String USER_AGENT = AmazonComprehendBufferedClient.class.getSimpleName()
+            + "/" + VersionInfoUtils.getVersion();
+
+    private final AmazonComprehend comprehend;
+    private final ScheduledThreadPoolExecutor executor;
+    private final DetectBuffer<DetectSentimentRequest, DetectSentimentResult,
+            BatchDetectSentimentResult> sentimentBuffer;
+    private final DetectBuffer<DetectEntitiesRequest, DetectEntitiesResult,
+            BatchDetectEntitiesResult> entitiesBuffer;
+    private final DetectBuffer<DetectKeyPhrasesRequest, DetectKeyPhrasesResult,
+            BatchDetectKeyPhrasesResult> keyPhrasesBuffer;
+    private final DetectBuffer<DetectSyntaxRequest, DetectSyntaxResult,
+            BatchDetectSyntaxResult> syntaxBuffer;
+    private final DetectBuffer<DetectDominantLanguageRequest, DetectDominantLanguageResult,
+            BatchDetectDominantLanguageResult> dominantLanguageBuffer;
+
+    /**
+     * @param comprehend the client that sends the calls
+     */
+    public AmazonComprehendBufferedClient(AmazonComprehend comprehend) {
+        this(comprehend, new DetectBufferConfig());
+    }
+
+    /**
+     * @param comprehend the client that sends the calls
+     * @param config the batching configuration
+     */
+    public AmazonComprehendBufferedClient(final AmazonComprehend comprehend,
+            DetectBufferConfig config) {
+        config.validate();
+        this.comprehend = comprehend;
+        this.executor = new ScheduledThreadPoolExecutor(config.getMaxInflightBatches(),
+                new DaemonThreadFactory());
+        executor.setKeepAliveTime(60, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        // shutdown sends the open batches, their timers don't need to fire
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        sentimentBuffer = new DetectBuffer<DetectSentimentRequest, DetectSentimentResult,
+                BatchDetectSentimentResult>(config, executor) {
+            @Override
+            String getText(DetectSentimentRequest request) {
+                return request.getText();
+            }
+
+            @Override
+            String getLanguageCode(DetectSentimentRequest request) {
+                return request.getLanguageCode();
+            }
+
+            @Override
+            DetectSentimentResult executeSingle(DetectSentimentRequest request) {
+                return comprehend.detectSentiment(appendUserAgent(request));
+            }
+
+            @Override
+            BatchDetectSentimentResult executeBatch(String languageCode, List<String> textList) {
+                return comprehend.batchDetectSentiment(appendUserAgent(
+                        new BatchDetectSentimentRequest().withTextList(textList)
+                                .withLanguageCode(languageCode)));
+            }
+
+            @Override
+            Map<Integer, DetectSentimentResult> getResults(BatchDetectSentimentResult result) {
+                final Map<Integer, DetectSentimentResult> results =
+                        new HashMap<Integer, DetectSentimentResult>();
+                if (result.getResultList() != null) {
+                    for (final BatchDetectSentimentItemResult item : result.getResultList()) {
+                        results.put(item.getIndex(), new DetectSentimentResult()
+                                .withSentiment(item.getSentiment())
+                                .withSentimentScore(item.getSentimentScore()));
+                    }
+                }
+                return results;
+            }
+
+            @Override
+            List<BatchItemError> getErrors(BatchDetectSentimentResult result) {
+                return result.getErrorList();
+            }
+        };
+
+        entitiesBuffer = new DetectBuffer<DetectEntitiesRequest, DetectEntitiesResult,
+                BatchDetectEntitiesResult>(config, executor) {
+            @Override
+            String getText(DetectEntitiesRequest request) {
+                return request.getText();
+            }
+
+            @Override
+            String getLanguageCode(DetectEntitiesRequest request) {
+                return request.getLanguageCode();
+            }
+
+            @Override
+            boolean canBatch(DetectEntitiesRequest request) {
+                // the batch call only supports the built-in model
+                return request.getEndpointArn() == null;
+            }
+
+            @Override
+            DetectEntitiesResult executeSingle(DetectEntitiesRequest request) {
+                return comprehend.detectEntities(appendUserAgent(request));
+            }
+
+            @Override
+            BatchDetectEntitiesResult executeBatch(String languageCode, List<String> textList) {
+                return comprehend.batchDetectEntities(appendUserAgent(
+                        new BatchDetectEntitiesRequest().withTextList(textList)
+                                .withLanguageCode(languageCode)));
+            }
+
+            @Override
+            Map<Integer, DetectEntitiesResult> getResults(BatchDetectEntitiesResult result) {
+                final Map<Integer, DetectEntitiesResult> results =
+                        new HashMap<Integer, DetectEntitiesResult>();
+                if (result.getResultList() != null) {
+                    for (final BatchDetectEntitiesItemResult item : result.getResultList()) {
+                        results.put(item.getIndex(), new DetectEntitiesResult()
+                                .withEntities(item.getEntities()));
+                    }
+                }
+                return results;
+            }
+
+            @Override
+            List<BatchItemError> getErrors(BatchDetectEntitiesResult result) {
+                return result.getErrorList();
+            }
+        };
+
+        keyPhrasesBuffer = new DetectBuffer<DetectKeyPhrasesRequest, DetectKeyPhrasesResult,
+                BatchDetectKeyPhrasesResult>(config, executor) {
+            @Override
+            String getText(DetectKeyPhrasesRequest request) {
+                return request.getText();
+            }
+
+            @Override
+            String getLanguageCode(DetectKeyPhrasesRequest request) {
+                return request.getLanguageCode();
+            }
+
+            @Override
+            DetectKeyPhrasesResult executeSingle(DetectKeyPhrasesRequest request) {
+                return comprehend.detectKeyPhrases(appendUserAgent(request));
+            }
+
+            @Override
+            BatchDetectKeyPhrasesResult executeBatch(String languageCode, List<String> textList) {
+                return comprehend.batchDetectKeyPhrases(appendUserAgent(
+                        new BatchDetectKeyPhrasesRequest().withTextList(textList)
+                                .withLanguageCode(languageCode)));
+            }
+
+            @Override
+            Map<Integer, DetectKeyPhrasesResult> getResults(BatchDetectKeyPhrasesResult result) {
+                final Map<Integer, DetectKeyPhrasesResult> results =
+                        new HashMap<Integer, DetectKeyPhrasesResult>();
+                if (result.getResultList() != null) {
+                    for (final BatchDetectKeyPhrasesItemResult item : result.getResultList()) {
+                        results.put(item.getIndex(), new DetectKeyPhrasesResult()
+                                .withKeyPhrases(item.getKeyPhrases()));
+                    }
+                }
+                return results;
+            }
+
+            @Override
+            List<BatchItemError> getErrors(BatchDetectKeyPhrasesResult result) {
+                return result.getErrorList();
+            }
+        };
+
+        syntaxBuffer = new DetectBuffer<DetectSyntaxRequest, DetectSyntaxResult,
+                BatchDetectSyntaxResult>(config, executor) {
+            @Override
+            String getText(DetectSyntaxRequest request) {
+                return request.getText();
+            }
+
+            @Override
+            String getLanguageCode(DetectSyntaxRequest request) {
+                return request.getLanguageCode();
+            }
+
+            @Override
+            DetectSyntaxResult executeSingle(DetectSyntaxRequest request) {
+                return comprehend.detectSyntax(appendUserAgent(request));
+            }
+
+            @Override
+            BatchDetectSyntaxResult executeBatch(String languageCode, List<String> textList) {
+                return comprehend.batchDetectSyntax(appendUserAgent(
+                        new BatchDetectSyntaxRequest().withTextList(textList)
+                                .withLanguageCode(languageCode)));
+            }
+
+            @Override
+            Map<Integer, DetectSyntaxResult> getResults(BatchDetectSyntaxResult result) {
+                final Map<Integer, DetectSyntaxResult> results =
+                        new HashMap<Integer, DetectSyntaxResult>();
+                if (result.getResultList() != null) {
+                    for (final BatchDetectSyntaxItemResult item : result.getResultList()) {
+                        results.put(item.getIndex(), new DetectSyntaxResult()
+                                .withSyntaxTokens(item.getSyntaxTokens()));
+                    }
+                }
+                return results;
+            }
+
+            @Override
+            List<BatchItemError> getErrors(BatchDetectSyntaxResult result) {
+                return result.getErrorList();
+            }
+        };
+
+        dominantLanguageBuffer = new DetectBuffer<DetectDominantLanguageRequest,
+                DetectDominantLanguageResult,
+                BatchDetectDominantLanguageResult>(config, executor) {
+            @Override
+            String getText(DetectDominantLanguageRequest request) {
+                return request.getText();
+            }
+
+            @Override
+            String getLanguageCode(DetectDominantLanguageRequest request) {
+                return null;
+            }
+
+            @Override
+            DetectDominantLanguageResult executeSingle(DetectDominantLanguageRequest request) {
+                return comprehend.detectDominantLanguage(appendUserAgent(request));
+            }
+
+            @Override
+            BatchDetectDominantLanguageResult executeBatch(String languageCode,
+                    List<String> textList) {
+                return comprehend.batchDetectDominantLanguage(appendUserAgent(
+                        new BatchDetectDominantLanguageRequest().withTextList(textList)));
+            }
+
+            @Override
+            Map<Integer, DetectDominantLanguageResult> getResults(
+                    BatchDetectDominantLanguageResult result) {
+                final Map<Integer, DetectDominantLanguageResult> results =
+                        new HashMap<Integer, DetectDominantLanguageResult>();
+                if (result.getResultList() != null) {
+                    for (final BatchDetectDominantLanguageItemResult item : result
+                            .getResultList()) {
+                        results.put(item.getIndex(), new DetectDominantLanguageResult()
+                                .withLanguages(item.getLanguages()));
+                    }
+                }
+                return results;
+            }
+
+            @Override
+            List<BatchItemError> getErrors(BatchDetectDominantLanguageResult result) {
+                return result.getErrorList();
+            }
+        };
+    }
+
+    /**
+     * Detects the sentiment of a document, batched with other documents of the
+     * same language.
+     *
+     * @param detectSentimentRequest the request
+     * @return the result
+     * @throws AmazonServiceException if the document or the batch was
+     *             rejected
+     * @throws AmazonClientException if the service couldn't be reached
+     */
+    public DetectSentimentResult detectSentiment(DetectSentimentRequest detectSentimentRequest) {
+        return await(detectSentimentAsync(detectSentimentRequest));
+    }
+
+    /**
+     * Queues a document to detect the sentiment in.
+     *
+     * @param detectSentimentRequest the request
+     * @return the future result
+     */
+    public Future<DetectSentimentResult> detectSentimentAsync(
+            DetectSentimentRequest detectSentimentRequest) {
+        return detectSentimentAsync(detectSentimentRequest, null);
+    }
+
+    /**
+     * Queues a document to detect the sentiment in.
+     *
+     * @param detectSentimentRequest the request
+     * @param asyncHandler notified of the result, may be null
+     * @return the future result
+     */
+    public Future<DetectSentimentResult> detectSentimentAsync(
+            DetectSentimentRequest detectSentimentRequest,
+            AsyncHandler<DetectSentimentRequest, DetectSentimentResult> asyncHandler) {
+        return sentimentBuffer.add(detectSentimentRequest, asyncHandler);
+    }
+
+    /**
+     * Detects the entities of a document, batched with other documents of the
+     * same language.
+     *
+     * @param detectEntitiesRequest the request
+     * @return the result
+     * @throws AmazonServiceException if the document or the batch was
+     *             rejected
+     * @throws AmazonClientException if the service couldn't be reached
+     */
+    public DetectEntitiesResult detectEntities(DetectEntitiesRequest detectEntitiesRequest) {
+        return await(detectEntitiesAsync(detectEntitiesRequest));
+    }
+
+    /**
+     * Queues a document to detect the entities in.
+     *
+     * @param detectEntitiesRequest the request
+     * @return the future result
+     */
+    public Future<DetectEntitiesResult> detectEntitiesAsync(
+            DetectEntitiesRequest detectEntitiesRequest) {
+        return detectEntitiesAsync(detectEntitiesRequest, null);
+    }
+
+    /**
+     * Queues a document to detect the entities in.
+     *
+     * @param detectEntitiesRequest the request
+     * @param asyncHandler notified of the result, may be null
+     * @return the future result
+     */
+    public Future<DetectEntitiesResult> detectEntitiesAsync(
+            DetectEntitiesRequest detectEntitiesRequest,
+            AsyncHandler<DetectEntitiesRequest, DetectEntitiesResult> asyncHandler) {
+        return entitiesBuffer.add(detectEntitiesRequest, asyncHandler);
+    }
+
+    /**
+     * Detects the key phrases of a document, batched with other documents of the
+     * same language.
+     *
+     * @param detectKeyPhrasesRequest the request
+     * @return the result
+     * @throws AmazonServiceException if the document or the batch was
+     *             rejected
+     * @throws AmazonClientException if the service couldn't be reached
+     */
+    public DetectKeyPhrasesResult detectKeyPhrases(
+            DetectKeyPhrasesRequest detectKeyPhrasesRequest) {
+        return await(detectKeyPhrasesAsync(detectKeyPhrasesRequest));
+    }
+
+    /**
+     * Queues a document to detect the key phrases in.
+     *
+     * @param detectKeyPhrasesRequest the request
+     * @return the future result
+     */
+    public Future<DetectKeyPhrasesResult> detectKeyPhrasesAsync(
+            DetectKeyPhrasesRequest detectKeyPhrasesRequest) {
+        return detectKeyPhrasesAsync(detectKeyPhrasesRequest, null);
+    }
+
+    /**
+     * Queues a document to detect the key phrases in.
+     *
+     * @param detectKeyPhrasesRequest the request
+     * @param asyncHandler notified of the result, may be null
+     * @return the future result
+     */
+    public Future<DetectKeyPhrasesResult> detectKeyPhrasesAsync(
+            DetectKeyPhrasesRequest detectKeyPhrasesRequest,
+            AsyncHandler<DetectKeyPhrasesRequest, DetectKeyPhrasesResult> asyncHandler) {
+        return keyPhrasesBuffer.add(detectKeyPhrasesRequest, asyncHandler);
+    }
+
+    /**
+     * Detects the syntax of a document, batched with other documents of the
+     * same language.
+     *
+     * @param detectSyntaxRequest the request
+     * @return the result
+     * @throws AmazonServiceException if the document or the batch was
+     *             rejected
+     * @throws AmazonClientException if the service couldn't be reached
+     */
+    public DetectSyntaxResult detectSyntax(DetectSyntaxRequest detectSyntaxRequest) {
+        return await(detectSyntaxAsync(detectSyntaxRequest));
+    }
+
+    /**
+     * Queues a document to detect the syntax in.
+     *
+     * @param detectSyntaxRequest the request
+     * @return the future result
+     */
+    public Future<DetectSyntaxResult> detectSyntaxAsync(DetectSyntaxRequest detectSyntaxRequest) {
+        return detectSyntaxAsync(detectSyntaxRequest, null);
+    }
+
+    /**
+     * Queues a document to detect the syntax in.
+     *
+     * @param detectSyntaxRequest the request
+     * @param asyncHandler notified of the result, may be null
+     * @return the future result
+     */
+    public Future<DetectSyntaxResult> detectSyntaxAsync(DetectSyntaxRequest detectSyntaxRequest,
+            AsyncHandler<DetectSyntaxRequest, DetectSyntaxResult> asyncHandler) {
+        return syntaxBuffer.add(detectSyntaxRequest, asyncHandler);
+    }
+
+    /**
+     * Detects the dominant language of a document, batched with other documents.
+     *
+     * @param detectDominantLanguageRequest the request
+     * @return the result
+     * @throws AmazonServiceException if the document or the batch was
+     *             rejected
+     * @throws AmazonClientException if the service couldn't be reached
+     */
+    public DetectDominantLanguageResult detectDominantLanguage(
+            DetectDominantLanguageRequest detectDominantLanguageRequest) {
+        return await(detectDominantLanguageAsync(detectDominantLanguageRequest));
+    }
+
+    /**
+     * Queues a document to detect the dominant language in.
+     *
+     * @param detectDominantLanguageRequest the request
+     * @return the future result
+     */
+    public Future<DetectDominantLanguageResult> detectDominantLanguageAsync(
+            DetectDominantLanguageRequest detectDominantLanguageRequest) {
+        return detectDominantLanguageAsync(detectDominantLanguageRequest, null);
+    }
+
+    /**
+     * Queues a document to detect the dominant language in.
+     *
+     * @param detectDominantLanguageRequest the request
+     * @param asyncHandler notified of the result, may be null
+     * @return the future result
+     */
+    public Future<DetectDominantLanguageResult> detectDominantLanguageAsync(
+            DetectDominantLanguageRequest detectDominantLanguageRequest,
+            AsyncHandler<DetectDominantLanguageRequest, DetectDominantLanguageResult> asyncHandler) {
+        return dominantLanguageBuffer.add(detectDominantLanguageRequest, asyncHandler);
+    }
+
+    /**
+     * Sends the batches that are still open without waiting for more
+     * documents.
+     */
+    public void flush() {
+        sentimentBuffer.flush();
+        entitiesBuffer.flush();
+        keyPhrasesBuffer.flush();
+        syntaxBuffer.flush();
+        dominantLanguageBuffer.flush();
+    }
+
+    /**
+     * Sends the open batches, waits for the calls in flight and shuts down
+     * the wrapped client.
+     */
+    public void shutdown() {
+        flush();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        comprehend.shutdown();
+    }
+
+    private static <X extends AmazonWebServiceRequest> X appendUserAgent(X request) {
+        request.getRequestClientOptions().appendUserAgent(USER_AGENT);
+        return request;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException("Interrupted while waiting for the result", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof AmazonClientException) {
+                throw (AmazonClientException) cause;
+            }
+            throw new AmazonClientException("Failed to detect", cause);
+        }
+    }
+
+    /**
+     * Creates daemon threads, which don't keep the process alive.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r, "comprehend-buffered-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
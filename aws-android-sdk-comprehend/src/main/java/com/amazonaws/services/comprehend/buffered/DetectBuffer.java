@@ -0,0 +1,281 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.comprehend.buffered;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.RequestClientOptions;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.http.AsyncResponseFuture;
+import com.amazonaws.services.comprehend.model.BatchItemError;
+import com.amazonaws.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the single calls of one detect operation into batches, one open
+ * batch per language. A batch is sent when it is full or when it has been
+ * open for the configured time. Documents that can't be batched are sent
+ * with a single call, and so are requests with their own credentials, user
+ * agent, progress listener or metric collector, since a batch can't carry
+ * them.
+ *
+ * @param <R> the single request type
+ * @param <T> the single result type
+ * @param <B> the batch result type
+ */
+abstract class DetectBuffer<R extends AmazonWebServiceRequest, T, B> {
+
+    private static final String SERVICE_NAME = "AmazonComprehend";
+    private static final String INTERNAL_SERVER_ERROR = "InternalServerException";
+
+    private final DetectBufferConfig config;
+    private final ScheduledExecutorService executor;
+    private final Map<String, Batch> openBatches = new HashMap<String, Batch>();
+
+    DetectBuffer(DetectBufferConfig config, ScheduledExecutorService executor) {
+        this.config = config;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the text of the document
+     */
+    abstract String getText(R request);
+
+    /**
+     * @return the language of the document, or null if the operation has none
+     */
+    abstract String getLanguageCode(R request);
+
+    /**
+     * @return false if the request has options the batch call doesn't support
+     */
+    boolean canBatch(R request) {
+        return true;
+    }
+
+    /**
+     * @return true if the request has options that only apply to its own
+     *         call
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean hasRequestOptions(AmazonWebServiceRequest request) {
+        final String userAgent = request.getRequestClientOptions()
+                .getClientMarker(RequestClientOptions.Marker.USER_AGENT);
+        return request.getRequestCredentials() != null
+                || request.getRequestMetricCollector() != null
+                || request.getGeneralProgressListener() != null
+                // the buffered client's own marker is left on requests sent singly
+                || userAgent != null
+                && !userAgent.trim().equals(AmazonComprehendBufferedClient.USER_AGENT);
+    }
+
+    abstract T executeSingle(R request);
+
+    abstract B executeBatch(String languageCode, List<String> textList);
+
+    /**
+     * @return the results of a batch by document index
+     */
+    abstract Map<Integer, T> getResults(B result);
+
+    abstract List<BatchItemError> getErrors(B result);
+
+    /**
+     * Adds a document to the open batch of its language.
+     */
+    Future<T> add(final R request, AsyncHandler<R, T> handler) {
+        final Document document = new Document(request, handler);
+        final String text = getText(request);
+        final int bytes = text == null ? 0 : text.getBytes(StringUtils.UTF8).length;
+        if (text == null || bytes > DetectBufferConfig.SERVICE_MAX_DOCUMENT_BYTES
+                || !canBatch(request) || hasRequestOptions(request)) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        document.succeed(executeSingle(request));
+                    } catch (final Exception e) {
+                        document.fail(e);
+                    }
+                }
+            });
+            return document.future;
+        }
+
+        final String languageCode = getLanguageCode(request);
+        final String key = languageCode == null ? "" : languageCode;
+        synchronized (this) {
+            Batch batch = openBatches.get(key);
+            if (batch != null && batch.bytes + bytes > config.getMaxBatchSizeBytes()) {
+                send(batch);
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(key, languageCode);
+                openBatches.put(key, batch);
+                schedule(batch);
+            }
+            batch.texts.add(text);
+            batch.documents.add(document);
+            batch.bytes += bytes;
+            if (batch.texts.size() >= config.getMaxBatchSize()) {
+                send(batch);
+            }
+        }
+        return document.future;
+    }
+
+    /**
+     * Sends all open batches.
+     */
+    synchronized void flush() {
+        for (final Batch batch : new ArrayList<Batch>(openBatches.values())) {
+            send(batch);
+        }
+    }
+
+    private void schedule(final Batch batch) {
+        final Runnable timeout = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (DetectBuffer.this) {
+                    send(batch);
+                }
+            }
+        };
+        if (config.getMaxBatchOpenMs() == 0) {
+            executor.execute(timeout);
+        } else {
+            executor.schedule(timeout, config.getMaxBatchOpenMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Closes a batch and sends it. Must be called holding the lock.
+     */
+    private void send(final Batch batch) {
+        if (batch.sent) {
+            return;
+        }
+        batch.sent = true;
+        if (openBatches.get(batch.key) == batch) {
+            openBatches.remove(batch.key);
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                execute(batch);
+            }
+        });
+    }
+
+    private void execute(Batch batch) {
+        final B result;
+        try {
+            result = executeBatch(batch.languageCode, batch.texts);
+        } catch (final Exception e) {
+            for (final Document document : batch.documents) {
+                document.fail(e);
+            }
+            return;
+        }
+        final Map<Integer, T> results = getResults(result);
+        final Map<Integer, BatchItemError> errors = new HashMap<Integer, BatchItemError>();
+        final List<BatchItemError> errorList = getErrors(result);
+        if (errorList != null) {
+            for (final BatchItemError error : errorList) {
+                errors.put(error.getIndex(), error);
+            }
+        }
+        for (int i = 0; i < batch.documents.size(); i++) {
+            final Document document = batch.documents.get(i);
+            final T item = results.get(i);
+            final BatchItemError error = errors.get(i);
+            if (item != null) {
+                document.succeed(item);
+            } else if (error != null) {
+                document.fail(toException(error));
+            } else {
+                document.fail(new AmazonClientException(
+                        "The batch response has no result for the document"));
+            }
+        }
+    }
+
+    private static AmazonServiceException toException(BatchItemError error) {
+        final AmazonServiceException e = new AmazonServiceException(error.getErrorMessage());
+        e.setErrorCode(error.getErrorCode());
+        e.setServiceName(SERVICE_NAME);
+        e.setErrorType(INTERNAL_SERVER_ERROR.equals(error.getErrorCode())
+                ? AmazonServiceException.ErrorType.Service
+                : AmazonServiceException.ErrorType.Client);
+        return e;
+    }
+
+    /**
+     * A queued document and the caller waiting for its result. Cancelling
+     * the future only stops the result from being delivered; the document
+     * may already be in a batch.
+     */
+    private final class Document {
+        final R request;
+        final AsyncHandler<R, T> handler;
+        final AsyncResponseFuture<T> future = new AsyncResponseFuture<T>();
+
+        Document(R request, AsyncHandler<R, T> handler) {
+            this.request = request;
+            this.handler = handler;
+        }
+
+        void succeed(T result) {
+            if (future.setResult(result) && handler != null) {
+                handler.onSuccess(request, result);
+            }
+        }
+
+        void fail(Exception e) {
+            if (future.setFailure(e) && handler != null) {
+                handler.onError(e);
+            }
+        }
+    }
+
+    /**
+     * The documents of one batch, in order.
+     */
+    private final class Batch {
+        final String key;
+        final String languageCode;
+        final List<String> texts = new ArrayList<String>();
+        final List<Document> documents = new ArrayList<Document>();
+        long bytes;
+        boolean sent;
+
+        Batch(String key, String languageCode) {
+            this.key = key;
+            this.languageCode = languageCode;
+        }
+    }
+}
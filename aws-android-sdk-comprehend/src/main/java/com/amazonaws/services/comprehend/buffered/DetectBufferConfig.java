@@ -0,0 +1,166 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.comprehend.buffered;
+
+import com.amazonaws.AmazonClientException;
+
+/**
+ * Configuration of an {@link AmazonComprehendBufferedClient}.
+ */
+public class DetectBufferConfig {
+
+    /** Maximum number of documents of a BatchDetect call. */
+    public static final int SERVICE_MAX_BATCH_SIZE = 25;
+
+    /**
+     * Maximum UTF-8 size of a document of a BatchDetect call. Larger
+     * documents are sent with a single detect call.
+     */
+    public static final int SERVICE_MAX_DOCUMENT_BYTES = 5000;
+
+    /** How long a batch waits for more documents by default. */
+    public static final long MAX_BATCH_OPEN_MS_DEFAULT = 20;
+
+    /** Number of batches sent concurrently by default. */
+    public static final int MAX_INFLIGHT_BATCHES_DEFAULT = 4;
+
+    private long maxBatchOpenMs;
+    private int maxBatchSize;
+    private long maxBatchSizeBytes;
+    private int maxInflightBatches;
+
+    /**
+     * Creates a configuration with the default values.
+     */
+    public DetectBufferConfig() {
+        this.maxBatchOpenMs = MAX_BATCH_OPEN_MS_DEFAULT;
+        this.maxBatchSize = SERVICE_MAX_BATCH_SIZE;
+        this.maxBatchSizeBytes = (long) SERVICE_MAX_BATCH_SIZE * SERVICE_MAX_DOCUMENT_BYTES;
+        this.maxInflightBatches = MAX_INFLIGHT_BATCHES_DEFAULT;
+    }
+
+    /**
+     * @return how long in milliseconds a batch waits for more documents
+     *         before it is sent
+     */
+    public long getMaxBatchOpenMs() {
+        return maxBatchOpenMs;
+    }
+
+    /**
+     * @param maxBatchOpenMs how long in milliseconds a batch waits for more
+     *            documents before it is sent. 0 sends documents as soon as
+     *            possible, batching only the ones that arrive while all
+     *            batches are in flight.
+     */
+    public void setMaxBatchOpenMs(long maxBatchOpenMs) {
+        this.maxBatchOpenMs = maxBatchOpenMs;
+    }
+
+    public DetectBufferConfig withMaxBatchOpenMs(long maxBatchOpenMs) {
+        setMaxBatchOpenMs(maxBatchOpenMs);
+        return this;
+    }
+
+    /**
+     * @return the maximum number of documents of a batch
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @param maxBatchSize the maximum number of documents of a batch, at most
+     *            {@link #SERVICE_MAX_BATCH_SIZE}
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public DetectBufferConfig withMaxBatchSize(int maxBatchSize) {
+        setMaxBatchSize(maxBatchSize);
+        return this;
+    }
+
+    /**
+     * @return the maximum UTF-8 size of the documents of a batch
+     */
+    public long getMaxBatchSizeBytes() {
+        return maxBatchSizeBytes;
+    }
+
+    /**
+     * @param maxBatchSizeBytes the maximum UTF-8 size of the documents of a
+     *            batch
+     */
+    public void setMaxBatchSizeBytes(long maxBatchSizeBytes) {
+        this.maxBatchSizeBytes = maxBatchSizeBytes;
+    }
+
+    public DetectBufferConfig withMaxBatchSizeBytes(long maxBatchSizeBytes) {
+        setMaxBatchSizeBytes(maxBatchSizeBytes);
+        return this;
+    }
+
+    /**
+     * @return the maximum number of calls in flight
+     */
+    public int getMaxInflightBatches() {
+        return maxInflightBatches;
+    }
+
+    /**
+     * @param maxInflightBatches the maximum number of calls in flight, which
+     *            is the number of threads of the client
+     */
+    public void setMaxInflightBatches(int maxInflightBatches) {
+        this.maxInflightBatches = maxInflightBatches;
+    }
+
+    public DetectBufferConfig withMaxInflightBatches(int maxInflightBatches) {
+        setMaxInflightBatches(maxInflightBatches);
+        return this;
+    }
+
+    /**
+     * Checks the configuration.
+     *
+     * @throws AmazonClientException if a value is out of range
+     */
+    void validate() {
+        if (maxBatchOpenMs < 0) {
+            throw new AmazonClientException("maxBatchOpenMs must not be negative");
+        }
+        if (maxBatchSize < 1 || maxBatchSize > SERVICE_MAX_BATCH_SIZE) {
+            throw new AmazonClientException("maxBatchSize must be between 1 and "
+                    + SERVICE_MAX_BATCH_SIZE);
+        }
+        if (maxBatchSizeBytes < SERVICE_MAX_DOCUMENT_BYTES) {
+            throw new AmazonClientException("maxBatchSizeBytes must be at least "
+                    + SERVICE_MAX_DOCUMENT_BYTES);
+        }
+        if (maxInflightBatches < 1) {
+            throw new AmazonClientException("maxInflightBatches must be positive");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DetectBufferConfig [maxBatchOpenMs=" + maxBatchOpenMs + ", maxBatchSize="
+                + maxBatchSize + ", maxBatchSizeBytes=" + maxBatchSizeBytes
+                + ", maxInflightBatches=" + maxInflightBatches + "]";
+    }
+}
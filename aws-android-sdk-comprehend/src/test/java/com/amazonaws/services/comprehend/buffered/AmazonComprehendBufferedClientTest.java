@@ -0,0 +1,259 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.comprehend.buffered;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.metrics.RequestMetricCollector;
+import com.amazonaws.services.comprehend.AmazonComprehend;
+import com.amazonaws.services.comprehend.model.BatchDetectSentimentItemResult;
+import com.amazonaws.services.comprehend.model.BatchDetectSentimentRequest;
+import com.amazonaws.services.comprehend.model.BatchDetectSentimentResult;
+import com.amazonaws.services.comprehend.model.BatchItemError;
+import com.amazonaws.services.comprehend.model.DetectSentimentRequest;
+import com.amazonaws.services.comprehend.model.DetectSentimentResult;
+import com.amazonaws.services.comprehend.model.SentimentType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class AmazonComprehendBufferedClientTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private AmazonComprehend comprehend;
+    private AmazonComprehendBufferedClient client;
+
+    @Before
+    public void setup() {
+        comprehend = mock(AmazonComprehend.class);
+        // every document is positive
+        when(comprehend.batchDetectSentiment(any(BatchDetectSentimentRequest.class))).thenAnswer(
+                new Answer<BatchDetectSentimentResult>() {
+                    @Override
+                    public BatchDetectSentimentResult answer(InvocationOnMock invocation) {
+                        final BatchDetectSentimentRequest request =
+                                (BatchDetectSentimentRequest) invocation.getArguments()[0];
+                        final List<BatchDetectSentimentItemResult> items =
+                                new ArrayList<BatchDetectSentimentItemResult>();
+                        for (int i = 0; i < request.getTextList().size(); i++) {
+                            items.add(new BatchDetectSentimentItemResult().withIndex(i)
+                                    .withSentiment(SentimentType.POSITIVE));
+                        }
+                        return new BatchDetectSentimentResult().withResultList(items);
+                    }
+                });
+        when(comprehend.detectSentiment(any(DetectSentimentRequest.class)))
+                .thenReturn(new DetectSentimentResult().withSentiment(SentimentType.NEUTRAL));
+    }
+
+    @After
+    public void teardown() {
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testFullBatchIsSentRightAway() throws Exception {
+        client = new AmazonComprehendBufferedClient(comprehend, new DetectBufferConfig()
+                .withMaxBatchSize(3).withMaxBatchOpenMs(60 * 1000));
+
+        final List<Future<DetectSentimentResult>> futures = detect("a", "b", "c");
+        for (final Future<DetectSentimentResult> future : futures) {
+            assertEquals("POSITIVE", future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getSentiment());
+        }
+        final ArgumentCaptor<BatchDetectSentimentRequest> batch =
+                ArgumentCaptor.forClass(BatchDetectSentimentRequest.class);
+        verify(comprehend).batchDetectSentiment(batch.capture());
+        assertEquals(Arrays.asList("a", "b", "c"), batch.getValue().getTextList());
+        assertEquals("en", batch.getValue().getLanguageCode());
+    }
+
+    @Test
+    public void testOpenBatchIsSentWhenTimerFires() throws Exception {
+        client = new AmazonComprehendBufferedClient(comprehend, new DetectBufferConfig()
+                .withMaxBatchOpenMs(50));
+
+        final List<Future<DetectSentimentResult>> futures = detect("a", "b");
+        for (final Future<DetectSentimentResult> future : futures) {
+            assertEquals("POSITIVE", future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getSentiment());
+        }
+        final ArgumentCaptor<BatchDetectSentimentRequest> batch =
+                ArgumentCaptor.forClass(BatchDetectSentimentRequest.class);
+        verify(comprehend).batchDetectSentiment(batch.capture());
+        assertEquals(Arrays.asList("a", "b"), batch.getValue().getTextList());
+    }
+
+    @Test
+    public void testItemErrorsFailTheirOwnDocument() throws Exception {
+        doReturn(new BatchDetectSentimentResult()
+                .withResultList(
+                        new BatchDetectSentimentItemResult().withIndex(0)
+                                .withSentiment(SentimentType.POSITIVE),
+                        new BatchDetectSentimentItemResult().withIndex(2)
+                                .withSentiment(SentimentType.NEGATIVE))
+                .withErrorList(new BatchItemError().withIndex(1)
+                        .withErrorCode("TextSizeLimitExceededException")
+                        .withErrorMessage("too long")))
+                .when(comprehend).batchDetectSentiment(any(BatchDetectSentimentRequest.class));
+        client = new AmazonComprehendBufferedClient(comprehend, new DetectBufferConfig()
+                .withMaxBatchOpenMs(60 * 1000));
+
+        final List<Future<DetectSentimentResult>> futures = detect("a", "b", "c", "d");
+        client.flush();
+
+        assertEquals("POSITIVE", futures.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .getSentiment());
+        final AmazonServiceException error = (AmazonServiceException) failure(futures.get(1));
+        assertEquals("TextSizeLimitExceededException", error.getErrorCode());
+        assertEquals(AmazonServiceException.ErrorType.Client, error.getErrorType());
+        assertEquals("NEGATIVE", futures.get(2).get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .getSentiment());
+        // neither a result nor an error
+        assertTrue(failure(futures.get(3)) instanceof AmazonClientException);
+    }
+
+    @Test
+    public void testBatchFailureFailsEveryDocument() throws Exception {
+        final AmazonServiceException throttled = new AmazonServiceException("Rate exceeded");
+        doThrow(throttled).when(comprehend)
+                .batchDetectSentiment(any(BatchDetectSentimentRequest.class));
+        client = new AmazonComprehendBufferedClient(comprehend);
+        final RecordingHandler handler = new RecordingHandler();
+
+        final Future<DetectSentimentResult> first = client.detectSentimentAsync(request("a"),
+                handler);
+        final Future<DetectSentimentResult> second = client.detectSentimentAsync(request("b"),
+                handler);
+
+        assertSame(throttled, failure(first));
+        assertSame(throttled, failure(second));
+        assertEquals(Arrays.<Exception> asList(throttled, throttled), handler.errors);
+        try {
+            client.detectSentiment(request("c"));
+            fail("Expected the batch failure");
+        } catch (final AmazonServiceException e) {
+            assertSame(throttled, e);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testRequestsWithOwnOptionsAreSentSingly() throws Exception {
+        client = new AmazonComprehendBufferedClient(comprehend, new DetectBufferConfig()
+                .withMaxBatchOpenMs(60 * 1000));
+        final DetectSentimentRequest withCredentials = request("a");
+        withCredentials.setRequestCredentials(new BasicAWSCredentials("access", "secret"));
+        final DetectSentimentRequest withUserAgent = request("b");
+        withUserAgent.getRequestClientOptions().appendUserAgent("MyApp/1.0");
+        final DetectSentimentRequest withMetrics = request("c");
+        withMetrics.setRequestMetricCollector(RequestMetricCollector.NONE);
+
+        for (final DetectSentimentRequest request : Arrays.asList(withCredentials,
+                withUserAgent, withMetrics)) {
+            assertEquals("NEUTRAL", client.detectSentiment(request).getSentiment());
+        }
+        verify(comprehend, times(3)).detectSentiment(any(DetectSentimentRequest.class));
+        verify(comprehend, never()).batchDetectSentiment(any(BatchDetectSentimentRequest.class));
+
+        // a plain request sent singly before can still be batched
+        final DetectSentimentRequest large = request(new String(new char[5001]).replace('\0', 'x'));
+        client.detectSentiment(large);
+        final Future<DetectSentimentResult> batched = client.detectSentimentAsync(large
+                .withText("short"));
+        client.flush();
+        assertEquals("POSITIVE", batched.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getSentiment());
+    }
+
+    @Test
+    public void testShutdownSendsOpenBatches() throws Exception {
+        client = new AmazonComprehendBufferedClient(comprehend, new DetectBufferConfig()
+                .withMaxBatchOpenMs(60 * 1000));
+        final List<Future<DetectSentimentResult>> futures = detect("a", "b");
+
+        client.shutdown();
+        client = null;
+        for (final Future<DetectSentimentResult> future : futures) {
+            assertTrue(future.isDone());
+            assertEquals("POSITIVE", future.get().getSentiment());
+        }
+        verify(comprehend).shutdown();
+    }
+
+    private List<Future<DetectSentimentResult>> detect(String... texts) {
+        final List<Future<DetectSentimentResult>> futures =
+                new ArrayList<Future<DetectSentimentResult>>();
+        for (final String text : texts) {
+            futures.add(client.detectSentimentAsync(request(text)));
+        }
+        return futures;
+    }
+
+    private static DetectSentimentRequest request(String text) {
+        return new DetectSentimentRequest().withText(text).withLanguageCode("en");
+    }
+
+    private static Throwable failure(Future<?> future) throws Exception {
+        try {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final ExecutionException e) {
+            return e.getCause();
+        }
+        fail("Expected the document to fail");
+        return null;
+    }
+
+    private static final class RecordingHandler
+            implements AsyncHandler<DetectSentimentRequest, DetectSentimentResult> {
+        final List<Exception> errors = new ArrayList<Exception>();
+
+        @Override
+        public synchronized void onError(Exception exception) {
+            errors.add(exception);
+        }
+
+        @Override
+        public void onSuccess(DetectSentimentRequest request, DetectSentimentResult result) {
+        }
+    }
+}
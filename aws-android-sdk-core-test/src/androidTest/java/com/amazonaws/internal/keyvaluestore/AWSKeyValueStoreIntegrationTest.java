@@ -22,8 +22,10 @@ import org.junit.Test;
 import static com.amazonaws.internal.keyvaluestore.AWSKeyValueStore.SHARED_PREFERENCES_IV_SUFFIX;
 import static com.amazonaws.internal.keyvaluestore.AWSKeyValueStore.SHARED_PREFERENCES_STORE_VERSION_SUFFIX;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import android.content.Context;
@@ -416,6 +418,67 @@ public class AWSKeyValueStoreIntegrationTest extends CoreIntegrationTestBase {
         }
     }
 
+    @Test
+    public void testGetAll() {
+        awsKeyValueStore.put("access-key", "a-dummy-access-key");
+        awsKeyValueStore.put("secret-key", "a-dummy-secret-key");
+
+        // Read from SharedPreferences rather than the in-memory cache.
+        AWSKeyValueStore.cacheFactory.clear();
+        awsKeyValueStore = new AWSKeyValueStore(ApplicationProvider.getApplicationContext(),
+                DEFAULT_SHARED_PREFERENCES_NAME,
+                true);
+
+        final Map<String, String> values =
+                awsKeyValueStore.getAll("access-key", "secret-key", "session-token");
+        assertEquals(3, values.size());
+        assertEquals("a-dummy-access-key", values.get("access-key"));
+        assertEquals("a-dummy-secret-key", values.get("secret-key"));
+        assertNull(values.get("session-token"));
+        assertEquals("a-dummy-secret-key", awsKeyValueStore.get("secret-key"));
+    }
+
+    @Test
+    public void testMissingValuesAreCached() {
+        assertNull(awsKeyValueStore.getAll("session-token").get("session-token"));
+        assertNull(awsKeyValueStore.get("expiration"));
+        assertFalse(awsKeyValueStore.contains("session-token"));
+        assertFalse(awsKeyValueStore.contains("expiration"));
+
+        awsKeyValueStore.put("session-token", "a-dummy-session-token");
+        assertTrue(awsKeyValueStore.contains("session-token"));
+        assertEquals("a-dummy-session-token", awsKeyValueStore.get("session-token"));
+    }
+
+    @Test
+    public void benchmarkGetAllVersusGet() {
+        final String[] keys = new String[6];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key-" + i;
+            awsKeyValueStore.put(keys[i], "value-" + i);
+        }
+
+        AWSKeyValueStore.cacheFactory.clear();
+        awsKeyValueStore = new AWSKeyValueStore(ApplicationProvider.getApplicationContext(),
+                DEFAULT_SHARED_PREFERENCES_NAME,
+                true);
+        long begin = System.nanoTime();
+        for (final String key : keys) {
+            assertNotNull(awsKeyValueStore.get(key));
+        }
+        long end = System.nanoTime();
+        Log.d(TAG, "Sequential get time: " + String.valueOf(end - begin) + " ns.");
+
+        AWSKeyValueStore.cacheFactory.clear();
+        awsKeyValueStore = new AWSKeyValueStore(ApplicationProvider.getApplicationContext(),
+                DEFAULT_SHARED_PREFERENCES_NAME,
+                true);
+        begin = System.nanoTime();
+        assertEquals(keys.length, awsKeyValueStore.getAll(keys).size());
+        end = System.nanoTime();
+        Log.d(TAG, "Batch getAll time: " + String.valueOf(end - begin) + " ns.");
+    }
+
     @Test
     public void benchmarkKeyStoreOperations() {
         long begin = System.nanoTime();
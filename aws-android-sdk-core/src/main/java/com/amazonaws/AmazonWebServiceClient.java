@@ -17,19 +17,25 @@ package com.amazonaws;
 
 import static com.amazonaws.SDKGlobalConfiguration.PROFILING_SYSTEM_PROPERTY;
 
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.RegionAwareSigner;
 import com.amazonaws.auth.Signer;
 import com.amazonaws.auth.SignerFactory;
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.handlers.RequestHandler;
 import com.amazonaws.handlers.RequestHandler2;
 import com.amazonaws.http.AmazonHttpClient;
+import com.amazonaws.http.AsyncResponseFuture;
 import com.amazonaws.http.ExecutionContext;
 import com.amazonaws.http.HttpClient;
+import com.amazonaws.http.HttpResponseHandler;
 import com.amazonaws.http.UrlHttpClient;
 import com.amazonaws.metrics.AwsSdkMetrics;
 import com.amazonaws.metrics.RequestMetricCollector;
 import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
+import com.amazonaws.transform.Marshaller;
 import com.amazonaws.util.AWSRequestMetrics;
 import com.amazonaws.util.AWSRequestMetrics.Field;
 import com.amazonaws.util.AwsHostNameUtils;
@@ -43,6 +49,8 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Abstract base class for Amazon Web Service Java clients.
@@ -89,6 +97,10 @@ public abstract class AmazonWebServiceClient {
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected AmazonHttpClient client;
 
+    /** Resources shared with other clients; null if there are none. */
+    private volatile ClientResources clientResources;
+    private volatile boolean sharesHttpClient;
+
     /** Optional request handlers for additional request processing. */
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected final List<RequestHandler2> requestHandler2s;
@@ -118,7 +130,7 @@ public abstract class AmazonWebServiceClient {
      */
     protected AmazonWebServiceClient(
             final ClientConfiguration clientConfiguration) {
-        this(clientConfiguration, new UrlHttpClient(clientConfiguration));
+        this(clientConfiguration, defaultHttpClient(clientConfiguration));
     }
 
     /**
@@ -133,7 +145,7 @@ public abstract class AmazonWebServiceClient {
     protected AmazonWebServiceClient(
             final ClientConfiguration clientConfiguration,
             final RequestMetricCollector requestMetricCollector) {
-        this(clientConfiguration, new UrlHttpClient(clientConfiguration), null);
+        this(clientConfiguration, defaultHttpClient(clientConfiguration), null);
     }
 
     /**
@@ -147,8 +159,15 @@ public abstract class AmazonWebServiceClient {
             final ClientConfiguration clientConfiguration,
             final HttpClient httpClient) {
         this.clientConfiguration = clientConfiguration;
-        client = new AmazonHttpClient(clientConfiguration, httpClient);
+        final ClientResources resources = clientConfiguration.getClientResources();
+        if (resources != null && resources.getRequestMetricCollector() != null) {
+            client = new AmazonHttpClient(clientConfiguration, httpClient,
+                    resources.getRequestMetricCollector());
+        } else {
+            client = new AmazonHttpClient(clientConfiguration, httpClient);
+        }
         requestHandler2s = new CopyOnWriteArrayList<RequestHandler2>();
+        register(resources, httpClient);
     }
 
     /**
@@ -171,6 +190,21 @@ public abstract class AmazonWebServiceClient {
                 httpClient,
                 requestMetricCollector);
         requestHandler2s = new CopyOnWriteArrayList<RequestHandler2>();
+        register(clientConfiguration.getClientResources(), httpClient);
+    }
+
+    private static HttpClient defaultHttpClient(final ClientConfiguration clientConfiguration) {
+        final ClientResources resources = clientConfiguration.getClientResources();
+        return resources != null ? resources.getHttpClient()
+                : new UrlHttpClient(clientConfiguration);
+    }
+
+    private void register(final ClientResources resources, final HttpClient httpClient) {
+        if (resources != null) {
+            resources.register(this);
+            clientResources = resources;
+            sharesHttpClient = httpClient == resources.getHttpClient();
+        }
     }
 
     /**
@@ -500,10 +534,33 @@ public abstract class AmazonWebServiceClient {
         RequestMetricCollector requestMetricCollector = null;
         if (existingClient != null) {
             requestMetricCollector = existingClient.getRequestMetricCollector();
-            existingClient.shutdown();
+            if (!sharesHttpClient) {
+                existingClient.shutdown();
+            }
         }
         this.clientConfiguration = clientConfiguration;
         this.client = new AmazonHttpClient(clientConfiguration, requestMetricCollector);
+        sharesHttpClient = false;
+    }
+
+    /**
+     * Opens a connection to the endpoint of this client in the background.
+     * Call it early, e.g. at application start, so that the first request
+     * doesn't pay for the DNS lookup, the TCP connection and the TLS handshake
+     * before it can be sent. Set the endpoint or the region first.
+     *
+     * @return a future that completes once the connection is ready, or fails
+     *         if the endpoint can't be reached
+     */
+    public Future<?> prewarmConnection() {
+        final URI current;
+        synchronized (this) {
+            current = endpoint;
+        }
+        if (current == null) {
+            throw new IllegalStateException("The endpoint of the client is not set");
+        }
+        return client.prewarm(current);
     }
 
     /**
@@ -514,7 +571,14 @@ public abstract class AmazonWebServiceClient {
      * requests.
      */
     public void shutdown() {
-        client.shutdown();
+        final ClientResources resources = clientResources;
+        if (resources != null) {
+            resources.unregister(this);
+        }
+        // A shared HTTP client is shut down with the resources.
+        if (!sharesHttpClient) {
+            client.shutdown();
+        }
     }
 
     /**
@@ -744,6 +808,119 @@ public abstract class AmazonWebServiceClient {
         }
     }
 
+    /**
+     * Executes a request on the asynchronous path of the http client and
+     * returns a future of its result. The request is marshalled and the
+     * credentials are resolved on the executor, so the caller never blocks;
+     * back-off delays between retries don't hold a thread of the executor.
+     * Cancelling the future stops further attempts. As with the other async
+     * clients, the async handler is called before the future completes, so
+     * what it sets is visible once {@code get()} returns.
+     *
+     * @param originalRequest the request to execute
+     * @param marshaller the marshaller of the request
+     * @param responseHandler the handler of a successful response
+     * @param errorResponseHandler the handler of an error response
+     * @param credentialsProvider the provider of the credentials used when
+     *            the request doesn't carry its own
+     * @param asyncHandler callback invoked when the request completes; or null
+     *            if there is none.
+     * @param executor the executor that runs the request
+     * @param <X> the result type
+     * @param <Y> the request type
+     * @return a future of the result of the request
+     */
+    protected final <X, Y extends AmazonWebServiceRequest> Future<X> invokeAsync(
+            final Y originalRequest,
+            final Marshaller<Request<Y>, Y> marshaller,
+            final HttpResponseHandler<AmazonWebServiceResponse<X>> responseHandler,
+            final HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+            final AWSCredentialsProvider credentialsProvider,
+            final AsyncHandler<Y, X> asyncHandler,
+            final ExecutorService executor) {
+        final AsyncResponseFuture<X> future = new AsyncResponseFuture<X>();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (future.isDone()) {
+                    return;
+                }
+                final ExecutionContext executionContext = createExecutionContext(originalRequest);
+                final AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
+                awsRequestMetrics.startEvent(Field.ClientExecuteTime);
+                Request<Y> request = null;
+                try {
+                    awsRequestMetrics.startEvent(Field.RequestMarshallTime);
+                    try {
+                        request = marshaller.marshall(originalRequest);
+                        // Binds the request metrics to the current request.
+                        request.setAWSRequestMetrics(awsRequestMetrics);
+                    } finally {
+                        awsRequestMetrics.endEvent(Field.RequestMarshallTime);
+                    }
+                    request.setEndpoint(endpoint);
+                    request.setTimeOffset(timeOffset);
+
+                    AWSCredentials credentials;
+                    awsRequestMetrics.startEvent(Field.CredentialsRequestTime);
+                    try {
+                        credentials = credentialsProvider.getCredentials();
+                    } finally {
+                        awsRequestMetrics.endEvent(Field.CredentialsRequestTime);
+                    }
+                    if (originalRequest.getRequestCredentials() != null) {
+                        credentials = originalRequest.getRequestCredentials();
+                    }
+                    executionContext.setCredentials(credentials);
+
+                    final Request<Y> sent = request;
+                    final Future<Response<X>> attempts = client.executeAsync(request, responseHandler, errorResponseHandler,
+                            executionContext,
+                            new AsyncHandler<AmazonWebServiceRequest, Response<X>>() {
+                                @Override
+                                public void onSuccess(AmazonWebServiceRequest req,
+                                        Response<X> response) {
+                                    endClientExecution(awsRequestMetrics, sent, response,
+                                            LOGGING_AWS_REQUEST_METRIC);
+                                    final X result = response.getAwsResponse();
+                                    if (asyncHandler != null && !future.isDone()) {
+                                        try {
+                                            asyncHandler.onSuccess(originalRequest, result);
+                                        } catch (final RuntimeException e) {
+                                            future.setFailure(e);
+                                            return;
+                                        }
+                                    }
+                                    future.setResult(result);
+                                }
+
+                                @Override
+                                public void onError(Exception exception) {
+                                    endClientExecution(awsRequestMetrics, sent, null,
+                                            LOGGING_AWS_REQUEST_METRIC);
+                                    fail(exception);
+                                }
+                            }, executor);
+                    future.cancelWith(attempts);
+                } catch (final Exception e) {
+                    endClientExecution(awsRequestMetrics, request, null,
+                            LOGGING_AWS_REQUEST_METRIC);
+                    fail(e instanceof AmazonClientException ? e
+                            : new AmazonClientException(
+                                    "Unable to marshall request: " + e.getMessage(), e));
+                }
+            }
+
+            private void fail(Exception e) {
+                if (asyncHandler != null && !future.isDone()) {
+                    asyncHandler.onError(e);
+                }
+                future.setFailure(e);
+            }
+        });
+        return future;
+    }
+
     /**
      * @deprecated by {@link #getServiceName()}.
      */
@@ -16,6 +16,7 @@
 package com.amazonaws;
 
 import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.retry.RetryMode;
 import com.amazonaws.retry.RetryPolicy;
 import com.amazonaws.util.VersionInfoUtils;
 
@@ -76,6 +77,9 @@ public class ClientConfiguration {
     /** The retry policy upon failed requests. **/
     private RetryPolicy retryPolicy = DEFAULT_RETRY_POLICY;
 
+    /** How retries and the sending rate are limited across requests. **/
+    private RetryMode retryMode = RetryMode.LEGACY;
+
     /** Optionally specifies the local address to bind to */
     private InetAddress localAddress;
 
@@ -173,6 +177,11 @@ public class ClientConfiguration {
      */
     private boolean enableGzip = false;
 
+    /**
+     * Optional resources shared with other clients.
+     */
+    private ClientResources clientResources;
+
     /**
      * Constructor.
      */
@@ -188,6 +197,7 @@ public class ClientConfiguration {
         this.maxConnections = other.maxConnections;
         this.maxErrorRetry = other.maxErrorRetry;
         this.retryPolicy = other.retryPolicy;
+        this.retryMode = other.retryMode;
         this.localAddress = other.localAddress;
         this.protocol = other.protocol;
         this.proxyDomain = other.proxyDomain;
@@ -206,6 +216,7 @@ public class ClientConfiguration {
         this.trustManager = other.trustManager;
         this.curlLogging = other.curlLogging;
         this.enableGzip = other.enableGzip;
+        this.clientResources = other.clientResources;
     }
 
     /**
@@ -643,6 +654,48 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns how retries and the sending rate are limited across the
+     * requests of a client.
+     *
+     * @return The retry mode.
+     */
+    public RetryMode getRetryMode() {
+        return retryMode;
+    }
+
+    /**
+     * Sets how retries and the sending rate are limited across the requests
+     * of a client. In {@link RetryMode#STANDARD} mode, retries also take
+     * tokens from a quota shared by all the requests of the client. In
+     * {@link RetryMode#ADAPTIVE} mode, the client also slows down its
+     * sending rate when the service throttles it. The default is
+     * {@link RetryMode#LEGACY}, where each request is only limited by the
+     * {@link RetryPolicy}.
+     *
+     * @param retryMode The retry mode.
+     */
+    public void setRetryMode(RetryMode retryMode) {
+        if (retryMode == null) {
+            throw new IllegalArgumentException("retryMode can't be null");
+        }
+        this.retryMode = retryMode;
+    }
+
+    /**
+     * Sets how retries and the sending rate are limited across the requests
+     * of a client, and returns the updated ClientConfiguration object.
+     *
+     * @param retryMode The retry mode.
+     * @return The updated ClientConfiguration object.
+     * @see #setRetryMode(RetryMode)
+     */
+    @SuppressWarnings("checkstyle:hiddenfield")
+    public ClientConfiguration withRetryMode(RetryMode retryMode) {
+        setRetryMode(retryMode);
+        return this;
+    }
+
     /**
      * Returns the maximum number of retry attempts for failed retryable
      * requests (ex: 5xx error responses from a service). This method returns -1
@@ -1120,4 +1173,41 @@ public class ClientConfiguration {
         setEnableGzip(enableGzip);
         return this;
     }
+
+    /**
+     * Returns the resources the clients built with this configuration share
+     * with other clients, or null if each client has its own.
+     *
+     * @return the shared resources, or null.
+     */
+    public ClientResources getClientResources() {
+        return clientResources;
+    }
+
+    /**
+     * Sets the resources the clients built with this configuration share
+     * with other clients: their HTTP client, executor and request metric
+     * collector. The clients register with the resources and are shut down
+     * with them. When it isn't set, each client has its own HTTP client.
+     *
+     * @param clientResources the shared resources, or null.
+     */
+    @SuppressWarnings("checkstyle:hiddenfield")
+    public void setClientResources(ClientResources clientResources) {
+        this.clientResources = clientResources;
+    }
+
+    /**
+     * Sets the resources the clients built with this configuration share
+     * with other clients, and returns the updated ClientConfiguration object.
+     *
+     * @param clientResources the shared resources, or null.
+     * @return The updated ClientConfiguration object.
+     * @see #setClientResources(ClientResources)
+     */
+    @SuppressWarnings("checkstyle:hiddenfield")
+    public ClientConfiguration withClientResources(ClientResources clientResources) {
+        setClientResources(clientResources);
+        return this;
+    }
 }
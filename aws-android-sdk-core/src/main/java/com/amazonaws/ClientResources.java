@@ -0,0 +1,209 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws;
+
+import com.amazonaws.http.HttpClient;
+import com.amazonaws.http.SharedExecutors;
+import com.amazonaws.http.UrlHttpClient;
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.metrics.RequestMetricCollector;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Resources shared by the clients of a process: the HTTP client, and with it
+ * the connection pool, the executor for asynchronous work and the request
+ * metric collector. Clients built with a {@link ClientConfiguration} that
+ * carries a ClientResources use them instead of creating their own, and
+ * register themselves so that they can be shut down together.
+ * <p>
+ * The registry is bounded to catch clients leaked by creating a new one per
+ * request; clients that are garbage collected leave it on their own. AWS4
+ * signing keys are cached for the whole process whether or not clients share
+ * resources.
+ */
+public class ClientResources {
+
+    private static final Log LOGGER = LogFactory.getLog(ClientResources.class);
+
+    /** Default maximum number of clients registered at once. */
+    public static final int DEFAULT_MAX_CLIENTS = 64;
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final RequestMetricCollector requestMetricCollector;
+    private final int maxClients;
+    private final List<WeakReference<AmazonWebServiceClient>> clients =
+            new ArrayList<WeakReference<AmazonWebServiceClient>>();
+    private boolean shutdown;
+
+    /**
+     * Creates resources with an HTTP client built from the given
+     * configuration, the shared I/O executor of {@link SharedExecutors}, and
+     * no request metric collector.
+     *
+     * @param configuration the configuration of the shared HTTP client, whose
+     *            timeouts and trust manager apply to all clients
+     */
+    public ClientResources(ClientConfiguration configuration) {
+        this(new UrlHttpClient(configuration), SharedExecutors.getIoExecutor(), null,
+                DEFAULT_MAX_CLIENTS);
+    }
+
+    /**
+     * Creates resources from the given parts.
+     *
+     * @param httpClient the HTTP client of all clients
+     * @param executor the executor for asynchronous work
+     * @param requestMetricCollector the request metric collector of all
+     *            clients; can be null.
+     * @param maxClients the maximum number of clients registered at once
+     */
+    public ClientResources(HttpClient httpClient, ExecutorService executor,
+            RequestMetricCollector requestMetricCollector, int maxClients) {
+        if (httpClient == null || executor == null) {
+            throw new IllegalArgumentException("HTTP client and executor can't be null");
+        }
+        if (maxClients <= 0) {
+            throw new IllegalArgumentException("maxClients must be positive");
+        }
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.requestMetricCollector = requestMetricCollector;
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * @return the HTTP client shared by the clients
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Returns the executor for asynchronous work. Pass it to the constructors
+     * of the asynchronous clients and connectors that take an
+     * {@link ExecutorService} so that they share threads.
+     *
+     * @return the shared executor
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return the request metric collector of the clients, or null
+     */
+    public RequestMetricCollector getRequestMetricCollector() {
+        return requestMetricCollector;
+    }
+
+    /**
+     * @return the number of live clients registered
+     */
+    public synchronized int getClientCount() {
+        purge();
+        return clients.size();
+    }
+
+    /**
+     * Registers a client so that it is shut down with the resources.
+     *
+     * @param client the client
+     * @throws AmazonClientException if the resources are shut down or too
+     *             many clients are registered
+     */
+    synchronized void register(AmazonWebServiceClient client) {
+        if (shutdown) {
+            throw new AmazonClientException("Client resources are shut down");
+        }
+        purge();
+        if (clients.size() >= maxClients) {
+            throw new AmazonClientException("Too many clients share these resources ("
+                    + maxClients + "). Reuse clients instead of creating one per request.");
+        }
+        clients.add(new WeakReference<AmazonWebServiceClient>(client));
+    }
+
+    /**
+     * Removes a client from the registry.
+     *
+     * @param client the client
+     */
+    synchronized void unregister(AmazonWebServiceClient client) {
+        final Iterator<WeakReference<AmazonWebServiceClient>> it = clients.iterator();
+        while (it.hasNext()) {
+            final AmazonWebServiceClient registered = it.next().get();
+            if (registered == null || registered == client) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Shuts down all registered clients, then the HTTP client and the
+     * executor. The shared I/O executor of {@link SharedExecutors} ignores
+     * the shutdown.
+     */
+    public void shutdown() {
+        final List<AmazonWebServiceClient> live = new ArrayList<AmazonWebServiceClient>();
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            for (final WeakReference<AmazonWebServiceClient> ref : clients) {
+                final AmazonWebServiceClient client = ref.get();
+                if (client != null) {
+                    live.add(client);
+                }
+            }
+        }
+        for (final AmazonWebServiceClient client : live) {
+            try {
+                client.shutdown();
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Failed to shut down a client", e);
+            }
+        }
+        synchronized (this) {
+            clients.clear();
+        }
+        httpClient.shutdown();
+        executor.shutdown();
+    }
+
+    /**
+     * @return true if the resources are shut down
+     */
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    private void purge() {
+        final Iterator<WeakReference<AmazonWebServiceClient>> it = clients.iterator();
+        while (it.hasNext()) {
+            if (it.next().get() == null) {
+                it.remove();
+            }
+        }
+    }
+}
@@ -301,13 +301,18 @@ public class AWS4Signer extends AbstractAWSSigner
                 getCanonicalRequest(request, contentSha256));
 
         // AWS4 uses a series of derived keys, formed by hashing different
-        // pieces of data
-        final byte[] kSecret = ("AWS4" + sanitizedCredentials.getAWSSecretKey())
-                .getBytes(StringUtils.UTF8);
-        final byte[] kDate = sign(dateStamp, kSecret, SigningAlgorithm.HmacSHA256);
-        final byte[] kRegion = sign(regionName, kDate, SigningAlgorithm.HmacSHA256);
-        final byte[] kService = sign(serviceName, kRegion, SigningAlgorithm.HmacSHA256);
-        final byte[] kSigning = sign(TERMINATOR, kService, SigningAlgorithm.HmacSHA256);
+        // pieces of data. The last one only changes once a day.
+        final String secretKey = sanitizedCredentials.getAWSSecretKey();
+        final SigningKeyCache signingKeys = SigningKeyCache.getShared();
+        byte[] kSigning = signingKeys.get(secretKey, dateStamp, regionName, serviceName);
+        if (kSigning == null) {
+            final byte[] kSecret = ("AWS4" + secretKey).getBytes(StringUtils.UTF8);
+            final byte[] kDate = sign(dateStamp, kSecret, SigningAlgorithm.HmacSHA256);
+            final byte[] kRegion = sign(regionName, kDate, SigningAlgorithm.HmacSHA256);
+            final byte[] kService = sign(serviceName, kRegion, SigningAlgorithm.HmacSHA256);
+            kSigning = sign(TERMINATOR, kService, SigningAlgorithm.HmacSHA256);
+            signingKeys.put(secretKey, dateStamp, regionName, serviceName, kSigning);
+        }
 
         final byte[] signature = sign(stringToSign.getBytes(StringUtils.UTF8), kSigning,
                 SigningAlgorithm.HmacSHA256);
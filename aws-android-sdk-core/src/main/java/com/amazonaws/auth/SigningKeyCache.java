@@ -0,0 +1,106 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.auth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the AWS4 signing keys derived for the day, so that a key is derived
+ * once per day, region and service instead of once per request. The cache is
+ * shared by all signers of the process and holds at most a fixed number of
+ * keys, dropping the least recently used.
+ */
+final class SigningKeyCache {
+
+    /** Maximum number of keys kept by the shared cache. */
+    static final int DEFAULT_MAX_KEYS = 300;
+
+    private static final SigningKeyCache SHARED = new SigningKeyCache(DEFAULT_MAX_KEYS);
+
+    private final Map<String, Entry> keys;
+
+    private static final class Entry {
+        final String dateStamp;
+        final byte[] key;
+
+        Entry(String dateStamp, byte[] key) {
+            this.dateStamp = dateStamp;
+            this.key = key;
+        }
+    }
+
+    SigningKeyCache(final int maxKeys) {
+        this.keys = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * @return the cache shared by all signers
+     */
+    static SigningKeyCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the signing key derived for the given day, or null if it isn't
+     * cached. The returned array must not be modified.
+     *
+     * @param secretKey the secret key of the credentials
+     * @param dateStamp the day, as yyyyMMdd
+     * @param regionName the region of the request
+     * @param serviceName the service of the request
+     * @return the cached key, or null
+     */
+    synchronized byte[] get(String secretKey, String dateStamp, String regionName,
+            String serviceName) {
+        final Entry entry = keys.get(key(secretKey, regionName, serviceName));
+        return entry != null && entry.dateStamp.equals(dateStamp) ? entry.key : null;
+    }
+
+    /**
+     * Caches the signing key derived for the given day. It replaces the key of
+     * a previous day.
+     *
+     * @param secretKey the secret key of the credentials
+     * @param dateStamp the day, as yyyyMMdd
+     * @param regionName the region of the request
+     * @param serviceName the service of the request
+     * @param signingKey the derived key
+     */
+    synchronized void put(String secretKey, String dateStamp, String regionName,
+            String serviceName, byte[] signingKey) {
+        keys.put(key(secretKey, regionName, serviceName), new Entry(dateStamp, signingKey));
+    }
+
+    synchronized int size() {
+        return keys.size();
+    }
+
+    synchronized void clear() {
+        keys.clear();
+    }
+
+    private static String key(String secretKey, String regionName, String serviceName) {
+        return secretKey + "/" + regionName + "/" + serviceName;
+    }
+}
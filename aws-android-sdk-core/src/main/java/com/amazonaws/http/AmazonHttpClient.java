@@ -29,12 +29,16 @@ import com.amazonaws.ResponseMetadata;
 import com.amazonaws.SDKGlobalConfiguration;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.Signer;
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.handlers.CredentialsRequestHandler;
 import com.amazonaws.handlers.RequestHandler2;
 import com.amazonaws.internal.CRC32MismatchException;
 import com.amazonaws.metrics.AwsSdkMetrics;
 import com.amazonaws.metrics.RequestMetricCollector;
+import com.amazonaws.retry.AdaptiveRateLimiter;
+import com.amazonaws.retry.RetryMode;
 import com.amazonaws.retry.RetryPolicy;
+import com.amazonaws.retry.RetryQuota;
 import com.amazonaws.retry.RetryUtils;
 import com.amazonaws.util.AWSRequestMetrics;
 import com.amazonaws.util.AWSRequestMetrics.Field;
@@ -56,6 +60,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The Amazon HTTP Client class.
@@ -71,6 +80,7 @@ public class AmazonHttpClient {
     private static final int HTTP_STATUS_MULTIPLE_CHOICES = 300;
     private static final int HTTP_STATUS_REQ_TOO_LONG = 413;
     private static final int HTTP_STATUS_SERVICE_UNAVAILABLE = 503;
+    private static final int PREWARM_BUFFER_SIZE = 1024;
 
     private static final long TIME_MILLISEC = 1000L;
 
@@ -104,6 +114,18 @@ public class AmazonHttpClient {
 
     private final HttpRequestFactory requestFactory = new HttpRequestFactory();
 
+    /**
+     * Retry tokens shared by the requests of this client; or null in
+     * {@link RetryMode#LEGACY} mode.
+     */
+    private final RetryQuota retryQuota;
+
+    /**
+     * Client-side sending rate limiter; or null unless in
+     * {@link RetryMode#ADAPTIVE} mode.
+     */
+    private final AdaptiveRateLimiter rateLimiter;
+
     /**
      * Constructs a new AWS client using the specified client configuration
      * options (ex: max retry attempts, proxy settings, etc).
@@ -145,6 +167,9 @@ public class AmazonHttpClient {
         this.config = config;
         this.httpClient = httpClient;
         this.requestMetricCollector = null;
+        final RetryMode retryMode = config.getRetryMode();
+        this.retryQuota = retryMode == RetryMode.LEGACY ? null : new RetryQuota();
+        this.rateLimiter = retryMode == RetryMode.ADAPTIVE ? new AdaptiveRateLimiter() : null;
     }
 
     /**
@@ -165,6 +190,9 @@ public class AmazonHttpClient {
         this.config = config;
         this.httpClient = httpClient;
         this.requestMetricCollector = requestMetricCollector;
+        final RetryMode retryMode = config.getRetryMode();
+        this.retryQuota = retryMode == RetryMode.LEGACY ? null : new RetryQuota();
+        this.rateLimiter = retryMode == RetryMode.ADAPTIVE ? new AdaptiveRateLimiter() : null;
     }
 
     /**
@@ -204,20 +232,7 @@ public class AmazonHttpClient {
             HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
             HttpResponseHandler<AmazonServiceException> errorResponseHandler,
             ExecutionContext executionContext) {
-        // Prepend host prefix if specified in the request.
-        if (request.getHostPrefix() != null) {
-            try {
-                URI endpoint = request.getEndpoint();
-                String host = request.getHostPrefix() + endpoint.getHost();
-                request.setEndpoint(URIBuilder.builder(endpoint)
-                        .host(host)
-                        .build());
-            } catch (URISyntaxException error) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Failed to prepend host prefix: " + error.getMessage(), error);
-                }
-            }
-        }
+        prependHostPrefix(request);
         if (executionContext == null) {
             throw new AmazonClientException(
                     "Internal SDK Error: No execution context parameter specified.");
@@ -237,6 +252,84 @@ public class AmazonHttpClient {
         }
     }
 
+    /**
+     * Executes the request asynchronously on the shared I/O executor of
+     * {@link SharedExecutors}. Back-off delays between retries are timed by a
+     * scheduler instead of a sleeping thread, so a request waiting to be
+     * retried doesn't hold an I/O thread.
+     *
+     * @param request The AmazonWebServices request to send to the remote server
+     * @param responseHandler A response handler to accept a successful response
+     *            from the remote server
+     * @param errorResponseHandler A response handler to accept an unsuccessful
+     *            response from the remote server
+     * @param executionContext Additional information about the context of this
+     *            web service call
+     * @param <T> the response type.
+     * @return a future of the result of the request.
+     */
+    public <T> Future<Response<T>> executeAsync(Request<?> request,
+            HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+            HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+            ExecutionContext executionContext) {
+        return executeAsync(request, responseHandler, errorResponseHandler, executionContext,
+                null, SharedExecutors.getIoExecutor());
+    }
+
+    /**
+     * Executes the request asynchronously on the given executor. Back-off
+     * delays between retries are timed by a scheduler instead of a sleeping
+     * thread.
+     *
+     * @param request The AmazonWebServices request to send to the remote server
+     * @param responseHandler A response handler to accept a successful response
+     *            from the remote server
+     * @param errorResponseHandler A response handler to accept an unsuccessful
+     *            response from the remote server
+     * @param executionContext Additional information about the context of this
+     *            web service call
+     * @param asyncHandler callback invoked on the executor when the request
+     *            completes; or null if there is none.
+     * @param executor the executor that runs the attempts of the request
+     * @param <T> the response type.
+     * @return a future of the result of the request.
+     */
+    public <T> Future<Response<T>> executeAsync(final Request<?> request,
+            final HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+            final HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+            final ExecutionContext executionContext,
+            final AsyncHandler<AmazonWebServiceRequest, Response<T>> asyncHandler,
+            final ExecutorService executor) {
+        prependHostPrefix(request);
+        if (executionContext == null) {
+            throw new AmazonClientException(
+                    "Internal SDK Error: No execution context parameter specified.");
+        }
+        final List<RequestHandler2> requestHandler2s = requestHandler2s(request, executionContext);
+        final AsyncExecution<T> execution = new AsyncExecution<T>(
+                newExecutionState(request, executionContext), responseHandler,
+                errorResponseHandler, requestHandler2s, asyncHandler, executor);
+        execution.submit();
+        return execution.future;
+    }
+
+    private void prependHostPrefix(Request<?> request) {
+        // Prepend host prefix if specified in the request.
+        if (request.getHostPrefix() != null) {
+            try {
+                URI endpoint = request.getEndpoint();
+                String host = request.getHostPrefix() + endpoint.getHost();
+                request.setEndpoint(URIBuilder.builder(endpoint)
+                        .host(host)
+                        .build());
+            } catch (URISyntaxException error) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Failed to prepend host prefix: " + error.getMessage(), error);
+                }
+            }
+        }
+    }
+
     void afterError(Request<?> request, Response<?> response,
             List<RequestHandler2> requestHandler2s, AmazonClientException e) {
         for (final RequestHandler2 handler2 : requestHandler2s) {
@@ -280,19 +373,73 @@ public class AmazonHttpClient {
      * @see AmazonHttpClient#execute(Request, HttpResponseHandler,
      *      HttpResponseHandler, ExecutionContext)
      */
-    @SuppressWarnings("checkstyle:methodlength")
     <T> Response<T> executeHelper(Request<?> request,
             HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
             HttpResponseHandler<AmazonServiceException> errorResponseHandler,
             ExecutionContext executionContext) {
-        /*
-         * Depending on which response handler we end up choosing to handle the
-         * HTTP response, it might require us to leave the underlying HTTP
-         * connection open, depending on whether or not it reads the complete
-         * HTTP response stream from the HTTP connection, or if delays reading
-         * any of the content until after a response is returned to the caller.
-         */
-        boolean leaveHttpConnectionOpen = false;
+        final ExecutionState state = newExecutionState(request, executionContext);
+        while (true) {
+            final Response<T> response = executeOnce(state, responseHandler,
+                    errorResponseHandler);
+            if (response != null) {
+                return response;
+            }
+            final AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
+            awsRequestMetrics.startEvent(Field.RetryPauseTime);
+            try {
+                state.lastBackoffDelay = pauseBeforeNextRetry(request.getOriginalRequest(),
+                        state.retriedException,
+                        state.requestCount + 1,
+                        config.getRetryPolicy());
+            } catch (final RuntimeException e) {
+                throw handleUnexpectedFailure(e, awsRequestMetrics);
+            } finally {
+                awsRequestMetrics.endEvent(Field.RetryPauseTime);
+            }
+        } /* end while (true) */
+    }
+
+    /**
+     * The state of a request carried from one attempt to the next.
+     */
+    static final class ExecutionState {
+        final Request<?> request;
+        final ExecutionContext executionContext;
+        final Map<String, String> originalParameters;
+        final Map<String, String> originalHeaders;
+        final InputStream originalContent;
+        final AWSCredentials credentials;
+        int requestCount;
+        long lastBackoffDelay;
+        URI redirectedURI;
+        AmazonClientException retriedException;
+        Signer signer;
+        HttpRequest httpRequest;
+        int retryCapacity;
+        /** Whether the async path already took the send token of the next attempt. */
+        boolean sendTokenAcquired;
+
+        ExecutionState(Request<?> request, ExecutionContext executionContext) {
+            this.request = request;
+            this.executionContext = executionContext;
+            // Make a copy of the original request params and headers so that we can
+            // permute it in this loop and start over with the original every time.
+            this.originalParameters = new LinkedHashMap<String, String>(
+                    request.getParameters());
+            this.originalHeaders = new HashMap<String, String>(request.getHeaders());
+            // mark input stream if supported
+            this.originalContent = request.getContent();
+            if (originalContent != null && originalContent.markSupported()) {
+                originalContent.mark(-1);
+            }
+            this.credentials = executionContext.getCredentials();
+        }
+    }
+
+    /**
+     * Prepares a request for its first attempt.
+     */
+    ExecutionState newExecutionState(Request<?> request, ExecutionContext executionContext) {
         final AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
         /*
          * add the service endpoint to the logs. You can infer service name from
@@ -305,189 +452,333 @@ public class AmazonHttpClient {
         // user-agent.
         setUserAgent(request);
         request.addHeader(HEADER_SDK_TRANSACTION_ID, UUID.randomUUID().toString());
-        int requestCount = 0;
-        long lastBackoffDelay = 0;
-        URI redirectedURI = null;
-        AmazonClientException retriedException = null;
-
-        // Make a copy of the original request params and headers so that we can
-        // permute it in this loop and start over with the original every time.
-        final Map<String, String> originalParameters = new LinkedHashMap<String, String>(
-                request.getParameters());
-        final Map<String, String> originalHeaders = new HashMap<String, String>(request.getHeaders());
-        // mark input stream if supported
-        final InputStream originalContent = request.getContent();
-        if (originalContent != null && originalContent.markSupported()) {
-            originalContent.mark(-1);
-        }
-
-        final AWSCredentials credentials = executionContext.getCredentials();
-        Signer signer = null;
-        HttpResponse httpResponse = null;
-        HttpRequest httpRequest = null;
-
-        while (true) {
-            ++requestCount;
-            awsRequestMetrics.setCounter(Field.RequestCount, requestCount);
-            if (requestCount > 1) { // retry
-                request.setParameters(originalParameters);
-                request.setHeaders(originalHeaders);
-                request.setContent(originalContent);
-            }
-            if (redirectedURI != null && request.getEndpoint() == null
-                    && request.getResourcePath() == null) {
-                request.setEndpoint(URI.create(
-                        redirectedURI.getScheme() + "://" + redirectedURI.getAuthority()));
-                request.setResourcePath(redirectedURI.getPath());
-            }
+        return new ExecutionState(request, executionContext);
+    }
 
-            try {
-                if (requestCount > 1) { // retry
-                    awsRequestMetrics.startEvent(Field.RetryPauseTime);
-                    try {
-                        lastBackoffDelay = pauseBeforeNextRetry(request.getOriginalRequest(),
-                                retriedException,
-                                requestCount,
-                                config.getRetryPolicy());
-                    } finally {
-                        awsRequestMetrics.endEvent(Field.RetryPauseTime);
-                    }
-                    final InputStream content = request.getContent();
-                    if (content != null && content.markSupported()) {
-                        content.reset();
-                    }
-                }
-                request.addHeader(HEADER_SDK_RETRY_INFO,
-                        (requestCount - 1) + "/" + lastBackoffDelay);
+    /**
+     * Sends one attempt of the request.
+     *
+     * @return the response, or null if the request has to be sent again
+     *         after the back-off delay.
+     * @throws AmazonClientException if the request failed and can't be
+     *             retried.
+     */
+    @SuppressWarnings("checkstyle:methodlength")
+    <T> Response<T> executeOnce(ExecutionState state,
+            HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+            HttpResponseHandler<AmazonServiceException> errorResponseHandler) {
+        final Request<?> request = state.request;
+        final ExecutionContext executionContext = state.executionContext;
+        /*
+         * Depending on which response handler we end up choosing to handle the
+         * HTTP response, it might require us to leave the underlying HTTP
+         * connection open, depending on whether or not it reads the complete
+         * HTTP response stream from the HTTP connection, or if delays reading
+         * any of the content until after a response is returned to the caller.
+         */
+        boolean leaveHttpConnectionOpen = false;
+        final AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
+        HttpResponse httpResponse = null;
 
-                // Sign the request if a signer was provided
-                if (signer == null) {
-                    signer = executionContext.getSignerByURI(request.getEndpoint());
-                }
-                if (signer != null && credentials != null) {
-                    awsRequestMetrics.startEvent(Field.RequestSigningTime);
-                    try {
-                        signer.sign(request, credentials);
-                    } finally {
-                        awsRequestMetrics.endEvent(Field.RequestSigningTime);
-                    }
-                }
+        ++state.requestCount;
+        awsRequestMetrics.setCounter(Field.RequestCount, state.requestCount);
+        if (state.requestCount > 1) { // retry
+            request.setParameters(state.originalParameters);
+            request.setHeaders(state.originalHeaders);
+            request.setContent(state.originalContent);
+        }
+        if (state.redirectedURI != null && request.getEndpoint() == null
+                && request.getResourcePath() == null) {
+            request.setEndpoint(URI.create(
+                    state.redirectedURI.getScheme() + "://"
+                            + state.redirectedURI.getAuthority()));
+            request.setResourcePath(state.redirectedURI.getPath());
+        }
 
-                if (REQUEST_LOG.isDebugEnabled()) {
-                    REQUEST_LOG.debug("Sending Request: " + request.toString());
+        try {
+            if (state.requestCount > 1) { // retry
+                final InputStream content = request.getContent();
+                if (content != null && content.markSupported()) {
+                    content.reset();
                 }
+            }
+            request.addHeader(HEADER_SDK_RETRY_INFO,
+                    (state.requestCount - 1) + "/" + state.lastBackoffDelay);
 
-                httpRequest = requestFactory.createHttpRequest(request, config,
-                        executionContext);
-
-                retriedException = null;
-                awsRequestMetrics.startEvent(Field.HttpRequestTime);
+            // Sign the request if a signer was provided
+            if (state.signer == null) {
+                state.signer = executionContext.getSignerByURI(request.getEndpoint());
+            }
+            if (state.signer != null && state.credentials != null) {
+                awsRequestMetrics.startEvent(Field.RequestSigningTime);
                 try {
-                    httpResponse = httpClient.execute(httpRequest);
+                    state.signer.sign(request, state.credentials);
                 } finally {
-                    awsRequestMetrics.endEvent(Field.HttpRequestTime);
+                    awsRequestMetrics.endEvent(Field.RequestSigningTime);
                 }
+            }
+
+            if (REQUEST_LOG.isDebugEnabled()) {
+                REQUEST_LOG.debug("Sending Request: " + request.toString());
+            }
+
+            state.httpRequest = requestFactory.createHttpRequest(request, config,
+                    executionContext);
 
-                if (isRequestSuccessful(httpResponse)) {
-                    awsRequestMetrics.addProperty(Field.StatusCode, httpResponse.getStatusCode());
-                    /*
-                     * If we get back any 2xx status code, then we know we
-                     * should treat the service call as successful.
-                     */
-                    leaveHttpConnectionOpen = responseHandler.needsConnectionLeftOpen();
-                    final T response = handleResponse(request, responseHandler,
-                            httpResponse,
-                            executionContext);
-                    return new Response<T>(response, httpResponse);
-                } else if (isTemporaryRedirect(httpResponse)) {
-                    /*
-                     * S3 sends 307 Temporary Redirects if you try to delete an
-                     * EU bucket from the US endpoint. If we get a 307, we'll
-                     * point the HTTP method to the redirected location, and let
-                     * the next retry deliver the request to the right location.
-                     */
-                    final String redirectedLocation = httpResponse.getHeaders().get("Location");
-                    log.debug("Redirecting to: " + redirectedLocation);
-                    // set redirect uri and retry
-                    redirectedURI = URI.create(redirectedLocation);
-                    request.setEndpoint(null);
-                    request.setResourcePath(null);
-                    awsRequestMetrics.addProperty(Field.StatusCode, httpResponse.getStatusCode());
-                    awsRequestMetrics.addProperty(Field.RedirectLocation, redirectedLocation);
-                    awsRequestMetrics.addProperty(Field.AWSRequestID, null);
+            state.retriedException = null;
+            if (rateLimiter != null) {
+                if (state.sendTokenAcquired) {
+                    state.sendTokenAcquired = false;
                 } else {
-                    leaveHttpConnectionOpen = errorResponseHandler.needsConnectionLeftOpen();
-                    final AmazonServiceException ase = handleErrorResponse(request, errorResponseHandler,
-                            httpResponse);
-                    awsRequestMetrics.addProperty(Field.AWSRequestID, ase.getRequestId());
-                    awsRequestMetrics.addProperty(Field.AWSErrorCode, ase.getErrorCode());
-                    awsRequestMetrics.addProperty(Field.StatusCode, ase.getStatusCode());
-
-                    if (!shouldRetry(request.getOriginalRequest(),
-                            httpRequest.getContent(),
-                            ase,
-                            requestCount,
-                            config.getRetryPolicy())) {
-                        throw ase;
-                    }
+                    waitForSendToken();
+                }
+            }
+            awsRequestMetrics.startEvent(Field.HttpRequestTime);
+            try {
+                httpResponse = httpClient.execute(state.httpRequest);
+            } finally {
+                awsRequestMetrics.endEvent(Field.HttpRequestTime);
+            }
 
-                    // Cache the retryable exception
-                    retriedException = ase;
-                    /*
-                     * Checking for clock skew error again because we don't want
-                     * to set the global time offset for every service
-                     * exception.
-                     */
-                    if (RetryUtils.isClockSkewError(ase)) {
-                        final long timeOffset = parseClockSkewOffset(httpResponse, ase);
-                        SDKGlobalConfiguration.setGlobalTimeOffset(timeOffset);
-                    }
-                    resetRequestAfterError(request, ase);
+            if (isRequestSuccessful(httpResponse)) {
+                awsRequestMetrics.addProperty(Field.StatusCode, httpResponse.getStatusCode());
+                if (rateLimiter != null) {
+                    rateLimiter.updateClientSendingRate(false);
                 }
-            } catch (final IOException ioe) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Unable to execute HTTP request: " + ioe.getMessage(), ioe);
+                /*
+                 * If we get back any 2xx status code, then we know we
+                 * should treat the service call as successful.
+                 */
+                leaveHttpConnectionOpen = responseHandler.needsConnectionLeftOpen();
+                final T response = handleResponse(request, responseHandler,
+                        httpResponse,
+                        executionContext);
+                if (retryQuota != null) {
+                    retryQuota.release(state.retryCapacity > 0 ? state.retryCapacity
+                            : RetryQuota.NO_RETRY_INCREMENT);
                 }
-                awsRequestMetrics.incrementCounter(Field.Exception);
-                awsRequestMetrics.addProperty(Field.Exception, ioe);
+                return new Response<T>(response, httpResponse);
+            } else if (isTemporaryRedirect(httpResponse)) {
+                /*
+                 * S3 sends 307 Temporary Redirects if you try to delete an
+                 * EU bucket from the US endpoint. If we get a 307, we'll
+                 * point the HTTP method to the redirected location, and let
+                 * the next retry deliver the request to the right location.
+                 */
+                final String redirectedLocation = httpResponse.getHeaders().get("Location");
+                log.debug("Redirecting to: " + redirectedLocation);
+                // set redirect uri and retry
+                state.redirectedURI = URI.create(redirectedLocation);
+                request.setEndpoint(null);
+                request.setResourcePath(null);
+                awsRequestMetrics.addProperty(Field.StatusCode, httpResponse.getStatusCode());
+                awsRequestMetrics.addProperty(Field.RedirectLocation, redirectedLocation);
                 awsRequestMetrics.addProperty(Field.AWSRequestID, null);
+            } else {
+                leaveHttpConnectionOpen = errorResponseHandler.needsConnectionLeftOpen();
+                final AmazonServiceException ase = handleErrorResponse(request, errorResponseHandler,
+                        httpResponse);
+                awsRequestMetrics.addProperty(Field.AWSRequestID, ase.getRequestId());
+                awsRequestMetrics.addProperty(Field.AWSErrorCode, ase.getErrorCode());
+                awsRequestMetrics.addProperty(Field.StatusCode, ase.getStatusCode());
+                if (rateLimiter != null) {
+                    rateLimiter.updateClientSendingRate(RetryUtils.isThrottlingException(ase));
+                }
 
-                final AmazonClientException ace = new AmazonClientException(
-                        "Unable to execute HTTP request: " + ioe.getMessage(), ioe);
                 if (!shouldRetry(request.getOriginalRequest(),
-                        httpRequest.getContent(),
-                        ace,
-                        requestCount,
-                        config.getRetryPolicy())) {
-                    throw ace;
+                        state.httpRequest.getContent(),
+                        ase,
+                        state.requestCount,
+                        config.getRetryPolicy())
+                        || !acquireRetryCapacity(state, ase)) {
+                    throw ase;
                 }
 
                 // Cache the retryable exception
-                retriedException = ace;
-                resetRequestAfterError(request, ioe);
-            } catch (final RuntimeException e) {
-                throw handleUnexpectedFailure(e, awsRequestMetrics);
-            } catch (final Error e) {
-                throw handleUnexpectedFailure(e, awsRequestMetrics);
-            } finally {
+                state.retriedException = ase;
                 /*
-                 * Some response handlers need to manually manage the HTTP
-                 * connection and will take care of releasing the connection on
-                 * their own, but if this response handler doesn't need the
-                 * connection left open, we go ahead and release the it to free
-                 * up resources.
+                 * Checking for clock skew error again because we don't want
+                 * to set the global time offset for every service
+                 * exception.
                  */
-                if (!leaveHttpConnectionOpen && httpResponse != null) {
-                    try {
-                        if (httpResponse.getRawContent() != null) {
-                            httpResponse.getRawContent().close();
-                        }
-                    } catch (final IOException e) {
-                        log.warn("Cannot close the response content.", e);
+                if (RetryUtils.isClockSkewError(ase)) {
+                    final long timeOffset = parseClockSkewOffset(httpResponse, ase);
+                    SDKGlobalConfiguration.setGlobalTimeOffset(timeOffset);
+                }
+                resetRequestAfterError(request, ase);
+            }
+        } catch (final IOException ioe) {
+            if (log.isDebugEnabled()) {
+                log.debug("Unable to execute HTTP request: " + ioe.getMessage(), ioe);
+            }
+            awsRequestMetrics.incrementCounter(Field.Exception);
+            awsRequestMetrics.addProperty(Field.Exception, ioe);
+            awsRequestMetrics.addProperty(Field.AWSRequestID, null);
+
+            final AmazonClientException ace = new AmazonClientException(
+                    "Unable to execute HTTP request: " + ioe.getMessage(), ioe);
+            if (!shouldRetry(request.getOriginalRequest(),
+                    state.httpRequest.getContent(),
+                    ace,
+                    state.requestCount,
+                    config.getRetryPolicy())
+                    || !acquireRetryCapacity(state, ace)) {
+                throw ace;
+            }
+
+            // Cache the retryable exception
+            state.retriedException = ace;
+            resetRequestAfterError(request, ioe);
+        } catch (final RuntimeException e) {
+            throw handleUnexpectedFailure(e, awsRequestMetrics);
+        } catch (final Error e) {
+            throw handleUnexpectedFailure(e, awsRequestMetrics);
+        } finally {
+            /*
+             * Some response handlers need to manually manage the HTTP
+             * connection and will take care of releasing the connection on
+             * their own, but if this response handler doesn't need the
+             * connection left open, we go ahead and release the it to free
+             * up resources.
+             */
+            if (!leaveHttpConnectionOpen && httpResponse != null) {
+                try {
+                    if (httpResponse.getRawContent() != null) {
+                        httpResponse.getRawContent().close();
                     }
+                } catch (final IOException e) {
+                    log.warn("Cannot close the response content.", e);
                 }
             }
-        } /* end while (true) */
+        }
+        return null;
+    }
+
+    /**
+     * Runs the attempts of an asynchronous request on an executor and times
+     * the back-off between them with the shared retry scheduler.
+     */
+    private final class AsyncExecution<T> implements Runnable {
+        private final ExecutionState state;
+        private final HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler;
+        private final HttpResponseHandler<AmazonServiceException> errorResponseHandler;
+        private final List<RequestHandler2> requestHandler2s;
+        private final AsyncHandler<AmazonWebServiceRequest, Response<T>> asyncHandler;
+        private final ExecutorService executor;
+        private final AsyncResponseFuture<Response<T>> future = new AsyncResponseFuture<Response<T>>();
+
+        AsyncExecution(ExecutionState state,
+                HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+                HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+                List<RequestHandler2> requestHandler2s,
+                AsyncHandler<AmazonWebServiceRequest, Response<T>> asyncHandler,
+                ExecutorService executor) {
+            this.state = state;
+            this.responseHandler = responseHandler;
+            this.errorResponseHandler = errorResponseHandler;
+            this.requestHandler2s = requestHandler2s;
+            this.asyncHandler = asyncHandler;
+            this.executor = executor;
+        }
+
+        void submit() {
+            try {
+                executor.execute(this);
+            } catch (final RejectedExecutionException e) {
+                fail(new AmazonClientException("Unable to execute HTTP request: "
+                        + "the executor rejected it", e));
+            }
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            if (rateLimiter != null && !state.sendTokenAcquired) {
+                // wait for the rate limiter on the scheduler, not on the executor
+                final long delay = rateLimiter.acquire();
+                state.sendTokenAcquired = true;
+                if (delay > 0) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Client-side throttling, sending in " + delay + "ms");
+                    }
+                    schedule(delay);
+                    return;
+                }
+            }
+            final AWSRequestMetrics awsRequestMetrics =
+                    state.executionContext.getAwsRequestMetrics();
+            final Response<T> response;
+            try {
+                response = executeOnce(state, responseHandler, errorResponseHandler);
+            } catch (final AmazonClientException e) {
+                afterError(state.request, null, requestHandler2s, e);
+                fail(e);
+                return;
+            } catch (final RuntimeException e) {
+                fail(e);
+                return;
+            } catch (final Error e) {
+                fail(e);
+                throw e;
+            }
+
+            if (response != null) {
+                final TimingInfo timingInfo = awsRequestMetrics.getTimingInfo().endTiming();
+                try {
+                    afterResponse(state.request, requestHandler2s, response, timingInfo);
+                } catch (final RuntimeException e) {
+                    fail(e);
+                    return;
+                }
+                if (future.setResult(response) && asyncHandler != null) {
+                    asyncHandler.onSuccess(state.request.getOriginalRequest(), response);
+                }
+                return;
+            }
+
+            state.lastBackoffDelay = delayBeforeNextRetry(state.request.getOriginalRequest(),
+                    state.retriedException,
+                    state.requestCount + 1,
+                    config.getRetryPolicy());
+            awsRequestMetrics.startEvent(Field.RetryPauseTime);
+            try {
+                SharedExecutors.getRetryScheduler().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        awsRequestMetrics.endEvent(Field.RetryPauseTime);
+                        submit();
+                    }
+                }, state.lastBackoffDelay, TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                awsRequestMetrics.endEvent(Field.RetryPauseTime);
+                fail(new AmazonClientException("Unable to schedule the retry", e));
+            }
+        }
+
+        /**
+         * Submits the next attempt after a delay.
+         */
+        private void schedule(long delayMillis) {
+            try {
+                SharedExecutors.getRetryScheduler().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        submit();
+                    }
+                }, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                fail(new AmazonClientException("Unable to schedule the request", e));
+            }
+        }
+
+        private void fail(Throwable t) {
+            if (future.setFailure(t) && asyncHandler != null) {
+                asyncHandler.onError(t instanceof Exception ? (Exception) t
+                        : new AmazonClientException(t.getMessage(), t));
+            }
+        }
     }
 
     /**
@@ -564,6 +855,48 @@ public class AmazonHttpClient {
         }
     }
 
+    /**
+     * Connects to an endpoint in the background on the shared I/O executor
+     * of {@link SharedExecutors}, so that the first request to it finds the
+     * address of the host in the resolver cache of the platform and an open
+     * connection, TLS handshake included, in the keep-alive pool of the HTTP
+     * client. The connection is opened with a HEAD request on the root of the
+     * endpoint; its status code doesn't matter.
+     *
+     * @param endpoint the endpoint to connect to
+     * @return a future that completes once the connection is pooled, or fails
+     *         if the endpoint can't be reached
+     */
+    public Future<?> prewarm(final URI endpoint) {
+        if (endpoint == null) {
+            throw new IllegalArgumentException("Endpoint can't be null");
+        }
+        return SharedExecutors.getIoExecutor().submit(new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+                final HttpResponse response = httpClient.execute(
+                        new HttpRequest("HEAD", endpoint.resolve("/")));
+                // The connection returns to the pool once the response is
+                // fully read.
+                final InputStream content = response.getRawContent();
+                if (content != null) {
+                    try {
+                        final byte[] buffer = new byte[PREWARM_BUFFER_SIZE];
+                        while (content.read(buffer) != -1) {
+                            // discard
+                        }
+                    } finally {
+                        content.close();
+                    }
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Prewarmed connection to " + endpoint.getHost());
+                }
+                return null;
+            }
+        });
+    }
+
     /**
      * Shuts down this HTTP client object, releasing any resources that might be
      * held open. This is an optional method, and callers are not expected to
@@ -621,6 +954,47 @@ public class AmazonHttpClient {
                 retries);
     }
 
+    /**
+     * Takes the retry tokens needed to retry a failed request from the retry
+     * quota of this client, if any.
+     *
+     * @return false if the quota is exhausted and the request shouldn't be
+     *         retried.
+     */
+    private boolean acquireRetryCapacity(ExecutionState state, AmazonClientException exception) {
+        if (retryQuota == null) {
+            return true;
+        }
+        final int capacity = retryQuota.acquire(exception);
+        if (capacity == 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("Retry quota exhausted, not retrying");
+            }
+            return false;
+        }
+        state.retryCapacity = capacity;
+        return true;
+    }
+
+    /**
+     * Waits until the adaptive rate limiter lets the next request through.
+     */
+    private void waitForSendToken() {
+        final long delay = rateLimiter.acquire();
+        if (delay <= 0) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Client-side throttling, sending in " + delay + "ms");
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException(e.getMessage(), e);
+        }
+    }
+
     private static boolean isTemporaryRedirect(HttpResponse response) {
         final int statusCode = response.getStatusCode();
         final String location = response.getHeaders().get("Location");
@@ -759,6 +1133,33 @@ public class AmazonHttpClient {
             AmazonClientException previousException,
             int requestCount,
             RetryPolicy retryPolicy) {
+        final long delay = delayBeforeNextRetry(originalRequest, previousException,
+                requestCount, retryPolicy);
+        try {
+            Thread.sleep(delay);
+            return delay;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the back-off delay before the next attempt of a failed request.
+     *
+     * @param originalRequest The original service request that is being
+     *            executed.
+     * @param previousException Exception information for the previous attempt,
+     *            if any.
+     * @param requestCount current request count (including the next attempt
+     *            after the delay)
+     * @param retryPolicy The retry policy configured in this http client.
+     * @return the delay in milliseconds
+     */
+    private long delayBeforeNextRetry(AmazonWebServiceRequest originalRequest,
+            AmazonClientException previousException,
+            int requestCount,
+            RetryPolicy retryPolicy) {
         final int retries = requestCount // including next attempt
                 - 1 // number of attempted requests
                 - 1; // number of attempted retries
@@ -770,14 +1171,7 @@ public class AmazonHttpClient {
             log.debug("Retriable error detected, " +
                     "will retry in " + delay + "ms, attempt number: " + retries);
         }
-
-        try {
-            Thread.sleep(delay);
-            return delay;
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new AmazonClientException(e.getMessage(), e);
-        }
+        return delay;
     }
 
     /**
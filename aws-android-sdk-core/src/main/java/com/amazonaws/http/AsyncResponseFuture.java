@@ -0,0 +1,152 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.http;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The result of an asynchronous request, e.g. one executed with
+ * {@link AmazonHttpClient#executeAsync}. It is completed by the code that
+ * runs the request. Cancelling it stops further attempts of a request
+ * executed by {@link AmazonHttpClient}; an attempt already sending is not
+ * interrupted.
+ *
+ * @param <T> the result type
+ */
+public final class AsyncResponseFuture<T> implements Future<T> {
+    private T result;
+    private Throwable failure;
+    private boolean done;
+    private boolean cancelled;
+    private Future<?> dependent;
+
+    /**
+     * Completes the future with a result.
+     *
+     * @param value the result
+     * @return false if the future was already done
+     */
+    public synchronized boolean setResult(T value) {
+        if (done) {
+            return false;
+        }
+        result = value;
+        done = true;
+        dependent = null;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Completes the future with a failure.
+     *
+     * @param t the failure
+     * @return false if the future was already done
+     */
+    public synchronized boolean setFailure(Throwable t) {
+        if (done) {
+            return false;
+        }
+        failure = t;
+        done = true;
+        dependent = null;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Cancels another future along with this one, e.g. the future of the
+     * request this one waits for. It is cancelled right away if this future
+     * already is.
+     *
+     * @param future the future to cancel
+     */
+    public void cancelWith(Future<?> future) {
+        synchronized (this) {
+            if (!cancelled) {
+                dependent = future;
+                return;
+            }
+        }
+        future.cancel(false);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        final Future<?> toCancel;
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            cancelled = true;
+            done = true;
+            notifyAll();
+            toCancel = dependent;
+            dependent = null;
+        }
+        if (toCancel != null) {
+            toCancel.cancel(mayInterruptIfRunning);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public synchronized T get() throws InterruptedException, ExecutionException {
+        while (!done) {
+            wait();
+        }
+        return report();
+    }
+
+    @Override
+    public synchronized T get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!done) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException("Timed out waiting for the response after "
+                        + timeout + " " + unit);
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return report();
+    }
+
+    private T report() throws ExecutionException {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+        return result;
+    }
+}
@@ -19,6 +19,7 @@ import com.amazonaws.AmazonWebServiceClient;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.Signer;
 import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.metrics.RequestTracing;
 import com.amazonaws.util.AWSRequestMetrics;
 import com.amazonaws.util.AWSRequestMetricsFullSupport;
 
@@ -62,9 +63,9 @@ public class ExecutionContext {
     public ExecutionContext(List<RequestHandler2> requestHandler2s,
             boolean isMetricEnabled, AmazonWebServiceClient awsClient) {
         this.requestHandler2s = requestHandler2s;
-        awsRequestMetrics = isMetricEnabled
+        awsRequestMetrics = RequestTracing.trace(isMetricEnabled
                 ? new AWSRequestMetricsFullSupport()
-                : new AWSRequestMetrics();
+                : new AWSRequestMetrics());
         this.awsClient = awsClient;
     }
 
@@ -16,6 +16,7 @@
 package com.amazonaws.http;
 
 import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.util.AWSRequestMetrics;
 import com.amazonaws.util.StringUtils;
 
 import java.io.InputStream;
@@ -34,6 +35,7 @@ public class HttpRequest {
     private final Map<String, String> headers;
     private final InputStream content;
     private boolean isStreaming;
+    private AWSRequestMetrics awsRequestMetrics;
 
     /**
      * Constructs a HttpRequest with given method and uri. It uses no header and
@@ -134,4 +136,20 @@ public class HttpRequest {
     public void setStreaming(boolean isStreaming) {
         this.isStreaming = isStreaming;
     }
+
+    /**
+     * @return the metrics of the request this HTTP request was made from, or
+     *         null
+     */
+    AWSRequestMetrics getAwsRequestMetrics() {
+        return awsRequestMetrics;
+    }
+
+    /**
+     * @param awsRequestMetrics the metrics of the request this HTTP request
+     *            was made from, which the HTTP client reports its phases to
+     */
+    void setAwsRequestMetrics(AWSRequestMetrics awsRequestMetrics) {
+        this.awsRequestMetrics = awsRequestMetrics;
+    }
 }
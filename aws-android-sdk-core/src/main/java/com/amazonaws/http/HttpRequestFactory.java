@@ -117,6 +117,7 @@ public class HttpRequestFactory {
         final HttpRequest httpRequest = new HttpRequest(method.toString(), URI.create(uri), headers,
                 is);
         httpRequest.setStreaming(request.isStreaming());
+        httpRequest.setAwsRequestMetrics(context.getAwsRequestMetrics());
 
         return httpRequest;
     }
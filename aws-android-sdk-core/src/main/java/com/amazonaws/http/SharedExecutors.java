@@ -0,0 +1,164 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.http;
+
+import com.amazonaws.ClientConfiguration;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide executors shared by all clients for asynchronous requests. The
+ * I/O executor is a bounded pool that runs request attempts; the retry
+ * scheduler only waits out the back-off between attempts, so no I/O thread
+ * sleeps while a request waits to be retried.
+ */
+public final class SharedExecutors {
+
+    /**
+     * Default number of threads of the shared I/O executor.
+     */
+    public static final int DEFAULT_IO_POOL_SIZE = ClientConfiguration.DEFAULT_MAX_CONNECTIONS;
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private static int ioPoolSize = DEFAULT_IO_POOL_SIZE;
+    private static ExecutorService ioExecutor;
+    private static ScheduledExecutorService retryScheduler;
+
+    private SharedExecutors() {
+    }
+
+    /**
+     * Sets the number of threads of the shared I/O executor. It must be
+     * called before the executor is first used.
+     *
+     * @param size the number of threads
+     * @throws IllegalStateException if the executor is already in use
+     */
+    public static synchronized void setIoPoolSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        if (ioExecutor != null) {
+            throw new IllegalStateException("The shared I/O executor is already in use");
+        }
+        ioPoolSize = size;
+    }
+
+    /**
+     * Returns the shared I/O executor. Requests queue when all its threads
+     * are busy. It can be passed to the constructors of the asynchronous
+     * clients that take an {@link ExecutorService} so that they share threads;
+     * shutting it down has no effect.
+     *
+     * @return the shared I/O executor
+     */
+    public static synchronized ExecutorService getIoExecutor() {
+        if (ioExecutor == null) {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(ioPoolSize, ioPoolSize,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new DaemonThreadFactory("aws-sdk-io-"));
+            executor.allowCoreThreadTimeOut(true);
+            ioExecutor = new SharedExecutorService(executor);
+        }
+        return ioExecutor;
+    }
+
+    /**
+     * Returns the scheduler that times retries of asynchronous requests. Its
+     * single thread only waits out delays; scheduled tasks should hand their
+     * work to the I/O executor.
+     *
+     * @return the retry scheduler
+     */
+    public static synchronized ScheduledExecutorService getRetryScheduler() {
+        if (retryScheduler == null) {
+            retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                    new DaemonThreadFactory("aws-sdk-retry-"));
+        }
+        return retryScheduler;
+    }
+
+    /**
+     * An executor that can't be shut down by the clients sharing it.
+     */
+    private static final class SharedExecutorService extends AbstractExecutorService {
+        private final ExecutorService delegate;
+
+        SharedExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            // shared by all clients, never shut down
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates daemon threads, which don't keep the process alive.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+        private final String prefix;
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -19,6 +19,8 @@ import com.amazonaws.ClientConfiguration;
 
 import com.amazonaws.logging.Log;
 import com.amazonaws.logging.LogFactory;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -70,9 +72,22 @@ public class UrlHttpClient implements HttpClient {
         final CurlBuilder curlBuilder = config.isCurlLogging()
                 ? new CurlBuilder(request.getUri().toURL()) : null;
 
+        final AWSRequestMetrics metrics = request.getAwsRequestMetrics();
+
         configureConnection(request, connection);
         applyHeadersAndMethod(request, connection, curlBuilder);
-        writeContentToConnection(request, connection, curlBuilder);
+        // Includes opening the connection and the TLS handshake when there
+        // is content to send.
+        if (metrics != null) {
+            metrics.startEvent(Field.HttpClientSendRequestTime);
+        }
+        try {
+            writeContentToConnection(request, connection, curlBuilder);
+        } finally {
+            if (metrics != null) {
+                metrics.endEvent(Field.HttpClientSendRequestTime);
+            }
+        }
 
         if (curlBuilder != null) {
             if (curlBuilder.isValid()) {
@@ -82,7 +97,17 @@ public class UrlHttpClient implements HttpClient {
             }
         }
 
-        return createHttpResponse(request, connection);
+        // Lasts until the response headers are received.
+        if (metrics != null) {
+            metrics.startEvent(Field.HttpClientReceiveResponseTime);
+        }
+        try {
+            return createHttpResponse(request, connection);
+        } finally {
+            if (metrics != null) {
+                metrics.endEvent(Field.HttpClientReceiveResponseTime);
+            }
+        }
     }
 
     @SuppressWarnings("checkstyle:emptyblock")
@@ -181,7 +181,8 @@ public class AWSKeyValueStore {
     public synchronized boolean contains(final String dataKey) {
         if (isPersistenceEnabled) {
             if (cache.containsKey(dataKey)) {
-                return true;
+                // a null value records that the key isn't persisted either
+                return cache.get(dataKey) != null;
             } else {
                 return sharedPreferencesForData.contains(getDataKeyUsedInPersistentStore(dataKey));
             }
@@ -209,24 +210,83 @@ public class AWSKeyValueStore {
             return cache.get(dataKey);
         }
 
-        // Retrieve the decryption key used for decrypting the data.
-
-        // dataKey becomes dataKey.encrypted
-        String dataKeyInPersistentStore = getDataKeyUsedInPersistentStore(dataKey);
-
-        String encryptionKeyAlias = getEncryptionKeyAlias();
+        // Retrieving the encryption key is slow, skip it for a missing value
+        // and remember the miss in the in-memory cache.
+        if (!sharedPreferencesForData.contains(getDataKeyUsedInPersistentStore(dataKey))) {
+            cache.put(dataKey, null);
+            return null;
+        }
 
         // Based on the encryption key alias, retrieve the encryption key
         // If the encryption key cannot be retrieved, return null and
         // the consumer of get would treat it as if this data is not present
         // on the persistent store.
-        Key decryptionKey = retrieveEncryptionKey(encryptionKeyAlias);
+        Key decryptionKey = retrieveEncryptionKey(getEncryptionKeyAlias());
         if (decryptionKey == null) {
             logger.error("Error in retrieving the decryption key " +
                     "used to decrypt the data from the persistent store. " +
                     "Returning null for the requested dataKey = " + dataKey);
             return null;
         }
+        return readFromPersistentStore(dataKey, decryptionKey);
+    }
+
+    /**
+     * Retrieve the values for the given keys from the key-value store.
+     *
+     * Values found in the in-memory cache are returned from it. The others
+     * are read from the persistent store in one pass, retrieving the
+     * decryption key only once rather than once per key as {@link #get}
+     * does, and are added to the in-memory cache. Keys missing from the
+     * persistent store are cached as missing too.
+     *
+     * @param dataKeys keys that identify the values to be retrieved.
+     * @return the values by key, null for keys that are not present.
+     */
+    public synchronized Map<String, String> getAll(final String... dataKeys) {
+        final Map<String, String> values = new HashMap<String, String>();
+        Key decryptionKey = null;
+        boolean decryptionKeyRetrieved = false;
+        for (final String dataKey : dataKeys) {
+            if (dataKey == null) {
+                continue;
+            }
+            if (cache.containsKey(dataKey) || !isPersistenceEnabled) {
+                values.put(dataKey, cache.get(dataKey));
+                continue;
+            }
+            if (!sharedPreferencesForData.contains(getDataKeyUsedInPersistentStore(dataKey))) {
+                cache.put(dataKey, null);
+                values.put(dataKey, null);
+                continue;
+            }
+            if (!decryptionKeyRetrieved) {
+                decryptionKey = retrieveEncryptionKey(getEncryptionKeyAlias());
+                decryptionKeyRetrieved = true;
+            }
+            if (decryptionKey == null) {
+                logger.error("Error in retrieving the decryption key " +
+                        "used to decrypt the data from the persistent store. " +
+                        "Returning null for the requested dataKey = " + dataKey);
+                values.put(dataKey, null);
+                continue;
+            }
+            values.put(dataKey, readFromPersistentStore(dataKey, decryptionKey));
+        }
+        return values;
+    }
+
+    /**
+     * Read and decrypt the value for the given key from the persistent
+     * store and add it to the in-memory cache.
+     *
+     * @param dataKey key that identifies the value to be retrieved.
+     * @param decryptionKey key used to decrypt the value.
+     * @return the value, or null if it is not present or cannot be decrypted.
+     */
+    private String readFromPersistentStore(final String dataKey, final Key decryptionKey) {
+        // dataKey becomes dataKey.encrypted
+        String dataKeyInPersistentStore = getDataKeyUsedInPersistentStore(dataKey);
 
         // If the key-value pair is not found in the SharedPreferences,
         // return null.
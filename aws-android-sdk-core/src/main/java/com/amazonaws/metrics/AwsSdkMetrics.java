@@ -502,6 +502,24 @@ public enum AwsSdkMetrics {
         return false;
     }
 
+    /**
+     * Starts collecting request metrics in memory for all clients, unless a
+     * request or client level collector is in use. The in-memory collector
+     * replaces the metric collector currently in use at the AWS SDK level, if
+     * it isn't an in-memory one already.
+     *
+     * @return the in-memory request metric collector in use
+     * @see InMemoryRequestMetricCollector
+     */
+    public static synchronized InMemoryRequestMetricCollector enableInMemoryMetrics() {
+        if (mc instanceof InMemoryMetricCollector) {
+            return ((InMemoryMetricCollector) mc).getRequestMetricCollector();
+        }
+        final InMemoryMetricCollector collector = new InMemoryMetricCollector();
+        setMetricCollector(collector);
+        return collector.getRequestMetricCollector();
+    }
+
     /**
      * Convenient method to disable the metric collector at the AWS SDK level.
      */
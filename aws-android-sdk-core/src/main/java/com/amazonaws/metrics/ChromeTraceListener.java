@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+import com.amazonaws.util.json.AwsJsonWriter;
+import com.amazonaws.util.json.JsonUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link RequestTraceListener} that keeps the phases of requests in memory
+ * and writes them in the Chrome trace event format, which chrome://tracing
+ * and Perfetto open. Each request is shown as its own track, named after its
+ * trace id. Once the maximum number of events is reached, new events are
+ * dropped until {@link #clear()} is called.
+ *
+ * <pre>
+ * ChromeTraceListener listener = new ChromeTraceListener(100000);
+ * RequestTracing.setListener(listener);
+ * // run requests
+ * listener.writeTo(new FileWriter(traceFile));
+ * </pre>
+ */
+public class ChromeTraceListener implements RequestTraceListener {
+
+    private static final int DEFAULT_MAX_EVENTS = 100000;
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final int maxEvents;
+    private final long baseNanoTime = System.nanoTime();
+    private final List<Event> events = new ArrayList<Event>();
+    private long droppedEvents;
+
+    /**
+     * Creates a listener that keeps up to 100,000 events.
+     */
+    public ChromeTraceListener() {
+        this(DEFAULT_MAX_EVENTS);
+    }
+
+    /**
+     * @param maxEvents the maximum number of events kept in memory
+     */
+    public ChromeTraceListener(int maxEvents) {
+        if (maxEvents <= 0) {
+            throw new IllegalArgumentException("maxEvents must be positive");
+        }
+        this.maxEvents = maxEvents;
+    }
+
+    @Override
+    public void phaseStarted(long traceId, int attempt, String phase, long nanoTime) {
+        add(new Event(traceId, attempt, phase, nanoTime, true));
+    }
+
+    @Override
+    public void phaseEnded(long traceId, int attempt, String phase, long nanoTime) {
+        add(new Event(traceId, attempt, phase, nanoTime, false));
+    }
+
+    /**
+     * @return the number of events dropped because the maximum was reached
+     */
+    public synchronized long getDroppedEventCount() {
+        return droppedEvents;
+    }
+
+    /**
+     * Discards the events kept so far.
+     */
+    public synchronized void clear() {
+        events.clear();
+        droppedEvents = 0;
+    }
+
+    /**
+     * Writes the events kept so far as a JSON trace and closes the writer.
+     *
+     * @param out where to write the trace
+     * @throws IOException if the trace can't be written
+     */
+    public void writeTo(Writer out) throws IOException {
+        final List<Event> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<Event>(events);
+        }
+        final AwsJsonWriter writer = JsonUtils.getJsonWriter(out);
+        writer.beginObject();
+        writer.name("displayTimeUnit").value("ms");
+        writer.name("traceEvents").beginArray();
+        for (final Event event : snapshot) {
+            writer.beginObject();
+            writer.name("name").value(event.phase);
+            writer.name("cat").value("aws-sdk");
+            writer.name("ph").value(event.start ? "B" : "E");
+            writer.name("ts").value((event.nanoTime - baseNanoTime) / NANOS_PER_MICRO);
+            writer.name("pid").value(1L);
+            writer.name("tid").value(event.traceId);
+            writer.name("args").beginObject().name("attempt").value(event.attempt).endObject();
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.close();
+    }
+
+    private synchronized void add(Event event) {
+        if (events.size() < maxEvents) {
+            events.add(event);
+        } else {
+            droppedEvents++;
+        }
+    }
+
+    private static final class Event {
+        final long traceId;
+        final int attempt;
+        final String phase;
+        final long nanoTime;
+        final boolean start;
+
+        Event(long traceId, int attempt, String phase, long nanoTime, boolean start) {
+            this.traceId = traceId;
+            this.attempt = attempt;
+            this.phase = phase;
+            this.nanoTime = nanoTime;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+/**
+ * The metric collector installed by {@link AwsSdkMetrics#enableInMemoryMetrics()}.
+ * It only collects request metrics.
+ */
+class InMemoryMetricCollector extends MetricCollector {
+    private final InMemoryRequestMetricCollector requestMetricCollector =
+            new InMemoryRequestMetricCollector();
+
+    @Override
+    public boolean start() {
+        return true;
+    }
+
+    /**
+     * Stops the periodic dump of the metrics, if any.
+     */
+    @Override
+    public boolean stop() {
+        requestMetricCollector.stopPeriodicDump();
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public InMemoryRequestMetricCollector getRequestMetricCollector() {
+        return requestMetricCollector;
+    }
+
+    @Override
+    public ServiceMetricCollector getServiceMetricCollector() {
+        return ServiceMetricCollector.NONE;
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.http.HttpResponse;
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.TimingInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A request metric collector that aggregates metrics in memory, without
+ * sending them anywhere. For each service, operation and HTTP status code it
+ * keeps a latency histogram and counts requests, retries, throttling errors
+ * and bytes sent and received. Metrics can be read with
+ * {@link #getSnapshot()} or logged periodically with
+ * {@link #startPeriodicDump(long)}.
+ * <p>
+ * It can be installed for all clients with
+ * {@link AwsSdkMetrics#enableInMemoryMetrics()}, or for one client or request
+ * like any other {@link RequestMetricCollector}.
+ */
+public class InMemoryRequestMetricCollector extends RequestMetricCollector {
+
+    private static final Log LOGGER = LogFactory.getLog(InMemoryRequestMetricCollector.class);
+
+    /** Status code of requests that failed without an HTTP response. */
+    public static final int NO_STATUS_CODE = 0;
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String REQUEST_SUFFIX = "Request";
+
+    private final ConcurrentMap<Key, Aggregate> aggregates =
+            new ConcurrentHashMap<Key, Aggregate>();
+    private final ConcurrentMap<Class<?>, String> operationNames =
+            new ConcurrentHashMap<Class<?>, String>();
+    private ScheduledExecutorService dumpExecutor;
+
+    @Override
+    public void collectMetrics(Request<?> request, Response<?> response) {
+        final AWSRequestMetrics metrics = request.getAWSRequestMetrics();
+        if (metrics == null || !metrics.isEnabled()) {
+            return;
+        }
+        final int statusCode = lastStatusCode(metrics);
+        final Key key = new Key(request.getServiceName(),
+                operationName(request.getOriginalRequest()), statusCode);
+        Aggregate aggregate = aggregates.get(key);
+        if (aggregate == null) {
+            final Aggregate created = new Aggregate();
+            aggregate = aggregates.putIfAbsent(key, created);
+            if (aggregate == null) {
+                aggregate = created;
+            }
+        }
+
+        final TimingInfo timingInfo = metrics.getTimingInfo();
+        aggregate.requests.add(1);
+        final Number requestCount = timingInfo.getCounter(Field.RequestCount.name());
+        if (requestCount != null && requestCount.longValue() > 1) {
+            aggregate.retries.add(requestCount.longValue() - 1);
+        }
+        aggregate.throttles.add(throttleCount(metrics));
+        aggregate.bytesSent.add(contentLength(request.getHeaders()));
+        if (response != null && response.getHttpResponse() != null) {
+            aggregate.bytesReceived.add(contentLength(response.getHttpResponse()));
+        }
+
+        TimingInfo clientExecution = timingInfo.getLastSubMeasurement(
+                Field.ClientExecuteTime.name());
+        if (clientExecution == null) {
+            clientExecution = timingInfo;
+        }
+        final Double millis = clientExecution.getTimeTakenMillisIfKnown();
+        if (millis != null) {
+            aggregate.latency.recordMicros((long) (millis.doubleValue() * MICROS_PER_MILLI));
+        }
+    }
+
+    /**
+     * Returns the metrics collected since the collector was created or last
+     * reset, one entry per service, operation and status code.
+     *
+     * @return the metrics
+     */
+    public List<OperationMetrics> getSnapshot() {
+        final List<OperationMetrics> snapshot =
+                new ArrayList<OperationMetrics>(aggregates.size());
+        for (final Map.Entry<Key, Aggregate> entry : aggregates.entrySet()) {
+            snapshot.add(new OperationMetrics(entry.getKey(), entry.getValue()));
+        }
+        return Collections.unmodifiableList(snapshot);
+    }
+
+    /**
+     * Discards the collected metrics.
+     */
+    public void reset() {
+        for (final Aggregate aggregate : aggregates.values()) {
+            aggregate.reset();
+        }
+    }
+
+    /**
+     * Logs a snapshot of the metrics at the info level every period, on a
+     * background thread. Calling it again changes the period.
+     *
+     * @param periodMillis the period in milliseconds
+     */
+    public synchronized void startPeriodicDump(long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("periodMillis must be positive");
+        }
+        stopPeriodicDump();
+        dumpExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread thread = new Thread(r, "aws-sdk-metrics-dump");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        dumpExecutor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                dump();
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops logging the metrics periodically.
+     */
+    public synchronized void stopPeriodicDump() {
+        if (dumpExecutor != null) {
+            dumpExecutor.shutdownNow();
+            dumpExecutor = null;
+        }
+    }
+
+    /**
+     * Logs a snapshot of the metrics at the info level.
+     */
+    public void dump() {
+        if (!LOGGER.isInfoEnabled()) {
+            return;
+        }
+        for (final OperationMetrics metrics : getSnapshot()) {
+            if (metrics.getRequestCount() > 0) {
+                LOGGER.info(metrics.toString());
+            }
+        }
+    }
+
+    private String operationName(AmazonWebServiceRequest originalRequest) {
+        if (originalRequest == null) {
+            return "";
+        }
+        final Class<?> type = originalRequest.getClass();
+        String name = operationNames.get(type);
+        if (name == null) {
+            name = type.getSimpleName();
+            if (name.endsWith(REQUEST_SUFFIX) && name.length() > REQUEST_SUFFIX.length()) {
+                name = name.substring(0, name.length() - REQUEST_SUFFIX.length());
+            }
+            operationNames.put(type, name);
+        }
+        return name;
+    }
+
+    private static int lastStatusCode(AWSRequestMetrics metrics) {
+        final List<Object> statusCodes = metrics.getProperty(Field.StatusCode);
+        if (statusCodes == null || statusCodes.isEmpty()) {
+            return NO_STATUS_CODE;
+        }
+        final Object last = statusCodes.get(statusCodes.size() - 1);
+        return last instanceof Number ? ((Number) last).intValue() : NO_STATUS_CODE;
+    }
+
+    private static long throttleCount(AWSRequestMetrics metrics) {
+        long count = 0;
+        final List<Object> errorCodes = metrics.getProperty(Field.AWSErrorCode);
+        if (errorCodes != null) {
+            for (final Object errorCode : errorCodes) {
+                if (RetryUtils.isThrottlingErrorCode(String.valueOf(errorCode))) {
+                    count++;
+                }
+            }
+        }
+        if (count == 0) {
+            final List<Object> statusCodes = metrics.getProperty(Field.StatusCode);
+            if (statusCodes != null) {
+                for (final Object statusCode : statusCodes) {
+                    if (statusCode instanceof Number
+                            && ((Number) statusCode).intValue() == TOO_MANY_REQUESTS) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static long contentLength(HttpResponse response) {
+        String value = response.getHeaders().get("Content-Length");
+        if (value == null) {
+            value = response.getHeaders().get("content-length");
+        }
+        return parseLength(value);
+    }
+
+    private static long contentLength(Map<String, String> headers) {
+        return parseLength(headers.get("Content-Length"));
+    }
+
+    private static long parseLength(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(Long.parseLong(value.trim()), 0);
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static final class Key {
+        final String serviceName;
+        final String operationName;
+        final int statusCode;
+
+        Key(String serviceName, String operationName, int statusCode) {
+            this.serviceName = serviceName == null ? "" : serviceName;
+            this.operationName = operationName;
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return statusCode == other.statusCode
+                    && serviceName.equals(other.serviceName)
+                    && operationName.equals(other.operationName);
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = serviceName.hashCode();
+            result = prime * result + operationName.hashCode();
+            return prime * result + statusCode;
+        }
+    }
+
+    private static final class Aggregate {
+        final StripedCounter requests = new StripedCounter();
+        final StripedCounter retries = new StripedCounter();
+        final StripedCounter throttles = new StripedCounter();
+        final StripedCounter bytesSent = new StripedCounter();
+        final StripedCounter bytesReceived = new StripedCounter();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        void reset() {
+            requests.reset();
+            retries.reset();
+            throttles.reset();
+            bytesSent.reset();
+            bytesReceived.reset();
+            latency.reset();
+        }
+    }
+
+    /**
+     * The metrics of the requests of one operation that ended with the same
+     * status code.
+     */
+    public static final class OperationMetrics {
+        private final String serviceName;
+        private final String operationName;
+        private final int statusCode;
+        private final long requestCount;
+        private final long retryCount;
+        private final long throttleCount;
+        private final long bytesSent;
+        private final long bytesReceived;
+        private final LatencyHistogram.Snapshot latency;
+
+        OperationMetrics(Key key, Aggregate aggregate) {
+            this.serviceName = key.serviceName;
+            this.operationName = key.operationName;
+            this.statusCode = key.statusCode;
+            this.requestCount = aggregate.requests.sum();
+            this.retryCount = aggregate.retries.sum();
+            this.throttleCount = aggregate.throttles.sum();
+            this.bytesSent = aggregate.bytesSent.sum();
+            this.bytesReceived = aggregate.bytesReceived.sum();
+            this.latency = aggregate.latency.getSnapshot();
+        }
+
+        /**
+         * @return the service name, for example "AmazonDynamoDB"
+         */
+        public String getServiceName() {
+            return serviceName;
+        }
+
+        /**
+         * @return the operation name, for example "PutItem"
+         */
+        public String getOperationName() {
+            return operationName;
+        }
+
+        /**
+         * @return the HTTP status code of the last attempt, or
+         *         {@link InMemoryRequestMetricCollector#NO_STATUS_CODE} if
+         *         there was no response
+         */
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        /**
+         * @return the number of requests
+         */
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        /**
+         * @return the number of retries over all the requests
+         */
+        public long getRetryCount() {
+            return retryCount;
+        }
+
+        /**
+         * @return the number of attempts that were throttled
+         */
+        public long getThrottleCount() {
+            return throttleCount;
+        }
+
+        /**
+         * @return the number of bytes sent in request bodies, once per request
+         */
+        public long getBytesSent() {
+            return bytesSent;
+        }
+
+        /**
+         * @return the number of bytes received in response bodies
+         */
+        public long getBytesReceived() {
+            return bytesReceived;
+        }
+
+        /**
+         * @return the latencies of the requests, retries included
+         */
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return serviceName + "." + operationName + " status=" + statusCode
+                    + " requests=" + requestCount
+                    + " retries=" + retryCount
+                    + " throttles=" + throttleCount
+                    + " bytesSent=" + bytesSent
+                    + " bytesReceived=" + bytesReceived
+                    + " p50=" + latency.getPercentileMicros(50) + "us"
+                    + " p99=" + latency.getPercentileMicros(99) + "us"
+                    + " max=" + latency.getMaxMicros() + "us";
+        }
+    }
+}
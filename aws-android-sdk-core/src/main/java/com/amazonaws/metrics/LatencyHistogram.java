@@ -0,0 +1,165 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in microseconds with log-linear buckets,
+ * in the manner of HdrHistogram. Each power of two is split into 16 buckets,
+ * so a recorded value is reported within about 6% of its actual value, from
+ * one microsecond up to about 12 days. Recording a value is a few atomic
+ * increments and never allocates.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+    private static final double PERCENT = 100.0;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency. Negative values are recorded as 0; values above
+     * the range of the histogram as its maximum.
+     *
+     * @param micros the latency in microseconds
+     */
+    public void recordMicros(long micros) {
+        final long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        buckets.incrementAndGet(bucketIndex(value));
+        sum.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * @return a copy of the recorded values
+     */
+    public Snapshot getSnapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(counts, sum.get(), max.get());
+    }
+
+    /**
+     * Discards the recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        sum.set(0);
+        max.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * @return the highest value that falls in the given bucket
+     */
+    static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_HALF - 1;
+        final long subBucket = index - shift * SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * An immutable copy of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long sum, long max) {
+            this.counts = counts;
+            long total = 0;
+            for (final long c : counts) {
+                total += c;
+            }
+            this.count = total;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * @return the number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the largest recorded value in microseconds
+         */
+        public long getMaxMicros() {
+            return max;
+        }
+
+        /**
+         * @return the mean of the recorded values in microseconds, or 0 if
+         *         there are none
+         */
+        public double getMeanMicros() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Returns the value below which the given percentage of the recorded
+         * values fall, for example 99 for the 99th percentile.
+         *
+         * @param percentile the percentile, from 0 to 100
+         * @return the value in microseconds, or 0 if there are no values
+         */
+        public long getPercentileMicros(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            final double clamped = Math.min(Math.max(percentile, 0), PERCENT);
+            final long target = Math.max(1, (long) Math.ceil(clamped / PERCENT * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.min(highestValueInBucket(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+/**
+ * Receives the start and the end of the phases of each request, such as
+ * marshalling, fetching credentials, signing, sending the request, waiting
+ * for the response and unmarshalling it. Phases are named after the
+ * {@link com.amazonaws.util.AWSRequestMetrics.Field} they are timed by, for
+ * example "RequestSigningTime". Phases may nest: the whole execution of a
+ * request is the "ClientExecuteTime" phase.
+ * <p>
+ * Callbacks are made synchronously on the thread running the request, so
+ * they should be quick and must be thread-safe.
+ *
+ * @see RequestTracing#setListener(RequestTraceListener)
+ */
+public interface RequestTraceListener {
+
+    /**
+     * Called when a phase starts.
+     *
+     * @param traceId identifies the request, unique within the process
+     * @param attempt the attempt number, starting at 1, or 0 before the first
+     *            attempt is sent
+     * @param phase the name of the phase
+     * @param nanoTime the {@link System#nanoTime()} at the start
+     */
+    void phaseStarted(long traceId, int attempt, String phase, long nanoTime);
+
+    /**
+     * Called when a phase ends.
+     *
+     * @param traceId identifies the request, unique within the process
+     * @param attempt the attempt number, starting at 1, or 0 before the first
+     *            attempt is sent
+     * @param phase the name of the phase
+     * @param nanoTime the {@link System#nanoTime()} at the end
+     */
+    void phaseEnded(long traceId, int attempt, String phase, long nanoTime);
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+import com.amazonaws.util.AWSRequestMetrics;
+
+/**
+ * Installs the {@link RequestTraceListener} that receives the phases of all
+ * requests. Tracing relies on the events the SDK already records in
+ * {@link AWSRequestMetrics}; when no listener is installed, requests are not
+ * traced and pay nothing for it.
+ */
+public final class RequestTracing {
+
+    private static volatile RequestTraceListener listener;
+
+    private RequestTracing() {
+    }
+
+    /**
+     * Sets the listener for the requests started from now on.
+     *
+     * @param traceListener the listener, or null to stop tracing
+     */
+    public static void setListener(RequestTraceListener traceListener) {
+        listener = traceListener;
+    }
+
+    /**
+     * @return the listener in use, or null if tracing is disabled
+     */
+    public static RequestTraceListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Wraps the metrics of a new request so that its phases are traced, if a
+     * listener is installed.
+     *
+     * @param metrics the metrics of the request
+     * @return metrics that report to the listener, or the given metrics if
+     *         tracing is disabled
+     */
+    public static AWSRequestMetrics trace(AWSRequestMetrics metrics) {
+        final RequestTraceListener current = listener;
+        return current == null ? metrics : new TracingRequestMetrics(metrics, current);
+    }
+}
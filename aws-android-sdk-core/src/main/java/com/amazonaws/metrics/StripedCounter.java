@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter spread over cells picked by thread, so threads updating it
+ * concurrently rarely contend on the same cache line. Reads add up the cells
+ * and are not atomic with respect to concurrent updates.
+ */
+final class StripedCounter {
+    /** Cells are spaced a cache line apart, 8 longs on common hardware. */
+    private static final int PADDING = 8;
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    StripedCounter() {
+        int stripes = 1;
+        final int processors = Runtime.getRuntime().availableProcessors();
+        while (stripes < processors && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+        mask = stripes - 1;
+        cells = new AtomicLongArray(stripes * PADDING);
+    }
+
+    /**
+     * @param delta the amount to add
+     */
+    void add(long delta) {
+        if (delta != 0) {
+            cells.addAndGet((int) (Thread.currentThread().getId() & mask) * PADDING, delta);
+        }
+    }
+
+    /**
+     * @return the sum of the cells
+     */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            sum += cells.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Sets the counter to zero.
+     */
+    void reset() {
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            cells.set(i, 0);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+import com.amazonaws.util.AWSRequestMetrics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request metrics that report the start and end of events to a
+ * {@link RequestTraceListener} and delegate everything else.
+ */
+class TracingRequestMetrics extends AWSRequestMetrics {
+
+    private static final AtomicLong NEXT_TRACE_ID = new AtomicLong();
+
+    private final AWSRequestMetrics delegate;
+    private final RequestTraceListener listener;
+    private final long traceId = NEXT_TRACE_ID.incrementAndGet();
+    private volatile int attempt;
+
+    TracingRequestMetrics(AWSRequestMetrics delegate, RequestTraceListener listener) {
+        super(delegate.getTimingInfo());
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    /**
+     * @return the id passed to the listener
+     */
+    long getTraceId() {
+        return traceId;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return delegate.isEnabled();
+    }
+
+    @Override
+    public void startEvent(String eventName) {
+        listener.phaseStarted(traceId, attempt, eventName, System.nanoTime());
+        delegate.startEvent(eventName);
+    }
+
+    @Override
+    public void startEvent(MetricType f) {
+        listener.phaseStarted(traceId, attempt, f.name(), System.nanoTime());
+        delegate.startEvent(f);
+    }
+
+    @Override
+    public void endEvent(String eventName) {
+        delegate.endEvent(eventName);
+        listener.phaseEnded(traceId, attempt, eventName, System.nanoTime());
+    }
+
+    @Override
+    public void endEvent(MetricType f) {
+        delegate.endEvent(f);
+        listener.phaseEnded(traceId, attempt, f.name(), System.nanoTime());
+    }
+
+    @Override
+    public void incrementCounter(String event) {
+        delegate.incrementCounter(event);
+    }
+
+    @Override
+    public void incrementCounter(MetricType f) {
+        delegate.incrementCounter(f);
+    }
+
+    @Override
+    public void setCounter(String counterName, long count) {
+        trackAttempt(counterName, count);
+        delegate.setCounter(counterName, count);
+    }
+
+    @Override
+    public void setCounter(MetricType f, long count) {
+        trackAttempt(f.name(), count);
+        delegate.setCounter(f, count);
+    }
+
+    @Override
+    public void addProperty(String propertyName, Object value) {
+        delegate.addProperty(propertyName, value);
+    }
+
+    @Override
+    public void addProperty(MetricType f, Object value) {
+        delegate.addProperty(f, value);
+    }
+
+    @Override
+    public void log() {
+        delegate.log();
+    }
+
+    @Override
+    public List<Object> getProperty(String propertyName) {
+        return delegate.getProperty(propertyName);
+    }
+
+    @Override
+    public List<Object> getProperty(MetricType f) {
+        return delegate.getProperty(f);
+    }
+
+    private void trackAttempt(String counterName, long count) {
+        if (Field.RequestCount.name().equals(counterName)) {
+            attempt = (int) count;
+        }
+    }
+}
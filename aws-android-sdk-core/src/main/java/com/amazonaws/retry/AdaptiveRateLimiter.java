@@ -0,0 +1,160 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.retry;
+
+/**
+ * A client-side rate limiter that adapts to throttling, in the manner of
+ * CUBIC congestion control. It lets requests through without limit until
+ * the service throttles the client. From then on, requests take tokens from
+ * a bucket filled at a rate that drops to 70% of the measured sending rate
+ * on each throttling error and grows back along a cubic curve while
+ * requests succeed. This class is thread-safe.
+ */
+public class AdaptiveRateLimiter {
+
+    private static final double MIN_FILL_RATE = 0.5;
+    private static final double MIN_CAPACITY = 1;
+    private static final double SMOOTH = 0.8;
+    private static final double BETA = 0.7;
+    private static final double SCALE_CONSTANT = 0.4;
+    private static final double BUCKET_SECONDS = 0.5;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private double fillRate;
+    private double maxCapacity;
+    private double currentCapacity;
+    private double lastTimestamp = -1;
+    private boolean enabled;
+    private double measuredTxRate;
+    private double lastTxRateBucket;
+    private int requestCount;
+    private double lastMaxRate;
+    private double lastThrottleTime;
+    private double timeWindow;
+
+    /**
+     * Creates a rate limiter that doesn't limit anything until the first
+     * throttling error.
+     */
+    public AdaptiveRateLimiter() {
+        lastTxRateBucket = Math.floor(currentTimeSeconds());
+        lastThrottleTime = currentTimeSeconds();
+    }
+
+    /**
+     * Takes a token to send a request.
+     *
+     * @return the time in milliseconds the caller has to wait before sending
+     *         the request, 0 if it can be sent right away
+     */
+    public synchronized long acquire() {
+        if (!enabled) {
+            return 0;
+        }
+        refill();
+        long delayMillis = 0;
+        if (currentCapacity < 1) {
+            delayMillis = (long) Math.ceil((1 - currentCapacity) / fillRate * MILLIS_PER_SECOND);
+        }
+        // The token is borrowed when there is none, which delays the next
+        // callers further.
+        currentCapacity -= 1;
+        return delayMillis;
+    }
+
+    /**
+     * Updates the sending rate after a response from the service.
+     *
+     * @param throttled whether the response was a throttling error
+     */
+    public synchronized void updateClientSendingRate(boolean throttled) {
+        updateMeasuredRate();
+        final double calculatedRate;
+        if (throttled) {
+            final double rateToUse = enabled ? Math.min(measuredTxRate, fillRate)
+                    : measuredTxRate;
+            lastMaxRate = rateToUse;
+            calculateTimeWindow();
+            lastThrottleTime = currentTimeSeconds();
+            calculatedRate = rateToUse * BETA;
+            enabled = true;
+        } else {
+            calculateTimeWindow();
+            calculatedRate = cubicSuccess(currentTimeSeconds());
+        }
+        updateRate(Math.min(calculatedRate, 2 * measuredTxRate));
+    }
+
+    /**
+     * @return true once the service has throttled the client
+     */
+    public synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the number of requests per second allowed once enabled
+     */
+    public synchronized double getFillRate() {
+        return fillRate;
+    }
+
+    /**
+     * @return the current time in seconds
+     */
+    double currentTimeSeconds() {
+        return System.nanoTime() / 1000000000.0;
+    }
+
+    private void refill() {
+        final double now = currentTimeSeconds();
+        if (lastTimestamp < 0) {
+            lastTimestamp = now;
+            return;
+        }
+        currentCapacity = Math.min(maxCapacity,
+                currentCapacity + (now - lastTimestamp) * fillRate);
+        lastTimestamp = now;
+    }
+
+    private void updateRate(double newRate) {
+        refill();
+        fillRate = Math.max(newRate, MIN_FILL_RATE);
+        maxCapacity = Math.max(newRate, MIN_CAPACITY);
+        currentCapacity = Math.min(currentCapacity, maxCapacity);
+    }
+
+    private void updateMeasuredRate() {
+        final double now = currentTimeSeconds();
+        final double timeBucket = Math.floor(now / BUCKET_SECONDS) * BUCKET_SECONDS;
+        requestCount++;
+        if (timeBucket > lastTxRateBucket) {
+            final double currentRate = requestCount / (timeBucket - lastTxRateBucket);
+            measuredTxRate = currentRate * SMOOTH + measuredTxRate * (1 - SMOOTH);
+            requestCount = 0;
+            lastTxRateBucket = timeBucket;
+        }
+    }
+
+    private void calculateTimeWindow() {
+        timeWindow = Math.cbrt(lastMaxRate * (1 - BETA) / SCALE_CONSTANT);
+    }
+
+    private double cubicSuccess(double timestamp) {
+        final double dt = timestamp - lastThrottleTime;
+        return SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.retry;
+
+import com.amazonaws.ClientConfiguration;
+
+/**
+ * How a client limits its retries and its sending rate.
+ *
+ * @see ClientConfiguration#setRetryMode(RetryMode)
+ */
+public enum RetryMode {
+    /**
+     * Each request is retried independently, as configured by the
+     * {@link RetryPolicy}.
+     */
+    LEGACY,
+
+    /**
+     * Retries are also limited by a {@link RetryQuota} shared by all the
+     * requests of a client, so that a failing service doesn't get a retry
+     * storm. The quota is refilled by successful requests.
+     */
+    STANDARD,
+
+    /**
+     * Like {@link #STANDARD}, and the client also limits its sending rate with
+     * an {@link AdaptiveRateLimiter} when the service throttles it.
+     */
+    ADAPTIVE
+}
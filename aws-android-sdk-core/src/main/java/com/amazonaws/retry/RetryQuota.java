@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.retry;
+
+import com.amazonaws.AmazonClientException;
+
+import java.net.SocketTimeoutException;
+
+/**
+ * A token bucket of retries shared by all the requests of a client. Each
+ * retry takes tokens from the bucket and each successful request puts some
+ * back. When the bucket is empty, failed requests are not retried, which
+ * keeps clients from amplifying the load of a service that is already
+ * failing. This class is thread-safe.
+ */
+public final class RetryQuota {
+
+    /**
+     * Default number of tokens in the bucket.
+     */
+    public static final int DEFAULT_CAPACITY = 500;
+
+    /**
+     * Tokens taken by a retry.
+     */
+    public static final int RETRY_COST = 5;
+
+    /**
+     * Tokens taken by the retry of a request that timed out.
+     */
+    public static final int TIMEOUT_RETRY_COST = 10;
+
+    /**
+     * Tokens put back by a request that succeeded on its first attempt.
+     */
+    public static final int NO_RETRY_INCREMENT = 1;
+
+    private final int maxCapacity;
+    private int availableCapacity;
+
+    /**
+     * Creates a full bucket of {@link #DEFAULT_CAPACITY} tokens.
+     */
+    public RetryQuota() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity the number of tokens in the bucket
+     */
+    public RetryQuota(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        this.maxCapacity = capacity;
+        this.availableCapacity = capacity;
+    }
+
+    /**
+     * Takes the tokens needed to retry a request that failed with the given
+     * exception.
+     *
+     * @param exception the exception of the failed attempt
+     * @return the number of tokens taken, or 0 if there aren't enough tokens
+     *         and the request shouldn't be retried
+     */
+    public synchronized int acquire(AmazonClientException exception) {
+        final int cost = exception != null
+                && exception.getCause() instanceof SocketTimeoutException
+                ? TIMEOUT_RETRY_COST : RETRY_COST;
+        if (cost > availableCapacity) {
+            return 0;
+        }
+        availableCapacity -= cost;
+        return cost;
+    }
+
+    /**
+     * Puts tokens back into the bucket after a successful request.
+     *
+     * @param amount the number of tokens
+     */
+    public synchronized void release(int amount) {
+        availableCapacity = Math.min(maxCapacity, availableCapacity + Math.max(amount, 0));
+    }
+
+    /**
+     * @return the number of tokens in the bucket
+     */
+    public synchronized int getAvailableCapacity() {
+        return availableCapacity;
+    }
+
+    /**
+     * @return the number of tokens of a full bucket
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+}
@@ -35,7 +35,18 @@ public class RetryUtils {
         if (ase == null)
             return false;
 
-        String errorCode = ase.getErrorCode();
+        return isThrottlingErrorCode(ase.getErrorCode());
+    }
+
+    /**
+     * Returns true if the specified error code is the one of a throttling
+     * error.
+     *
+     * @param errorCode The error code to test.
+     * @return True if the error code is the one of a throttling error,
+     *         otherwise false.
+     */
+    public static boolean isThrottlingErrorCode(String errorCode) {
         return "Throttling".equals(errorCode)
                 || "ThrottlingException".equals(errorCode)
                 || "ProvisionedThroughputExceededException".equals(errorCode);
@@ -67,4 +67,36 @@ public enum Base16 {
     public static byte[] decode(byte[] b16) {
         return b16 == null || b16.length == 0 ? b16 : CODEC.decode(b16, b16.length);
     }
+
+    /**
+     * Encodes bytes into an existing array.
+     *
+     * @param src the bytes to encode.
+     * @param srcOffset the offset of the first byte to encode.
+     * @param length the number of bytes to encode.
+     * @param dest the array receiving the base 16 digits.
+     * @param destOffset the offset of the first digit.
+     * @return the number of digits written, twice the number of bytes.
+     */
+    public static int encode(byte[] src, int srcOffset, int length, byte[] dest,
+            int destOffset) {
+        return CODEC.encode(src, srcOffset, length, dest, destOffset);
+    }
+
+    /**
+     * Decodes base 16 digits into an existing array. Unlike
+     * {@link #decode(String)}, it doesn't skip white spaces.
+     *
+     * @param src the digits to decode.
+     * @param srcOffset the offset of the first digit.
+     * @param length the number of digits, a multiple of 2.
+     * @param dest the array receiving the decoded bytes.
+     * @param destOffset the offset of the first decoded byte.
+     * @return the number of bytes written, half the number of digits.
+     * @throws IllegalArgumentException if the digits aren't valid base 16.
+     */
+    public static int decode(byte[] src, int srcOffset, int length, byte[] dest,
+            int destOffset) {
+        return CODEC.decode(src, srcOffset, length, dest, destOffset);
+    }
 }
@@ -28,14 +28,16 @@ class Base16Codec implements Codec {
     private static final int OFFSET_OF_a = 'a' - OFFSET_VALUE;
     private static final int OFFSET_OF_A = 'A' - OFFSET_VALUE;
     private static final int MASK_4BITS = (1 << BITS_4) - 1;
+    private static final int MASK_8BITS = (1 << 8) - 1;
 
     private static class LazyHolder {
+        /** The value of each octet as a digit, or -1 if it isn't one. */
         private static final byte[] DECODED = decodeTable();
 
         private static byte[] decodeTable() {
-            final byte[] dest = new byte['f' + 1];
+            final byte[] dest = new byte[MASK_8BITS + 1];
 
-            for (int i = 0; i <= 'f'; i++) {
+            for (int i = 0; i <= MASK_8BITS; i++) {
                 if (i >= '0' && i <= '9')
                     dest[i] = (byte) (i - '0');
                 else if (i >= 'A' && i <= 'F')
@@ -52,16 +54,26 @@ class Base16Codec implements Codec {
     private final byte[] alpahbets = CodecUtils.toBytesDirect("0123456789ABCDEF");
 
     @Override
-    @SuppressWarnings("checkstyle:innerassignment")
     public byte[] encode(byte[] src) {
-        byte[] dest = new byte[src.length * 2];
+        final byte[] dest = new byte[src.length * 2];
+        encode(src, 0, src.length, dest, 0);
+        return dest;
+    }
+
+    /**
+     * Encodes bytes into an existing array.
+     *
+     * @return the number of digits written, twice the number of bytes
+     */
+    @SuppressWarnings("checkstyle:innerassignment")
+    int encode(byte[] src, int srcOffset, int length, byte[] dest, int destOffset) {
         byte p;
 
-        for (int i = 0, j = 0; i < src.length; i++) {
+        for (int i = srcOffset, j = destOffset; i < srcOffset + length; i++) {
             dest[j++] = alpahbets[(p = src[i]) >>> BITS_4 & MASK_4BITS];
             dest[j++] = alpahbets[p & MASK_4BITS];
         }
-        return dest;
+        return length * 2;
     }
 
     @Override
@@ -72,19 +84,35 @@ class Base16Codec implements Codec {
                             + length);
         }
         final byte[] dest = new byte[length / 2];
+        decode(src, 0, length, dest, 0);
+        return dest;
+    }
 
-        for (int i = 0, j = 0; j < dest.length; j++) {
-            dest[j] = (byte)
-                    (
-                    pos(src[i++]) << BITS_4 | pos(src[i++])
-                    );
-
+    /**
+     * Decodes digits into an existing array.
+     *
+     * @return the number of bytes written, half the number of digits
+     */
+    int decode(byte[] src, int srcOffset, int length, byte[] dest, int destOffset) {
+        if (length % 2 != 0) {
+            throw new IllegalArgumentException(
+                    "Input is expected to be encoded in multiple of 2 bytes but found: "
+                            + length);
         }
-        return dest;
+        final byte[] table = LazyHolder.DECODED;
+        for (int i = srcOffset, j = destOffset; i < srcOffset + length; i += 2) {
+            final int bits = table[src[i] & MASK_8BITS] << BITS_4 | table[src[i + 1] & MASK_8BITS];
+            if (bits < 0) {
+                pos(src[i]);
+                pos(src[i + 1]);
+            }
+            dest[j++] = (byte) bits;
+        }
+        return length / 2;
     }
 
     protected int pos(byte in) {
-        int pos = LazyHolder.DECODED[in];
+        int pos = LazyHolder.DECODED[in & MASK_8BITS];
 
         if (pos > -1) {
             return pos;
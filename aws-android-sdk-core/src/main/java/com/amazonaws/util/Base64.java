@@ -15,6 +15,11 @@
 
 package com.amazonaws.util;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * A Base 64 CODEC API. See http://www.ietf.org/rfc/rfc4648.txt
  *
@@ -25,6 +30,10 @@ public enum Base64 {
     ;
     private static final Base64Codec CODEC = new Base64Codec();
 
+    /** Bytes encoded at a time from buffers without a backing array. */
+    private static final int CHUNK_SIZE = 3 * 1024;
+    private static final int QUANTUM = 4;
+
     /**
      * @param bytes the bytes.
      * @return a base 64 encoded string of the given bytes.
@@ -56,6 +65,11 @@ public enum Base64 {
         if (b64.length() == 0) {
             return new byte[0];
         }
+        // Well formed input, e.g. a JSON blob, is decoded without a copy.
+        final byte[] decoded = CODEC.decodeDigits(b64);
+        if (decoded != null) {
+            return decoded;
+        }
         byte[] buf = new byte[b64.length()];
         int len = CodecUtils.sanitize(b64, buf);
         return CODEC.decode(buf, len);
@@ -69,4 +83,182 @@ public enum Base64 {
     public static byte[] decode(byte[] b64) {
         return b64 == null || b64.length == 0 ? b64 : CODEC.decode(b64, b64.length);
     }
+
+    /**
+     * @param length the number of bytes to encode.
+     * @return the number of base 64 digits, padding included, they encode
+     *         into.
+     */
+    public static int encodedLength(int length) {
+        return Base64Codec.encodedLength(length);
+    }
+
+    /**
+     * Encodes bytes into an existing array.
+     *
+     * @param src the bytes to encode.
+     * @param srcOffset the offset of the first byte to encode.
+     * @param length the number of bytes to encode.
+     * @param dest the array receiving the base 64 digits.
+     * @param destOffset the offset of the first digit.
+     * @return the number of digits written.
+     * @throws IndexOutOfBoundsException if dest is too small.
+     */
+    public static int encode(byte[] src, int srcOffset, int length, byte[] dest,
+            int destOffset) {
+        return CODEC.encode(src, srcOffset, length, dest, destOffset);
+    }
+
+    /**
+     * Decodes base 64 digits, padding included, into an existing array.
+     * Unlike {@link #decode(String)}, it doesn't skip white spaces.
+     *
+     * @param src the digits to decode.
+     * @param srcOffset the offset of the first digit.
+     * @param length the number of digits, a multiple of 4.
+     * @param dest the array receiving the decoded bytes.
+     * @param destOffset the offset of the first decoded byte.
+     * @return the number of bytes written.
+     * @throws IllegalArgumentException if the digits aren't valid base 64.
+     * @throws IndexOutOfBoundsException if dest is too small.
+     */
+    public static int decode(byte[] src, int srcOffset, int length, byte[] dest,
+            int destOffset) {
+        return CODEC.decode(src, srcOffset, length, dest, destOffset);
+    }
+
+    /**
+     * Encodes the remaining bytes of a buffer into a new buffer. The position
+     * of src is moved to its limit.
+     *
+     * @param src the bytes to encode.
+     * @return a buffer of the base 64 digits, ready to be read.
+     */
+    public static ByteBuffer encode(ByteBuffer src) {
+        final ByteBuffer dest = ByteBuffer.allocate(encodedLength(src.remaining()));
+        encode(src, dest);
+        dest.flip();
+        return dest;
+    }
+
+    /**
+     * Encodes the remaining bytes of a buffer into another. The position of
+     * src is moved to its limit, the one of dest past the digits written.
+     *
+     * @param src the bytes to encode.
+     * @param dest the buffer receiving the base 64 digits.
+     * @return the number of digits written.
+     * @throws BufferOverflowException if dest doesn't have enough room; no
+     *             byte is consumed or written then.
+     */
+    public static int encode(ByteBuffer src, ByteBuffer dest) {
+        final int length = src.remaining();
+        final int encoded = encodedLength(length);
+        if (dest.remaining() < encoded) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dest.hasArray()) {
+            CODEC.encode(src.array(), src.arrayOffset() + src.position(), length,
+                    dest.array(), dest.arrayOffset() + dest.position());
+            src.position(src.limit());
+            dest.position(dest.position() + encoded);
+            return encoded;
+        }
+        final byte[] in = new byte[Math.min(length, CHUNK_SIZE)];
+        final byte[] out = new byte[encodedLength(in.length)];
+        while (src.hasRemaining()) {
+            final int n = Math.min(src.remaining(), in.length);
+            src.get(in, 0, n);
+            dest.put(out, 0, CODEC.encode(in, 0, n, out, 0));
+        }
+        return encoded;
+    }
+
+    /**
+     * Decodes the remaining base 64 digits of a buffer into a new buffer. The
+     * position of src is moved to its limit.
+     *
+     * @param src the digits to decode, padding included.
+     * @return a buffer of the decoded bytes, ready to be read.
+     * @throws IllegalArgumentException if the digits aren't valid base 64.
+     */
+    public static ByteBuffer decode(ByteBuffer src) {
+        final ByteBuffer dest = ByteBuffer.allocate(decodedLength(src));
+        decode(src, dest);
+        dest.flip();
+        return dest;
+    }
+
+    /**
+     * Decodes the remaining base 64 digits of a buffer into another. The
+     * position of src is moved to its limit, the one of dest past the bytes
+     * written.
+     *
+     * @param src the digits to decode, padding included.
+     * @param dest the buffer receiving the decoded bytes.
+     * @return the number of bytes written.
+     * @throws IllegalArgumentException if the digits aren't valid base 64.
+     * @throws BufferOverflowException if dest doesn't have enough room; no
+     *             byte is consumed or written then.
+     */
+    public static int decode(ByteBuffer src, ByteBuffer dest) {
+        final int length = src.remaining();
+        final int decoded = decodedLength(src);
+        if (dest.remaining() < decoded) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dest.hasArray()) {
+            CODEC.decode(src.array(), src.arrayOffset() + src.position(), length,
+                    dest.array(), dest.arrayOffset() + dest.position());
+            src.position(src.limit());
+            dest.position(dest.position() + decoded);
+            return decoded;
+        }
+        // chunks are whole quanta, so only the last one can be padded
+        final byte[] in = new byte[Math.min(length, CHUNK_SIZE / 3 * QUANTUM)];
+        final byte[] out = new byte[in.length / QUANTUM * 3];
+        while (src.hasRemaining()) {
+            final int n = Math.min(src.remaining(), in.length);
+            src.get(in, 0, n);
+            dest.put(out, 0, CODEC.decode(in, 0, n, out, 0));
+        }
+        return decoded;
+    }
+
+    /**
+     * Wraps an output stream so that the bytes written to the returned stream
+     * are written base 64 encoded to the given one. Closing the returned
+     * stream writes the final padded quantum and closes the given stream.
+     *
+     * @param out the stream receiving the base 64 digits.
+     * @return the encoding stream.
+     */
+    public static OutputStream wrapEncoder(OutputStream out) {
+        return new Base64EncodingOutputStream(out, CODEC);
+    }
+
+    /**
+     * Wraps an input stream of base 64 digits so that reading the returned
+     * stream returns the decoded bytes. Carriage returns, line feeds and
+     * spaces are skipped. Invalid input fails the read with an IOException.
+     *
+     * @param in the stream of base 64 digits.
+     * @return the decoding stream.
+     */
+    public static InputStream wrapDecoder(InputStream in) {
+        return new Base64DecodingInputStream(in, CODEC);
+    }
+
+    private static int decodedLength(ByteBuffer src) {
+        final int length = src.remaining();
+        if (length % QUANTUM != 0) {
+            throw new IllegalArgumentException(
+                    "Input is expected to be encoded in multiple of 4 bytes but found: " + length);
+        }
+        int pads = 0;
+        for (int i = src.limit() - 1; pads < 2 && i >= src.position() && src.get(i) == '='; i--) {
+            pads++;
+        }
+        return length / QUANTUM * 3 - pads;
+    }
 }
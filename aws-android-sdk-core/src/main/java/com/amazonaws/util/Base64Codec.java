@@ -18,7 +18,9 @@ package com.amazonaws.util;
 import static com.amazonaws.util.CodecUtils.sanityCheckLastPos;
 
 /**
- * A Base 64 codec implementation.
+ * A Base 64 codec implementation. Three bytes are encoded, and four digits
+ * decoded, at a time through lookup tables; the decoding table maps invalid
+ * digits to -1 so that a whole quantum is validated with a single sign check.
  *
  * @author Hanson Char
  */
@@ -35,33 +37,41 @@ class Base64Codec implements Codec {
     private static final int OFFSET_OF_PLUS = '+' - OFFSET_PLUS_VALUE;
     private static final int OFFSET_OF_SLASH = '/' - OFFSET_SLASH_VALUE;
 
+    private static final int BITS_2 = 2;
     private static final int BITS_3 = 3;
     private static final int BITS_4 = 4;
     private static final int BITS_6 = 6;
+    private static final int BITS_8 = 8;
+    private static final int BITS_10 = 10;
+    private static final int BITS_12 = 12;
+    private static final int BITS_16 = 16;
+    private static final int BITS_18 = 18;
 
     private static final int MASK_2BITS = (1 << 2) - 1;
     private static final int MASK_4BITS = (1 << BITS_4) - 1;
     private static final int MASK_6BITS = (1 << BITS_6) - 1;
+    private static final int MASK_8BITS = (1 << BITS_8) - 1;
     // Alphabet as defined at http://www.ietf.org/rfc/rfc4648.txt
     private static final byte PAD = '=';
 
     private static class LazyHolder {
-        private static final byte[] DECODED = decodeTable();
+        /** The value of each octet as a digit, or -1 if it isn't one. */
+        private static final int[] DECODED = decodeTable();
 
-        private static byte[] decodeTable() {
-            final byte[] dest = new byte['z' + 1];
+        private static int[] decodeTable() {
+            final int[] dest = new int[MASK_8BITS + 1];
 
-            for (int i = 0; i <= 'z'; i++) {
+            for (int i = 0; i <= MASK_8BITS; i++) {
                 if (i >= 'A' && i <= 'Z')
-                    dest[i] = (byte) (i - 'A');
+                    dest[i] = i - 'A';
                 else if (i >= '0' && i <= '9')
-                    dest[i] = (byte) (i - OFFSET_OF_0);
+                    dest[i] = i - OFFSET_OF_0;
                 else if (i == '+')
-                    dest[i] = (byte) (i - OFFSET_OF_PLUS);
+                    dest[i] = i - OFFSET_OF_PLUS;
                 else if (i == '/')
-                    dest[i] = (byte) (i - OFFSET_OF_SLASH);
+                    dest[i] = i - OFFSET_OF_SLASH;
                 else if (i >= 'a' && i <= 'z')
-                    dest[i] = (byte) (i - OFFSET_OF_a);
+                    dest[i] = i - OFFSET_OF_a;
                 else
                     dest[i] = -1;
             }
@@ -80,174 +90,213 @@ class Base64Codec implements Codec {
         alpahbets = alphabets;
     }
 
-    @Override
-    public byte[] encode(byte[] src) {
-        final int num3bytes = src.length / BITS_3;
-        final int remainder = src.length % BITS_3;
-
-        if (remainder == 0) {
-            byte[] dest = new byte[num3bytes * BITS_4];
-
-            for (int s = 0, d = 0; s < src.length; s += BITS_3, d += BITS_4)
-                encode3bytes(src, s, dest, d);
-            return dest;
-        }
+    /**
+     * @param length the number of bytes to encode
+     * @return the number of digits, padding included, they encode into
+     */
+    static int encodedLength(int length) {
+        return (length + 2) / BITS_3 * BITS_4;
+    }
 
-        byte[] dest = new byte[(num3bytes + 1) * BITS_4];
-        int s = 0, d = 0;
+    /**
+     * @param src the encoded digits
+     * @param offset the offset of the first digit
+     * @param length the number of digits, padding included
+     * @return the number of bytes the digits decode into
+     * @throws IllegalArgumentException if the length isn't a multiple of 4
+     */
+    static int decodedLength(byte[] src, int offset, int length) {
+        if (length % BITS_4 != 0)
+            throw new IllegalArgumentException(
+                    "Input is expected to be encoded in multiple of 4 bytes but found: " + length);
+        if (length == 0)
+            return 0;
 
-        for (; s < src.length - remainder; s += BITS_3, d += BITS_4)
-            encode3bytes(src, s, dest, d);
+        // max possible padding in b64 encoding is 2
+        int pads = 0;
+        for (int last = offset + length - 1; pads < 2 && src[last] == PAD; last--)
+            pads++;
+        return length / BITS_4 * BITS_3 - pads;
+    }
 
-        switch (remainder) {
-            case 1:
-                encode1byte(src, s, dest, d);
-                break;
-            case 2:
-                encode2bytes(src, s, dest, d);
-                break;
-            default:
-                break;
-        }
+    @Override
+    public byte[] encode(byte[] src) {
+        final byte[] dest = new byte[encodedLength(src.length)];
+        encode(src, 0, src.length, dest, 0);
         return dest;
     }
 
-    void encode3bytes(byte[] src, int s, byte[] dest, int d) {
-        // operator precedence in descending order: >>> or <<, &, |
-        byte p;
-        dest[d++] = alpahbets[(p = src[s++]) >>> 2 & MASK_6BITS]; // 6
-        dest[d++] = alpahbets[(p & MASK_2BITS) << BITS_4 | (p = src[s++]) >>> BITS_4 & MASK_4BITS]; // 2
-                                                                                          // 4
-        dest[d++] = alpahbets[(p & MASK_4BITS) << 2 | (p = src[s]) >>> BITS_6 & MASK_2BITS]; // 4
-                                                                                        // 2
-        dest[d] = alpahbets[p & MASK_6BITS]; // 6
-        return;
-    }
+    /**
+     * Encodes bytes into an existing array.
+     *
+     * @param src the bytes to encode
+     * @param srcOffset the offset of the first byte
+     * @param length the number of bytes
+     * @param dest the array receiving the digits
+     * @param destOffset the offset of the first digit
+     * @return the number of digits written, see {@link #encodedLength(int)}
+     */
+    int encode(byte[] src, int srcOffset, int length, byte[] dest, int destOffset) {
+        final byte[] digits = alpahbets;
+        final int remainder = length % BITS_3;
+        final int end = srcOffset + length - remainder;
+        int s = srcOffset;
+        int d = destOffset;
 
-    void encode2bytes(byte[] src, int s, byte[] dest, int d) {
         // operator precedence in descending order: >>> or <<, &, |
-        byte p;
-        dest[d++] = alpahbets[(p = src[s++]) >>> 2 & MASK_6BITS]; // 6
-        dest[d++] = alpahbets[(p & MASK_2BITS) << BITS_4 | (p = src[s]) >>> BITS_4 & MASK_4BITS]; // 2
-                                                                                        // 4
-        dest[d++] = alpahbets[(p & MASK_4BITS) << 2]; // 4
-        dest[d] = PAD;
-        return;
-    }
+        while (s < end) {
+            final int bits = (src[s++] & MASK_8BITS) << BITS_16
+                    | (src[s++] & MASK_8BITS) << BITS_8
+                    | src[s++] & MASK_8BITS;
+            dest[d++] = digits[bits >>> BITS_18];
+            dest[d++] = digits[bits >>> BITS_12 & MASK_6BITS];
+            dest[d++] = digits[bits >>> BITS_6 & MASK_6BITS];
+            dest[d++] = digits[bits & MASK_6BITS];
+        }
 
-    void encode1byte(byte[] src, int s, byte[] dest, int d) {
-        // operator precedence in descending order: >>> or <<, &, |
-        byte p;
-        dest[d++] = alpahbets[(p = src[s]) >>> 2 & MASK_6BITS]; // 6
-        dest[d++] = alpahbets[(p & MASK_2BITS) << BITS_4]; // 2
-        dest[d++] = PAD;
-        dest[d] = PAD;
-        return;
+        if (remainder == 1) {
+            final int bits = src[s] & MASK_8BITS;
+            dest[d++] = digits[bits >>> BITS_2];
+            dest[d++] = digits[(bits & MASK_2BITS) << BITS_4];
+            dest[d++] = PAD;
+            dest[d++] = PAD;
+        } else if (remainder == 2) {
+            final int bits = (src[s++] & MASK_8BITS) << BITS_8 | src[s] & MASK_8BITS;
+            dest[d++] = digits[bits >>> BITS_10];
+            dest[d++] = digits[bits >>> BITS_4 & MASK_6BITS];
+            dest[d++] = digits[(bits & MASK_4BITS) << BITS_2];
+            dest[d++] = PAD;
+        }
+        return d - destOffset;
     }
 
-    void decode4bytes(byte[] src, int s, byte[] dest, int d) {
-        int p = 0;
-        // operator precedence in descending order: >>> or <<, &, |
-        dest[d++] = (byte)
-                (
-                pos(src[s++]) << 2
-                | (p = pos(src[s++])) >>> BITS_4 & MASK_2BITS
-                ); // 6 2
-        dest[d++] = (byte)
-                (
-                (p & MASK_4BITS) << BITS_4
-                | (p = pos(src[s++])) >>> 2 & MASK_4BITS
-                ); // 4 4
-        dest[d] = (byte)
-                (
-                (p & MASK_2BITS) << BITS_6
-                | pos(src[s])
-                ); // 2 6
-        return;
+    @Override
+    public byte[] decode(byte[] src, final int length) {
+        final byte[] dest = new byte[decodedLength(src, 0, length)];
+        decode(src, 0, length, dest, 0);
+        return dest;
     }
 
     /**
-     * @param n the number of final quantum in bytes to decode into. Ranges from
-     *            1 to 3, inclusive.
+     * Decodes digits into an existing array.
+     *
+     * @param src the digits to decode, padding included
+     * @param srcOffset the offset of the first digit
+     * @param length the number of digits, a multiple of 4
+     * @param dest the array receiving the bytes
+     * @param destOffset the offset of the first byte
+     * @return the number of bytes written, see
+     *         {@link #decodedLength(byte[], int, int)}
+     * @throws IllegalArgumentException if the digits aren't valid base 64
      */
-    void decode1to3bytes(int n, byte[] src, int s, byte[] dest, int d) {
-        int p = 0;
-        // operator precedence in descending order: >>> or <<, &, |
-        dest[d++] = (byte)
-                (
-                pos(src[s++]) << 2
-                | (p = pos(src[s++])) >>> BITS_4 & MASK_2BITS
-                ); // 6 2
-        if (n == 1) {
-            sanityCheckLastPos(p, MASK_4BITS);
-            return;
+    int decode(byte[] src, int srcOffset, int length, byte[] dest, int destOffset) {
+        final int decodedLength = decodedLength(src, srcOffset, length);
+        final int fq = decodedLength % BITS_3; // bytes in a padded final quantum
+        final int end = srcOffset + (fq == 0 ? length : length - BITS_4);
+        final int[] table = LazyHolder.DECODED;
+        int s = srcOffset;
+        int d = destOffset;
+
+        while (s < end) {
+            final int bits = table[src[s] & MASK_8BITS] << BITS_18
+                    | table[src[s + 1] & MASK_8BITS] << BITS_12
+                    | table[src[s + 2] & MASK_8BITS] << BITS_6
+                    | table[src[s + BITS_3] & MASK_8BITS];
+            if (bits < 0)
+                throw invalidQuantum(src, s, BITS_4);
+            dest[d++] = (byte) (bits >>> BITS_16);
+            dest[d++] = (byte) (bits >>> BITS_8);
+            dest[d++] = (byte) bits;
+            s += BITS_4;
         }
 
-        dest[d++] = (byte)
-                (
-                (p & MASK_4BITS) << BITS_4
-                | (p = pos(src[s++])) >>> 2 & MASK_4BITS
-                ); // 4 4
-        if (n == 2) {
-            sanityCheckLastPos(p, MASK_2BITS);
-            return;
+        if (fq == 1) {
+            final int last = table[src[s + 1] & MASK_8BITS];
+            final int bits = table[src[s] & MASK_8BITS] << BITS_6 | last;
+            if (bits < 0)
+                throw invalidQuantum(src, s, 2);
+            sanityCheckLastPos(last, MASK_4BITS);
+            dest[d++] = (byte) (bits >>> BITS_4);
+        } else if (fq == 2) {
+            final int last = table[src[s + 2] & MASK_8BITS];
+            final int bits = table[src[s] & MASK_8BITS] << BITS_12
+                    | table[src[s + 1] & MASK_8BITS] << BITS_6
+                    | last;
+            if (bits < 0)
+                throw invalidQuantum(src, s, BITS_3);
+            sanityCheckLastPos(last, MASK_2BITS);
+            dest[d++] = (byte) (bits >>> BITS_10);
+            dest[d++] = (byte) (bits >>> 2);
         }
-
-        dest[d] = (byte)
-                (
-                (p & MASK_2BITS) << BITS_6
-                | pos(src[s])
-                ); // 2 6
-        return;
+        return d - destOffset;
     }
 
-    @Override
-    public byte[] decode(byte[] src, final int length) {
+    /**
+     * Decodes the digits of a string, padding included, straight into a new
+     * array, without copying them into an array of octets first.
+     *
+     * @param src the digits to decode
+     * @return the decoded bytes; or null if the string isn't made of whole
+     *         quanta of valid digits, e.g. if it has line breaks, in which case
+     *         the caller falls back to sanitizing it
+     */
+    byte[] decodeDigits(String src) {
+        final int length = src.length();
         if (length % BITS_4 != 0)
-            throw new IllegalArgumentException(
-                    "Input is expected to be encoded in multiple of 4 bytes but found: " + length);
-
+            return null;
         int pads = 0;
-        int last = length - 1;
-
-        // max possible padding in b64 encoding is 2
-        for (; pads < 2 && last > -1; last--, pads++) {
-            if (src[last] != PAD)
-                break;
+        for (int last = length - 1; pads < 2 && last >= 0 && src.charAt(last) == PAD; last--)
+            pads++;
+        final byte[] dest = new byte[length / BITS_4 * BITS_3 - pads];
+        final int fq = dest.length % BITS_3; // bytes in a padded final quantum
+        final int end = fq == 0 ? length : length - BITS_4;
+        int s = 0;
+        int d = 0;
+
+        while (s < end) {
+            final int bits = digit(src.charAt(s)) << BITS_18
+                    | digit(src.charAt(s + 1)) << BITS_12
+                    | digit(src.charAt(s + 2)) << BITS_6
+                    | digit(src.charAt(s + BITS_3));
+            if (bits < 0)
+                return null;
+            dest[d++] = (byte) (bits >>> BITS_16);
+            dest[d++] = (byte) (bits >>> BITS_8);
+            dest[d++] = (byte) bits;
+            s += BITS_4;
         }
 
-        final int fq; // final quantum in unit of bytes
-
-        switch (pads) {
-            case 0:
-                fq = BITS_3;
-                break; // final quantum of encoding input is an integral
-                       // multiple of 24 bits
-            case 1:
-                fq = 2;
-                break; // final quantum of encoding input is exactly 16 bits
-            case 2:
-                fq = 1;
-                break; // final quantum of encoding input is exactly 8 bits
-            default:
-                throw new Error("Impossible");
+        if (fq == 1) {
+            final int last = digit(src.charAt(s + 1));
+            final int bits = digit(src.charAt(s)) << BITS_6 | last;
+            if (bits < 0 || (last & MASK_4BITS) != 0)
+                return null;
+            dest[d] = (byte) (bits >>> BITS_4);
+        } else if (fq == 2) {
+            final int last = digit(src.charAt(s + 2));
+            final int bits = digit(src.charAt(s)) << BITS_12
+                    | digit(src.charAt(s + 1)) << BITS_6
+                    | last;
+            if (bits < 0 || (last & MASK_2BITS) != 0)
+                return null;
+            dest[d++] = (byte) (bits >>> BITS_10);
+            dest[d] = (byte) (bits >>> 2);
         }
-        final byte[] dest = new byte[length / BITS_4 * BITS_3 - (BITS_3 - fq)];
-        int s = 0, d = 0;
+        return dest;
+    }
 
-        // % has a higher precedence than - than <
-        for (; d < dest.length - fq % BITS_3; s += BITS_4, d += BITS_3) {
-            decode4bytes(src, s, dest, d);
-        }
+    private static int digit(char c) {
+        return c <= MASK_8BITS ? LazyHolder.DECODED[c] : -1;
+    }
 
-        if (fq < BITS_3) {
-            decode1to3bytes(fq, src, s, dest, d);
-        }
-        return dest;
+    private IllegalArgumentException invalidQuantum(byte[] src, int s, int digits) {
+        for (int i = s; i < s + digits; i++)
+            pos(src[i]);
+        return new IllegalArgumentException("Invalid base 64 quantum at offset " + s);
     }
 
     protected int pos(byte in) {
-        int pos = LazyHolder.DECODED[in];
+        int pos = LazyHolder.DECODED[in & MASK_8BITS];
 
         if (pos > -1)
             return pos;
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that decodes the base 64 digits read from the underlying
+ * stream, skipping carriage returns, line feeds and spaces.
+ */
+class Base64DecodingInputStream extends FilterInputStream {
+
+    /** Digits read from the underlying stream at a time; a multiple of 4. */
+    private static final int CHUNK_SIZE = 4 * 1024;
+    private static final int QUANTUM = 4;
+
+    private final Base64Codec codec;
+    private final byte[] raw = new byte[CHUNK_SIZE];
+    private final byte[] digits = new byte[CHUNK_SIZE + QUANTUM - 1];
+    private final byte[] decoded = new byte[CHUNK_SIZE / QUANTUM * 3];
+    private int digitCount;
+    private int decodedPos;
+    private int decodedLimit;
+    private boolean eof;
+    private boolean padded;
+
+    Base64DecodingInputStream(InputStream in, Base64Codec codec) {
+        super(in);
+        this.codec = codec;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return decoded[decodedPos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int n = Math.min(len, decodedLimit - decodedPos);
+        System.arraycopy(decoded, decodedPos, b, off, n);
+        decodedPos += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && fill()) {
+            final int step = (int) Math.min(n - skipped, decodedLimit - decodedPos);
+            decodedPos += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return decodedLimit - decodedPos;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Decodes more bytes if all the decoded ones were read.
+     *
+     * @return false at the end of the stream
+     */
+    private boolean fill() throws IOException {
+        while (decodedPos == decodedLimit) {
+            if (eof) {
+                if (digitCount != 0) {
+                    throw new IOException("Truncated base 64 input");
+                }
+                return false;
+            }
+            final int n = in.read(raw, 0, CHUNK_SIZE);
+            if (n < 0) {
+                eof = true;
+                continue;
+            }
+            for (int i = 0; i < n; i++) {
+                final byte c = raw[i];
+                if (c != '\r' && c != '\n' && c != ' ') {
+                    digits[digitCount++] = c;
+                }
+            }
+            final int batch = digitCount - digitCount % QUANTUM;
+            if (batch == 0) {
+                continue;
+            }
+            if (padded) {
+                throw new IOException("Base 64 input continues after padding");
+            }
+            try {
+                decodedLimit = codec.decode(digits, 0, batch, decoded, 0);
+            } catch (final IllegalArgumentException e) {
+                throw new IOException(e.getMessage());
+            }
+            decodedPos = 0;
+            padded = digits[batch - 1] == '=';
+            digitCount -= batch;
+            System.arraycopy(digits, batch, digits, 0, digitCount);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that writes the base 64 encoding of the bytes written to
+ * it. The final, padded quantum is written when the stream is closed.
+ */
+class Base64EncodingOutputStream extends FilterOutputStream {
+
+    /** Bytes encoded per write to the underlying stream; a multiple of 3. */
+    private static final int CHUNK_SIZE = 3 * 1024;
+    private static final int QUANTUM = 3;
+
+    private final Base64Codec codec;
+    private final byte[] pending = new byte[QUANTUM];
+    private final byte[] encoded = new byte[Base64Codec.encodedLength(CHUNK_SIZE)];
+    private int pendingCount;
+    private boolean closed;
+
+    Base64EncodingOutputStream(OutputStream out, Base64Codec codec) {
+        super(out);
+        this.codec = codec;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        pending[pendingCount++] = (byte) b;
+        if (pendingCount == QUANTUM) {
+            out.write(encoded, 0, codec.encode(pending, 0, QUANTUM, encoded, 0));
+            pendingCount = 0;
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        // completes the quantum started by a previous write
+        while (pendingCount != 0 && len > 0) {
+            write(b[off++]);
+            len--;
+        }
+        while (len >= QUANTUM) {
+            final int n = Math.min(len - len % QUANTUM, CHUNK_SIZE);
+            out.write(encoded, 0, codec.encode(b, off, n, encoded, 0));
+            off += n;
+            len -= n;
+        }
+        while (len > 0) {
+            pending[pendingCount++] = b[off++];
+            len--;
+        }
+    }
+
+    /**
+     * Flushes the underlying stream. Up to two bytes stay buffered until the
+     * next write or the stream is closed, since a quantum can't be encoded
+     * before it's complete.
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (pendingCount > 0) {
+                out.write(encoded, 0, codec.encode(pending, 0, pendingCount, encoded, 0));
+                pendingCount = 0;
+            }
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
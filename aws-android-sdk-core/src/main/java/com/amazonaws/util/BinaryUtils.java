@@ -28,30 +28,25 @@ import java.util.Arrays;
  */
 public class BinaryUtils {
 
-    private static final int HEX_LENGTH_8 = 8;
-    private static final int HEX_PARSE_16 = 16;
-    private static final int FF_LOCATION = 6;
+    private static final int HEX_RADIX = 16;
+    private static final int BITS_4 = 4;
+    private static final int MASK_4BITS = 0x0F;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     /**
      * Converts byte data to a Hex-encoded string.
      *
      * @param data data to hex encode.
-     * @return hex-encoded string.
+     * @return hex-encoded string, in lower case.
      */
     public static String toHex(byte[] data) {
-        final StringBuilder sb = new StringBuilder(data.length * 2);
-        for (int i = 0; i < data.length; i++) {
-            String hex = Integer.toHexString(data[i]);
-            if (hex.length() == 1) {
-                // Append leading zero.
-                sb.append("0");
-            } else if (hex.length() == HEX_LENGTH_8) {
-                // Remove ff prefix from negative numbers.
-                hex = hex.substring(FF_LOCATION);
-            }
-            sb.append(hex);
+        final char[] hex = new char[data.length * 2];
+        for (int i = 0, j = 0; i < data.length; i++) {
+            final byte b = data[i];
+            hex[j++] = HEX_DIGITS[b >>> BITS_4 & MASK_4BITS];
+            hex[j++] = HEX_DIGITS[b & MASK_4BITS];
         }
-        return StringUtils.lowerCase(sb.toString());
+        return new String(hex);
     }
 
     /**
@@ -59,20 +54,33 @@ public class BinaryUtils {
      *
      * @param hexData hex-encoded data to decode.
      * @return decoded data from the hex string.
+     * @throws NumberFormatException if the string contains a character that
+     *             isn't a hex digit.
      */
     public static byte[] fromHex(String hexData) {
-        final byte[] result = new byte[(hexData.length() + 1) / 2];
-        String hexNumber = null;
-        int stringOffset = 0;
-        int byteOffset = 0;
-        while (stringOffset < hexData.length()) {
-            hexNumber = hexData.substring(stringOffset, stringOffset + 2);
-            stringOffset += 2;
-            result[byteOffset++] = (byte) Integer.parseInt(hexNumber, HEX_PARSE_16);
+        final int length = hexData.length();
+        if (length % 2 != 0) {
+            throw new StringIndexOutOfBoundsException(
+                    "Hex-encoded data has an odd length: " + length);
+        }
+        final byte[] result = new byte[length / 2];
+        for (int i = 0, j = 0; i < length; j++) {
+            final int high = hexDigit(hexData, i++);
+            final int low = hexDigit(hexData, i++);
+            result[j] = (byte) (high << BITS_4 | low);
         }
         return result;
     }
 
+    private static int hexDigit(String hexData, int index) {
+        final int digit = Character.digit(hexData.charAt(index), HEX_RADIX);
+        if (digit < 0) {
+            throw new NumberFormatException("Invalid hex digit at position " + index
+                    + " of " + hexData);
+        }
+        return digit;
+    }
+
     /**
      * Converts byte data to a Base64-encoded string.
      *
@@ -46,11 +46,10 @@ public enum CodecUtils {
      */
     static int sanitize(final String singleOctets, byte[] dest) {
         final int capacity = dest.length;
-        final char[] src = singleOctets.toCharArray();
         int limit = 0;
 
         for (int i = 0; i < capacity; i++) {
-            final char c = src[i];
+            final char c = singleOctets.charAt(i);
 
             if (c == '\r' || c == '\n' || c == ' ')
                 continue;
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.util.json;
+
+import static com.amazonaws.util.StringUtils.UTF8;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * A {@link Writer} that encodes characters to UTF-8 as they are written into
+ * a growable byte array. Request marshallers write JSON to it through
+ * {@link JsonUtils#getJsonWriter(Writer)} and send the bytes as they are,
+ * without building the payload as a {@link String} first. Malformed
+ * surrogate pairs are encoded as '?', like {@link String#getBytes}. This
+ * class is not thread-safe.
+ */
+public final class JsonByteSink extends Writer {
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int MAX_BYTES_PER_CHAR = 4;
+
+    private byte[] buffer;
+    private int count;
+    /** A high surrogate waiting for its low surrogate, or 0. */
+    private char highSurrogate;
+
+    /**
+     * Creates a sink with the default initial capacity.
+     */
+    public JsonByteSink() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a sink.
+     *
+     * @param initialCapacity the initial capacity in bytes
+     */
+    public JsonByteSink(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative initial capacity: " + initialCapacity);
+        }
+        buffer = new byte[initialCapacity];
+    }
+
+    @Override
+    public void write(int c) {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf) {
+        write(cbuf, 0, cbuf.length);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        final int end = off + len;
+        for (int i = off; i < end; i++) {
+            final char c = cbuf[i];
+            if (c < 0x80 && highSurrogate == 0) {
+                if (count == buffer.length) {
+                    grow(count + end - i);
+                }
+                buffer[count++] = (byte) c;
+            } else {
+                encode(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str) {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        final int end = off + len;
+        for (int i = off; i < end; i++) {
+            final char c = str.charAt(i);
+            if (c < 0x80 && highSurrogate == 0) {
+                if (count == buffer.length) {
+                    grow(count + end - i);
+                }
+                buffer[count++] = (byte) c;
+            } else {
+                encode(c);
+            }
+        }
+    }
+
+    @Override
+    public JsonByteSink append(CharSequence csq) {
+        final String str = String.valueOf(csq);
+        write(str, 0, str.length());
+        return this;
+    }
+
+    @Override
+    public void flush() {
+        // nothing buffered outside the byte array
+    }
+
+    /**
+     * Completes a dangling high surrogate, if any. The bytes stay available.
+     */
+    @Override
+    public void close() {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            ensureCapacity(1);
+            buffer[count++] = '?';
+        }
+    }
+
+    /**
+     * @return the number of bytes written so far
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns a stream over the bytes written so far. The stream shares the
+     * bytes of the sink, it supports mark and reset, and it shouldn't be used
+     * once more characters are written.
+     *
+     * @return a stream over the written bytes
+     */
+    public InputStream toInputStream() {
+        return new ByteArrayInputStream(buffer, 0, count);
+    }
+
+    /**
+     * @return a copy of the bytes written so far
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Discards the bytes written so far and keeps the capacity.
+     */
+    public void reset() {
+        count = 0;
+        highSurrogate = 0;
+    }
+
+    /**
+     * @return the bytes written so far decoded as UTF-8
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, count, UTF8);
+    }
+
+    private void encode(char c) {
+        ensureCapacity(MAX_BYTES_PER_CHAR);
+        if (highSurrogate != 0) {
+            final char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(high, c);
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            buffer[count++] = '?';
+            ensureCapacity(MAX_BYTES_PER_CHAR);
+        }
+        if (c < 0x80) {
+            buffer[count++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[count++] = '?';
+        } else {
+            buffer[count++] = (byte) (0xE0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (count + extra > buffer.length) {
+            grow(count + extra);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        final int newCapacity = Math.max(minCapacity, buffer.length << 1);
+        buffer = Arrays.copyOf(buffer, newCapacity);
+    }
+}
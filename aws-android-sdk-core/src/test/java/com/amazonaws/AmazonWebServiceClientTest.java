@@ -18,17 +18,41 @@ package com.amazonaws;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import com.amazonaws.auth.AWS4Signer;
+import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.auth.QueryStringSigner;
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.handlers.RequestHandler2;
 import com.amazonaws.http.ExecutionContext;
+import com.amazonaws.http.HttpClient;
+import com.amazonaws.http.HttpMethodName;
+import com.amazonaws.http.HttpRequest;
+import com.amazonaws.http.HttpResponse;
+import com.amazonaws.http.HttpResponseHandler;
+import com.amazonaws.internal.StaticCredentialsProvider;
+import com.amazonaws.transform.Marshaller;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AmazonWebServiceClientTest {
 
@@ -186,7 +210,245 @@ public class AmazonWebServiceClientTest {
         assertEquals(client.getTimeOffset(), 100);
     }
 
-    private class TestRequest extends AmazonWebServiceRequest {
+
+    @Test
+    public void testInvokeAsyncRunsOnExecutor() throws Exception {
+        final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+        final AtomicInteger attempts = new AtomicInteger();
+        final AmazonAsyncTestClient client = new AmazonAsyncTestClient(new HttpClient() {
+            @Override
+            public HttpResponse execute(HttpRequest request) throws IOException {
+                threads.add(Thread.currentThread().getName());
+                // the first attempt fails and is retried after a back-off
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IOException("BOOM");
+                }
+                return HttpResponse.builder().statusCode(200).build();
+            }
+
+            @Override
+            public void shutdown() {
+            }
+        });
+        final ExecutorService executor = namedExecutor("async-test");
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<String> results = new ArrayList<String>();
+        try {
+            final Future<String> future = client.invokeAsync(new TestRequest(),
+                    new TestMarshaller(threads), new TestResponseHandler("ok"), null,
+                    new StaticCredentialsProvider(new BasicAWSCredentials("id", "key")),
+                    new AsyncHandler<TestRequest, String>() {
+                        @Override
+                        public void onError(Exception exception) {
+                            latch.countDown();
+                        }
+
+                        @Override
+                        public void onSuccess(TestRequest request, String result) {
+                            results.add(result);
+                            latch.countDown();
+                        }
+                    }, executor);
+
+            assertEquals("ok", future.get(10, TimeUnit.SECONDS));
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList("ok"), results);
+            assertEquals(2, attempts.get());
+            // marshalling and both attempts ran on the executor
+            assertEquals(3, threads.size());
+            for (final String thread : threads) {
+                assertEquals("async-test", thread);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvokeAsyncReportsMarshallingFailure() throws Exception {
+        final AmazonAsyncTestClient client = new AmazonAsyncTestClient(new HttpClient() {
+            @Override
+            public HttpResponse execute(HttpRequest request) throws IOException {
+                throw new AssertionError("the request must not be sent");
+            }
+
+            @Override
+            public void shutdown() {
+            }
+        });
+        final ExecutorService executor = namedExecutor("async-test");
+        final List<Exception> errors = Collections.synchronizedList(new ArrayList<Exception>());
+        try {
+            final Future<String> future = client.invokeAsync(new TestRequest(),
+                    new Marshaller<Request<TestRequest>, TestRequest>() {
+                        @Override
+                        public Request<TestRequest> marshall(TestRequest in) {
+                            throw new AmazonClientException("invalid request");
+                        }
+                    }, new TestResponseHandler("ok"), null,
+                    new StaticCredentialsProvider(new BasicAWSCredentials("id", "key")),
+                    new AsyncHandler<TestRequest, String>() {
+                        @Override
+                        public void onError(Exception exception) {
+                            errors.add(exception);
+                        }
+
+                        @Override
+                        public void onSuccess(TestRequest request, String result) {
+                        }
+                    }, executor);
+
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                fail("expected the marshalling failure");
+            } catch (final ExecutionException e) {
+                assertEquals("invalid request", e.getCause().getMessage());
+            }
+            assertEquals(1, errors.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCancelStopsRetries() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final AmazonAsyncTestClient client = new AmazonAsyncTestClient(new HttpClient() {
+            @Override
+            public HttpResponse execute(HttpRequest request) throws IOException {
+                attempts.incrementAndGet();
+                sending.countDown();
+                try {
+                    cancelled.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("BOOM");
+            }
+
+            @Override
+            public void shutdown() {
+            }
+        });
+        final ExecutorService executor = namedExecutor("async-test");
+        try {
+            final Future<String> future = client.invokeAsync(new TestRequest(),
+                    new TestMarshaller(new ArrayList<String>()), new TestResponseHandler("ok"),
+                    null, new StaticCredentialsProvider(new BasicAWSCredentials("id", "key")),
+                    null, executor);
+            assertTrue(sending.await(10, TimeUnit.SECONDS));
+            assertTrue(future.cancel(false));
+            cancelled.countDown();
+
+            // longer than the back-off before the first retry
+            Thread.sleep(1000);
+            assertEquals(1, attempts.get());
+            assertTrue(future.isCancelled());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvokeAsyncCallsHandlerBeforeCompletingFuture() throws Exception {
+        final AmazonAsyncTestClient client = new AmazonAsyncTestClient(new HttpClient() {
+            @Override
+            public HttpResponse execute(HttpRequest request) throws IOException {
+                return HttpResponse.builder().statusCode(200).build();
+            }
+
+            @Override
+            public void shutdown() {
+            }
+        });
+        final ExecutorService executor = namedExecutor("async-test");
+        final List<String> results = Collections.synchronizedList(new ArrayList<String>());
+        try {
+            final Future<String> future = client.invokeAsync(new TestRequest(),
+                    new TestMarshaller(new ArrayList<String>()), new TestResponseHandler("ok"),
+                    null, new StaticCredentialsProvider(new BasicAWSCredentials("id", "key")),
+                    new AsyncHandler<TestRequest, String>() {
+                        @Override
+                        public void onError(Exception exception) {
+                        }
+
+                        @Override
+                        public void onSuccess(TestRequest request, String result) {
+                            try {
+                                Thread.sleep(100);
+                            } catch (final InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            results.add(result);
+                        }
+                    }, executor);
+
+            assertEquals("ok", future.get(10, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList("ok"), results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ExecutorService namedExecutor(final String name) {
+        return Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                return new Thread(r, name);
+            }
+        });
+    }
+
+    private static class AmazonAsyncTestClient extends AmazonWebServiceClient {
+        AmazonAsyncTestClient(final HttpClient httpClient) {
+            super(new ClientConfiguration(), httpClient);
+            super.setEndpoint("http://test.us-west-2.amazonaws.com");
+            this.endpointPrefix = "test";
+        }
+    }
+
+    private static class TestMarshaller implements Marshaller<Request<TestRequest>, TestRequest> {
+        private final List<String> threads;
+
+        TestMarshaller(List<String> threads) {
+            this.threads = threads;
+        }
+
+        @Override
+        public Request<TestRequest> marshall(TestRequest in) {
+            threads.add(Thread.currentThread().getName());
+            final Request<TestRequest> request = new DefaultRequest<TestRequest>(in, "test");
+            request.setHttpMethod(HttpMethodName.POST);
+            request.setContent(new ByteArrayInputStream(new byte[0]));
+            return request;
+        }
+    }
+
+    private static class TestResponseHandler
+            implements HttpResponseHandler<AmazonWebServiceResponse<String>> {
+        private final String result;
+
+        TestResponseHandler(String result) {
+            this.result = result;
+        }
+
+        @Override
+        public AmazonWebServiceResponse<String> handle(HttpResponse response) {
+            final AmazonWebServiceResponse<String> awsResponse =
+                    new AmazonWebServiceResponse<String>();
+            awsResponse.setResult(result);
+            return awsResponse;
+        }
+
+        @Override
+        public boolean needsConnectionLeftOpen() {
+            return false;
+        }
+    }
+
+    private static class TestRequest extends AmazonWebServiceRequest {
     }
 
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.amazonaws.http.HttpClient;
+import com.amazonaws.http.HttpRequest;
+import com.amazonaws.http.HttpResponse;
+import com.amazonaws.metrics.RequestMetricCollector;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ClientResourcesTest {
+
+    private static class RecordingHttpClient implements HttpClient {
+        int shutdowns;
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdowns++;
+        }
+    }
+
+    private static class TestClient extends AmazonWebServiceClient {
+        boolean shutdown;
+
+        TestClient(ClientConfiguration config) {
+            super(config);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+            super.shutdown();
+        }
+    }
+
+    @Test
+    public void testClientsShareHttpClientAndCollector() {
+        final RecordingHttpClient httpClient = new RecordingHttpClient();
+        final ClientResources resources = new ClientResources(httpClient,
+                Executors.newSingleThreadExecutor(), RequestMetricCollector.NONE, 4);
+        final ClientConfiguration config = new ClientConfiguration()
+                .withClientResources(resources);
+
+        final TestClient first = new TestClient(config);
+        final TestClient second = new TestClient(new ClientConfiguration(config));
+        assertEquals(2, resources.getClientCount());
+        assertSame(RequestMetricCollector.NONE, first.client.getRequestMetricCollector());
+
+        // shutting down one client leaves the shared HTTP client open
+        first.shutdown();
+        assertEquals(1, resources.getClientCount());
+        assertEquals(0, httpClient.shutdowns);
+        assertFalse(second.shutdown);
+    }
+
+    @Test
+    public void testShutdownClosesClientsAndResources() {
+        final RecordingHttpClient httpClient = new RecordingHttpClient();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final ClientResources resources = new ClientResources(httpClient, executor, null, 4);
+        final ClientConfiguration config = new ClientConfiguration()
+                .withClientResources(resources);
+        final TestClient first = new TestClient(config);
+        final TestClient second = new TestClient(config);
+
+        resources.shutdown();
+        assertTrue(first.shutdown);
+        assertTrue(second.shutdown);
+        assertTrue(resources.isShutdown());
+        assertEquals(0, resources.getClientCount());
+        assertEquals(1, httpClient.shutdowns);
+        assertTrue(executor.isShutdown());
+
+        try {
+            new TestClient(config);
+            fail("Expected registration to fail after shutdown");
+        } catch (final AmazonClientException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRegistryIsBounded() {
+        final ClientResources resources = new ClientResources(new RecordingHttpClient(),
+                Executors.newSingleThreadExecutor(), null, 2);
+        final ClientConfiguration config = new ClientConfiguration()
+                .withClientResources(resources);
+        final TestClient first = new TestClient(config);
+        new TestClient(config);
+        try {
+            new TestClient(config);
+            fail("Expected the registry to be full");
+        } catch (final AmazonClientException e) {
+            // expected
+        }
+        first.shutdown();
+        new TestClient(config);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.auth;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class SigningKeyCacheTest {
+
+    private static final byte[] KEY = new byte[] {
+            1, 2, 3
+    };
+
+    @Test
+    public void testKeyIsValidForItsDay() {
+        final SigningKeyCache cache = new SigningKeyCache(10);
+        cache.put("secret", "20240101", "us-east-1", "s3", KEY);
+        assertArrayEquals(KEY, cache.get("secret", "20240101", "us-east-1", "s3"));
+        assertNull(cache.get("secret", "20240102", "us-east-1", "s3"));
+        assertNull(cache.get("other", "20240101", "us-east-1", "s3"));
+        assertNull(cache.get("secret", "20240101", "us-west-2", "s3"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedKeyIsDropped() {
+        final SigningKeyCache cache = new SigningKeyCache(2);
+        cache.put("secret", "20240101", "us-east-1", "s3", KEY);
+        cache.put("secret", "20240101", "us-east-1", "sqs", KEY);
+        cache.get("secret", "20240101", "us-east-1", "s3");
+        cache.put("secret", "20240101", "us-east-1", "sns", KEY);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("secret", "20240101", "us-east-1", "sqs"));
+        assertArrayEquals(KEY, cache.get("secret", "20240101", "us-east-1", "s3"));
+    }
+}
@@ -33,6 +33,7 @@ import com.amazonaws.Response;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AnonymousAWSCredentials;
 import com.amazonaws.auth.Signer;
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.handlers.CredentialsRequestHandler;
 import com.amazonaws.handlers.RequestHandler2;
 import com.amazonaws.internal.CRC32MismatchException;
@@ -51,6 +52,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class AmazonHttpClientTest {
     private HttpClient httpClient;
@@ -196,6 +201,88 @@ public class AmazonHttpClientTest {
         EasyMock.verify(httpClient);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteAsyncRetriesIOException() throws Exception {
+        HttpResponse successfulResponse = HttpResponse.builder()
+                .statusCode(200)
+                .content(null)
+                .build();
+
+        HttpResponseHandler<AmazonWebServiceResponse<Object>> handler =
+                EasyMock.createMock(HttpResponseHandler.class);
+        EasyMock.expect(handler.needsConnectionLeftOpen())
+                .andReturn(false);
+        AmazonWebServiceResponse<Object> awsResponse = new AmazonWebServiceResponse<Object>();
+        awsResponse.setResult("Result");
+        EasyMock.expect(handler.handle(EasyMock.anyObject(HttpResponse.class)))
+                .andReturn(awsResponse);
+        EasyMock.replay(handler);
+
+        EasyMock.expect(httpClient.execute(EasyMock.<HttpRequest> anyObject()))
+                .andThrow(new IOException("BOOM"))
+                .times(2);
+        EasyMock.expect(httpClient.execute(EasyMock.<HttpRequest> anyObject()))
+                .andReturn(successfulResponse);
+        EasyMock.replay(httpClient);
+
+        Request<?> request = new DefaultRequest<Object>("testsvc");
+        request.setEndpoint(java.net.URI.create(
+                "http://testsvc.region.amazonaws.com"));
+        request.addHeader(HttpHeader.CONTENT_LENGTH, "0");
+        request.setContent(new ByteArrayInputStream(new byte[0]));
+
+        Future<Response<Object>> future = client.executeAsync(request, handler, null,
+                new ExecutionContext());
+
+        assertEquals("Result", future.get(10, TimeUnit.SECONDS).getAwsResponse());
+        assertEquals("2/", request.getHeaders().get("aws-sdk-retry").substring(0, 2));
+        EasyMock.verify(httpClient);
+    }
+
+    @Test
+    public void testExecuteAsyncReportsFailure() throws Exception {
+        final IOException exception = new IOException("BOOM");
+        EasyMock.expect(httpClient.execute(EasyMock.<HttpRequest> anyObject()))
+                .andThrow(exception)
+                .times(4);
+        EasyMock.replay(httpClient);
+
+        Request<?> request = new DefaultRequest<Object>("testsvc");
+        request.setEndpoint(java.net.URI.create(
+                "http://testsvc.region.amazonaws.com"));
+        request.addHeader(HttpHeader.CONTENT_LENGTH, "0");
+        request.setContent(new ByteArrayInputStream(new byte[0]));
+
+        final List<Exception> errors = new ArrayList<Exception>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        Future<Response<Object>> future = client.executeAsync(request, null, null,
+                new ExecutionContext(),
+                new AsyncHandler<AmazonWebServiceRequest, Response<Object>>() {
+                    @Override
+                    public void onError(Exception e) {
+                        errors.add(e);
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onSuccess(AmazonWebServiceRequest req, Response<Object> result) {
+                        latch.countDown();
+                    }
+                }, SharedExecutors.getIoExecutor());
+
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("No exception when request repeatedly fails!");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AmazonClientException);
+            assertSame(exception, e.getCause().getCause());
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(1, errors.size());
+        EasyMock.verify(httpClient);
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testRetryIOExceptionFromHandler() throws Exception {
@@ -754,4 +841,35 @@ public class AmazonHttpClientTest {
         String userAgent = request.getHeaders().get("User-Agent");
         assertEquals("same user agent", targetUserAgent, userAgent);
     }
+
+    @Test
+    public void testPrewarmDrainsResponse() throws Exception {
+        final ByteArrayInputStream body = new ByteArrayInputStream(new byte[4096]);
+        final HttpResponse response = HttpResponse.builder().statusCode(403)
+                .content(body).build();
+        final Capture<HttpRequest> httpRequest = new Capture<HttpRequest>();
+        EasyMock.expect(httpClient.execute(EasyMock.capture(httpRequest)))
+                .andReturn(response);
+        EasyMock.replay(httpClient);
+
+        client.prewarm(URI.create("https://localhost/some/path")).get(5, TimeUnit.SECONDS);
+        assertEquals("HEAD", httpRequest.getValue().getMethod());
+        assertEquals(URI.create("https://localhost/"), httpRequest.getValue().getUri());
+        assertEquals(0, body.available());
+        EasyMock.verify(httpClient);
+    }
+
+    @Test
+    public void testPrewarmReportsFailure() throws Exception {
+        EasyMock.expect(httpClient.execute(EasyMock.anyObject(HttpRequest.class)))
+                .andThrow(new IOException("unreachable"));
+        EasyMock.replay(httpClient);
+
+        try {
+            client.prewarm(URI.create("https://localhost")).get(5, TimeUnit.SECONDS);
+            fail("Expected the failure to be reported");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Response;
+import com.amazonaws.http.HttpResponse;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.AWSRequestMetricsFullSupport;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+public class InMemoryRequestMetricCollectorTest {
+
+    @After
+    public void tearDown() {
+        AwsSdkMetrics.setMetricCollector(null);
+    }
+
+    @Test
+    public void testAggregatesPerOperationAndStatus() {
+        final InMemoryRequestMetricCollector collector = new InMemoryRequestMetricCollector();
+        collector.collectMetrics(request(200, 1, 0, null, "10"), response("100"));
+        collector.collectMetrics(request(200, 3, 2, "ThrottlingException", "10"), response("50"));
+        collector.collectMetrics(request(500, 1, 1, "InternalFailure", "10"), null);
+
+        final List<InMemoryRequestMetricCollector.OperationMetrics> snapshot =
+                collector.getSnapshot();
+        assertEquals(2, snapshot.size());
+        for (final InMemoryRequestMetricCollector.OperationMetrics metrics : snapshot) {
+            assertEquals("AmazonDynamoDB", metrics.getServiceName());
+            assertEquals("PutItem", metrics.getOperationName());
+            if (metrics.getStatusCode() == 200) {
+                assertEquals(2, metrics.getRequestCount());
+                assertEquals(2, metrics.getRetryCount());
+                assertEquals(2, metrics.getThrottleCount());
+                assertEquals(20, metrics.getBytesSent());
+                assertEquals(150, metrics.getBytesReceived());
+                assertEquals(2, metrics.getLatency().getCount());
+            } else {
+                assertEquals(500, metrics.getStatusCode());
+                assertEquals(1, metrics.getRequestCount());
+                assertEquals(0, metrics.getThrottleCount());
+                assertEquals(0, metrics.getBytesReceived());
+            }
+        }
+
+        collector.reset();
+        for (final InMemoryRequestMetricCollector.OperationMetrics metrics
+                : collector.getSnapshot()) {
+            assertEquals(0, metrics.getRequestCount());
+        }
+    }
+
+    @Test
+    public void testEnableInMemoryMetrics() {
+        final InMemoryRequestMetricCollector collector = AwsSdkMetrics.enableInMemoryMetrics();
+        assertTrue(AwsSdkMetrics.isMetricsEnabled());
+        assertSame(collector, AwsSdkMetrics.getRequestMetricCollector());
+        assertSame(collector, AwsSdkMetrics.enableInMemoryMetrics());
+    }
+
+    private static DefaultRequest<PutItemRequest> request(int statusCode, int attempts,
+            int errors, String errorCode, String contentLength) {
+        final DefaultRequest<PutItemRequest> request = new DefaultRequest<PutItemRequest>(
+                new PutItemRequest(), "AmazonDynamoDB");
+        final AWSRequestMetricsFullSupport metrics = new AWSRequestMetricsFullSupport();
+        metrics.startEvent(Field.ClientExecuteTime);
+        for (int i = 0; i < errors; i++) {
+            metrics.addProperty(Field.AWSErrorCode, errorCode);
+        }
+        metrics.addProperty(Field.StatusCode, statusCode);
+        metrics.setCounter(Field.RequestCount, attempts);
+        metrics.endEvent(Field.ClientExecuteTime);
+        metrics.getTimingInfo().endTiming();
+        request.setAWSRequestMetrics(metrics);
+        request.addHeader("Content-Length", contentLength);
+        return request;
+    }
+
+    private static Response<Object> response(String contentLength) {
+        return new Response<Object>(null, HttpResponse.builder().statusCode(200)
+                .header("Content-Length", contentLength).build());
+    }
+
+    private static class PutItemRequest extends AmazonWebServiceRequest {
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsAreContiguous() {
+        int previous = LatencyHistogram.bucketIndex(0);
+        for (long value = 1; value < 100000; value++) {
+            final int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index == previous || index == previous + 1);
+            assertTrue(LatencyHistogram.highestValueInBucket(index) >= value);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordMicros(i * 1000L);
+        }
+        final LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000000, snapshot.getMaxMicros());
+        assertEquals(500500, snapshot.getMeanMicros(), 0.001);
+        assertWithin(500000, snapshot.getPercentileMicros(50));
+        assertWithin(990000, snapshot.getPercentileMicros(99));
+        assertEquals(1000000, snapshot.getPercentileMicros(100));
+    }
+
+    @Test
+    public void testEmptyAndReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getSnapshot().getPercentileMicros(99));
+        histogram.recordMicros(42);
+        histogram.recordMicros(-1);
+        assertEquals(2, histogram.getSnapshot().getCount());
+        assertEquals(42, histogram.getSnapshot().getPercentileMicros(100));
+        histogram.reset();
+        assertEquals(0, histogram.getSnapshot().getCount());
+        assertEquals(0, histogram.getSnapshot().getMaxMicros());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual,
+                Math.abs(actual - expected) <= expected * 0.07);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.http.ExecutionContext;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+public class RequestTracingTest {
+
+    @After
+    public void tearDown() {
+        RequestTracing.setListener(null);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        final AWSRequestMetrics metrics = new AWSRequestMetrics();
+        assertSame(metrics, RequestTracing.trace(metrics));
+    }
+
+    @Test
+    public void testPhasesAreReported() throws Exception {
+        final ChromeTraceListener listener = new ChromeTraceListener();
+        RequestTracing.setListener(listener);
+
+        final AWSRequestMetrics metrics = new ExecutionContext(false).getAwsRequestMetrics();
+        metrics.startEvent(Field.RequestMarshallTime);
+        metrics.endEvent(Field.RequestMarshallTime);
+        metrics.setCounter(Field.RequestCount, 1);
+        metrics.startEvent(Field.HttpRequestTime);
+        metrics.endEvent(Field.HttpRequestTime);
+        metrics.setCounter(Field.RequestCount, 2);
+        metrics.startEvent(Field.HttpRequestTime);
+        metrics.endEvent(Field.HttpRequestTime);
+        assertFalse(metrics.isEnabled());
+
+        final StringWriter out = new StringWriter();
+        listener.writeTo(out);
+        final Map<String, Object> trace = parse(out.toString());
+        assertEquals("ms", trace.get("displayTimeUnit"));
+        final List<?> events = (List<?>) trace.get("traceEvents");
+        assertEquals(6, events.size());
+
+        final Map<?, ?> first = (Map<?, ?>) events.get(0);
+        assertEquals("RequestMarshallTime", first.get("name"));
+        assertEquals("B", first.get("ph"));
+        final Map<?, ?> retry = (Map<?, ?>) events.get(4);
+        assertEquals("HttpRequestTime", retry.get("name"));
+        assertEquals(2.0, ((Map<?, ?>) retry.get("args")).get("attempt"));
+        assertEquals("E", ((Map<?, ?>) events.get(5)).get("ph"));
+    }
+
+    @Test
+    public void testEventsAreBounded() {
+        final ChromeTraceListener listener = new ChromeTraceListener(2);
+        listener.phaseStarted(1, 0, "a", System.nanoTime());
+        listener.phaseEnded(1, 0, "a", System.nanoTime());
+        listener.phaseStarted(1, 0, "b", System.nanoTime());
+        assertEquals(1, listener.getDroppedEventCount());
+        listener.clear();
+        assertEquals(0, listener.getDroppedEventCount());
+    }
+
+    @Test
+    public void testTraceIdsAreDistinct() {
+        final ChromeTraceListener listener = new ChromeTraceListener();
+        RequestTracing.setListener(listener);
+        final AWSRequestMetrics first = RequestTracing.trace(new AWSRequestMetrics());
+        final AWSRequestMetrics second = RequestTracing.trace(new AWSRequestMetrics());
+        assertTrue(first instanceof TracingRequestMetrics);
+        assertTrue(second instanceof TracingRequestMetrics);
+        assertTrue(((TracingRequestMetrics) first).getTraceId()
+                != ((TracingRequestMetrics) second).getTraceId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> parse(String json) {
+        return new Gson().fromJson(json, Map.class);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.retry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveRateLimiterTest {
+
+    private FakeClockRateLimiter limiter;
+
+    @Before
+    public void setup() {
+        limiter = new FakeClockRateLimiter();
+    }
+
+    @Test
+    public void testNoLimitBeforeThrottling() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.acquire());
+            limiter.updateClientSendingRate(false);
+        }
+        assertFalse(limiter.isEnabled());
+    }
+
+    @Test
+    public void testThrottlingLowersTheSendingRate() {
+        sendAtRate(10, 3);
+        limiter.updateClientSendingRate(true);
+
+        assertTrue(limiter.isEnabled());
+        final double throttledRate = limiter.getFillRate();
+        assertTrue("rate was " + throttledRate, throttledRate < 10 && throttledRate > 5);
+
+        // Requests sent at once have to wait longer and longer for their
+        // tokens once the bucket is empty.
+        long previousDelay = limiter.acquire();
+        for (int i = 0; i < 20; i++) {
+            final long delay = limiter.acquire();
+            assertTrue(delay >= previousDelay);
+            previousDelay = delay;
+        }
+        assertTrue(previousDelay > 1000);
+    }
+
+    @Test
+    public void testRateRecoversAfterThrottling() {
+        sendAtRate(10, 3);
+        limiter.updateClientSendingRate(true);
+        final double throttledRate = limiter.getFillRate();
+
+        sendAtRate(10, 10);
+        assertTrue(limiter.getFillRate() > throttledRate);
+    }
+
+    private void sendAtRate(int requestsPerSecond, int seconds) {
+        for (int i = 0; i < requestsPerSecond * seconds; i++) {
+            limiter.now += 1.0 / requestsPerSecond;
+            limiter.acquire();
+            limiter.updateClientSendingRate(false);
+        }
+    }
+
+    private static final class FakeClockRateLimiter extends AdaptiveRateLimiter {
+        double now;
+
+        @Override
+        double currentTimeSeconds() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.retry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.http.AmazonHttpClient;
+import com.amazonaws.http.ExecutionContext;
+
+import org.junit.Test;
+
+import java.net.SocketTimeoutException;
+
+public class RetryQuotaTest extends RetryPolicyTestBase {
+
+    @Test
+    public void testAcquireTakesRetryCost() {
+        final RetryQuota quota = new RetryQuota(20);
+        assertEquals(RetryQuota.RETRY_COST, quota.acquire(new AmazonClientException("error")));
+        assertEquals(20 - RetryQuota.RETRY_COST, quota.getAvailableCapacity());
+    }
+
+    @Test
+    public void testTimeoutsCostMore() {
+        final RetryQuota quota = new RetryQuota(20);
+        final AmazonClientException timeout = new AmazonClientException("timeout",
+                new SocketTimeoutException());
+        assertEquals(RetryQuota.TIMEOUT_RETRY_COST, quota.acquire(timeout));
+        assertEquals(20 - RetryQuota.TIMEOUT_RETRY_COST, quota.getAvailableCapacity());
+    }
+
+    @Test
+    public void testExhaustedQuotaRefusesRetries() {
+        final RetryQuota quota = new RetryQuota(RetryQuota.RETRY_COST + 1);
+        assertEquals(RetryQuota.RETRY_COST, quota.acquire(new AmazonClientException("error")));
+        assertEquals(0, quota.acquire(new AmazonClientException("error")));
+        assertEquals(1, quota.getAvailableCapacity());
+    }
+
+    @Test
+    public void testReleaseIsCappedAtMaxCapacity() {
+        final RetryQuota quota = new RetryQuota(20);
+        quota.acquire(new AmazonClientException("error"));
+        quota.release(RetryQuota.RETRY_COST + 100);
+        assertEquals(20, quota.getAvailableCapacity());
+        assertEquals(20, quota.getMaxCapacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new RetryQuota(-1);
+    }
+
+    @Test
+    public void testClientStopsRetryingWhenQuotaIsExhausted() {
+        final ClientConfiguration config = new ClientConfiguration()
+                .withRetryMode(RetryMode.STANDARD)
+                .withRetryPolicy(new RetryPolicy(null, new ContextDataCollectionBackoffStrategy(),
+                        3, false));
+        final AmazonHttpClient client = new AmazonHttpClient(config);
+        injectMockHttpClient(client, new ReturnServiceErrorHttpClient(500, "InternalFailure"));
+
+        // Every request is retried 3 times until the 500 tokens are spent.
+        final int requestsWithRetries = RetryQuota.DEFAULT_CAPACITY / (3 * RetryQuota.RETRY_COST);
+        int requestCount = 0;
+        for (int i = 0; i <= requestsWithRetries; i++) {
+            final ExecutionContext context = new ExecutionContext(true);
+            try {
+                client.execute(getSampleRequestWithRepeatableContent(originalRequest), null,
+                        errorResponseHandler, context);
+                fail("AmazonServiceException is expected.");
+            } catch (final AmazonServiceException ase) {
+                assertEquals(500, ase.getStatusCode());
+            }
+            requestCount = context.getAwsRequestMetrics().getTimingInfo()
+                    .getCounter("RequestCount").intValue();
+        }
+        assertTrue("expected fewer attempts once the quota is exhausted, got " + requestCount,
+                requestCount < 4);
+    }
+}
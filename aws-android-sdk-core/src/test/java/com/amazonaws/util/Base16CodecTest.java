@@ -84,4 +84,23 @@ public class Base16CodecTest
             }
         }
     }
+
+    @Test
+    public void testIntoExistingArray()
+    {
+        final byte[] data = {(byte) 0x00, (byte) 0x7f, (byte) 0x80, (byte) 0xff};
+        final byte[] encoded = new byte[10];
+        Assert.assertEquals(6, Base16.encode(data, 1, 3, encoded, 2));
+        Assert.assertEquals("7F80FF", new String(encoded, 2, 6));
+
+        final byte[] decoded = new byte[4];
+        Assert.assertEquals(3, Base16.decode(encoded, 2, 6, decoded, 1));
+        Assert.assertEquals((byte) 0xff, decoded[3]);
+        try {
+            Base16.decode(new byte[] {'0', (byte) 0xc3}, 0, 2, decoded, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
 }
@@ -18,10 +18,18 @@ package com.amazonaws.util;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Random;
 import java.util.UUID;
 
 public class Base64CodecTest
@@ -92,4 +100,154 @@ public class Base64CodecTest
             }
         }
     }
+
+    @Test
+    public void testInvalidCharacters() {
+        final String[] invalid = {
+                "Zm9v\u00e9mFy",
+                "Zm9v YmF",
+                "Zm-vYmFy",
+                "Zm9vYm=y",
+        };
+        for (String s : invalid) {
+            try {
+                Base64.decode(s.getBytes(StringUtils.UTF8));
+                Assert.fail(s);
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testDecodeString() {
+        for (int length = 0; length <= 20; length++) {
+            final byte[] data = randomBytes(length);
+            final String encoded = Base64.encodeAsString(data);
+            Assert.assertArrayEquals(data, Base64.decode(encoded));
+            // line breaks and spaces are skipped
+            final StringBuilder wrapped = new StringBuilder();
+            for (int i = 0; i < encoded.length(); i++) {
+                wrapped.append(encoded.charAt(i));
+                if (i % 3 == 2) {
+                    wrapped.append(i % 2 == 0 ? "\r\n" : " ");
+                }
+            }
+            Assert.assertArrayEquals(data, Base64.decode(wrapped.toString()));
+        }
+
+        final String[] invalid = {
+                "Zm9v\u00e9mFy",
+                "Zm-vYmFy",
+                "Zm9vYm=y",
+                "Zm9vYmF",
+                "Zm9vYh==",
+                "====",
+        };
+        for (String s : invalid) {
+            try {
+                Base64.decode(s);
+                Assert.fail(s);
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testIntoExistingArray() {
+        final byte[] data = randomBytes(100);
+        for (int length = 0; length <= 10; length++) {
+            final byte[] encoded = new byte[2 + Base64.encodedLength(length)];
+            final int written = Base64.encode(data, 5, length, encoded, 2);
+            Assert.assertEquals(Base64.encodedLength(length), written);
+            Assert.assertEquals(
+                    Base64.encodeAsString(Arrays.copyOfRange(data, 5, 5 + length)),
+                    new String(encoded, 2, written, StringUtils.UTF8));
+
+            final byte[] decoded = new byte[3 + length];
+            Assert.assertEquals(length, Base64.decode(encoded, 2, written, decoded, 3));
+            Assert.assertArrayEquals(Arrays.copyOfRange(data, 5, 5 + length),
+                    Arrays.copyOfRange(decoded, 3, 3 + length));
+        }
+    }
+
+    @Test
+    public void testByteBuffers() {
+        final byte[] data = randomBytes(10000);
+        final String expected = Base64.encodeAsString(data);
+
+        final ByteBuffer heap = Base64.encode(ByteBuffer.wrap(data));
+        Assert.assertEquals(expected, StringUtils.UTF8.decode(heap.duplicate()).toString());
+        Assert.assertArrayEquals(data, toArray(Base64.decode(heap)));
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        final ByteBuffer encoded = ByteBuffer.allocateDirect(Base64.encodedLength(data.length));
+        Assert.assertEquals(encoded.capacity(), Base64.encode(direct, encoded));
+        Assert.assertFalse(direct.hasRemaining());
+        encoded.flip();
+        final ByteBuffer decoded = ByteBuffer.allocateDirect(data.length);
+        Assert.assertEquals(data.length, Base64.decode(encoded, decoded));
+        decoded.flip();
+        Assert.assertArrayEquals(data, toArray(decoded));
+
+        try {
+            Base64.encode(ByteBuffer.wrap(data), ByteBuffer.allocate(10));
+            Assert.fail();
+        } catch (BufferOverflowException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testStreams() throws IOException {
+        final byte[] data = randomBytes(20000);
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final OutputStream encoder = Base64.wrapEncoder(sink);
+        encoder.write(data[0]);
+        encoder.write(data, 1, 4);
+        encoder.write(data, 5, data.length - 5);
+        encoder.close();
+        final String encoded = new String(sink.toByteArray(), StringUtils.UTF8);
+        Assert.assertEquals(Base64.encodeAsString(data), encoded);
+
+        // line breaks are skipped
+        final StringBuilder wrapped = new StringBuilder();
+        for (int i = 0; i < encoded.length(); i += 76) {
+            wrapped.append(encoded, i, Math.min(i + 76, encoded.length())).append("\r\n");
+        }
+        final InputStream decoder = Base64.wrapDecoder(
+                new ByteArrayInputStream(wrapped.toString().getBytes(StringUtils.UTF8)));
+        final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        Assert.assertEquals(data[0] & 0xFF, decoder.read());
+        decoded.write(data[0]);
+        final byte[] buffer = new byte[777];
+        int n;
+        while ((n = decoder.read(buffer)) != -1) {
+            decoded.write(buffer, 0, n);
+        }
+        Assert.assertArrayEquals(data, decoded.toByteArray());
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedStream() throws IOException {
+        final InputStream decoder = Base64.wrapDecoder(
+                new ByteArrayInputStream("Zm9vYmE".getBytes(StringUtils.UTF8)));
+        while (decoder.read() != -1) {
+            // drain
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.util.json;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.StringUtils;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+
+public class JsonByteSinkTest {
+
+    private static final String MIXED = "ascii, Chloë, €, 😀 and 中文";
+
+    @Test
+    public void testEncodesLikeString() throws Exception {
+        final JsonByteSink sink = new JsonByteSink(1);
+        sink.write(MIXED);
+        sink.write('!');
+        sink.write(MIXED.toCharArray());
+        sink.close();
+
+        final byte[] expected = (MIXED + "!" + MIXED).getBytes(StringUtils.UTF8);
+        assertEquals(expected.length, sink.size());
+        assertArrayEquals(expected, sink.toByteArray());
+        assertEquals(MIXED + "!" + MIXED, sink.toString());
+    }
+
+    @Test
+    public void testSurrogatePairSplitAcrossWrites() {
+        final JsonByteSink sink = new JsonByteSink();
+        sink.write('\ud83d');
+        sink.write("\ude00");
+        assertArrayEquals("😀".getBytes(StringUtils.UTF8), sink.toByteArray());
+    }
+
+    @Test
+    public void testMalformedSurrogates() {
+        final JsonByteSink sink = new JsonByteSink();
+        sink.write("a\ude00b\ud83dc\ud83d");
+        sink.close();
+        assertEquals("a?b?c?", sink.toString());
+    }
+
+    @Test
+    public void testInputStreamCanBeReset() throws Exception {
+        final JsonByteSink sink = new JsonByteSink();
+        sink.write(MIXED);
+        final InputStream in = sink.toInputStream();
+        in.mark(-1);
+        final byte[] first = IOUtils.toByteArray(in);
+        in.reset();
+        assertArrayEquals(first, IOUtils.toByteArray(in));
+        assertEquals(MIXED, new String(first, StringUtils.UTF8));
+    }
+
+    @Test
+    public void testJsonWriter() throws Exception {
+        final JsonByteSink sink = new JsonByteSink();
+        final AwsJsonWriter writer = JsonUtils.getJsonWriter(sink);
+        writer.beginObject().name("key").value(MIXED).name("number").value(12L).endObject();
+        writer.close();
+
+        final String json = new String(IOUtils.toByteArray(sink.toInputStream()),
+                StringUtils.UTF8);
+        assertEquals(MIXED, JsonUtils.jsonToMap(json).get("key"));
+        assertEquals("12", JsonUtils.jsonToMap(json).get("number"));
+        assertEquals(json.getBytes(StringUtils.UTF8).length, sink.size());
+    }
+
+    @Test
+    public void testReset() {
+        final JsonByteSink sink = new JsonByteSink();
+        sink.write("abc");
+        sink.reset();
+        sink.write("d");
+        assertEquals("d", sink.toString());
+    }
+}
@@ -0,0 +1,251 @@
+package com.amazonaws.mobileconnectors.dynamodbv2.document;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.http.SharedExecutors;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs BatchGetItem and BatchWriteItem calls of any size. Requests are split
+ * into chunks the service accepts, the chunks run concurrently, and the items
+ * the service leaves unprocessed are sent again with an exponential back-off.
+ */
+final class BatchOperations {
+
+    /** Maximum number of keys of a BatchGetItem call. */
+    static final int MAX_GET_BATCH_SIZE = 100;
+    /** Maximum number of requests of a BatchWriteItem call. */
+    static final int MAX_WRITE_BATCH_SIZE = 25;
+    /** Maximum number of calls in flight for one operation. */
+    static final int MAX_CONCURRENCY = 4;
+    /** Maximum number of times unprocessed items are sent again. */
+    static final int MAX_UNPROCESSED_RETRIES = 10;
+
+    private static final long BASE_BACKOFF_MILLIS = 50L;
+    private static final long MAX_BACKOFF_MILLIS = 5000L;
+    private static final Random RANDOM = new Random();
+
+    private final AmazonDynamoDB client;
+    private final Executor executor;
+
+    BatchOperations(AmazonDynamoDB client) {
+        this(client, SharedExecutors.getIoExecutor());
+    }
+
+    BatchOperations(AmazonDynamoDB client, Executor executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    /**
+     * Gets items from one or more tables.
+     *
+     * @param requestItems the keys and options by table name. Keys must be
+     *            unique within a table.
+     * @return the items found by table name, in no particular order
+     */
+    Map<String, List<Map<String, AttributeValue>>> batchGet(
+            Map<String, KeysAndAttributes> requestItems) {
+        final Map<String, List<Map<String, AttributeValue>>> results =
+                new HashMap<String, List<Map<String, AttributeValue>>>();
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        Map<String, KeysAndAttributes> chunk = new HashMap<String, KeysAndAttributes>();
+        int chunkSize = 0;
+        for (final Map.Entry<String, KeysAndAttributes> e : requestItems.entrySet()) {
+            results.put(e.getKey(), new ArrayList<Map<String, AttributeValue>>());
+            final KeysAndAttributes options = e.getValue();
+            for (final Map<String, AttributeValue> key : options.getKeys()) {
+                KeysAndAttributes keys = chunk.get(e.getKey());
+                if (keys == null) {
+                    keys = copyOptions(options);
+                    chunk.put(e.getKey(), keys);
+                }
+                keys.getKeys().add(key);
+                if (++chunkSize == MAX_GET_BATCH_SIZE) {
+                    tasks.add(batchGetTask(chunk, results));
+                    chunk = new HashMap<String, KeysAndAttributes>();
+                    chunkSize = 0;
+                }
+            }
+        }
+        if (chunkSize > 0) {
+            tasks.add(batchGetTask(chunk, results));
+        }
+        runAll(tasks);
+        return results;
+    }
+
+    /**
+     * Puts and deletes items in one or more tables.
+     *
+     * @param requestItems the write requests by table name. An item must not
+     *            be written twice.
+     */
+    void batchWrite(Map<String, List<WriteRequest>> requestItems) {
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        Map<String, List<WriteRequest>> chunk = new HashMap<String, List<WriteRequest>>();
+        int chunkSize = 0;
+        for (final Map.Entry<String, List<WriteRequest>> e : requestItems.entrySet()) {
+            for (final WriteRequest request : e.getValue()) {
+                List<WriteRequest> writes = chunk.get(e.getKey());
+                if (writes == null) {
+                    writes = new ArrayList<WriteRequest>();
+                    chunk.put(e.getKey(), writes);
+                }
+                writes.add(request);
+                if (++chunkSize == MAX_WRITE_BATCH_SIZE) {
+                    tasks.add(batchWriteTask(chunk));
+                    chunk = new HashMap<String, List<WriteRequest>>();
+                    chunkSize = 0;
+                }
+            }
+        }
+        if (chunkSize > 0) {
+            tasks.add(batchWriteTask(chunk));
+        }
+        runAll(tasks);
+    }
+
+    private Runnable batchGetTask(final Map<String, KeysAndAttributes> chunk,
+            final Map<String, List<Map<String, AttributeValue>>> results) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                Map<String, KeysAndAttributes> items = chunk;
+                for (int retries = 0;; retries++) {
+                    final BatchGetItemRequest request = Table
+                            .appendDynamoDBDocumentUserAgentString(new BatchGetItemRequest(items));
+                    final BatchGetItemResult result = client.batchGetItem(request);
+                    synchronized (results) {
+                        for (final Map.Entry<String, List<Map<String, AttributeValue>>> e : result
+                                .getResponses().entrySet()) {
+                            results.get(e.getKey()).addAll(e.getValue());
+                        }
+                    }
+                    items = result.getUnprocessedKeys();
+                    if (items == null || items.isEmpty()) {
+                        return;
+                    }
+                    backOff(retries);
+                }
+            }
+        };
+    }
+
+    private Runnable batchWriteTask(final Map<String, List<WriteRequest>> chunk) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                Map<String, List<WriteRequest>> items = chunk;
+                for (int retries = 0;; retries++) {
+                    final BatchWriteItemRequest request = Table
+                            .appendDynamoDBDocumentUserAgentString(new BatchWriteItemRequest(items));
+                    final BatchWriteItemResult result = client.batchWriteItem(request);
+                    items = result.getUnprocessedItems();
+                    if (items == null || items.isEmpty()) {
+                        return;
+                    }
+                    backOff(retries);
+                }
+            }
+        };
+    }
+
+    /**
+     * Runs the tasks on the executor, at most {@link #MAX_CONCURRENCY} at a
+     * time. The calling thread runs tasks too, so the operation completes
+     * even when the executor is busy.
+     */
+    private void runAll(List<Runnable> tasks) {
+        final Queue<Runnable> queue = new LinkedList<Runnable>(tasks);
+        final CountDownLatch done = new CountDownLatch(tasks.size());
+        final RuntimeException[] failure = new RuntimeException[1];
+        final Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                while (true) {
+                    final Runnable task;
+                    synchronized (queue) {
+                        task = failure[0] == null ? queue.poll() : null;
+                        if (task == null) {
+                            // fail fast, the remaining tasks are never run
+                            while (queue.poll() != null) {
+                                done.countDown();
+                            }
+                            return;
+                        }
+                    }
+                    try {
+                        task.run();
+                    } catch (final RuntimeException e) {
+                        synchronized (queue) {
+                            if (failure[0] == null) {
+                                failure[0] = e;
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }
+        };
+        final int helpers = Math.min(tasks.size(), MAX_CONCURRENCY) - 1;
+        for (int i = 0; i < helpers; i++) {
+            executor.execute(worker);
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException("Interrupted while waiting for batch requests", e);
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    private static void backOff(int retries) {
+        if (retries >= MAX_UNPROCESSED_RETRIES) {
+            throw new AmazonClientException("Items were still unprocessed after "
+                    + MAX_UNPROCESSED_RETRIES + " retries");
+        }
+        final long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << retries);
+        final long delay;
+        synchronized (RANDOM) {
+            delay = ceiling / 2 + (long) (RANDOM.nextDouble() * ceiling / 2);
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException("Interrupted while retrying unprocessed items", e);
+        }
+    }
+
+    private static KeysAndAttributes copyOptions(KeysAndAttributes options) {
+        final KeysAndAttributes copy = new KeysAndAttributes()
+                .withAttributesToGet(options.getAttributesToGet())
+                .withConsistentRead(options.getConsistentRead())
+                .withProjectionExpression(options.getProjectionExpression())
+                .withExpressionAttributeNames(options.getExpressionAttributeNames());
+        copy.setKeys(new ArrayList<Map<String, AttributeValue>>());
+        return copy;
+    }
+}
@@ -15,6 +15,7 @@ import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.AttributeValueUpdate;
 import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableResult;
@@ -22,17 +23,23 @@ import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemResult;
 import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndexDescription;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
 import com.amazonaws.services.dynamodbv2.model.LocalSecondaryIndexDescription;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
 import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
 import com.amazonaws.services.dynamodbv2.model.ReturnValue;
 import com.amazonaws.services.dynamodbv2.model.TableDescription;
 import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
 import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.util.VersionInfoUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -97,7 +104,9 @@ public class Table {
     }
 
     /**
-     * Load table configuration.
+     * Load table configuration. Once the {@link TableDescriptionCache} is
+     * enabled, the table description is taken from it when it holds a fresh
+     * one, otherwise it is loaded from DynamoDB and cached.
      *
      * @param client the dynamodb client.
      * @param tableName the tablename.
@@ -105,25 +114,34 @@ public class Table {
      */
     public static Table loadTable(AmazonDynamoDB client, String tableName) {
         final Table table = new Table(client, tableName);
-        // TODO: we need to be able to cache table information so that we can
-        // avoid making too many describe table calls.
-        table.loadTableDescription();
+        final TableDescription cached = TableDescriptionCache.getDefault().get(client, tableName);
+        if (cached != null) {
+            table.applyTableDescription(cached);
+        } else {
+            table.loadTableDescription();
+        }
         return table;
     }
 
     /**
-     * Load table description.
+     * Load table description from DynamoDB and update the
+     * {@link TableDescriptionCache}.
      */
     public void loadTableDescription() {
-        clear();
-
         final DescribeTableRequest request = Table
                 .appendDynamoDBDocumentUserAgentString(new DescribeTableRequest(this.tableName));
 
         final DescribeTableResult result = client
                 .describeTable(request);
 
-        this.tableDescription = result.getTable();
+        TableDescriptionCache.getDefault().put(client, tableName, result.getTable());
+        applyTableDescription(result.getTable());
+    }
+
+    private void applyTableDescription(TableDescription description) {
+        clear();
+
+        this.tableDescription = description;
 
         for (final KeySchemaElement element : this.tableDescription.getKeySchema()) {
             final String keyName = element.getAttributeName();
@@ -452,6 +470,169 @@ public class Table {
         return updateItem(doc, makeKey(hashKey, rangeKey), config);
     }
 
+    /**
+     * Gets documents from DynamoDB by primary key, with as few BatchGetItem
+     * calls as possible. Keys are sent in chunks of 100 that run
+     * concurrently, and keys the service leaves unprocessed are sent again.
+     *
+     * @param keys documents holding the primary key attributes of the items.
+     * @return the documents found, in no particular order.
+     */
+    public List<Document> batchGet(Collection<Document> keys) {
+        return batchGet(keys, null);
+    }
+
+    /**
+     * Gets documents from DynamoDB by primary key, using specified configs.
+     *
+     * @param keys documents holding the primary key attributes of the items.
+     * @param config the {@link GetItemOperationConfig}.
+     * @return the documents found, in no particular order.
+     * @see #batchGet(Collection)
+     */
+    public List<Document> batchGet(Collection<Document> keys, GetItemOperationConfig config) {
+        final Map<Table, Collection<Document>> keysByTable =
+                new IdentityHashMap<Table, Collection<Document>>();
+        keysByTable.put(this, keys);
+        final List<Document> ret = batchGet(keysByTable, config).get(tableName);
+        return ret == null ? new ArrayList<Document>() : ret;
+    }
+
+    /**
+     * Gets documents from several DynamoDB tables by primary key, with as few
+     * BatchGetItem calls as possible.
+     *
+     * @param keysByTable documents holding the primary key attributes of the
+     *            items, by table.
+     * @param config the {@link GetItemOperationConfig} applied to all tables,
+     *            may be null.
+     * @return the documents found by table name, in no particular order.
+     */
+    public static Map<String, List<Document>> batchGet(
+            Map<Table, ? extends Collection<Document>> keysByTable,
+            GetItemOperationConfig config) {
+        final Map<AmazonDynamoDB, Map<String, KeysAndAttributes>> requests =
+                new IdentityHashMap<AmazonDynamoDB, Map<String, KeysAndAttributes>>();
+        for (final Entry<Table, ? extends Collection<Document>> e : keysByTable.entrySet()) {
+            final Table table = e.getKey();
+            // the service rejects duplicate keys
+            final Set<Key> keys = new LinkedHashSet<Key>();
+            for (final Document doc : e.getValue()) {
+                keys.add(table.makeKey(doc));
+            }
+            if (keys.isEmpty()) {
+                continue;
+            }
+            final KeysAndAttributes keysAndAttributes = new KeysAndAttributes();
+            keysAndAttributes.setKeys(new ArrayList<Map<String, AttributeValue>>(keys));
+            if (config != null) {
+                keysAndAttributes.setConsistentRead(config.isConsistentRead());
+                if (config.getAttributesToGet() != null && config.getAttributesToGet().size() > 0) {
+                    keysAndAttributes.setAttributesToGet(config.getAttributesToGet());
+                }
+            }
+            Map<String, KeysAndAttributes> items = requests.get(table.client);
+            if (items == null) {
+                items = new HashMap<String, KeysAndAttributes>();
+                requests.put(table.client, items);
+            }
+            items.put(table.tableName, keysAndAttributes);
+        }
+
+        final Map<String, List<Document>> ret = new HashMap<String, List<Document>>();
+        for (final Entry<AmazonDynamoDB, Map<String, KeysAndAttributes>> e : requests.entrySet()) {
+            final Map<String, List<Map<String, AttributeValue>>> responses =
+                    new BatchOperations(e.getKey()).batchGet(e.getValue());
+            for (final Entry<String, List<Map<String, AttributeValue>>> response : responses
+                    .entrySet()) {
+                final List<Document> documents = new ArrayList<Document>();
+                for (final Map<String, AttributeValue> item : response.getValue()) {
+                    final Document document = Document.fromAttributeMap(item);
+                    document.commit();
+                    documents.add(document);
+                }
+                ret.put(response.getKey(), documents);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Puts and deletes documents in DynamoDB, with as few BatchWriteItem calls
+     * as possible. Writes are sent in chunks of 25 that run concurrently, and
+     * writes the service leaves unprocessed are sent again. An item must not
+     * be written twice in one call.
+     *
+     * @param documentsToPut the documents to put, may be null.
+     * @param keysToDelete documents holding the primary key attributes of the
+     *            items to delete, may be null.
+     */
+    public void batchWrite(Collection<Document> documentsToPut,
+            Collection<Document> keysToDelete) {
+        final Map<Table, Collection<Document>> puts =
+                new IdentityHashMap<Table, Collection<Document>>();
+        final Map<Table, Collection<Document>> deletes =
+                new IdentityHashMap<Table, Collection<Document>>();
+        if (documentsToPut != null) {
+            puts.put(this, documentsToPut);
+        }
+        if (keysToDelete != null) {
+            deletes.put(this, keysToDelete);
+        }
+        batchWrite(puts, deletes);
+    }
+
+    /**
+     * Puts and deletes documents in several DynamoDB tables, with as few
+     * BatchWriteItem calls as possible.
+     *
+     * @param documentsToPut the documents to put by table, may be null.
+     * @param keysToDelete documents holding the primary key attributes of the
+     *            items to delete by table, may be null.
+     * @see #batchWrite(Collection, Collection)
+     */
+    public static void batchWrite(Map<Table, ? extends Collection<Document>> documentsToPut,
+            Map<Table, ? extends Collection<Document>> keysToDelete) {
+        final Map<AmazonDynamoDB, Map<String, List<WriteRequest>>> requests =
+                new IdentityHashMap<AmazonDynamoDB, Map<String, List<WriteRequest>>>();
+        if (documentsToPut != null) {
+            for (final Entry<Table, ? extends Collection<Document>> e : documentsToPut.entrySet()) {
+                final List<WriteRequest> writes = e.getKey().writeRequests(requests);
+                for (final Document doc : e.getValue()) {
+                    writes.add(new WriteRequest(new PutRequest(doc.toAttributeMap())));
+                }
+            }
+        }
+        if (keysToDelete != null) {
+            for (final Entry<Table, ? extends Collection<Document>> e : keysToDelete.entrySet()) {
+                final Table table = e.getKey();
+                final List<WriteRequest> writes = table.writeRequests(requests);
+                for (final Document doc : e.getValue()) {
+                    writes.add(new WriteRequest(new DeleteRequest(table.makeKey(doc))));
+                }
+            }
+        }
+        for (final Entry<AmazonDynamoDB, Map<String, List<WriteRequest>>> e : requests
+                .entrySet()) {
+            new BatchOperations(e.getKey()).batchWrite(e.getValue());
+        }
+    }
+
+    private List<WriteRequest> writeRequests(
+            Map<AmazonDynamoDB, Map<String, List<WriteRequest>>> requests) {
+        Map<String, List<WriteRequest>> items = requests.get(client);
+        if (items == null) {
+            items = new HashMap<String, List<WriteRequest>>();
+            requests.put(client, items);
+        }
+        List<WriteRequest> writes = items.get(tableName);
+        if (writes == null) {
+            writes = new ArrayList<WriteRequest>();
+            items.put(tableName, writes);
+        }
+        return writes;
+    }
+
     /**
      * Initiates a Search object to Query a DynamoDB table, with the specified
      * hash primary key and filter. No calls are made until the Search object is
@@ -0,0 +1,301 @@
+package com.amazonaws.mobileconnectors.dynamodbv2.document;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonWebServiceClient;
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.services.dynamodbv2.model.transform.TableDescriptionJsonMarshaller;
+import com.amazonaws.services.dynamodbv2.model.transform.TableDescriptionJsonUnmarshaller;
+import com.amazonaws.transform.JsonUnmarshallerContext;
+import com.amazonaws.util.StringUtils;
+import com.amazonaws.util.json.AwsJsonReader;
+import com.amazonaws.util.json.AwsJsonWriter;
+import com.amazonaws.util.json.JsonUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A process-wide cache of table descriptions used by
+ * {@link Table#loadTable(AmazonDynamoDB, String)}, so that loading a table
+ * doesn't cost a DescribeTable call every time. The cache is disabled until a
+ * time to live is set with {@link #setTtlMillis(long)}, since a cached
+ * description doesn't see changes made to the table by others. It can be
+ * persisted to a file to survive app restarts. Descriptions are keyed by
+ * table name and by the endpoint of the client they were loaded with.
+ */
+public final class TableDescriptionCache {
+    private static final Log LOGGER = LogFactory.getLog(TableDescriptionCache.class);
+
+    private static final String ENTRIES = "Entries";
+    private static final String KEY = "Key";
+    private static final String LOADED_AT = "LoadedAt";
+    private static final String TABLE = "Table";
+
+    private static final TableDescriptionCache DEFAULT = new TableDescriptionCache();
+
+    private final Map<String, Entry> entries = new HashMap<String, Entry>();
+    private long ttlMillis;
+    private File file;
+
+    /**
+     * A cached description and the time it was loaded at. The description is
+     * a copy that is never handed out.
+     */
+    private static final class Entry {
+        final TableDescription description;
+        final long loadedAtMillis;
+
+        Entry(TableDescription description, long loadedAtMillis) {
+            this.description = description;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+
+    TableDescriptionCache() {
+    }
+
+    /**
+     * @return the cache used by {@link Table#loadTable(AmazonDynamoDB, String)}
+     */
+    public static TableDescriptionCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Sets how long a description is used before it is loaded again. The
+     * cache is disabled until it is set.
+     *
+     * @param ttlMillis the time to live in milliseconds, 0 disables the cache
+     */
+    public synchronized void setTtlMillis(long ttlMillis) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Persists the cache to the given file, typically in the app's cache
+     * directory. Descriptions already stored in the file are loaded, so that
+     * they are used across app launches.
+     *
+     * @param file the file, or null to keep the cache in memory only
+     */
+    public synchronized void setPersistenceFile(File file) {
+        this.file = file;
+        if (file == null || !file.exists()) {
+            return;
+        }
+        AwsJsonReader reader = null;
+        try {
+            reader = JsonUtils.getJsonReader(new BufferedReader(new InputStreamReader(
+                    new FileInputStream(file), StringUtils.UTF8)));
+            final JsonUnmarshallerContext context = new JsonUnmarshallerContext(reader);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!ENTRIES.equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    readEntry(reader, context);
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        } catch (final Exception e) {
+            // written by an incompatible version or corrupted, start over
+            LOGGER.warn("Failed to read cached table descriptions from " + file, e);
+            if (!file.delete()) {
+                LOGGER.warn("Failed to delete " + file);
+            }
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (final IOException e) {
+                    LOGGER.warn("Failed to close stream", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cached description of a table, if it hasn't expired.
+     *
+     * @param client the client the table is accessed with
+     * @param tableName the table name
+     * @return a copy of the description, or null
+     */
+    public synchronized TableDescription get(AmazonDynamoDB client, String tableName) {
+        final Entry entry = entries.get(cacheKey(client, tableName));
+        if (entry == null) {
+            return null;
+        }
+        final long age = System.currentTimeMillis() - entry.loadedAtMillis;
+        if (age < 0 || age >= ttlMillis) {
+            return null;
+        }
+        return copy(entry.description);
+    }
+
+    /**
+     * Caches the description of a table. It does nothing while the cache is
+     * disabled.
+     *
+     * @param client the client the table is accessed with
+     * @param tableName the table name
+     * @param description the description, copied
+     */
+    public synchronized void put(AmazonDynamoDB client, String tableName,
+            TableDescription description) {
+        if (ttlMillis == 0) {
+            return;
+        }
+        entries.put(cacheKey(client, tableName),
+                new Entry(copy(description), System.currentTimeMillis()));
+        persist();
+    }
+
+    /**
+     * Removes the description of a table, for example after it was updated.
+     *
+     * @param client the client the table is accessed with
+     * @param tableName the table name
+     */
+    public synchronized void invalidate(AmazonDynamoDB client, String tableName) {
+        if (entries.remove(cacheKey(client, tableName)) != null) {
+            persist();
+        }
+    }
+
+    /**
+     * Removes all descriptions, including the persisted ones.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        if (file != null && file.exists() && !file.delete()) {
+            LOGGER.warn("Failed to delete " + file);
+        }
+    }
+
+    private static String cacheKey(AmazonDynamoDB client, String tableName) {
+        if (client instanceof AmazonWebServiceClient) {
+            return ((AmazonWebServiceClient) client).getEndpoint() + "/" + tableName;
+        }
+        return tableName;
+    }
+
+    private void persist() {
+        if (file == null) {
+            return;
+        }
+        final File tempFile = new File(file.getPath() + ".tmp");
+        Writer out = null;
+        try {
+            out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile),
+                    StringUtils.UTF8));
+            final AwsJsonWriter writer = JsonUtils.getJsonWriter(out);
+            writer.beginObject();
+            writer.name(ENTRIES);
+            writer.beginArray();
+            for (final Map.Entry<String, Entry> e : entries.entrySet()) {
+                writer.beginObject();
+                writer.name(KEY).value(e.getKey());
+                writer.name(LOADED_AT).value(e.getValue().loadedAtMillis);
+                writer.name(TABLE);
+                TableDescriptionJsonMarshaller.getInstance()
+                        .marshall(e.getValue().description, writer);
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+            writer.close();
+            out = null;
+            if (!tempFile.renameTo(file)) {
+                LOGGER.warn("Failed to replace " + file);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Failed to persist table descriptions to " + file, e);
+        } finally {
+            close(out);
+        }
+    }
+
+    /**
+     * Reads a persisted entry, keeping the newer one if the key is cached
+     * already.
+     */
+    private void readEntry(AwsJsonReader reader, JsonUnmarshallerContext context)
+            throws Exception {
+        String key = null;
+        long loadedAtMillis = 0;
+        TableDescription description = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (KEY.equals(name)) {
+                key = reader.nextString();
+            } else if (LOADED_AT.equals(name)) {
+                loadedAtMillis = Long.parseLong(reader.nextString());
+            } else if (TABLE.equals(name)) {
+                description = TableDescriptionJsonUnmarshaller.getInstance().unmarshall(context);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (key == null || description == null) {
+            return;
+        }
+        final Entry current = entries.get(key);
+        if (current == null || current.loadedAtMillis < loadedAtMillis) {
+            entries.put(key, new Entry(description, loadedAtMillis));
+        }
+    }
+
+    /**
+     * Copies a description through its JSON form, so that callers never share
+     * the lists and nested objects of a cached one.
+     */
+    private static TableDescription copy(TableDescription description) {
+        try {
+            final StringWriter out = new StringWriter();
+            final AwsJsonWriter writer = JsonUtils.getJsonWriter(out);
+            TableDescriptionJsonMarshaller.getInstance().marshall(description, writer);
+            writer.flush();
+            return TableDescriptionJsonUnmarshaller.getInstance().unmarshall(
+                    new JsonUnmarshallerContext(JsonUtils.getJsonReader(
+                            new StringReader(out.toString()))));
+        } catch (final Exception e) {
+            throw new AmazonClientException("Failed to copy table description", e);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to close stream", e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.dynamodbv2.document;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+public class BatchOperationsTest {
+
+    private AmazonDynamoDB client;
+    private BatchOperations operations;
+
+    @Before
+    public void setup() {
+        client = mock(AmazonDynamoDB.class);
+        // runs the helper workers inline, so chunks run one after the other
+        operations = new BatchOperations(client, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+    }
+
+    @Test
+    public void testBatchGetIsSplitInChunksOf100() {
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(
+                new Answer<BatchGetItemResult>() {
+                    @Override
+                    public BatchGetItemResult answer(InvocationOnMock invocation) {
+                        final BatchGetItemRequest request =
+                                (BatchGetItemRequest) invocation.getArguments()[0];
+                        final Map<String, List<Map<String, AttributeValue>>> responses =
+                                new HashMap<String, List<Map<String, AttributeValue>>>();
+                        for (final Map.Entry<String, KeysAndAttributes> e : request
+                                .getRequestItems().entrySet()) {
+                            responses.put(e.getKey(), e.getValue().getKeys());
+                        }
+                        return new BatchGetItemResult().withResponses(responses);
+                    }
+                });
+
+        final Map<String, List<Map<String, AttributeValue>>> results =
+                operations.batchGet(Collections.singletonMap("table", keys(250)));
+
+        final ArgumentCaptor<BatchGetItemRequest> requests =
+                ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(client, times(3)).batchGetItem(requests.capture());
+        final List<Integer> sizes = new ArrayList<Integer>();
+        for (final BatchGetItemRequest request : requests.getAllValues()) {
+            sizes.add(request.getRequestItems().get("table").getKeys().size());
+        }
+        Collections.sort(sizes);
+        assertEquals(Arrays.asList(50, 100, 100), sizes);
+        assertEquals(250, results.get("table").size());
+    }
+
+    @Test
+    public void testBatchWriteIsSplitInChunksOf25() {
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(new BatchWriteItemResult());
+        final Map<String, List<WriteRequest>> writes = new HashMap<String, List<WriteRequest>>();
+        writes.put("a", puts(40));
+        writes.put("b", puts(20));
+
+        operations.batchWrite(writes);
+
+        final ArgumentCaptor<BatchWriteItemRequest> requests =
+                ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(client, times(3)).batchWriteItem(requests.capture());
+        int total = 0;
+        for (final BatchWriteItemRequest request : requests.getAllValues()) {
+            int size = 0;
+            for (final List<WriteRequest> tableWrites : request.getRequestItems().values()) {
+                size += tableWrites.size();
+            }
+            assertTrue(size <= BatchOperations.MAX_WRITE_BATCH_SIZE);
+            total += size;
+        }
+        assertEquals(60, total);
+    }
+
+    @Test
+    public void testUnprocessedKeysAreSentAgainAfterBackOff() {
+        final List<Map<String, AttributeValue>> keys = keyList(3);
+        final Map<String, KeysAndAttributes> unprocessed = Collections.singletonMap("table",
+                new KeysAndAttributes().withKeys(keys.subList(1, 3)));
+        final List<Long> callTimes = new ArrayList<Long>();
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(
+                new Answer<BatchGetItemResult>() {
+                    @Override
+                    public BatchGetItemResult answer(InvocationOnMock invocation) {
+                        callTimes.add(System.nanoTime());
+                        final BatchGetItemRequest request =
+                                (BatchGetItemRequest) invocation.getArguments()[0];
+                        final List<Map<String, AttributeValue>> requested =
+                                request.getRequestItems().get("table").getKeys();
+                        if (callTimes.size() == 1) {
+                            return new BatchGetItemResult()
+                                    .withResponses(Collections.singletonMap("table",
+                                            requested.subList(0, 1)))
+                                    .withUnprocessedKeys(unprocessed);
+                        }
+                        return new BatchGetItemResult().withResponses(
+                                Collections.singletonMap("table", requested));
+                    }
+                });
+
+        final Map<String, List<Map<String, AttributeValue>>> results =
+                operations.batchGet(Collections.singletonMap("table",
+                        new KeysAndAttributes().withKeys(keys)));
+
+        final ArgumentCaptor<BatchGetItemRequest> requests =
+                ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(client, times(2)).batchGetItem(requests.capture());
+        assertSame(unprocessed, requests.getAllValues().get(1).getRequestItems());
+        assertEquals(3, results.get("table").size());
+        // the first retry waits at least half of the base back-off
+        assertTrue(callTimes.get(1) - callTimes.get(0) >= 25L * 1000 * 1000);
+    }
+
+    @Test
+    public void testUnprocessedItemsAreSentAgain() {
+        final Map<String, List<WriteRequest>> unprocessed =
+                Collections.singletonMap("table", puts(2));
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(new BatchWriteItemResult().withUnprocessedItems(unprocessed))
+                .thenReturn(new BatchWriteItemResult());
+
+        operations.batchWrite(Collections.singletonMap("table", puts(10)));
+
+        final ArgumentCaptor<BatchWriteItemRequest> requests =
+                ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(client, times(2)).batchWriteItem(requests.capture());
+        assertSame(unprocessed, requests.getAllValues().get(1).getRequestItems());
+    }
+
+    @Test
+    public void testFailureStopsRemainingChunks() {
+        final AmazonServiceException failure = new AmazonServiceException("throttled");
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class))).thenThrow(failure);
+
+        try {
+            operations.batchWrite(Collections.singletonMap("table", puts(125)));
+            fail("Expected the failure of the first chunk");
+        } catch (final AmazonServiceException e) {
+            assertSame(failure, e);
+        }
+        // the four chunks queued behind the failed one are never sent
+        verify(client, times(1)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    private static KeysAndAttributes keys(int count) {
+        return new KeysAndAttributes().withKeys(keyList(count));
+    }
+
+    private static List<Map<String, AttributeValue>> keyList(int count) {
+        final List<Map<String, AttributeValue>> keys = new ArrayList<Map<String, AttributeValue>>();
+        for (int i = 0; i < count; i++) {
+            keys.add(Collections.singletonMap("id", new AttributeValue().withS("key" + i)));
+        }
+        return keys;
+    }
+
+    private static List<WriteRequest> puts(int count) {
+        final List<WriteRequest> writes = new ArrayList<WriteRequest>();
+        for (final Map<String, AttributeValue> item : keyList(count)) {
+            writes.add(new WriteRequest(new PutRequest(item)));
+        }
+        return writes;
+    }
+}
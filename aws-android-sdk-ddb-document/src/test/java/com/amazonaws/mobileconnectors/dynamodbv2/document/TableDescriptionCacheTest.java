@@ -0,0 +1,148 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.dynamodbv2.document;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputDescription;
+import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.services.dynamodbv2.model.TableStatus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Date;
+
+public class TableDescriptionCacheTest {
+
+    private static final String TABLE_NAME = "table";
+
+    private AmazonDynamoDB client;
+    private TableDescriptionCache cache;
+    private File file;
+
+    @Before
+    public void setup() throws Exception {
+        client = mock(AmazonDynamoDB.class);
+        cache = new TableDescriptionCache();
+        file = File.createTempFile("table-descriptions", ".json");
+        assertTrue(file.delete());
+    }
+
+    @After
+    public void teardown() {
+        cache.clear();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        cache.put(client, TABLE_NAME, description());
+        assertNull(cache.get(client, TABLE_NAME));
+    }
+
+    @Test
+    public void testHitReturnsCopy() {
+        cache.setTtlMillis(60 * 1000);
+        final TableDescription description = description();
+        cache.put(client, TABLE_NAME, description);
+
+        final TableDescription cached = cache.get(client, TABLE_NAME);
+        assertEquals(description, cached);
+        assertNotSame(description, cached);
+
+        // neither the caller's description nor a returned one change the cache
+        description.setTableStatus(TableStatus.DELETING);
+        cached.getKeySchema().clear();
+        assertEquals(description(), cache.get(client, TABLE_NAME));
+        assertNull(cache.get(client, "other"));
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        cache.setTtlMillis(20);
+        cache.put(client, TABLE_NAME, description());
+        Thread.sleep(40);
+        assertNull(cache.get(client, TABLE_NAME));
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.setTtlMillis(60 * 1000);
+        cache.put(client, TABLE_NAME, description());
+        cache.put(client, "other", description());
+
+        cache.invalidate(client, TABLE_NAME);
+        assertNull(cache.get(client, TABLE_NAME));
+        assertEquals(description(), cache.get(client, "other"));
+
+        cache.clear();
+        assertNull(cache.get(client, "other"));
+    }
+
+    @Test
+    public void testPersistence() {
+        cache.setTtlMillis(60 * 1000);
+        cache.setPersistenceFile(file);
+        cache.put(client, TABLE_NAME, description());
+        assertTrue(file.exists());
+
+        final TableDescriptionCache restored = new TableDescriptionCache();
+        restored.setTtlMillis(60 * 1000);
+        restored.setPersistenceFile(file);
+        assertEquals(description(), restored.get(client, TABLE_NAME));
+
+        restored.clear();
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testCorruptedFileIsDropped() throws Exception {
+        final FileWriter writer = new FileWriter(file);
+        writer.write("{\"Entries\":[{\"Key\":");
+        writer.close();
+
+        cache.setTtlMillis(60 * 1000);
+        cache.setPersistenceFile(file);
+        assertNull(cache.get(client, TABLE_NAME));
+        assertFalse(file.exists());
+    }
+
+    private static TableDescription description() {
+        return new TableDescription()
+                .withTableName(TABLE_NAME)
+                .withTableStatus(TableStatus.ACTIVE)
+                .withCreationDateTime(new Date(1500000000000L))
+                .withItemCount(42L)
+                .withKeySchema(new KeySchemaElement("id", KeyType.HASH))
+                .withAttributeDefinitions(
+                        new AttributeDefinition("id", ScalarAttributeType.S))
+                .withProvisionedThroughput(new ProvisionedThroughputDescription()
+                        .withReadCapacityUnits(5L).withWriteCapacityUnits(5L));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2011-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.dynamodbv2.dynamodbmapper;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.util.Base64;
+import com.amazonaws.util.json.AwsJsonReader;
+import com.amazonaws.util.json.AwsJsonToken;
+import com.amazonaws.util.json.AwsJsonWriter;
+import com.amazonaws.util.json.JsonUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Converts item attribute maps to and from single-line JSON, in the format
+ * of the DynamoDB wire protocol. Attribute names are written in sorted order,
+ * so equal key maps give equal strings.
+ */
+final class AttributeValueJson {
+
+    private AttributeValueJson() {
+    }
+
+    static String toJson(Map<String, AttributeValue> item) {
+        final StringWriter out = new StringWriter();
+        try {
+            final AwsJsonWriter writer = JsonUtils.getJsonWriter(out);
+            writeMap(writer, item);
+            writer.close();
+        } catch (final IOException e) {
+            throw new DynamoDBMappingException("Failed to write item", e);
+        }
+        return out.toString();
+    }
+
+    static Map<String, AttributeValue> fromJson(String json) {
+        try {
+            final AwsJsonReader reader = JsonUtils.getJsonReader(new StringReader(json));
+            final Map<String, AttributeValue> item = readMap(reader);
+            reader.close();
+            return item;
+        } catch (final IOException e) {
+            throw new DynamoDBMappingException("Failed to read item", e);
+        }
+    }
+
+    private static void writeMap(AwsJsonWriter writer, Map<String, AttributeValue> map)
+            throws IOException {
+        writer.beginObject();
+        for (final Map.Entry<String, AttributeValue> e : new TreeMap<String, AttributeValue>(map)
+                .entrySet()) {
+            writer.name(e.getKey());
+            writeValue(writer, e.getValue());
+        }
+        writer.endObject();
+    }
+
+    private static void writeValue(AwsJsonWriter writer, AttributeValue value) throws IOException {
+        writer.beginObject();
+        if (value.getS() != null) {
+            writer.name("S").value(value.getS());
+        } else if (value.getN() != null) {
+            writer.name("N").value(value.getN());
+        } else if (value.getB() != null) {
+            writer.name("B").value(encode(value.getB()));
+        } else if (value.getSS() != null) {
+            writer.name("SS");
+            writeStrings(writer, value.getSS());
+        } else if (value.getNS() != null) {
+            writer.name("NS");
+            writeStrings(writer, value.getNS());
+        } else if (value.getBS() != null) {
+            writer.name("BS").beginArray();
+            for (final ByteBuffer b : value.getBS()) {
+                writer.value(encode(b));
+            }
+            writer.endArray();
+        } else if (value.getM() != null) {
+            writer.name("M");
+            writeMap(writer, value.getM());
+        } else if (value.getL() != null) {
+            writer.name("L").beginArray();
+            for (final AttributeValue element : value.getL()) {
+                writeValue(writer, element);
+            }
+            writer.endArray();
+        } else if (value.getBOOL() != null) {
+            writer.name("BOOL").value(value.getBOOL().toString());
+        } else if (value.getNULL() != null) {
+            writer.name("NULL").value(value.getNULL().toString());
+        }
+        writer.endObject();
+    }
+
+    private static void writeStrings(AwsJsonWriter writer, List<String> strings)
+            throws IOException {
+        writer.beginArray();
+        for (final String s : strings) {
+            writer.value(s);
+        }
+        writer.endArray();
+    }
+
+    private static Map<String, AttributeValue> readMap(AwsJsonReader reader) throws IOException {
+        final Map<String, AttributeValue> map = new HashMap<String, AttributeValue>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            map.put(name, readValue(reader));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    private static AttributeValue readValue(AwsJsonReader reader) throws IOException {
+        final AttributeValue value = new AttributeValue();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String type = reader.nextName();
+            if ("S".equals(type)) {
+                value.setS(reader.nextString());
+            } else if ("N".equals(type)) {
+                value.setN(reader.nextString());
+            } else if ("B".equals(type)) {
+                value.setB(decode(reader.nextString()));
+            } else if ("SS".equals(type)) {
+                value.setSS(readStrings(reader));
+            } else if ("NS".equals(type)) {
+                value.setNS(readStrings(reader));
+            } else if ("BS".equals(type)) {
+                final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+                for (final String s : readStrings(reader)) {
+                    buffers.add(decode(s));
+                }
+                value.setBS(buffers);
+            } else if ("M".equals(type)) {
+                value.setM(readMap(reader));
+            } else if ("L".equals(type)) {
+                final List<AttributeValue> list = new ArrayList<AttributeValue>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    list.add(readValue(reader));
+                }
+                reader.endArray();
+                value.setL(list);
+            } else if ("BOOL".equals(type)) {
+                value.setBOOL(Boolean.valueOf(reader.nextString()));
+            } else if ("NULL".equals(type)) {
+                value.setNULL(Boolean.valueOf(reader.nextString()));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    private static List<String> readStrings(AwsJsonReader reader) throws IOException {
+        final List<String> strings = new ArrayList<String>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == AwsJsonToken.VALUE_NULL) {
+                reader.skipValue();
+                continue;
+            }
+            strings.add(reader.nextString());
+        }
+        reader.endArray();
+        return strings;
+    }
+
+    private static String encode(ByteBuffer buffer) {
+        final ByteBuffer b = buffer.duplicate();
+        final byte[] bytes = new byte[b.remaining()];
+        b.get(bytes);
+        return Base64.encodeAsString(bytes);
+    }
+
+    private static ByteBuffer decode(String s) {
+        return ByteBuffer.wrap(Base64.decode(s));
+    }
+}
@@ -19,6 +19,7 @@ import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.AmazonWebServiceRequest;
 import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.http.SharedExecutors;
 import com.amazonaws.mobile.config.AWSConfiguration;
 import com.amazonaws.mobileconnectors.dynamodbv2.dynamodbmapper.DynamoDBMapperConfig.ConsistentReads;
 import com.amazonaws.mobileconnectors.dynamodbv2.dynamodbmapper.DynamoDBMapperConfig.PaginationLoadingStrategy;
@@ -78,6 +79,8 @@ import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Object mapper for domain-object interaction with DynamoDB.
@@ -184,6 +187,16 @@ public class DynamoDBMapper {
 
     private final AttributeTransformer transformer;
 
+    private final DynamoDBMapperCache cache;
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    /** Guarded by flushLock. */
+    private long flushRetryDelayMillis;
+
+    /** The first and the longest delay before retrying queued writes. */
+    private static final long MIN_FLUSH_RETRY_DELAY_MILLIS = 1000L;
+    private static final long MAX_FLUSH_RETRY_DELAY_MILLIS = 5 * 60 * 1000L;
+
     /** The max back off time for batch write */
     static final long MAX_BACKOFF_IN_MILLISECONDS = 1000 * 3;
 
@@ -239,6 +252,7 @@ public class DynamoDBMapper {
         private AttributeTransformer transformer;
         private AWSCredentialsProvider s3CredentialProvider;
         private AWSConfiguration awsConfig;
+        private DynamoDBMapperCache cache;
         
         protected Builder() { }
         
@@ -307,6 +321,23 @@ public class DynamoDBMapper {
             this.awsConfig = awsConfig;
             return this;
         }
+
+        /**
+         * Keeps loaded and saved items in a local cache, which serves repeated
+         * loads and, when write-behind is enabled, queues saves and deletes
+         * until the service can be reached. A cache must not be shared by
+         * mappers with different clients. With an attribute transformer the
+         * cache is kept in memory only, so queued writes don't survive an
+         * app restart.
+         *
+         * @param cache the cache
+         * @return builder
+         * @see DynamoDBMapperCache
+         */
+        public Builder offlineCache(DynamoDBMapperCache cache) {
+            this.cache = cache;
+            return this;
+        }
         
         /**
          * 
@@ -334,7 +365,8 @@ public class DynamoDBMapper {
                     this.config == null ? DynamoDBMapperConfig.DEFAULT : this.config,
                     this.transformer,
                     this.s3CredentialProvider,
-                    this.awsConfig);
+                    this.awsConfig,
+                    this.cache);
         }
     }
 
@@ -353,7 +385,8 @@ public class DynamoDBMapper {
             final DynamoDBMapperConfig config,
             final AttributeTransformer transformer,
             final AWSCredentialsProvider s3CredentialsProvider,
-            final AWSConfiguration awsConfig) {
+            final AWSConfiguration awsConfig,
+            final DynamoDBMapperCache cache) {
 
         this.db = dynamoDB;
         this.config = config;
@@ -363,6 +396,15 @@ public class DynamoDBMapper {
         } else {
             this.s3cc = new S3ClientCache(s3CredentialsProvider);
         }
+        this.cache = cache;
+        if (cache != null && transformer != null) {
+            // the cache holds untransformed items, which must not reach the disk
+            cache.disableJournal();
+        }
+        if (cache != null && cache.isWriteBehind() && cache.getPendingWriteCount() > 0) {
+            // writes queued before the app was restarted
+            scheduleFlush();
+        }
     }
 
     /**
@@ -507,6 +549,7 @@ public class DynamoDBMapper {
         } else {
             this.s3cc = new S3ClientCache(s3CredentialsProvider);
         }
+        this.cache = null;
     }
 
     /**
@@ -570,6 +613,11 @@ public class DynamoDBMapper {
     /**
      * Returns an object whose keys match those of the prototype key object
      * given, or null if no such item exists.
+     * <p>
+     * With an offline cache, eventually consistent loads of items cached
+     * within its time to live, and loads of items with queued writes, are
+     * served locally. If the service can't be reached, cached items of any
+     * age are returned.
      *
      * @param keyObject An object of the class to load with the keys values to
      *            match.
@@ -597,17 +645,50 @@ public class DynamoDBMapper {
         rq.setTableName(tableName);
         rq.setConsistentRead(config.getConsistentReads() == ConsistentReads.CONSISTENT);
 
-        final GetItemResult item = db.getItem(applyUserAgent(rq));
+        DynamoDBMapperCache.CachedItem cached = null;
+        if (cache != null) {
+            cached = cache.get(tableName, key);
+            if (cached != null && (cache.hasPendingWrite(tableName, key)
+                    || (!rq.isConsistentRead() && cache.isFresh(cached)))) {
+                return unconvertCachedItem(converter, clazz, cached);
+            }
+        }
+
+        final GetItemResult item;
+        try {
+            item = db.getItem(applyUserAgent(rq));
+        } catch (final AmazonClientException e) {
+            if (cached == null || e instanceof AmazonServiceException) {
+                throw e;
+            }
+            log.debug("Failed to reach DynamoDB, loading item from the offline cache", e);
+            return unconvertCachedItem(converter, clazz, cached);
+        }
         final Map<String, AttributeValue> itemAttributes = item.getItem();
         if (itemAttributes == null) {
+            if (cache != null) {
+                cache.put(tableName, key, null);
+            }
             return null;
         }
 
-        final T object = privateMarshallIntoObject(
-                converter,
-                toParameters(itemAttributes, clazz, tableName, config));
+        if (cache == null) {
+            return privateMarshallIntoObject(
+                    converter,
+                    toParameters(itemAttributes, clazz, tableName, config));
+        }
+        final Map<String, AttributeValue> values =
+                untransformAttributes(toParameters(itemAttributes, clazz, tableName, config));
+        cache.put(tableName, key, values);
+        return converter.unconvert(clazz, values);
+    }
 
-        return object;
+    private static <T> T unconvertCachedItem(ItemConverter converter, Class<T> clazz,
+            DynamoDBMapperCache.CachedItem cached) {
+        if (cached.item == null) {
+            return null;
+        }
+        return converter.unconvert(clazz, new HashMap<String, AttributeValue>(cached.item));
     }
 
     /**
@@ -982,6 +1063,11 @@ public class DynamoDBMapper {
      * </ul>
      * Any options specified in the saveExpression parameter will be overlaid on
      * any constraints due to versioned attributes.
+     * <p>
+     * With an offline cache in write-behind mode, the save is queued and sent
+     * later, unless it has a saveExpression, uses APPEND_SET or needs a key to
+     * be generated. The object's version attribute is still incremented right
+     * away.
      *
      * @param object The object to save into DynamoDB
      * @param saveExpression The options to apply to this save request
@@ -992,6 +1078,23 @@ public class DynamoDBMapper {
      */
     public <T extends Object> void save(T object, DynamoDBSaveExpression saveExpression,
             final DynamoDBMapperConfig config) {
+        if (cache == null) {
+            saveItem(object, saveExpression, config);
+            return;
+        }
+        final DynamoDBMapperConfig finalConfig = mergeConfig(config);
+        if (cache.isWriteBehind() && saveExpression == null
+                && finalConfig.getSaveBehavior() != SaveBehavior.APPEND_SET
+                && !needAutoGenerateAssignableKey(object.getClass(), object)) {
+            enqueueWrite(object, false, finalConfig);
+            return;
+        }
+        saveItem(object, saveExpression, finalConfig);
+        cacheSavedObject(object, finalConfig);
+    }
+
+    private <T extends Object> void saveItem(T object, DynamoDBSaveExpression saveExpression,
+            final DynamoDBMapperConfig config) {
         final DynamoDBMapperConfig finalConfig = mergeConfig(config);
         final ItemConverter converter = getConverter(finalConfig);
 
@@ -1523,6 +1626,23 @@ public class DynamoDBMapper {
      */
     public <T> void delete(T object, DynamoDBDeleteExpression deleteExpression,
             DynamoDBMapperConfig config) {
+        if (cache == null) {
+            deleteItem(object, deleteExpression, config);
+            return;
+        }
+        config = mergeConfig(config);
+        if (cache.isWriteBehind() && deleteExpression == null) {
+            enqueueWrite(object, true, config);
+            return;
+        }
+        deleteItem(object, deleteExpression, config);
+        final ItemConverter converter = getConverter(config);
+        cache.put(getTableName(object.getClass(), object, config), getKey(converter, object),
+                null);
+    }
+
+    private <T> void deleteItem(T object, DynamoDBDeleteExpression deleteExpression,
+            DynamoDBMapperConfig config) {
         config = mergeConfig(config);
         final ItemConverter converter = getConverter(config);
 
@@ -1590,6 +1710,236 @@ public class DynamoDBMapper {
         db.deleteItem(applyUserAgent(req));
     }
 
+    /**
+     * Sends the saves and deletes queued in the offline cache, oldest first.
+     * It stops at the first write that fails because the service can't be
+     * reached or is unavailable, leaving it and the following writes queued.
+     * Writes rejected by a version check are dropped and reported to the
+     * cache's {@link DynamoDBMapperCache.WriteConflictListener}.
+     *
+     * @return the number of writes removed from the queue
+     */
+    public int flushPendingWrites() {
+        if (cache == null) {
+            return 0;
+        }
+        synchronized (flushLock) {
+            int flushed = 0;
+            DynamoDBMapperCache.PendingWrite write;
+            while ((write = cache.startPendingWrite()) != null) {
+                if (!flushPendingWrite(write)) {
+                    cache.abortPendingWrite();
+                    break;
+                }
+                flushed++;
+            }
+            return flushed;
+        }
+    }
+
+    /**
+     * @return false if the write should be retried later
+     */
+    private boolean flushPendingWrite(final DynamoDBMapperCache.PendingWrite write) {
+        final Class<?> clazz;
+        try {
+            clazz = Class.forName(write.className);
+        } catch (final ClassNotFoundException e) {
+            log.error("Dropping queued write of unknown class " + write.className);
+            cache.dropPendingWrite(write);
+            return true;
+        }
+        DynamoDBMapperConfig writeConfig = this.config;
+        if (write.saveBehavior != null) {
+            writeConfig = new DynamoDBMapperConfig(writeConfig,
+                    new DynamoDBMapperConfig(SaveBehavior.valueOf(write.saveBehavior)));
+        }
+        writeConfig = new DynamoDBMapperConfig(writeConfig, new DynamoDBMapperConfig(
+                new DynamoDBMapperConfig.ObjectTableNameResolver() {
+                    @Override
+                    public String getTableName(Object object, DynamoDBMapperConfig config) {
+                        return write.tableName;
+                    }
+                }));
+        final ItemConverter converter = getConverter(writeConfig);
+        final Object object = converter.unconvert(clazz,
+                new HashMap<String, AttributeValue>(write.item));
+        try {
+            if (write.delete) {
+                deleteItem(object, null, writeConfig);
+                cache.completePendingWrite(write, null);
+            } else {
+                saveItem(object, null, writeConfig);
+                final Map<String, AttributeValue> item = converter.convert(object);
+                cache.completePendingWrite(write, write.versionAttribute == null ? null
+                        : item.get(write.versionAttribute));
+                if (!cache.hasPendingWrite(write.tableName, write.key)) {
+                    cacheSavedObject(object, writeConfig);
+                }
+            }
+        } catch (final ConditionalCheckFailedException e) {
+            log.warn("Queued write to " + write.tableName + " conflicts with a newer version");
+            cache.dropPendingWrite(write);
+            if (!cache.hasPendingWrite(write.tableName, write.key)) {
+                cache.remove(write.tableName, write.key);
+            }
+            final DynamoDBMapperCache.WriteConflictListener listener =
+                    cache.getWriteConflictListener();
+            if (listener != null) {
+                listener.onWriteConflict(object, write.delete, e);
+            }
+        } catch (final AmazonServiceException e) {
+            if (e.getErrorType() == AmazonServiceException.ErrorType.Service
+                    || RetryUtils.isThrottlingException(e)) {
+                return false;
+            }
+            log.error("Dropping queued write to " + write.tableName, e);
+            cache.dropPendingWrite(write);
+        } catch (final AmazonClientException e) {
+            log.debug("Failed to reach DynamoDB, keeping queued writes", e);
+            return false;
+        }
+        return true;
+    }
+
+    private void enqueueWrite(Object object, boolean delete, DynamoDBMapperConfig config) {
+        final Class<?> clazz = object.getClass();
+        final ItemConverter converter = getConverter(config);
+        final String tableName = getTableName(clazz, object, config);
+        final Map<String, AttributeValue> key = getKey(converter, object);
+        Method versionGetter = null;
+        for (final Method method : reflector.getRelevantGetters(clazz)) {
+            if (reflector.isVersionAttributeGetter(method)) {
+                versionGetter = method;
+                break;
+            }
+        }
+        final String versionAttribute = versionGetter == null
+                || config.getSaveBehavior() == SaveBehavior.CLOBBER
+                ? null : reflector.getAttributeName(versionGetter);
+        final Map<String, AttributeValue> item = converter.convert(object);
+        final DynamoDBMapperCache.PendingWrite queued = cache.enqueue(
+                new DynamoDBMapperCache.PendingWrite(0, delete,
+                        config.getSaveBehavior().name(), clazz.getName(), versionAttribute,
+                        tableName, key, item));
+        if (delete) {
+            cache.put(tableName, key, null);
+        } else {
+            Map<String, AttributeValue> savedItem = item;
+            if (versionGetter != null) {
+                savedItem = new HashMap<String, AttributeValue>(item);
+                savedItem.put(reflector.getAttributeName(versionGetter),
+                        incrementQueuedVersion(versionGetter, queued, object, converter));
+            }
+            cache.put(tableName, key, mergeWithCachedItem(tableName, key, savedItem, config));
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Sets the version attribute of a queued object to the version the item
+     * will have once the write is sent, as a save sent right away does. It is
+     * one more than the version the queued write expects, which a coalesced
+     * write keeps from the write it replaced.
+     *
+     * @return the new version
+     */
+    private AttributeValue incrementQueuedVersion(Method getter,
+            DynamoDBMapperCache.PendingWrite queued, Object object, ItemConverter converter) {
+        final AttributeValue expectedValue =
+                queued.item.get(reflector.getAttributeName(getter));
+        final Object expected = expectedValue == null ? null
+                : converter.unconvert(getter, reflector.getSetter(getter), expectedValue);
+        final AttributeValue newVersionValue =
+                converter.convert(getter, incrementor.increment(getter, expected));
+        new ValueUpdate(getter, newVersionValue, object, converter).apply();
+        return newVersionValue;
+    }
+
+    /**
+     * Caches an object after it was saved, with the version and keys the save
+     * assigned to it.
+     */
+    private void cacheSavedObject(Object object, DynamoDBMapperConfig config) {
+        final ItemConverter converter = getConverter(config);
+        final String tableName = getTableName(object.getClass(), object, config);
+        final Map<String, AttributeValue> key = getKey(converter, object);
+        if (config.getSaveBehavior() == SaveBehavior.APPEND_SET) {
+            // the saved sets were added to the item's sets
+            cache.remove(tableName, key);
+            return;
+        }
+        cache.put(tableName, key,
+                mergeWithCachedItem(tableName, key, converter.convert(object), config));
+    }
+
+    private Map<String, AttributeValue> mergeWithCachedItem(String tableName,
+            Map<String, AttributeValue> key, Map<String, AttributeValue> item,
+            DynamoDBMapperConfig config) {
+        if (config.getSaveBehavior() != SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES) {
+            return item;
+        }
+        final DynamoDBMapperCache.CachedItem cached = cache.get(tableName, key);
+        if (cached == null || cached.item == null) {
+            return item;
+        }
+        final Map<String, AttributeValue> merged =
+                new HashMap<String, AttributeValue>(cached.item);
+        merged.putAll(item);
+        return merged;
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            SharedExecutors.getIoExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    flushInBackground();
+                }
+            });
+        }
+    }
+
+    /**
+     * Sends the queued writes. While writes are left queued, e.g. because the
+     * service can't be reached, it is retried with a growing delay.
+     */
+    private void flushInBackground() {
+        flushScheduled.set(false);
+        try {
+            flushPendingWrites();
+        } catch (final RuntimeException e) {
+            log.warn("Failed to flush queued writes", e);
+        }
+        final long delay;
+        synchronized (flushLock) {
+            if (cache.getPendingWriteCount() == 0) {
+                flushRetryDelayMillis = 0;
+                return;
+            }
+            flushRetryDelayMillis = flushRetryDelayMillis == 0
+                    ? MIN_FLUSH_RETRY_DELAY_MILLIS
+                    : Math.min(2 * flushRetryDelayMillis, MAX_FLUSH_RETRY_DELAY_MILLIS);
+            delay = flushRetryDelayMillis;
+        }
+        // unless a flush was already scheduled for newer writes
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        log.debug("Retrying queued writes in " + delay + "ms");
+        SharedExecutors.getRetryScheduler().schedule(new Runnable() {
+            @Override
+            public void run() {
+                SharedExecutors.getIoExecutor().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        flushInBackground();
+                    }
+                });
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Deletes the objects given using one or more calls to the
      * {@link AmazonDynamoDB#batchWriteItem(BatchWriteItemRequest)} API. <b>No
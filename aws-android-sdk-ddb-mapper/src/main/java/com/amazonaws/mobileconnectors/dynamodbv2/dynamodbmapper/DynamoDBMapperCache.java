@@ -0,0 +1,675 @@
+/*
+ * Copyright 2011-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.dynamodbv2.dynamodbmapper;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.http.SharedExecutors;
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+/**
+ * A local item cache for {@link DynamoDBMapper}, set with
+ * {@link DynamoDBMapper.Builder#offlineCache(DynamoDBMapperCache)}.
+ * <p>
+ * Items loaded or saved through the mapper are kept by table and primary key,
+ * and repeated eventually consistent loads are served locally while they are
+ * younger than the time to live. When the service can't be reached, loads
+ * fall back to cached items of any age. The number of items is bounded; the
+ * least recently used ones are evicted first.
+ * <p>
+ * With write-behind enabled, saves and deletes are queued instead of being
+ * sent right away, and the mapper flushes the queue in the background and on
+ * {@link DynamoDBMapper#flushPendingWrites()}. Writes to the same item are
+ * coalesced. Queued writes keep the version they were made against, so an
+ * item changed by someone else in the meantime fails the version check of
+ * its {@link DynamoDBVersionAttribute} and is reported to the
+ * {@link WriteConflictListener} instead of being overwritten.
+ * <p>
+ * The cache is kept in an append-only journal file so it survives app
+ * restarts, and the journal is compacted as it grows. The journal is written
+ * in the background. Items are journaled as the app sees them, so when the
+ * mapper has an {@link AttributeTransformer}, e.g. one that encrypts items,
+ * the cache is kept in memory only and an existing journal is deleted.
+ */
+public class DynamoDBMapperCache {
+
+    private static final Log LOGGER = LogFactory.getLog(DynamoDBMapperCache.class);
+
+    /**
+     * Default maximum number of cached items.
+     */
+    public static final int DEFAULT_MAX_ITEMS = 5000;
+
+    /**
+     * Default time to live of cached items, five minutes.
+     */
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000L;
+
+    /** The journal is never compacted below this number of records. */
+    private static final int MIN_COMPACTION_RECORDS = 1000;
+
+    private static final char SEPARATOR = '\t';
+    private static final String ITEM = "I";
+    private static final String REMOVE = "R";
+    private static final String WRITE = "W";
+    private static final String ACK = "A";
+    private static final String DELETE_OPERATION = "D";
+    private static final String SAVE_OPERATION = "S";
+
+    /**
+     * Notified when a queued write is rejected because the item changed on
+     * the service since it was read.
+     */
+    public interface WriteConflictListener {
+        /**
+         * @param object the object that failed to be written, as it was saved
+         *            or deleted locally
+         * @param delete true for a delete, false for a save
+         * @param exception the service exception
+         */
+        void onWriteConflict(Object object, boolean delete, AmazonServiceException exception);
+    }
+
+    /**
+     * An item of the cache. A null item records that the item doesn't exist.
+     */
+    static final class CachedItem {
+        final Map<String, AttributeValue> item;
+        final long loadedAtMillis;
+
+        CachedItem(Map<String, AttributeValue> item, long loadedAtMillis) {
+            this.item = item;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+
+    /**
+     * A save or delete waiting to be sent.
+     */
+    static final class PendingWrite {
+        final long id;
+        final boolean delete;
+        final String saveBehavior;
+        final String className;
+        final String versionAttribute;
+        final String tableName;
+        final Map<String, AttributeValue> key;
+        final Map<String, AttributeValue> item;
+
+        PendingWrite(long id, boolean delete, String saveBehavior, String className,
+                String versionAttribute, String tableName, Map<String, AttributeValue> key,
+                Map<String, AttributeValue> item) {
+            this.id = id;
+            this.delete = delete;
+            this.saveBehavior = saveBehavior;
+            this.className = className;
+            this.versionAttribute = versionAttribute;
+            this.tableName = tableName;
+            this.key = key;
+            this.item = item;
+        }
+
+        PendingWrite withId(long newId) {
+            return new PendingWrite(newId, delete, saveBehavior, className, versionAttribute,
+                    tableName, key, item);
+        }
+
+        PendingWrite withVersion(AttributeValue version) {
+            final Map<String, AttributeValue> newItem = new HashMap<String, AttributeValue>(item);
+            if (version == null) {
+                newItem.remove(versionAttribute);
+            } else {
+                newItem.put(versionAttribute, version);
+            }
+            return new PendingWrite(id, delete, saveBehavior, className, versionAttribute,
+                    tableName, key, newItem);
+        }
+
+        String cacheKey() {
+            return DynamoDBMapperCache.cacheKey(tableName, key);
+        }
+    }
+
+    /**
+     * A record to append to the journal, or the records of a compacted
+     * journal replacing it.
+     */
+    private static final class JournalEntry {
+        final String[] record;
+        final List<String[]> compactedRecords;
+
+        JournalEntry(String[] record, List<String[]> compactedRecords) {
+            this.record = record;
+            this.compactedRecords = compactedRecords;
+        }
+    }
+
+    private final File file;
+    private final int maxItems;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, CachedItem> items;
+    private final LinkedList<PendingWrite> pendingWrites = new LinkedList<PendingWrite>();
+
+    private final LinkedList<JournalEntry> journalQueue = new LinkedList<JournalEntry>();
+    /** Held while writing the journal, which is only done by one thread. */
+    private final Object journalLock = new Object();
+
+    private long nextWriteId = 1;
+    private long inFlightWriteId;
+    private Writer journal;
+    private int journalRecords;
+    private boolean journalWriteScheduled;
+    private boolean journalDisabled;
+
+    private volatile boolean writeBehind;
+    private volatile WriteConflictListener conflictListener;
+
+    /**
+     * Creates a cache with the default size and time to live.
+     *
+     * @param file the journal file, typically in the app's files directory,
+     *            or null to keep the cache in memory only
+     */
+    public DynamoDBMapperCache(File file) {
+        this(file, DEFAULT_MAX_ITEMS, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param file the journal file, typically in the app's files directory,
+     *            or null to keep the cache in memory only
+     * @param maxItems the maximum number of cached items
+     * @param ttlMillis how long cached items are used without being loaded
+     *            again
+     */
+    public DynamoDBMapperCache(File file, final int maxItems, long ttlMillis) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("maxItems must be positive");
+        }
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("ttlMillis must not be negative");
+        }
+        this.file = file;
+        this.maxItems = maxItems;
+        this.ttlMillis = ttlMillis;
+        this.items = new LinkedHashMap<String, CachedItem>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedItem> eldest) {
+                return size() > maxItems;
+            }
+        };
+        if (file != null) {
+            replay();
+        }
+    }
+
+    /**
+     * Enables queuing saves and deletes to send them later. It is disabled by
+     * default: writes are sent right away and the cache is updated after
+     * they succeed.
+     *
+     * @param writeBehind true to queue writes
+     */
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * @return true if saves and deletes are queued
+     */
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * @param listener notified of queued writes rejected by a version check
+     */
+    public void setWriteConflictListener(WriteConflictListener listener) {
+        this.conflictListener = listener;
+    }
+
+    WriteConflictListener getWriteConflictListener() {
+        return conflictListener;
+    }
+
+    /**
+     * @return the number of cached items
+     */
+    public synchronized int size() {
+        return items.size();
+    }
+
+    /**
+     * @return the number of saves and deletes waiting to be sent
+     */
+    public synchronized int getPendingWriteCount() {
+        return pendingWrites.size();
+    }
+
+    /**
+     * Removes all cached items. Queued writes are kept.
+     */
+    public synchronized void invalidateAll() {
+        items.clear();
+        compact();
+    }
+
+    synchronized CachedItem get(String tableName, Map<String, AttributeValue> key) {
+        return items.get(cacheKey(tableName, key));
+    }
+
+    boolean isFresh(CachedItem cached) {
+        final long age = System.currentTimeMillis() - cached.loadedAtMillis;
+        return age >= 0 && age < ttlMillis;
+    }
+
+    /**
+     * Caches an item.
+     *
+     * @param item the item, or null to record that it doesn't exist
+     */
+    synchronized void put(String tableName, Map<String, AttributeValue> key,
+            Map<String, AttributeValue> item) {
+        final long now = System.currentTimeMillis();
+        items.put(cacheKey(tableName, key), new CachedItem(item, now));
+        append(ITEM, Long.toString(now), tableName, AttributeValueJson.toJson(key),
+                item == null ? "" : AttributeValueJson.toJson(item));
+    }
+
+    synchronized void remove(String tableName, Map<String, AttributeValue> key) {
+        if (items.remove(cacheKey(tableName, key)) != null) {
+            append(REMOVE, tableName, AttributeValueJson.toJson(key));
+        }
+    }
+
+    /**
+     * Queues a write. If a write to the same item is already queued and not
+     * being sent, the new write replaces it but keeps its version, since that
+     * is the version the item still has on the service.
+     *
+     * @return the queued write
+     */
+    synchronized PendingWrite enqueue(PendingWrite write) {
+        PendingWrite queued = write;
+        final String cacheKey = write.cacheKey();
+        boolean replaced = false;
+        for (final ListIterator<PendingWrite> it = pendingWrites
+                .listIterator(pendingWrites.size()); it.hasPrevious();) {
+            final PendingWrite previous = it.previous();
+            if (!previous.cacheKey().equals(cacheKey)) {
+                continue;
+            }
+            if (previous.id != inFlightWriteId) {
+                queued = write.withId(previous.id);
+                if (write.versionAttribute != null) {
+                    queued = queued.withVersion(previous.item.get(write.versionAttribute));
+                }
+                it.set(queued);
+                replaced = true;
+            }
+            break;
+        }
+        if (!replaced) {
+            queued = write.withId(nextWriteId++);
+            pendingWrites.add(queued);
+        }
+        appendWrite(queued);
+        return queued;
+    }
+
+    /**
+     * @return the oldest queued write, now marked as being sent, or null
+     */
+    synchronized PendingWrite startPendingWrite() {
+        final PendingWrite write = pendingWrites.peek();
+        inFlightWriteId = write == null ? 0 : write.id;
+        return write;
+    }
+
+    /**
+     * Removes a write that was sent.
+     *
+     * @param write the write returned by {@link #startPendingWrite()}
+     * @param newVersion the version the item now has on the service, given to
+     *            the later writes to the same item
+     */
+    synchronized void completePendingWrite(PendingWrite write, AttributeValue newVersion) {
+        if (!removePendingWrite(write) || write.versionAttribute == null) {
+            return;
+        }
+        final String cacheKey = write.cacheKey();
+        for (final ListIterator<PendingWrite> it = pendingWrites.listIterator(); it.hasNext();) {
+            final PendingWrite later = it.next();
+            if (later.cacheKey().equals(cacheKey) && later.versionAttribute != null) {
+                final PendingWrite updated = later.withVersion(newVersion);
+                it.set(updated);
+                appendWrite(updated);
+            }
+        }
+    }
+
+    /**
+     * Removes a write that can't be sent.
+     *
+     * @param write the write returned by {@link #startPendingWrite()}
+     */
+    synchronized void dropPendingWrite(PendingWrite write) {
+        removePendingWrite(write);
+    }
+
+    synchronized boolean hasPendingWrite(String tableName, Map<String, AttributeValue> key) {
+        final String cacheKey = cacheKey(tableName, key);
+        for (final PendingWrite write : pendingWrites) {
+            if (write.cacheKey().equals(cacheKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Leaves a write that couldn't be sent now at the head of the queue.
+     */
+    synchronized void abortPendingWrite() {
+        inFlightWriteId = 0;
+    }
+
+    private boolean removePendingWrite(PendingWrite write) {
+        inFlightWriteId = 0;
+        if (!pendingWrites.remove(write)) {
+            return false;
+        }
+        append(ACK, Long.toString(write.id));
+        return true;
+    }
+
+    static String cacheKey(String tableName, Map<String, AttributeValue> key) {
+        return tableName + SEPARATOR + AttributeValueJson.toJson(key);
+    }
+
+    /**
+     * Stops journaling the cache and deletes the journal. Used when items are
+     * transformed, since the cache holds them untransformed.
+     */
+    synchronized void disableJournal() {
+        if (file == null || journalDisabled) {
+            return;
+        }
+        journalDisabled = true;
+        journalQueue.clear();
+        scheduleJournalWrite();
+    }
+
+    /**
+     * Writes the queued journal records, waiting for the ones being written
+     * in the background.
+     */
+    void flushJournal() {
+        synchronized (journalLock) {
+            while (true) {
+                final List<JournalEntry> entries;
+                final boolean disabled;
+                synchronized (this) {
+                    if (journalQueue.isEmpty() && !journalDisabled) {
+                        journalWriteScheduled = false;
+                        return;
+                    }
+                    entries = new ArrayList<JournalEntry>(journalQueue);
+                    journalQueue.clear();
+                    disabled = journalDisabled;
+                    if (disabled) {
+                        journalWriteScheduled = false;
+                    }
+                }
+                if (disabled) {
+                    closeJournal();
+                    if (file.exists() && !file.delete()) {
+                        LOGGER.warn("Failed to delete cache journal " + file);
+                    }
+                    return;
+                }
+                writeJournal(entries);
+            }
+        }
+    }
+
+    private void writeJournal(List<JournalEntry> entries) {
+        try {
+            for (final JournalEntry entry : entries) {
+                if (entry.compactedRecords != null) {
+                    replaceJournal(entry.compactedRecords);
+                    continue;
+                }
+                if (journal == null) {
+                    journal = new BufferedWriter(new OutputStreamWriter(
+                            new FileOutputStream(file, true), StringUtils.UTF8));
+                }
+                writeRecord(journal, entry.record);
+            }
+            if (journal != null) {
+                journal.flush();
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to write cache journal " + file, e);
+            closeJournal();
+        }
+    }
+
+    private void scheduleJournalWrite() {
+        if (journalWriteScheduled) {
+            return;
+        }
+        journalWriteScheduled = true;
+        SharedExecutors.getIoExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                flushJournal();
+            }
+        });
+    }
+
+    private void appendWrite(PendingWrite write) {
+        append(journalRecord(write));
+    }
+
+    private static String[] journalRecord(PendingWrite write) {
+        return new String[] {
+                WRITE, Long.toString(write.id),
+                write.delete ? DELETE_OPERATION : SAVE_OPERATION,
+                write.saveBehavior == null ? "" : write.saveBehavior,
+                write.className,
+                write.versionAttribute == null ? "" : write.versionAttribute,
+                write.tableName,
+                AttributeValueJson.toJson(write.key),
+                AttributeValueJson.toJson(write.item)
+        };
+    }
+
+    private void append(String... fields) {
+        if (file == null || journalDisabled) {
+            return;
+        }
+        journalQueue.add(new JournalEntry(fields, null));
+        journalRecords++;
+        if (journalRecords > Math.max(MIN_COMPACTION_RECORDS,
+                2 * (items.size() + pendingWrites.size()))) {
+            compact();
+        } else {
+            scheduleJournalWrite();
+        }
+    }
+
+    private static void writeRecord(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writer.write(fields[i]);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Queues rewriting the journal with only the live items and writes.
+     */
+    private void compact() {
+        if (file == null || journalDisabled) {
+            return;
+        }
+        final List<String[]> records = new ArrayList<String[]>();
+        // least recently used first, so replaying keeps the order
+        for (final Map.Entry<String, CachedItem> e : items.entrySet()) {
+            final int separator = e.getKey().indexOf(SEPARATOR);
+            final CachedItem cached = e.getValue();
+            records.add(new String[] {
+                    ITEM, Long.toString(cached.loadedAtMillis),
+                    e.getKey().substring(0, separator), e.getKey().substring(separator + 1),
+                    cached.item == null ? "" : AttributeValueJson.toJson(cached.item)
+            });
+        }
+        for (final PendingWrite write : pendingWrites) {
+            records.add(journalRecord(write));
+        }
+        // the records not written yet are part of the compacted journal
+        journalQueue.clear();
+        journalQueue.add(new JournalEntry(null, records));
+        journalRecords = records.size();
+        scheduleJournalWrite();
+    }
+
+    private void replaceJournal(List<String[]> records) {
+        closeJournal();
+        final File tempFile = new File(file.getPath() + ".tmp");
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(tempFile), StringUtils.UTF8));
+            for (final String[] record : records) {
+                writeRecord(writer, record);
+            }
+            writer.close();
+            writer = null;
+            if (!tempFile.renameTo(file)) {
+                LOGGER.warn("Failed to replace cache journal " + file);
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to compact cache journal " + file, e);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (final IOException e) {
+                    LOGGER.warn("Failed to close cache journal", e);
+                }
+            }
+        }
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to close cache journal", e);
+        }
+        journal = null;
+    }
+
+    private void replay() {
+        if (!file.exists()) {
+            return;
+        }
+        final Map<Long, PendingWrite> writes = new LinkedHashMap<Long, PendingWrite>();
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file),
+                    StringUtils.UTF8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                journalRecords++;
+                try {
+                    replayRecord(line.split(String.valueOf(SEPARATOR), -1), writes);
+                } catch (final RuntimeException e) {
+                    LOGGER.warn("Skipping corrupted cache journal record");
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to read cache journal " + file, e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (final IOException e) {
+                    LOGGER.warn("Failed to close cache journal", e);
+                }
+            }
+        }
+        pendingWrites.addAll(writes.values());
+        for (final PendingWrite write : pendingWrites) {
+            nextWriteId = Math.max(nextWriteId, write.id + 1);
+        }
+    }
+
+    private void replayRecord(String[] fields, Map<Long, PendingWrite> writes) {
+        final String type = fields[0];
+        if (ITEM.equals(type)) {
+            final String tableName = fields[2];
+            final Map<String, AttributeValue> key = AttributeValueJson.fromJson(fields[3]);
+            final Map<String, AttributeValue> item = fields[4].length() == 0 ? null
+                    : AttributeValueJson.fromJson(fields[4]);
+            items.put(cacheKey(tableName, key),
+                    new CachedItem(item, Long.parseLong(fields[1])));
+        } else if (REMOVE.equals(type)) {
+            items.remove(cacheKey(fields[1], AttributeValueJson.fromJson(fields[2])));
+        } else if (WRITE.equals(type)) {
+            final long id = Long.parseLong(fields[1]);
+            writes.put(id, new PendingWrite(id,
+                    DELETE_OPERATION.equals(fields[2]),
+                    fields[3].length() == 0 ? null : fields[3],
+                    fields[4],
+                    fields[5].length() == 0 ? null : fields[5],
+                    fields[6],
+                    AttributeValueJson.fromJson(fields[7]),
+                    AttributeValueJson.fromJson(fields[8])));
+        } else if (ACK.equals(type)) {
+            writes.remove(Long.parseLong(fields[1]));
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2011-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.dynamodbv2.dynamodbmapper;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DynamoDBMapperCacheTest {
+
+    private static final String TABLE = "aws-java-sdk-range-test";
+
+    private File file;
+    private AmazonDynamoDB mockClient;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("mapper-cache", ".journal");
+        assertTrue(file.delete());
+        mockClient = EasyMock.createMock(AmazonDynamoDBClient.class);
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testJournalIsReplayed() {
+        DynamoDBMapperCache cache = new DynamoDBMapperCache(file);
+        cache.put(TABLE, key(1), item(1, "one", null));
+        cache.put(TABLE, key(2), null);
+        cache.put(TABLE, key(3), item(3, "three", null));
+        cache.remove(TABLE, key(3));
+        cache.enqueue(save(item(1, "one", "1")));
+        cache.flushJournal();
+
+        cache = new DynamoDBMapperCache(file);
+        assertEquals(2, cache.size());
+        assertEquals("one", cache.get(TABLE, key(1)).item.get("stringAttribute").getS());
+        assertNotNull(cache.get(TABLE, key(2)));
+        assertNull(cache.get(TABLE, key(2)).item);
+        assertNull(cache.get(TABLE, key(3)));
+        assertEquals(1, cache.getPendingWriteCount());
+        assertTrue(cache.hasPendingWrite(TABLE, key(1)));
+
+        final DynamoDBMapperCache.PendingWrite write = cache.startPendingWrite();
+        cache.completePendingWrite(write, null);
+        cache.flushJournal();
+        cache = new DynamoDBMapperCache(file);
+        assertEquals(0, cache.getPendingWriteCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedItemIsEvicted() {
+        final DynamoDBMapperCache cache = new DynamoDBMapperCache(null, 2,
+                DynamoDBMapperCache.DEFAULT_TTL_MILLIS);
+        cache.put(TABLE, key(1), item(1, "one", null));
+        cache.put(TABLE, key(2), item(2, "two", null));
+        cache.get(TABLE, key(1));
+        cache.put(TABLE, key(3), item(3, "three", null));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(TABLE, key(1)));
+        assertNull(cache.get(TABLE, key(2)));
+        assertNotNull(cache.get(TABLE, key(3)));
+    }
+
+    @Test
+    public void testExpiredItemIsNotFresh() {
+        final DynamoDBMapperCache cache = new DynamoDBMapperCache(null, 10, 0);
+        cache.put(TABLE, key(1), item(1, "one", null));
+        assertFalse(cache.isFresh(cache.get(TABLE, key(1))));
+    }
+
+    @Test
+    public void testWritesToSameItemAreCoalesced() {
+        final DynamoDBMapperCache cache = new DynamoDBMapperCache(null);
+        cache.enqueue(save(item(1, "one", "1")));
+        cache.enqueue(save(item(2, "two", "1")));
+        cache.enqueue(save(item(1, "uno", "2")));
+
+        assertEquals(2, cache.getPendingWriteCount());
+        final DynamoDBMapperCache.PendingWrite write = cache.startPendingWrite();
+        assertEquals("uno", write.item.get("stringAttribute").getS());
+        // the version the item has on the service is kept
+        assertEquals("1", write.item.get("version").getN());
+    }
+
+    @Test
+    public void testNewVersionIsGivenToLaterWrites() {
+        final DynamoDBMapperCache cache = new DynamoDBMapperCache(null);
+        cache.enqueue(save(item(1, "one", "1")));
+        final DynamoDBMapperCache.PendingWrite first = cache.startPendingWrite();
+        // not coalesced with the write being sent
+        cache.enqueue(save(item(1, "uno", "2")));
+        assertEquals(2, cache.getPendingWriteCount());
+
+        cache.completePendingWrite(first, new AttributeValue().withN("2"));
+        final DynamoDBMapperCache.PendingWrite second = cache.startPendingWrite();
+        assertEquals("uno", second.item.get("stringAttribute").getS());
+        assertEquals("2", second.item.get("version").getN());
+    }
+
+    @Test
+    public void testLoadIsServedFromCache() {
+        final DynamoDBMapper mapper = mapper(new DynamoDBMapperCache(null));
+        EasyMock.expect(mockClient.getItem(anyObject(GetItemRequest.class)))
+                .andReturn(new GetItemResult().withItem(item(1, "one", "3"))).once();
+        EasyMock.replay(mockClient);
+
+        final RangeKeyClass first = mapper.load(RangeKeyClass.class, 1L, 1.0);
+        final RangeKeyClass second = mapper.load(RangeKeyClass.class, 1L, 1.0);
+        EasyMock.verify(mockClient);
+        assertEquals("one", first.getStringAttribute());
+        assertEquals("one", second.getStringAttribute());
+        assertEquals(Long.valueOf(3), second.getVersion());
+    }
+
+    @Test
+    public void testLoadFallsBackToCacheWhenOffline() {
+        final DynamoDBMapperCache cache = new DynamoDBMapperCache(null, 10, 0);
+        cache.put(TABLE, key(1), item(1, "one", "3"));
+        final DynamoDBMapper mapper = mapper(cache);
+        EasyMock.expect(mockClient.getItem(anyObject(GetItemRequest.class)))
+                .andThrow(new AmazonClientException("Unable to execute HTTP request"));
+        EasyMock.replay(mockClient);
+
+        final RangeKeyClass loaded = mapper.load(RangeKeyClass.class, 1L, 1.0);
+        EasyMock.verify(mockClient);
+        assertEquals("one", loaded.getStringAttribute());
+    }
+
+    @Test
+    public void testWriteBehind() {
+        final DynamoDBMapperCache cache = new DynamoDBMapperCache(file);
+        cache.setWriteBehind(true);
+        final DynamoDBMapper mapper = mapper(cache);
+        // new items are put, the following saves are updates
+        final Capture<PutItemRequest> puts = new Capture<PutItemRequest>(CaptureType.ALL);
+        EasyMock.expect(mockClient.putItem(EasyMock.capture(puts)))
+                .andThrow(new AmazonClientException("Unable to execute HTTP request"))
+                .andStubReturn(new PutItemResult());
+        EasyMock.expect(mockClient.updateItem(anyObject(UpdateItemRequest.class)))
+                .andStubReturn(new UpdateItemResult());
+        EasyMock.replay(mockClient);
+
+        final RangeKeyClass object = rangeKeyObject(1, "one");
+        mapper.save(object);
+        object.setStringAttribute("uno");
+        mapper.save(object);
+        // served from the cache, the client isn't called
+        assertEquals("uno", mapper.load(RangeKeyClass.class, 1L, 1.0).getStringAttribute());
+
+        // the first attempt fails, possibly in the flush scheduled by save
+        while (cache.getPendingWriteCount() > 0) {
+            mapper.flushPendingWrites();
+        }
+        assertTrue(puts.getValues().size() >= 2);
+        final RangeKeyClass loaded = mapper.load(RangeKeyClass.class, 1L, 1.0);
+        assertEquals("uno", loaded.getStringAttribute());
+        assertNotNull(loaded.getVersion());
+        cache.flushJournal();
+        assertEquals(0, new DynamoDBMapperCache(file).getPendingWriteCount());
+    }
+
+    @Test
+    public void testQueuedWritesAreRetriedInBackground() throws InterruptedException {
+        final DynamoDBMapperCache cache = new DynamoDBMapperCache(null);
+        cache.setWriteBehind(true);
+        final DynamoDBMapper mapper = mapper(cache);
+        EasyMock.expect(mockClient.updateItem(anyObject(UpdateItemRequest.class)))
+                .andThrow(new AmazonClientException("Unable to execute HTTP request"))
+                .andStubReturn(new UpdateItemResult());
+        EasyMock.expect(mockClient.putItem(anyObject(PutItemRequest.class)))
+                .andStubReturn(new PutItemResult());
+        EasyMock.replay(mockClient);
+
+        mapper.save(rangeKeyObject(1, "one"));
+        // sent by the retry after the first flush failed, without another save
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (cache.getPendingWriteCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, cache.getPendingWriteCount());
+    }
+
+    @Test
+    public void testQueuedSaveIncrementsVersion() {
+        final DynamoDBMapperCache cache = new DynamoDBMapperCache(null);
+        cache.setWriteBehind(true);
+        final DynamoDBMapper mapper = mapper(cache);
+        final List<ExpectedAttributeValue> expectedVersions =
+                Collections.synchronizedList(new ArrayList<ExpectedAttributeValue>());
+        EasyMock.expect(mockClient.putItem(anyObject(PutItemRequest.class)))
+                .andStubAnswer(new IAnswer<PutItemResult>() {
+                    @Override
+                    public PutItemResult answer() {
+                        final PutItemRequest request =
+                                (PutItemRequest) EasyMock.getCurrentArguments()[0];
+                        expectedVersions.add(request.getExpected().get("version"));
+                        return new PutItemResult();
+                    }
+                });
+        EasyMock.expect(mockClient.updateItem(anyObject(UpdateItemRequest.class)))
+                .andStubAnswer(new IAnswer<UpdateItemResult>() {
+                    @Override
+                    public UpdateItemResult answer() {
+                        final UpdateItemRequest request =
+                                (UpdateItemRequest) EasyMock.getCurrentArguments()[0];
+                        expectedVersions.add(request.getExpected().get("version"));
+                        return new UpdateItemResult();
+                    }
+                });
+        EasyMock.replay(mockClient);
+
+        final RangeKeyClass object = rangeKeyObject(1, "one");
+        mapper.save(object);
+        assertEquals(Long.valueOf(1), object.getVersion());
+        assertEquals(Long.valueOf(1), mapper.load(RangeKeyClass.class, 1L, 1.0).getVersion());
+        flush(mapper, cache);
+
+        object.setStringAttribute("uno");
+        mapper.save(object);
+        assertEquals(Long.valueOf(2), object.getVersion());
+        flush(mapper, cache);
+
+        // the first save is sent as a new item, the second expects version 1
+        assertFalse(expectedVersions.get(0).getExists());
+        assertEquals("1", expectedVersions.get(expectedVersions.size() - 1).getValue().getN());
+        assertEquals(Long.valueOf(2), mapper.load(RangeKeyClass.class, 1L, 1.0).getVersion());
+    }
+
+    @Test
+    public void testWriteConflictIsReported() {
+        final DynamoDBMapperCache cache = new DynamoDBMapperCache(null);
+        final Object[] conflict = new Object[1];
+        cache.setWriteConflictListener(new DynamoDBMapperCache.WriteConflictListener() {
+            @Override
+            public void onWriteConflict(Object object, boolean delete,
+                    AmazonServiceException exception) {
+                conflict[0] = object;
+            }
+        });
+        cache.enqueue(save(item(1, "one", "1")));
+        final DynamoDBMapper mapper = mapper(cache);
+        EasyMock.expect(mockClient.updateItem(anyObject(UpdateItemRequest.class)))
+                .andThrow(new ConditionalCheckFailedException("The conditional request failed"));
+        EasyMock.replay(mockClient);
+
+        assertEquals(1, mapper.flushPendingWrites());
+        EasyMock.verify(mockClient);
+        assertEquals(0, cache.getPendingWriteCount());
+        assertEquals("one", ((RangeKeyClass) conflict[0]).getStringAttribute());
+        assertNull(cache.get(TABLE, key(1)));
+    }
+
+    @Test
+    public void testJournalIsDisabledWithTransformer() {
+        DynamoDBMapperCache cache = new DynamoDBMapperCache(file);
+        cache.put(TABLE, key(1), item(1, "one", null));
+        cache.flushJournal();
+        assertTrue(file.exists());
+
+        DynamoDBMapper.builder().dynamoDBClient(mockClient).offlineCache(cache)
+                .attributeTransformer(new AttributeTransformerChain()).build();
+        cache.put(TABLE, key(2), item(2, "two", null));
+        cache.flushJournal();
+        assertFalse(file.exists());
+        assertEquals(2, cache.size());
+        assertEquals(0, new DynamoDBMapperCache(file).size());
+    }
+
+    private static void flush(DynamoDBMapper mapper, DynamoDBMapperCache cache) {
+        // the flush scheduled by save may be sending the writes as well
+        while (cache.getPendingWriteCount() > 0) {
+            mapper.flushPendingWrites();
+        }
+    }
+
+    private DynamoDBMapper mapper(DynamoDBMapperCache cache) {
+        return DynamoDBMapper.builder().dynamoDBClient(mockClient).offlineCache(cache).build();
+    }
+
+    private static RangeKeyClass rangeKeyObject(long hashKey, String value) {
+        final RangeKeyClass object = new RangeKeyClass();
+        object.setKey(hashKey);
+        object.setRangeKey(1.0);
+        object.setStringAttribute(value);
+        return object;
+    }
+
+    private static Map<String, AttributeValue> key(long hashKey) {
+        final Map<String, AttributeValue> key = new HashMap<String, AttributeValue>();
+        key.put("key", new AttributeValue().withN(Long.toString(hashKey)));
+        key.put("rangeKey", new AttributeValue().withN("1.0"));
+        return key;
+    }
+
+    private static Map<String, AttributeValue> item(long hashKey, String value, String version) {
+        final Map<String, AttributeValue> item = key(hashKey);
+        item.put("stringAttribute", new AttributeValue().withS(value));
+        if (version != null) {
+            item.put("version", new AttributeValue().withN(version));
+        }
+        return item;
+    }
+
+    private static DynamoDBMapperCache.PendingWrite save(Map<String, AttributeValue> item) {
+        final Map<String, AttributeValue> key = new HashMap<String, AttributeValue>(item);
+        key.remove("stringAttribute");
+        key.remove("version");
+        return new DynamoDBMapperCache.PendingWrite(0, false, "UPDATE",
+                RangeKeyClass.class.getName(), "version", TABLE, key, item);
+    }
+}
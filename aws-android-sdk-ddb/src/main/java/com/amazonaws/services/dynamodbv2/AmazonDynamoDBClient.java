@@ -16,6 +16,8 @@
 package com.amazonaws.services.dynamodbv2;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.amazonaws.*;
 import com.amazonaws.auth.*;
@@ -5258,4 +5260,17 @@ public class AmazonDynamoDBClient extends AmazonWebServiceClient implements Amaz
                 errorResponseHandler, executionContext);
         return result;
     }
+
+    /**
+     * Executes a request on the asynchronous path of the http client with the
+     * JSON response and error handlers of this client.
+     */
+    <X, Y extends AmazonWebServiceRequest> Future<X> invokeAsync(Y originalRequest,
+            Marshaller<Request<Y>, Y> marshaller,
+            Unmarshaller<X, JsonUnmarshallerContext> unmarshaller,
+            AsyncHandler<Y, X> asyncHandler, ExecutorService executor) {
+        return invokeAsync(originalRequest, marshaller, new JsonResponseHandler<X>(unmarshaller),
+                new JsonErrorResponseHandler(jsonErrorUnmarshallers), awsCredentialsProvider,
+                asyncHandler, executor);
+    }
 }
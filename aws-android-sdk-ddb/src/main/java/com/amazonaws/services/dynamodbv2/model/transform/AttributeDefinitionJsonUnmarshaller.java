@@ -36,14 +36,18 @@ class AttributeDefinitionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("AttributeName")) {
-                attributeDefinition.setAttributeName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("AttributeType")) {
-                attributeDefinition.setAttributeType(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "AttributeName":
+                    attributeDefinition.setAttributeName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "AttributeType":
+                    attributeDefinition.setAttributeType(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
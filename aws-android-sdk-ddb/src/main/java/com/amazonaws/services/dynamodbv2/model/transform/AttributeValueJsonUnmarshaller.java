@@ -26,6 +26,17 @@ import com.amazonaws.util.json.AwsJsonReader;
 class AttributeValueJsonUnmarshaller implements
         Unmarshaller<AttributeValue, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<String> SS_UNMARSHALLER =
+            new ListUnmarshaller<String>(StringJsonUnmarshaller.getInstance());
+    private static final ListUnmarshaller<String> NS_UNMARSHALLER =
+            new ListUnmarshaller<String>(StringJsonUnmarshaller.getInstance());
+    private static final ListUnmarshaller<java.nio.ByteBuffer> BS_UNMARSHALLER =
+            new ListUnmarshaller<java.nio.ByteBuffer>(ByteBufferJsonUnmarshaller.getInstance());
+    private static final MapUnmarshaller<AttributeValue> M_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+    private static final ListUnmarshaller<AttributeValue> L_UNMARSHALLER =
+            new ListUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public AttributeValue unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,48 +47,45 @@ class AttributeValueJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("S")) {
-                attributeValue.setS(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("N")) {
-                attributeValue.setN(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("B")) {
-                attributeValue.setB(ByteBufferJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("SS")) {
-                attributeValue.setSS(new ListUnmarshaller<String>(StringJsonUnmarshaller
-                        .getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("NS")) {
-                attributeValue.setNS(new ListUnmarshaller<String>(StringJsonUnmarshaller
-                        .getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("BS")) {
-                attributeValue.setBS(new ListUnmarshaller<java.nio.ByteBuffer>(
-                        ByteBufferJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("M")) {
-                attributeValue.setM(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("L")) {
-                attributeValue.setL(new ListUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("NULL")) {
-                attributeValue.setNULL(BooleanJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BOOL")) {
-                attributeValue.setBOOL(BooleanJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "S":
+                    attributeValue.setS(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "N":
+                    attributeValue.setN(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "B":
+                    attributeValue.setB(ByteBufferJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "SS":
+                    attributeValue.setSS(SS_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "NS":
+                    attributeValue.setNS(NS_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "BS":
+                    attributeValue.setBS(BS_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "M":
+                    attributeValue.setM(M_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "L":
+                    attributeValue.setL(L_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "NULL":
+                    attributeValue.setNULL(BooleanJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BOOL":
+                    attributeValue.setBOOL(BooleanJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
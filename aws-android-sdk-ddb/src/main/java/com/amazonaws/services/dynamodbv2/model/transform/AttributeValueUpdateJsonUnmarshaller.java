@@ -36,14 +36,18 @@ class AttributeValueUpdateJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Value")) {
-                attributeValueUpdate.setValue(AttributeValueJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("Action")) {
-                attributeValueUpdate.setAction(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Value":
+                    attributeValueUpdate.setValue(AttributeValueJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "Action":
+                    attributeValueUpdate.setAction(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -37,16 +37,20 @@ class AutoScalingPolicyDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("PolicyName")) {
-                autoScalingPolicyDescription.setPolicyName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TargetTrackingScalingPolicyConfiguration")) {
-                autoScalingPolicyDescription
-                        .setTargetTrackingScalingPolicyConfiguration(AutoScalingTargetTrackingScalingPolicyConfigurationDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "PolicyName":
+                    autoScalingPolicyDescription.setPolicyName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TargetTrackingScalingPolicyConfiguration":
+                    autoScalingPolicyDescription
+                            .setTargetTrackingScalingPolicyConfiguration(AutoScalingTargetTrackingScalingPolicyConfigurationDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
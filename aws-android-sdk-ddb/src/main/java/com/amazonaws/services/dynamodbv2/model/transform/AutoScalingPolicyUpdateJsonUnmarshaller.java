@@ -36,16 +36,20 @@ class AutoScalingPolicyUpdateJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("PolicyName")) {
-                autoScalingPolicyUpdate.setPolicyName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TargetTrackingScalingPolicyConfiguration")) {
-                autoScalingPolicyUpdate
-                        .setTargetTrackingScalingPolicyConfiguration(AutoScalingTargetTrackingScalingPolicyConfigurationUpdateJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "PolicyName":
+                    autoScalingPolicyUpdate.setPolicyName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TargetTrackingScalingPolicyConfiguration":
+                    autoScalingPolicyUpdate
+                            .setTargetTrackingScalingPolicyConfiguration(AutoScalingTargetTrackingScalingPolicyConfigurationUpdateJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
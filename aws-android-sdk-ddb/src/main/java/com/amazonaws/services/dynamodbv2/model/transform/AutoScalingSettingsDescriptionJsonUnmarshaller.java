@@ -26,6 +26,10 @@ import com.amazonaws.util.json.AwsJsonReader;
 class AutoScalingSettingsDescriptionJsonUnmarshaller implements
         Unmarshaller<AutoScalingSettingsDescription, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<AutoScalingPolicyDescription> SCALING_POLICIES_UNMARSHALLER =
+            new ListUnmarshaller<AutoScalingPolicyDescription>(
+                    AutoScalingPolicyDescriptionJsonUnmarshaller.getInstance());
+
     public AutoScalingSettingsDescription unmarshall(JsonUnmarshallerContext context)
             throws Exception {
         AwsJsonReader reader = context.getReader();
@@ -37,28 +41,32 @@ class AutoScalingSettingsDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("MinimumUnits")) {
-                autoScalingSettingsDescription.setMinimumUnits(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("MaximumUnits")) {
-                autoScalingSettingsDescription.setMaximumUnits(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("AutoScalingDisabled")) {
-                autoScalingSettingsDescription.setAutoScalingDisabled(BooleanJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("AutoScalingRoleArn")) {
-                autoScalingSettingsDescription.setAutoScalingRoleArn(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ScalingPolicies")) {
-                autoScalingSettingsDescription
-                        .setScalingPolicies(new ListUnmarshaller<AutoScalingPolicyDescription>(
-                                AutoScalingPolicyDescriptionJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "MinimumUnits":
+                    autoScalingSettingsDescription.setMinimumUnits(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "MaximumUnits":
+                    autoScalingSettingsDescription.setMaximumUnits(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "AutoScalingDisabled":
+                    autoScalingSettingsDescription.setAutoScalingDisabled(BooleanJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "AutoScalingRoleArn":
+                    autoScalingSettingsDescription.setAutoScalingRoleArn(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ScalingPolicies":
+                    autoScalingSettingsDescription.setScalingPolicies(SCALING_POLICIES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
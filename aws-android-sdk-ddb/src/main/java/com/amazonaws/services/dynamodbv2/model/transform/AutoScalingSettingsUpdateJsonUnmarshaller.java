@@ -36,27 +36,34 @@ class AutoScalingSettingsUpdateJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("MinimumUnits")) {
-                autoScalingSettingsUpdate.setMinimumUnits(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("MaximumUnits")) {
-                autoScalingSettingsUpdate.setMaximumUnits(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("AutoScalingDisabled")) {
-                autoScalingSettingsUpdate.setAutoScalingDisabled(BooleanJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("AutoScalingRoleArn")) {
-                autoScalingSettingsUpdate.setAutoScalingRoleArn(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ScalingPolicyUpdate")) {
-                autoScalingSettingsUpdate
-                        .setScalingPolicyUpdate(AutoScalingPolicyUpdateJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "MinimumUnits":
+                    autoScalingSettingsUpdate.setMinimumUnits(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "MaximumUnits":
+                    autoScalingSettingsUpdate.setMaximumUnits(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "AutoScalingDisabled":
+                    autoScalingSettingsUpdate.setAutoScalingDisabled(BooleanJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "AutoScalingRoleArn":
+                    autoScalingSettingsUpdate.setAutoScalingRoleArn(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ScalingPolicyUpdate":
+                    autoScalingSettingsUpdate
+                            .setScalingPolicyUpdate(AutoScalingPolicyUpdateJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -39,24 +39,30 @@ class AutoScalingTargetTrackingScalingPolicyConfigurationDescriptionJsonUnmarsha
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("DisableScaleIn")) {
-                autoScalingTargetTrackingScalingPolicyConfigurationDescription
-                        .setDisableScaleIn(BooleanJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ScaleInCooldown")) {
-                autoScalingTargetTrackingScalingPolicyConfigurationDescription
-                        .setScaleInCooldown(IntegerJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ScaleOutCooldown")) {
-                autoScalingTargetTrackingScalingPolicyConfigurationDescription
-                        .setScaleOutCooldown(IntegerJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("TargetValue")) {
-                autoScalingTargetTrackingScalingPolicyConfigurationDescription
-                        .setTargetValue(DoubleJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "DisableScaleIn":
+                    autoScalingTargetTrackingScalingPolicyConfigurationDescription
+                            .setDisableScaleIn(BooleanJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ScaleInCooldown":
+                    autoScalingTargetTrackingScalingPolicyConfigurationDescription
+                            .setScaleInCooldown(IntegerJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ScaleOutCooldown":
+                    autoScalingTargetTrackingScalingPolicyConfigurationDescription
+                            .setScaleOutCooldown(IntegerJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "TargetValue":
+                    autoScalingTargetTrackingScalingPolicyConfigurationDescription
+                            .setTargetValue(DoubleJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -39,24 +39,30 @@ class AutoScalingTargetTrackingScalingPolicyConfigurationUpdateJsonUnmarshaller
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("DisableScaleIn")) {
-                autoScalingTargetTrackingScalingPolicyConfigurationUpdate
-                        .setDisableScaleIn(BooleanJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ScaleInCooldown")) {
-                autoScalingTargetTrackingScalingPolicyConfigurationUpdate
-                        .setScaleInCooldown(IntegerJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ScaleOutCooldown")) {
-                autoScalingTargetTrackingScalingPolicyConfigurationUpdate
-                        .setScaleOutCooldown(IntegerJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("TargetValue")) {
-                autoScalingTargetTrackingScalingPolicyConfigurationUpdate
-                        .setTargetValue(DoubleJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "DisableScaleIn":
+                    autoScalingTargetTrackingScalingPolicyConfigurationUpdate
+                            .setDisableScaleIn(BooleanJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ScaleInCooldown":
+                    autoScalingTargetTrackingScalingPolicyConfigurationUpdate
+                            .setScaleInCooldown(IntegerJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ScaleOutCooldown":
+                    autoScalingTargetTrackingScalingPolicyConfigurationUpdate
+                            .setScaleOutCooldown(IntegerJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "TargetValue":
+                    autoScalingTargetTrackingScalingPolicyConfigurationUpdate
+                            .setTargetValue(DoubleJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
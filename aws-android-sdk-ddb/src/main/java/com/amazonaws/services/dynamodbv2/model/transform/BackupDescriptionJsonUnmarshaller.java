@@ -36,20 +36,25 @@ class BackupDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("BackupDetails")) {
-                backupDescription.setBackupDetails(BackupDetailsJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("SourceTableDetails")) {
-                backupDescription.setSourceTableDetails(SourceTableDetailsJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("SourceTableFeatureDetails")) {
-                backupDescription
-                        .setSourceTableFeatureDetails(SourceTableFeatureDetailsJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "BackupDetails":
+                    backupDescription.setBackupDetails(BackupDetailsJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "SourceTableDetails":
+                    backupDescription.setSourceTableDetails(SourceTableDetailsJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "SourceTableFeatureDetails":
+                    backupDescription
+                            .setSourceTableFeatureDetails(SourceTableFeatureDetailsJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -35,29 +35,38 @@ class BackupDetailsJsonUnmarshaller implements Unmarshaller<BackupDetails, JsonU
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("BackupArn")) {
-                backupDetails.setBackupArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupName")) {
-                backupDetails.setBackupName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupSizeBytes")) {
-                backupDetails.setBackupSizeBytes(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupStatus")) {
-                backupDetails.setBackupStatus(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupType")) {
-                backupDetails.setBackupType(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupCreationDateTime")) {
-                backupDetails.setBackupCreationDateTime(DateJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupExpiryDateTime")) {
-                backupDetails.setBackupExpiryDateTime(DateJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "BackupArn":
+                    backupDetails.setBackupArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupName":
+                    backupDetails.setBackupName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupSizeBytes":
+                    backupDetails.setBackupSizeBytes(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupStatus":
+                    backupDetails.setBackupStatus(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupType":
+                    backupDetails.setBackupType(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupCreationDateTime":
+                    backupDetails.setBackupCreationDateTime(DateJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupExpiryDateTime":
+                    backupDetails.setBackupExpiryDateTime(DateJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -35,38 +35,50 @@ class BackupSummaryJsonUnmarshaller implements Unmarshaller<BackupSummary, JsonU
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TableName")) {
-                backupSummary.setTableName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TableId")) {
-                backupSummary.setTableId(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TableArn")) {
-                backupSummary.setTableArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupArn")) {
-                backupSummary.setBackupArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupName")) {
-                backupSummary.setBackupName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupCreationDateTime")) {
-                backupSummary.setBackupCreationDateTime(DateJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupExpiryDateTime")) {
-                backupSummary.setBackupExpiryDateTime(DateJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupStatus")) {
-                backupSummary.setBackupStatus(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupType")) {
-                backupSummary.setBackupType(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("BackupSizeBytes")) {
-                backupSummary.setBackupSizeBytes(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TableName":
+                    backupSummary.setTableName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TableId":
+                    backupSummary.setTableId(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TableArn":
+                    backupSummary.setTableArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupArn":
+                    backupSummary.setBackupArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupName":
+                    backupSummary.setBackupName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupCreationDateTime":
+                    backupSummary.setBackupCreationDateTime(DateJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupExpiryDateTime":
+                    backupSummary.setBackupExpiryDateTime(DateJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupStatus":
+                    backupSummary.setBackupStatus(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupType":
+                    backupSummary.setBackupType(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "BackupSizeBytes":
+                    backupSummary.setBackupSizeBytes(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,16 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class BatchGetItemResultJsonUnmarshaller implements
         Unmarshaller<BatchGetItemResult, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<java.util.List<java.util.Map<String, AttributeValue>>> RESPONSES_UNMARSHALLER =
+            new MapUnmarshaller<java.util.List<java.util.Map<String, AttributeValue>>>(
+                    new ListUnmarshaller<java.util.Map<String, AttributeValue>>(
+                            new MapUnmarshaller<AttributeValue>(
+                                    AttributeValueJsonUnmarshaller.getInstance())));
+    private static final MapUnmarshaller<KeysAndAttributes> UNPROCESSED_KEYS_UNMARSHALLER =
+            new MapUnmarshaller<KeysAndAttributes>(KeysAndAttributesJsonUnmarshaller.getInstance());
+    private static final ListUnmarshaller<ConsumedCapacity> CONSUMED_CAPACITY_UNMARSHALLER =
+            new ListUnmarshaller<ConsumedCapacity>(ConsumedCapacityJsonUnmarshaller.getInstance());
+
     public BatchGetItemResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         BatchGetItemResult batchGetItemResult = new BatchGetItemResult();
 
@@ -33,28 +43,21 @@ public class BatchGetItemResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Responses")) {
-                batchGetItemResult
-                        .setResponses(new MapUnmarshaller<java.util.List<java.util.Map<String, AttributeValue>>>(
-                                new ListUnmarshaller<java.util.Map<String, AttributeValue>>(
-                                        new MapUnmarshaller<AttributeValue>(
-                                                AttributeValueJsonUnmarshaller.getInstance()
-                                        )
-                                )
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("UnprocessedKeys")) {
-                batchGetItemResult.setUnprocessedKeys(new MapUnmarshaller<KeysAndAttributes>(
-                        KeysAndAttributesJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ConsumedCapacity")) {
-                batchGetItemResult.setConsumedCapacity(new ListUnmarshaller<ConsumedCapacity>(
-                        ConsumedCapacityJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Responses":
+                    batchGetItemResult.setResponses(RESPONSES_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "UnprocessedKeys":
+                    batchGetItemResult.setUnprocessedKeys(UNPROCESSED_KEYS_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "ConsumedCapacity":
+                    batchGetItemResult.setConsumedCapacity(CONSUMED_CAPACITY_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
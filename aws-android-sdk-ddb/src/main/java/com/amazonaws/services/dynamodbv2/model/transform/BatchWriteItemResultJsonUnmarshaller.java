@@ -26,6 +26,16 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class BatchWriteItemResultJsonUnmarshaller implements
         Unmarshaller<BatchWriteItemResult, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<java.util.List<WriteRequest>> UNPROCESSED_ITEMS_UNMARSHALLER =
+            new MapUnmarshaller<java.util.List<WriteRequest>>(
+                    new ListUnmarshaller<WriteRequest>(WriteRequestJsonUnmarshaller.getInstance()));
+    private static final MapUnmarshaller<java.util.List<ItemCollectionMetrics>> ITEM_COLLECTION_METRICS_UNMARSHALLER =
+            new MapUnmarshaller<java.util.List<ItemCollectionMetrics>>(
+                    new ListUnmarshaller<ItemCollectionMetrics>(
+                            ItemCollectionMetricsJsonUnmarshaller.getInstance()));
+    private static final ListUnmarshaller<ConsumedCapacity> CONSUMED_CAPACITY_UNMARSHALLER =
+            new ListUnmarshaller<ConsumedCapacity>(ConsumedCapacityJsonUnmarshaller.getInstance());
+
     public BatchWriteItemResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         BatchWriteItemResult batchWriteItemResult = new BatchWriteItemResult();
 
@@ -33,29 +43,22 @@ public class BatchWriteItemResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("UnprocessedItems")) {
-                batchWriteItemResult
-                        .setUnprocessedItems(new MapUnmarshaller<java.util.List<WriteRequest>>(
-                                new ListUnmarshaller<WriteRequest>(WriteRequestJsonUnmarshaller
-                                        .getInstance()
-                                )
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ItemCollectionMetrics")) {
-                batchWriteItemResult
-                        .setItemCollectionMetrics(new MapUnmarshaller<java.util.List<ItemCollectionMetrics>>(
-                                new ListUnmarshaller<ItemCollectionMetrics>(
-                                        ItemCollectionMetricsJsonUnmarshaller.getInstance()
-                                )
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ConsumedCapacity")) {
-                batchWriteItemResult.setConsumedCapacity(new ListUnmarshaller<ConsumedCapacity>(
-                        ConsumedCapacityJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "UnprocessedItems":
+                    batchWriteItemResult.setUnprocessedItems(UNPROCESSED_ITEMS_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "ItemCollectionMetrics":
+                    batchWriteItemResult.setItemCollectionMetrics(ITEM_COLLECTION_METRICS_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "ConsumedCapacity":
+                    batchWriteItemResult.setConsumedCapacity(CONSUMED_CAPACITY_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -35,11 +35,14 @@ class CapacityJsonUnmarshaller implements Unmarshaller<Capacity, JsonUnmarshalle
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("CapacityUnits")) {
-                capacity.setCapacityUnits(DoubleJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "CapacityUnits":
+                    capacity.setCapacityUnits(DoubleJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
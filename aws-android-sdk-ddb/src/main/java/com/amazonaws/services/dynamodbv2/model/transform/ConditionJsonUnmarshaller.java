@@ -25,6 +25,9 @@ import com.amazonaws.util.json.AwsJsonReader;
  */
 class ConditionJsonUnmarshaller implements Unmarshaller<Condition, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<AttributeValue> ATTRIBUTE_VALUE_LIST_UNMARSHALLER =
+            new ListUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public Condition unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -35,16 +38,18 @@ class ConditionJsonUnmarshaller implements Unmarshaller<Condition, JsonUnmarshal
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("AttributeValueList")) {
-                condition.setAttributeValueList(new ListUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ComparisonOperator")) {
-                condition.setComparisonOperator(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "AttributeValueList":
+                    condition.setAttributeValueList(ATTRIBUTE_VALUE_LIST_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "ComparisonOperator":
+                    condition.setComparisonOperator(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,11 @@ import com.amazonaws.util.json.AwsJsonReader;
 class ConsumedCapacityJsonUnmarshaller implements
         Unmarshaller<ConsumedCapacity, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<Capacity> LOCAL_SECONDARY_INDEXES_UNMARSHALLER =
+            new MapUnmarshaller<Capacity>(CapacityJsonUnmarshaller.getInstance());
+    private static final MapUnmarshaller<Capacity> GLOBAL_SECONDARY_INDEXES_UNMARSHALLER =
+            new MapUnmarshaller<Capacity>(CapacityJsonUnmarshaller.getInstance());
+
     public ConsumedCapacity unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,27 +41,30 @@ class ConsumedCapacityJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TableName")) {
-                consumedCapacity.setTableName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("CapacityUnits")) {
-                consumedCapacity.setCapacityUnits(DoubleJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("Table")) {
-                consumedCapacity.setTable(CapacityJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("LocalSecondaryIndexes")) {
-                consumedCapacity.setLocalSecondaryIndexes(new MapUnmarshaller<Capacity>(
-                        CapacityJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("GlobalSecondaryIndexes")) {
-                consumedCapacity.setGlobalSecondaryIndexes(new MapUnmarshaller<Capacity>(
-                        CapacityJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TableName":
+                    consumedCapacity.setTableName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "CapacityUnits":
+                    consumedCapacity.setCapacityUnits(DoubleJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "Table":
+                    consumedCapacity.setTable(CapacityJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "LocalSecondaryIndexes":
+                    consumedCapacity.setLocalSecondaryIndexes(LOCAL_SECONDARY_INDEXES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "GlobalSecondaryIndexes":
+                    consumedCapacity.setGlobalSecondaryIndexes(GLOBAL_SECONDARY_INDEXES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -37,17 +37,21 @@ class ContinuousBackupsDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("ContinuousBackupsStatus")) {
-                continuousBackupsDescription.setContinuousBackupsStatus(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("PointInTimeRecoveryDescription")) {
-                continuousBackupsDescription
-                        .setPointInTimeRecoveryDescription(PointInTimeRecoveryDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "ContinuousBackupsStatus":
+                    continuousBackupsDescription.setContinuousBackupsStatus(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "PointInTimeRecoveryDescription":
+                    continuousBackupsDescription
+                            .setPointInTimeRecoveryDescription(PointInTimeRecoveryDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -33,11 +33,14 @@ public class CreateBackupResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("BackupDetails")) {
-                createBackupResult.setBackupDetails(BackupDetailsJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "BackupDetails":
+                    createBackupResult.setBackupDetails(BackupDetailsJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
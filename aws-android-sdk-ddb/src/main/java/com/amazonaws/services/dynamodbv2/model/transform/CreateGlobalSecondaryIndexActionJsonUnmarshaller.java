@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 class CreateGlobalSecondaryIndexActionJsonUnmarshaller implements
         Unmarshaller<CreateGlobalSecondaryIndexAction, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<KeySchemaElement> KEY_SCHEMA_UNMARSHALLER =
+            new ListUnmarshaller<KeySchemaElement>(KeySchemaElementJsonUnmarshaller.getInstance());
+
     public CreateGlobalSecondaryIndexAction unmarshall(JsonUnmarshallerContext context)
             throws Exception {
         AwsJsonReader reader = context.getReader();
@@ -37,26 +40,29 @@ class CreateGlobalSecondaryIndexActionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                createGlobalSecondaryIndexAction.setIndexName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KeySchema")) {
-                createGlobalSecondaryIndexAction
-                        .setKeySchema(new ListUnmarshaller<KeySchemaElement>(
-                                KeySchemaElementJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("Projection")) {
-                createGlobalSecondaryIndexAction.setProjection(ProjectionJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProvisionedThroughput")) {
-                createGlobalSecondaryIndexAction
-                        .setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    createGlobalSecondaryIndexAction.setIndexName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KeySchema":
+                    createGlobalSecondaryIndexAction.setKeySchema(KEY_SCHEMA_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "Projection":
+                    createGlobalSecondaryIndexAction.setProjection(ProjectionJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProvisionedThroughput":
+                    createGlobalSecondaryIndexAction
+                            .setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
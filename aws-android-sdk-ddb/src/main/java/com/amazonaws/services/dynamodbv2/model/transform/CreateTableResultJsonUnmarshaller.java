@@ -33,12 +33,15 @@ public class CreateTableResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TableDescription")) {
-                createTableResult.setTableDescription(TableDescriptionJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TableDescription":
+                    createTableResult.setTableDescription(TableDescriptionJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -33,12 +33,15 @@ public class DeleteBackupResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("BackupDescription")) {
-                deleteBackupResult.setBackupDescription(BackupDescriptionJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "BackupDescription":
+                    deleteBackupResult.setBackupDescription(BackupDescriptionJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
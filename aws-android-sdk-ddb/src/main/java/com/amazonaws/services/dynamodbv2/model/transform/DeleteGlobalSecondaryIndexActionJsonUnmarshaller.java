@@ -37,11 +37,14 @@ class DeleteGlobalSecondaryIndexActionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                deleteGlobalSecondaryIndexAction.setIndexName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    deleteGlobalSecondaryIndexAction.setIndexName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
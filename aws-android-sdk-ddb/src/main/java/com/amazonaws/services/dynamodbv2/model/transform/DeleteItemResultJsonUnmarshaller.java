@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class DeleteItemResultJsonUnmarshaller implements
         Unmarshaller<DeleteItemResult, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<AttributeValue> ATTRIBUTES_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public DeleteItemResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         DeleteItemResult deleteItemResult = new DeleteItemResult();
 
@@ -33,20 +36,22 @@ public class DeleteItemResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Attributes")) {
-                deleteItemResult.setAttributes(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ConsumedCapacity")) {
-                deleteItemResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ItemCollectionMetrics")) {
-                deleteItemResult.setItemCollectionMetrics(ItemCollectionMetricsJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Attributes":
+                    deleteItemResult.setAttributes(ATTRIBUTES_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "ConsumedCapacity":
+                    deleteItemResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ItemCollectionMetrics":
+                    deleteItemResult.setItemCollectionMetrics(ItemCollectionMetricsJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
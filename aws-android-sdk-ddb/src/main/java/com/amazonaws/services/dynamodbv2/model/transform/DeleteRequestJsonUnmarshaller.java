@@ -25,6 +25,9 @@ import com.amazonaws.util.json.AwsJsonReader;
  */
 class DeleteRequestJsonUnmarshaller implements Unmarshaller<DeleteRequest, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<AttributeValue> KEY_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public DeleteRequest unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -35,13 +38,13 @@ class DeleteRequestJsonUnmarshaller implements Unmarshaller<DeleteRequest, JsonU
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Key")) {
-                deleteRequest.setKey(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Key":
+                    deleteRequest.setKey(KEY_UNMARSHALLER.unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -33,12 +33,15 @@ public class DeleteTableResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TableDescription")) {
-                deleteTableResult.setTableDescription(TableDescriptionJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TableDescription":
+                    deleteTableResult.setTableDescription(TableDescriptionJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -33,12 +33,15 @@ public class DescribeBackupResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("BackupDescription")) {
-                describeBackupResult.setBackupDescription(BackupDescriptionJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "BackupDescription":
+                    describeBackupResult.setBackupDescription(BackupDescriptionJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -34,13 +34,16 @@ public class DescribeContinuousBackupsResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("ContinuousBackupsDescription")) {
-                describeContinuousBackupsResult
-                        .setContinuousBackupsDescription(ContinuousBackupsDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "ContinuousBackupsDescription":
+                    describeContinuousBackupsResult
+                            .setContinuousBackupsDescription(ContinuousBackupsDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
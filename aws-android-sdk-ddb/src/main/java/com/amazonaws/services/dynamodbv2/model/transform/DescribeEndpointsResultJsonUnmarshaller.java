@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class DescribeEndpointsResultJsonUnmarshaller implements
         Unmarshaller<DescribeEndpointsResult, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<Endpoint> ENDPOINTS_UNMARSHALLER =
+            new ListUnmarshaller<Endpoint>(EndpointJsonUnmarshaller.getInstance());
+
     public DescribeEndpointsResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         DescribeEndpointsResult describeEndpointsResult = new DescribeEndpointsResult();
 
@@ -33,13 +36,13 @@ public class DescribeEndpointsResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Endpoints")) {
-                describeEndpointsResult.setEndpoints(new ListUnmarshaller<Endpoint>(
-                        EndpointJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Endpoints":
+                    describeEndpointsResult.setEndpoints(ENDPOINTS_UNMARSHALLER.unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
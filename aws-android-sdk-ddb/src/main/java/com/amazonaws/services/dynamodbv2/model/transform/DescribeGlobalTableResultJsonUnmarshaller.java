@@ -33,13 +33,16 @@ public class DescribeGlobalTableResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("GlobalTableDescription")) {
-                describeGlobalTableResult
-                        .setGlobalTableDescription(GlobalTableDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "GlobalTableDescription":
+                    describeGlobalTableResult
+                            .setGlobalTableDescription(GlobalTableDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,10 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class DescribeGlobalTableSettingsResultJsonUnmarshaller implements
         Unmarshaller<DescribeGlobalTableSettingsResult, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<ReplicaSettingsDescription> REPLICA_SETTINGS_UNMARSHALLER =
+            new ListUnmarshaller<ReplicaSettingsDescription>(
+                    ReplicaSettingsDescriptionJsonUnmarshaller.getInstance());
+
     public DescribeGlobalTableSettingsResult unmarshall(JsonUnmarshallerContext context)
             throws Exception {
         DescribeGlobalTableSettingsResult describeGlobalTableSettingsResult = new DescribeGlobalTableSettingsResult();
@@ -34,18 +38,19 @@ public class DescribeGlobalTableSettingsResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("GlobalTableName")) {
-                describeGlobalTableSettingsResult.setGlobalTableName(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ReplicaSettings")) {
-                describeGlobalTableSettingsResult
-                        .setReplicaSettings(new ListUnmarshaller<ReplicaSettingsDescription>(
-                                ReplicaSettingsDescriptionJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "GlobalTableName":
+                    describeGlobalTableSettingsResult.setGlobalTableName(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ReplicaSettings":
+                    describeGlobalTableSettingsResult.setReplicaSettings(REPLICA_SETTINGS_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -33,24 +33,30 @@ public class DescribeLimitsResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("AccountMaxReadCapacityUnits")) {
-                describeLimitsResult.setAccountMaxReadCapacityUnits(LongJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("AccountMaxWriteCapacityUnits")) {
-                describeLimitsResult.setAccountMaxWriteCapacityUnits(LongJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TableMaxReadCapacityUnits")) {
-                describeLimitsResult.setTableMaxReadCapacityUnits(LongJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TableMaxWriteCapacityUnits")) {
-                describeLimitsResult.setTableMaxWriteCapacityUnits(LongJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "AccountMaxReadCapacityUnits":
+                    describeLimitsResult.setAccountMaxReadCapacityUnits(LongJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "AccountMaxWriteCapacityUnits":
+                    describeLimitsResult.setAccountMaxWriteCapacityUnits(LongJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TableMaxReadCapacityUnits":
+                    describeLimitsResult.setTableMaxReadCapacityUnits(LongJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TableMaxWriteCapacityUnits":
+                    describeLimitsResult.setTableMaxWriteCapacityUnits(LongJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
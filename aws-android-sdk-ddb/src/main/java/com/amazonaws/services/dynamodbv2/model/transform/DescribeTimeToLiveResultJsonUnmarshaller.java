@@ -33,13 +33,16 @@ public class DescribeTimeToLiveResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TimeToLiveDescription")) {
-                describeTimeToLiveResult
-                        .setTimeToLiveDescription(TimeToLiveDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TimeToLiveDescription":
+                    describeTimeToLiveResult
+                            .setTimeToLiveDescription(TimeToLiveDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
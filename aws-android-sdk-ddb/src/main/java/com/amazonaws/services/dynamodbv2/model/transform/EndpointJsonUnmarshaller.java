@@ -35,14 +35,18 @@ class EndpointJsonUnmarshaller implements Unmarshaller<Endpoint, JsonUnmarshalle
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Address")) {
-                endpoint.setAddress(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("CachePeriodInMinutes")) {
-                endpoint.setCachePeriodInMinutes(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Address":
+                    endpoint.setAddress(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "CachePeriodInMinutes":
+                    endpoint.setCachePeriodInMinutes(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
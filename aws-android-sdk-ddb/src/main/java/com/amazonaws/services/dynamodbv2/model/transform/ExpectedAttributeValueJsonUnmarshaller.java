@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 class ExpectedAttributeValueJsonUnmarshaller implements
         Unmarshaller<ExpectedAttributeValue, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<AttributeValue> ATTRIBUTE_VALUE_LIST_UNMARSHALLER =
+            new ListUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public ExpectedAttributeValue unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,22 +39,26 @@ class ExpectedAttributeValueJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Value")) {
-                expectedAttributeValue.setValue(AttributeValueJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("Exists")) {
-                expectedAttributeValue.setExists(BooleanJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ComparisonOperator")) {
-                expectedAttributeValue.setComparisonOperator(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("AttributeValueList")) {
-                expectedAttributeValue.setAttributeValueList(new ListUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Value":
+                    expectedAttributeValue.setValue(AttributeValueJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "Exists":
+                    expectedAttributeValue.setExists(BooleanJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ComparisonOperator":
+                    expectedAttributeValue.setComparisonOperator(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "AttributeValueList":
+                    expectedAttributeValue.setAttributeValueList(ATTRIBUTE_VALUE_LIST_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class GetItemResultJsonUnmarshaller implements
         Unmarshaller<GetItemResult, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<AttributeValue> ITEM_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public GetItemResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         GetItemResult getItemResult = new GetItemResult();
 
@@ -33,16 +36,17 @@ public class GetItemResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Item")) {
-                getItemResult.setItem(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ConsumedCapacity")) {
-                getItemResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Item":
+                    getItemResult.setItem(ITEM_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "ConsumedCapacity":
+                    getItemResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 class GlobalSecondaryIndexDescriptionJsonUnmarshaller implements
         Unmarshaller<GlobalSecondaryIndexDescription, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<KeySchemaElement> KEY_SCHEMA_UNMARSHALLER =
+            new ListUnmarshaller<KeySchemaElement>(KeySchemaElementJsonUnmarshaller.getInstance());
+
     public GlobalSecondaryIndexDescription unmarshall(JsonUnmarshallerContext context)
             throws Exception {
         AwsJsonReader reader = context.getReader();
@@ -37,43 +40,51 @@ class GlobalSecondaryIndexDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                globalSecondaryIndexDescription.setIndexName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KeySchema")) {
-                globalSecondaryIndexDescription
-                        .setKeySchema(new ListUnmarshaller<KeySchemaElement>(
-                                KeySchemaElementJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("Projection")) {
-                globalSecondaryIndexDescription.setProjection(ProjectionJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("IndexStatus")) {
-                globalSecondaryIndexDescription.setIndexStatus(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("Backfilling")) {
-                globalSecondaryIndexDescription.setBackfilling(BooleanJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProvisionedThroughput")) {
-                globalSecondaryIndexDescription
-                        .setProvisionedThroughput(ProvisionedThroughputDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("IndexSizeBytes")) {
-                globalSecondaryIndexDescription.setIndexSizeBytes(LongJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ItemCount")) {
-                globalSecondaryIndexDescription.setItemCount(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("IndexArn")) {
-                globalSecondaryIndexDescription.setIndexArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    globalSecondaryIndexDescription.setIndexName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KeySchema":
+                    globalSecondaryIndexDescription.setKeySchema(KEY_SCHEMA_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "Projection":
+                    globalSecondaryIndexDescription.setProjection(ProjectionJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "IndexStatus":
+                    globalSecondaryIndexDescription.setIndexStatus(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "Backfilling":
+                    globalSecondaryIndexDescription.setBackfilling(BooleanJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProvisionedThroughput":
+                    globalSecondaryIndexDescription
+                            .setProvisionedThroughput(ProvisionedThroughputDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "IndexSizeBytes":
+                    globalSecondaryIndexDescription.setIndexSizeBytes(LongJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ItemCount":
+                    globalSecondaryIndexDescription.setItemCount(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "IndexArn":
+                    globalSecondaryIndexDescription.setIndexArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
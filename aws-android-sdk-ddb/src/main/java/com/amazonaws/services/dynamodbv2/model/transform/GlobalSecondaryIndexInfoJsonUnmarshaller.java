@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 class GlobalSecondaryIndexInfoJsonUnmarshaller implements
         Unmarshaller<GlobalSecondaryIndexInfo, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<KeySchemaElement> KEY_SCHEMA_UNMARSHALLER =
+            new ListUnmarshaller<KeySchemaElement>(KeySchemaElementJsonUnmarshaller.getInstance());
+
     public GlobalSecondaryIndexInfo unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,24 +39,27 @@ class GlobalSecondaryIndexInfoJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                globalSecondaryIndexInfo.setIndexName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KeySchema")) {
-                globalSecondaryIndexInfo.setKeySchema(new ListUnmarshaller<KeySchemaElement>(
-                        KeySchemaElementJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("Projection")) {
-                globalSecondaryIndexInfo.setProjection(ProjectionJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProvisionedThroughput")) {
-                globalSecondaryIndexInfo
-                        .setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    globalSecondaryIndexInfo.setIndexName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KeySchema":
+                    globalSecondaryIndexInfo.setKeySchema(KEY_SCHEMA_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "Projection":
+                    globalSecondaryIndexInfo.setProjection(ProjectionJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProvisionedThroughput":
+                    globalSecondaryIndexInfo
+                            .setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 class GlobalSecondaryIndexJsonUnmarshaller implements
         Unmarshaller<GlobalSecondaryIndex, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<KeySchemaElement> KEY_SCHEMA_UNMARSHALLER =
+            new ListUnmarshaller<KeySchemaElement>(KeySchemaElementJsonUnmarshaller.getInstance());
+
     public GlobalSecondaryIndex unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,23 +39,26 @@ class GlobalSecondaryIndexJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                globalSecondaryIndex.setIndexName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KeySchema")) {
-                globalSecondaryIndex.setKeySchema(new ListUnmarshaller<KeySchemaElement>(
-                        KeySchemaElementJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("Projection")) {
-                globalSecondaryIndex.setProjection(ProjectionJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProvisionedThroughput")) {
-                globalSecondaryIndex.setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    globalSecondaryIndex.setIndexName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KeySchema":
+                    globalSecondaryIndex.setKeySchema(KEY_SCHEMA_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "Projection":
+                    globalSecondaryIndex.setProjection(ProjectionJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProvisionedThroughput":
+                    globalSecondaryIndex.setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -36,20 +36,25 @@ class GlobalSecondaryIndexUpdateJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Update")) {
-                globalSecondaryIndexUpdate
-                        .setUpdate(UpdateGlobalSecondaryIndexActionJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("Create")) {
-                globalSecondaryIndexUpdate
-                        .setCreate(CreateGlobalSecondaryIndexActionJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("Delete")) {
-                globalSecondaryIndexUpdate
-                        .setDelete(DeleteGlobalSecondaryIndexActionJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Update":
+                    globalSecondaryIndexUpdate
+                            .setUpdate(UpdateGlobalSecondaryIndexActionJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "Create":
+                    globalSecondaryIndexUpdate
+                            .setCreate(CreateGlobalSecondaryIndexActionJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "Delete":
+                    globalSecondaryIndexUpdate
+                            .setDelete(DeleteGlobalSecondaryIndexActionJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
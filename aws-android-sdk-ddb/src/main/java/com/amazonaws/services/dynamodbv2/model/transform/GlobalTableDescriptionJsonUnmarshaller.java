@@ -26,6 +26,10 @@ import com.amazonaws.util.json.AwsJsonReader;
 class GlobalTableDescriptionJsonUnmarshaller implements
         Unmarshaller<GlobalTableDescription, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<ReplicaDescription> REPLICATION_GROUP_UNMARSHALLER =
+            new ListUnmarshaller<ReplicaDescription>(
+                    ReplicaDescriptionJsonUnmarshaller.getInstance());
+
     public GlobalTableDescription unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,26 +40,30 @@ class GlobalTableDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("ReplicationGroup")) {
-                globalTableDescription
-                        .setReplicationGroup(new ListUnmarshaller<ReplicaDescription>(
-                                ReplicaDescriptionJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("GlobalTableArn")) {
-                globalTableDescription.setGlobalTableArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("CreationDateTime")) {
-                globalTableDescription.setCreationDateTime(DateJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("GlobalTableStatus")) {
-                globalTableDescription.setGlobalTableStatus(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("GlobalTableName")) {
-                globalTableDescription.setGlobalTableName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "ReplicationGroup":
+                    globalTableDescription.setReplicationGroup(REPLICATION_GROUP_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "GlobalTableArn":
+                    globalTableDescription.setGlobalTableArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "CreationDateTime":
+                    globalTableDescription.setCreationDateTime(DateJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "GlobalTableStatus":
+                    globalTableDescription.setGlobalTableStatus(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "GlobalTableName":
+                    globalTableDescription.setGlobalTableName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
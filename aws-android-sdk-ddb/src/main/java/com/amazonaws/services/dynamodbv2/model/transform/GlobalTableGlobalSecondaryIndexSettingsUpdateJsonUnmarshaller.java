@@ -37,21 +37,26 @@ class GlobalTableGlobalSecondaryIndexSettingsUpdateJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                globalTableGlobalSecondaryIndexSettingsUpdate.setIndexName(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProvisionedWriteCapacityUnits")) {
-                globalTableGlobalSecondaryIndexSettingsUpdate
-                        .setProvisionedWriteCapacityUnits(LongJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ProvisionedWriteCapacityAutoScalingSettingsUpdate")) {
-                globalTableGlobalSecondaryIndexSettingsUpdate
-                        .setProvisionedWriteCapacityAutoScalingSettingsUpdate(AutoScalingSettingsUpdateJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    globalTableGlobalSecondaryIndexSettingsUpdate.setIndexName(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProvisionedWriteCapacityUnits":
+                    globalTableGlobalSecondaryIndexSettingsUpdate
+                            .setProvisionedWriteCapacityUnits(LongJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ProvisionedWriteCapacityAutoScalingSettingsUpdate":
+                    globalTableGlobalSecondaryIndexSettingsUpdate
+                            .setProvisionedWriteCapacityAutoScalingSettingsUpdate(AutoScalingSettingsUpdateJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -25,6 +25,9 @@ import com.amazonaws.util.json.AwsJsonReader;
  */
 class GlobalTableJsonUnmarshaller implements Unmarshaller<GlobalTable, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<Replica> REPLICATION_GROUP_UNMARSHALLER =
+            new ListUnmarshaller<Replica>(ReplicaJsonUnmarshaller.getInstance());
+
     public GlobalTable unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -35,16 +38,17 @@ class GlobalTableJsonUnmarshaller implements Unmarshaller<GlobalTable, JsonUnmar
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("GlobalTableName")) {
-                globalTable.setGlobalTableName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ReplicationGroup")) {
-                globalTable.setReplicationGroup(new ListUnmarshaller<Replica>(
-                        ReplicaJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "GlobalTableName":
+                    globalTable.setGlobalTableName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ReplicationGroup":
+                    globalTable.setReplicationGroup(REPLICATION_GROUP_UNMARSHALLER.unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,11 @@ import com.amazonaws.util.json.AwsJsonReader;
 class ItemCollectionMetricsJsonUnmarshaller implements
         Unmarshaller<ItemCollectionMetrics, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<AttributeValue> ITEM_COLLECTION_KEY_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+    private static final ListUnmarshaller<Double> SIZE_ESTIMATE_RANGE_GB_UNMARSHALLER =
+            new ListUnmarshaller<Double>(DoubleJsonUnmarshaller.getInstance());
+
     public ItemCollectionMetrics unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,18 +41,18 @@ class ItemCollectionMetricsJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("ItemCollectionKey")) {
-                itemCollectionMetrics.setItemCollectionKey(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("SizeEstimateRangeGB")) {
-                itemCollectionMetrics.setSizeEstimateRangeGB(new ListUnmarshaller<Double>(
-                        DoubleJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "ItemCollectionKey":
+                    itemCollectionMetrics.setItemCollectionKey(ITEM_COLLECTION_KEY_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "SizeEstimateRangeGB":
+                    itemCollectionMetrics.setSizeEstimateRangeGB(SIZE_ESTIMATE_RANGE_GB_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
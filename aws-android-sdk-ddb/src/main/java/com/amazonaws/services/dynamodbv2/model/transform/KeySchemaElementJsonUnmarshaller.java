@@ -36,14 +36,18 @@ class KeySchemaElementJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("AttributeName")) {
-                keySchemaElement.setAttributeName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KeyType")) {
-                keySchemaElement.setKeyType(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "AttributeName":
+                    keySchemaElement.setAttributeName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KeyType":
+                    keySchemaElement.setKeyType(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
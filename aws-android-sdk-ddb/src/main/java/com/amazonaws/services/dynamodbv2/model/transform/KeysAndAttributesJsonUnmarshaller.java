@@ -26,6 +26,15 @@ import com.amazonaws.util.json.AwsJsonReader;
 class KeysAndAttributesJsonUnmarshaller implements
         Unmarshaller<KeysAndAttributes, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<java.util.Map<String, AttributeValue>> KEYS_UNMARSHALLER =
+            new ListUnmarshaller<java.util.Map<String, AttributeValue>>(
+                    new MapUnmarshaller<AttributeValue>(
+                            AttributeValueJsonUnmarshaller.getInstance()));
+    private static final ListUnmarshaller<String> ATTRIBUTES_TO_GET_UNMARSHALLER =
+            new ListUnmarshaller<String>(StringJsonUnmarshaller.getInstance());
+    private static final MapUnmarshaller<String> EXPRESSION_ATTRIBUTE_NAMES_UNMARSHALLER =
+            new MapUnmarshaller<String>(StringJsonUnmarshaller.getInstance());
+
     public KeysAndAttributes unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,32 +45,29 @@ class KeysAndAttributesJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Keys")) {
-                keysAndAttributes
-                        .setKeys(new ListUnmarshaller<java.util.Map<String, AttributeValue>>(
-                                new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller
-                                        .getInstance()
-                                )
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("AttributesToGet")) {
-                keysAndAttributes.setAttributesToGet(new ListUnmarshaller<String>(
-                        StringJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ConsistentRead")) {
-                keysAndAttributes.setConsistentRead(BooleanJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProjectionExpression")) {
-                keysAndAttributes.setProjectionExpression(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ExpressionAttributeNames")) {
-                keysAndAttributes.setExpressionAttributeNames(new MapUnmarshaller<String>(
-                        StringJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Keys":
+                    keysAndAttributes.setKeys(KEYS_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "AttributesToGet":
+                    keysAndAttributes.setAttributesToGet(ATTRIBUTES_TO_GET_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "ConsistentRead":
+                    keysAndAttributes.setConsistentRead(BooleanJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProjectionExpression":
+                    keysAndAttributes.setProjectionExpression(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ExpressionAttributeNames":
+                    keysAndAttributes.setExpressionAttributeNames(EXPRESSION_ATTRIBUTE_NAMES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
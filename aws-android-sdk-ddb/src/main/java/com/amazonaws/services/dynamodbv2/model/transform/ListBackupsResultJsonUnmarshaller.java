@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class ListBackupsResultJsonUnmarshaller implements
         Unmarshaller<ListBackupsResult, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<BackupSummary> BACKUP_SUMMARIES_UNMARSHALLER =
+            new ListUnmarshaller<BackupSummary>(BackupSummaryJsonUnmarshaller.getInstance());
+
     public ListBackupsResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         ListBackupsResult listBackupsResult = new ListBackupsResult();
 
@@ -33,16 +36,18 @@ public class ListBackupsResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("BackupSummaries")) {
-                listBackupsResult.setBackupSummaries(new ListUnmarshaller<BackupSummary>(
-                        BackupSummaryJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("LastEvaluatedBackupArn")) {
-                listBackupsResult.setLastEvaluatedBackupArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "BackupSummaries":
+                    listBackupsResult.setBackupSummaries(BACKUP_SUMMARIES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "LastEvaluatedBackupArn":
+                    listBackupsResult.setLastEvaluatedBackupArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class ListGlobalTablesResultJsonUnmarshaller implements
         Unmarshaller<ListGlobalTablesResult, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<GlobalTable> GLOBAL_TABLES_UNMARSHALLER =
+            new ListUnmarshaller<GlobalTable>(GlobalTableJsonUnmarshaller.getInstance());
+
     public ListGlobalTablesResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         ListGlobalTablesResult listGlobalTablesResult = new ListGlobalTablesResult();
 
@@ -33,17 +36,19 @@ public class ListGlobalTablesResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("GlobalTables")) {
-                listGlobalTablesResult.setGlobalTables(new ListUnmarshaller<GlobalTable>(
-                        GlobalTableJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("LastEvaluatedGlobalTableName")) {
-                listGlobalTablesResult.setLastEvaluatedGlobalTableName(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "GlobalTables":
+                    listGlobalTablesResult.setGlobalTables(GLOBAL_TABLES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "LastEvaluatedGlobalTableName":
+                    listGlobalTablesResult.setLastEvaluatedGlobalTableName(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
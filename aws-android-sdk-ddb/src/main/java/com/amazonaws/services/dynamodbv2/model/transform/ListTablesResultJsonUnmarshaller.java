@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class ListTablesResultJsonUnmarshaller implements
         Unmarshaller<ListTablesResult, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<String> TABLE_NAMES_UNMARSHALLER =
+            new ListUnmarshaller<String>(StringJsonUnmarshaller.getInstance());
+
     public ListTablesResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         ListTablesResult listTablesResult = new ListTablesResult();
 
@@ -33,16 +36,17 @@ public class ListTablesResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TableNames")) {
-                listTablesResult.setTableNames(new ListUnmarshaller<String>(StringJsonUnmarshaller
-                        .getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("LastEvaluatedTableName")) {
-                listTablesResult.setLastEvaluatedTableName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TableNames":
+                    listTablesResult.setTableNames(TABLE_NAMES_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "LastEvaluatedTableName":
+                    listTablesResult.setLastEvaluatedTableName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
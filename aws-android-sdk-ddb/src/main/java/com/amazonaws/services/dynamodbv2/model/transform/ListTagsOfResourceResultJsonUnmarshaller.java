@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class ListTagsOfResourceResultJsonUnmarshaller implements
         Unmarshaller<ListTagsOfResourceResult, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<Tag> TAGS_UNMARSHALLER =
+            new ListUnmarshaller<Tag>(TagJsonUnmarshaller.getInstance());
+
     public ListTagsOfResourceResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         ListTagsOfResourceResult listTagsOfResourceResult = new ListTagsOfResourceResult();
 
@@ -33,16 +36,17 @@ public class ListTagsOfResourceResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Tags")) {
-                listTagsOfResourceResult.setTags(new ListUnmarshaller<Tag>(TagJsonUnmarshaller
-                        .getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("NextToken")) {
-                listTagsOfResourceResult.setNextToken(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Tags":
+                    listTagsOfResourceResult.setTags(TAGS_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "NextToken":
+                    listTagsOfResourceResult.setNextToken(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
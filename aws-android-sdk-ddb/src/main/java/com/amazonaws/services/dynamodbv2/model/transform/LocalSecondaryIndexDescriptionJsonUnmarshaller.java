@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 class LocalSecondaryIndexDescriptionJsonUnmarshaller implements
         Unmarshaller<LocalSecondaryIndexDescription, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<KeySchemaElement> KEY_SCHEMA_UNMARSHALLER =
+            new ListUnmarshaller<KeySchemaElement>(KeySchemaElementJsonUnmarshaller.getInstance());
+
     public LocalSecondaryIndexDescription unmarshall(JsonUnmarshallerContext context)
             throws Exception {
         AwsJsonReader reader = context.getReader();
@@ -37,29 +40,35 @@ class LocalSecondaryIndexDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                localSecondaryIndexDescription.setIndexName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KeySchema")) {
-                localSecondaryIndexDescription.setKeySchema(new ListUnmarshaller<KeySchemaElement>(
-                        KeySchemaElementJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("Projection")) {
-                localSecondaryIndexDescription.setProjection(ProjectionJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("IndexSizeBytes")) {
-                localSecondaryIndexDescription.setIndexSizeBytes(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ItemCount")) {
-                localSecondaryIndexDescription.setItemCount(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("IndexArn")) {
-                localSecondaryIndexDescription.setIndexArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    localSecondaryIndexDescription.setIndexName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KeySchema":
+                    localSecondaryIndexDescription.setKeySchema(KEY_SCHEMA_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "Projection":
+                    localSecondaryIndexDescription.setProjection(ProjectionJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "IndexSizeBytes":
+                    localSecondaryIndexDescription.setIndexSizeBytes(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ItemCount":
+                    localSecondaryIndexDescription.setItemCount(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "IndexArn":
+                    localSecondaryIndexDescription.setIndexArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
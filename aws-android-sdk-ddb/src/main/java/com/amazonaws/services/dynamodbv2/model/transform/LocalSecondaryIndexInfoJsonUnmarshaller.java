@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 class LocalSecondaryIndexInfoJsonUnmarshaller implements
         Unmarshaller<LocalSecondaryIndexInfo, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<KeySchemaElement> KEY_SCHEMA_UNMARSHALLER =
+            new ListUnmarshaller<KeySchemaElement>(KeySchemaElementJsonUnmarshaller.getInstance());
+
     public LocalSecondaryIndexInfo unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,19 +39,21 @@ class LocalSecondaryIndexInfoJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                localSecondaryIndexInfo.setIndexName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KeySchema")) {
-                localSecondaryIndexInfo.setKeySchema(new ListUnmarshaller<KeySchemaElement>(
-                        KeySchemaElementJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("Projection")) {
-                localSecondaryIndexInfo.setProjection(ProjectionJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    localSecondaryIndexInfo.setIndexName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KeySchema":
+                    localSecondaryIndexInfo.setKeySchema(KEY_SCHEMA_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "Projection":
+                    localSecondaryIndexInfo.setProjection(ProjectionJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -37,20 +37,25 @@ class PointInTimeRecoveryDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("PointInTimeRecoveryStatus")) {
-                pointInTimeRecoveryDescription.setPointInTimeRecoveryStatus(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("EarliestRestorableDateTime")) {
-                pointInTimeRecoveryDescription.setEarliestRestorableDateTime(DateJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("LatestRestorableDateTime")) {
-                pointInTimeRecoveryDescription.setLatestRestorableDateTime(DateJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "PointInTimeRecoveryStatus":
+                    pointInTimeRecoveryDescription.setPointInTimeRecoveryStatus(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "EarliestRestorableDateTime":
+                    pointInTimeRecoveryDescription.setEarliestRestorableDateTime(DateJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "LatestRestorableDateTime":
+                    pointInTimeRecoveryDescription.setLatestRestorableDateTime(DateJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
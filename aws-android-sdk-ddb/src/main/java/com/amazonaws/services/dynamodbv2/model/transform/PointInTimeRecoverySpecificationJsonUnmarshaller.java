@@ -37,12 +37,15 @@ class PointInTimeRecoverySpecificationJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("PointInTimeRecoveryEnabled")) {
-                pointInTimeRecoverySpecification
-                        .setPointInTimeRecoveryEnabled(BooleanJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "PointInTimeRecoveryEnabled":
+                    pointInTimeRecoverySpecification
+                            .setPointInTimeRecoveryEnabled(BooleanJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
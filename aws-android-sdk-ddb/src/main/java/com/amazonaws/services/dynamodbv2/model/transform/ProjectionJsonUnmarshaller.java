@@ -25,6 +25,9 @@ import com.amazonaws.util.json.AwsJsonReader;
  */
 class ProjectionJsonUnmarshaller implements Unmarshaller<Projection, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<String> NON_KEY_ATTRIBUTES_UNMARSHALLER =
+            new ListUnmarshaller<String>(StringJsonUnmarshaller.getInstance());
+
     public Projection unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -35,16 +38,17 @@ class ProjectionJsonUnmarshaller implements Unmarshaller<Projection, JsonUnmarsh
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("ProjectionType")) {
-                projection.setProjectionType(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("NonKeyAttributes")) {
-                projection.setNonKeyAttributes(new ListUnmarshaller<String>(StringJsonUnmarshaller
-                        .getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "ProjectionType":
+                    projection.setProjectionType(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "NonKeyAttributes":
+                    projection.setNonKeyAttributes(NON_KEY_ATTRIBUTES_UNMARSHALLER.unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -37,28 +37,35 @@ class ProvisionedThroughputDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("LastIncreaseDateTime")) {
-                provisionedThroughputDescription.setLastIncreaseDateTime(DateJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("LastDecreaseDateTime")) {
-                provisionedThroughputDescription.setLastDecreaseDateTime(DateJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("NumberOfDecreasesToday")) {
-                provisionedThroughputDescription.setNumberOfDecreasesToday(LongJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ReadCapacityUnits")) {
-                provisionedThroughputDescription.setReadCapacityUnits(LongJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("WriteCapacityUnits")) {
-                provisionedThroughputDescription.setWriteCapacityUnits(LongJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "LastIncreaseDateTime":
+                    provisionedThroughputDescription.setLastIncreaseDateTime(DateJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "LastDecreaseDateTime":
+                    provisionedThroughputDescription.setLastDecreaseDateTime(DateJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "NumberOfDecreasesToday":
+                    provisionedThroughputDescription.setNumberOfDecreasesToday(LongJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ReadCapacityUnits":
+                    provisionedThroughputDescription.setReadCapacityUnits(LongJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "WriteCapacityUnits":
+                    provisionedThroughputDescription.setWriteCapacityUnits(LongJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -36,14 +36,18 @@ class ProvisionedThroughputJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("ReadCapacityUnits")) {
-                provisionedThroughput.setReadCapacityUnits(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("WriteCapacityUnits")) {
-                provisionedThroughput.setWriteCapacityUnits(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "ReadCapacityUnits":
+                    provisionedThroughput.setReadCapacityUnits(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "WriteCapacityUnits":
+                    provisionedThroughput.setWriteCapacityUnits(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class PutItemResultJsonUnmarshaller implements
         Unmarshaller<PutItemResult, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<AttributeValue> ATTRIBUTES_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public PutItemResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         PutItemResult putItemResult = new PutItemResult();
 
@@ -33,20 +36,22 @@ public class PutItemResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Attributes")) {
-                putItemResult.setAttributes(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ConsumedCapacity")) {
-                putItemResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ItemCollectionMetrics")) {
-                putItemResult.setItemCollectionMetrics(ItemCollectionMetricsJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Attributes":
+                    putItemResult.setAttributes(ATTRIBUTES_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "ConsumedCapacity":
+                    putItemResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ItemCollectionMetrics":
+                    putItemResult.setItemCollectionMetrics(ItemCollectionMetricsJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -25,6 +25,9 @@ import com.amazonaws.util.json.AwsJsonReader;
  */
 class PutRequestJsonUnmarshaller implements Unmarshaller<PutRequest, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<AttributeValue> ITEM_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public PutRequest unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -35,13 +38,13 @@ class PutRequestJsonUnmarshaller implements Unmarshaller<PutRequest, JsonUnmarsh
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Item")) {
-                putRequest.setItem(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Item":
+                    putRequest.setItem(ITEM_UNMARSHALLER.unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
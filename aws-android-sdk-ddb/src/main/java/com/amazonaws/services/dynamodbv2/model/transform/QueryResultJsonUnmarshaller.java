@@ -26,6 +26,13 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class QueryResultJsonUnmarshaller implements
         Unmarshaller<QueryResult, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<java.util.Map<String, AttributeValue>> ITEMS_UNMARSHALLER =
+            new ListUnmarshaller<java.util.Map<String, AttributeValue>>(
+                    new MapUnmarshaller<AttributeValue>(
+                            AttributeValueJsonUnmarshaller.getInstance()));
+    private static final MapUnmarshaller<AttributeValue> LAST_EVALUATED_KEY_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public QueryResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         QueryResult queryResult = new QueryResult();
 
@@ -33,29 +40,29 @@ public class QueryResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Items")) {
-                queryResult.setItems(new ListUnmarshaller<java.util.Map<String, AttributeValue>>(
-                        new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller
-                                .getInstance()
-                        )
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("Count")) {
-                queryResult.setCount(IntegerJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ScannedCount")) {
-                queryResult.setScannedCount(IntegerJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("LastEvaluatedKey")) {
-                queryResult.setLastEvaluatedKey(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ConsumedCapacity")) {
-                queryResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Items":
+                    queryResult.setItems(ITEMS_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "Count":
+                    queryResult.setCount(IntegerJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ScannedCount":
+                    queryResult.setScannedCount(IntegerJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "LastEvaluatedKey":
+                    queryResult.setLastEvaluatedKey(LAST_EVALUATED_KEY_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "ConsumedCapacity":
+                    queryResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
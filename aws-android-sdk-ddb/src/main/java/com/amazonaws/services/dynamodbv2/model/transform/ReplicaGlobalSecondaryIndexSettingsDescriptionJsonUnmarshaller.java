@@ -37,34 +37,42 @@ class ReplicaGlobalSecondaryIndexSettingsDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                replicaGlobalSecondaryIndexSettingsDescription.setIndexName(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("IndexStatus")) {
-                replicaGlobalSecondaryIndexSettingsDescription
-                        .setIndexStatus(StringJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ProvisionedReadCapacityUnits")) {
-                replicaGlobalSecondaryIndexSettingsDescription
-                        .setProvisionedReadCapacityUnits(LongJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ProvisionedReadCapacityAutoScalingSettings")) {
-                replicaGlobalSecondaryIndexSettingsDescription
-                        .setProvisionedReadCapacityAutoScalingSettings(AutoScalingSettingsDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ProvisionedWriteCapacityUnits")) {
-                replicaGlobalSecondaryIndexSettingsDescription
-                        .setProvisionedWriteCapacityUnits(LongJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ProvisionedWriteCapacityAutoScalingSettings")) {
-                replicaGlobalSecondaryIndexSettingsDescription
-                        .setProvisionedWriteCapacityAutoScalingSettings(AutoScalingSettingsDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    replicaGlobalSecondaryIndexSettingsDescription.setIndexName(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "IndexStatus":
+                    replicaGlobalSecondaryIndexSettingsDescription
+                            .setIndexStatus(StringJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ProvisionedReadCapacityUnits":
+                    replicaGlobalSecondaryIndexSettingsDescription
+                            .setProvisionedReadCapacityUnits(LongJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ProvisionedReadCapacityAutoScalingSettings":
+                    replicaGlobalSecondaryIndexSettingsDescription
+                            .setProvisionedReadCapacityAutoScalingSettings(AutoScalingSettingsDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ProvisionedWriteCapacityUnits":
+                    replicaGlobalSecondaryIndexSettingsDescription
+                            .setProvisionedWriteCapacityUnits(LongJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ProvisionedWriteCapacityAutoScalingSettings":
+                    replicaGlobalSecondaryIndexSettingsDescription
+                            .setProvisionedWriteCapacityAutoScalingSettings(AutoScalingSettingsDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -37,21 +37,26 @@ class ReplicaGlobalSecondaryIndexSettingsUpdateJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                replicaGlobalSecondaryIndexSettingsUpdate.setIndexName(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProvisionedReadCapacityUnits")) {
-                replicaGlobalSecondaryIndexSettingsUpdate
-                        .setProvisionedReadCapacityUnits(LongJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ProvisionedReadCapacityAutoScalingSettingsUpdate")) {
-                replicaGlobalSecondaryIndexSettingsUpdate
-                        .setProvisionedReadCapacityAutoScalingSettingsUpdate(AutoScalingSettingsUpdateJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    replicaGlobalSecondaryIndexSettingsUpdate.setIndexName(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProvisionedReadCapacityUnits":
+                    replicaGlobalSecondaryIndexSettingsUpdate
+                            .setProvisionedReadCapacityUnits(LongJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ProvisionedReadCapacityAutoScalingSettingsUpdate":
+                    replicaGlobalSecondaryIndexSettingsUpdate
+                            .setProvisionedReadCapacityAutoScalingSettingsUpdate(AutoScalingSettingsUpdateJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -35,11 +35,14 @@ class ReplicaJsonUnmarshaller implements Unmarshaller<Replica, JsonUnmarshallerC
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("RegionName")) {
-                replica.setRegionName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "RegionName":
+                    replica.setRegionName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
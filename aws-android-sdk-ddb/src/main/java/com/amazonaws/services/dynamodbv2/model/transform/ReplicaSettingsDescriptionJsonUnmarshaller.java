@@ -26,6 +26,10 @@ import com.amazonaws.util.json.AwsJsonReader;
 class ReplicaSettingsDescriptionJsonUnmarshaller implements
         Unmarshaller<ReplicaSettingsDescription, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<ReplicaGlobalSecondaryIndexSettingsDescription> REPLICA_GLOBAL_SECONDARY_INDEX_SETTINGS_UNMARSHALLER =
+            new ListUnmarshaller<ReplicaGlobalSecondaryIndexSettingsDescription>(
+                    ReplicaGlobalSecondaryIndexSettingsDescriptionJsonUnmarshaller.getInstance());
+
     public ReplicaSettingsDescription unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,39 +40,44 @@ class ReplicaSettingsDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("RegionName")) {
-                replicaSettingsDescription.setRegionName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ReplicaStatus")) {
-                replicaSettingsDescription.setReplicaStatus(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ReplicaProvisionedReadCapacityUnits")) {
-                replicaSettingsDescription
-                        .setReplicaProvisionedReadCapacityUnits(LongJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ReplicaProvisionedReadCapacityAutoScalingSettings")) {
-                replicaSettingsDescription
-                        .setReplicaProvisionedReadCapacityAutoScalingSettings(AutoScalingSettingsDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ReplicaProvisionedWriteCapacityUnits")) {
-                replicaSettingsDescription
-                        .setReplicaProvisionedWriteCapacityUnits(LongJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ReplicaProvisionedWriteCapacityAutoScalingSettings")) {
-                replicaSettingsDescription
-                        .setReplicaProvisionedWriteCapacityAutoScalingSettings(AutoScalingSettingsDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ReplicaGlobalSecondaryIndexSettings")) {
-                replicaSettingsDescription
-                        .setReplicaGlobalSecondaryIndexSettings(new ListUnmarshaller<ReplicaGlobalSecondaryIndexSettingsDescription>(
-                                ReplicaGlobalSecondaryIndexSettingsDescriptionJsonUnmarshaller
-                                        .getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "RegionName":
+                    replicaSettingsDescription.setRegionName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ReplicaStatus":
+                    replicaSettingsDescription.setReplicaStatus(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ReplicaProvisionedReadCapacityUnits":
+                    replicaSettingsDescription
+                            .setReplicaProvisionedReadCapacityUnits(LongJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ReplicaProvisionedReadCapacityAutoScalingSettings":
+                    replicaSettingsDescription
+                            .setReplicaProvisionedReadCapacityAutoScalingSettings(AutoScalingSettingsDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ReplicaProvisionedWriteCapacityUnits":
+                    replicaSettingsDescription
+                            .setReplicaProvisionedWriteCapacityUnits(LongJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ReplicaProvisionedWriteCapacityAutoScalingSettings":
+                    replicaSettingsDescription
+                            .setReplicaProvisionedWriteCapacityAutoScalingSettings(AutoScalingSettingsDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ReplicaGlobalSecondaryIndexSettings":
+                    replicaSettingsDescription.setReplicaGlobalSecondaryIndexSettings(REPLICA_GLOBAL_SECONDARY_INDEX_SETTINGS_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,10 @@ import com.amazonaws.util.json.AwsJsonReader;
 class ReplicaSettingsUpdateJsonUnmarshaller implements
         Unmarshaller<ReplicaSettingsUpdate, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<ReplicaGlobalSecondaryIndexSettingsUpdate> REPLICA_GLOBAL_SECONDARY_INDEX_SETTINGS_UPDATE_UNMARSHALLER =
+            new ListUnmarshaller<ReplicaGlobalSecondaryIndexSettingsUpdate>(
+                    ReplicaGlobalSecondaryIndexSettingsUpdateJsonUnmarshaller.getInstance());
+
     public ReplicaSettingsUpdate unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,27 +40,29 @@ class ReplicaSettingsUpdateJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("RegionName")) {
-                replicaSettingsUpdate.setRegionName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ReplicaProvisionedReadCapacityUnits")) {
-                replicaSettingsUpdate.setReplicaProvisionedReadCapacityUnits(LongJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ReplicaProvisionedReadCapacityAutoScalingSettingsUpdate")) {
-                replicaSettingsUpdate
-                        .setReplicaProvisionedReadCapacityAutoScalingSettingsUpdate(AutoScalingSettingsUpdateJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("ReplicaGlobalSecondaryIndexSettingsUpdate")) {
-                replicaSettingsUpdate
-                        .setReplicaGlobalSecondaryIndexSettingsUpdate(new ListUnmarshaller<ReplicaGlobalSecondaryIndexSettingsUpdate>(
-                                ReplicaGlobalSecondaryIndexSettingsUpdateJsonUnmarshaller
-                                        .getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "RegionName":
+                    replicaSettingsUpdate.setRegionName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ReplicaProvisionedReadCapacityUnits":
+                    replicaSettingsUpdate.setReplicaProvisionedReadCapacityUnits(LongJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ReplicaProvisionedReadCapacityAutoScalingSettingsUpdate":
+                    replicaSettingsUpdate
+                            .setReplicaProvisionedReadCapacityAutoScalingSettingsUpdate(AutoScalingSettingsUpdateJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "ReplicaGlobalSecondaryIndexSettingsUpdate":
+                    replicaSettingsUpdate.setReplicaGlobalSecondaryIndexSettingsUpdate(REPLICA_GLOBAL_SECONDARY_INDEX_SETTINGS_UPDATE_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
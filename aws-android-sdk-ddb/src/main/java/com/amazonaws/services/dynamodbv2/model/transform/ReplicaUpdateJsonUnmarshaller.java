@@ -35,14 +35,18 @@ class ReplicaUpdateJsonUnmarshaller implements Unmarshaller<ReplicaUpdate, JsonU
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Create")) {
-                replicaUpdate.setCreate(CreateReplicaActionJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("Delete")) {
-                replicaUpdate.setDelete(DeleteReplicaActionJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Create":
+                    replicaUpdate.setCreate(CreateReplicaActionJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "Delete":
+                    replicaUpdate.setDelete(DeleteReplicaActionJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -36,20 +36,26 @@ class RestoreSummaryJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("SourceBackupArn")) {
-                restoreSummary.setSourceBackupArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("SourceTableArn")) {
-                restoreSummary.setSourceTableArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("RestoreDateTime")) {
-                restoreSummary.setRestoreDateTime(DateJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("RestoreInProgress")) {
-                restoreSummary.setRestoreInProgress(BooleanJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "SourceBackupArn":
+                    restoreSummary.setSourceBackupArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "SourceTableArn":
+                    restoreSummary.setSourceTableArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "RestoreDateTime":
+                    restoreSummary.setRestoreDateTime(DateJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "RestoreInProgress":
+                    restoreSummary.setRestoreInProgress(BooleanJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -34,12 +34,15 @@ public class RestoreTableFromBackupResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TableDescription")) {
-                restoreTableFromBackupResult.setTableDescription(TableDescriptionJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TableDescription":
+                    restoreTableFromBackupResult.setTableDescription(TableDescriptionJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
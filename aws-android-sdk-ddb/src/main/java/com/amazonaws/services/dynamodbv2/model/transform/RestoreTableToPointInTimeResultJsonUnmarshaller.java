@@ -34,12 +34,15 @@ public class RestoreTableToPointInTimeResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TableDescription")) {
-                restoreTableToPointInTimeResult
-                        .setTableDescription(TableDescriptionJsonUnmarshaller.getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TableDescription":
+                    restoreTableToPointInTimeResult
+                            .setTableDescription(TableDescriptionJsonUnmarshaller.getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
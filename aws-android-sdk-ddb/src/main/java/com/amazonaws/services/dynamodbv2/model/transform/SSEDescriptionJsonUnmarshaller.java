@@ -36,17 +36,22 @@ class SSEDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Status")) {
-                sSEDescription.setStatus(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("SSEType")) {
-                sSEDescription.setSSEType(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KMSMasterKeyArn")) {
-                sSEDescription.setKMSMasterKeyArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Status":
+                    sSEDescription.setStatus(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "SSEType":
+                    sSEDescription.setSSEType(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KMSMasterKeyArn":
+                    sSEDescription.setKMSMasterKeyArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -36,17 +36,22 @@ class SSESpecificationJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Enabled")) {
-                sSESpecification.setEnabled(BooleanJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("SSEType")) {
-                sSESpecification.setSSEType(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KMSMasterKeyId")) {
-                sSESpecification.setKMSMasterKeyId(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Enabled":
+                    sSESpecification.setEnabled(BooleanJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "SSEType":
+                    sSESpecification.setSSEType(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KMSMasterKeyId":
+                    sSESpecification.setKMSMasterKeyId(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -26,6 +26,13 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class ScanResultJsonUnmarshaller implements
         Unmarshaller<ScanResult, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<java.util.Map<String, AttributeValue>> ITEMS_UNMARSHALLER =
+            new ListUnmarshaller<java.util.Map<String, AttributeValue>>(
+                    new MapUnmarshaller<AttributeValue>(
+                            AttributeValueJsonUnmarshaller.getInstance()));
+    private static final MapUnmarshaller<AttributeValue> LAST_EVALUATED_KEY_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public ScanResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         ScanResult scanResult = new ScanResult();
 
@@ -33,29 +40,28 @@ public class ScanResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Items")) {
-                scanResult.setItems(new ListUnmarshaller<java.util.Map<String, AttributeValue>>(
-                        new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller
-                                .getInstance()
-                        )
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("Count")) {
-                scanResult.setCount(IntegerJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ScannedCount")) {
-                scanResult.setScannedCount(IntegerJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("LastEvaluatedKey")) {
-                scanResult.setLastEvaluatedKey(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ConsumedCapacity")) {
-                scanResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Items":
+                    scanResult.setItems(ITEMS_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "Count":
+                    scanResult.setCount(IntegerJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ScannedCount":
+                    scanResult.setScannedCount(IntegerJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "LastEvaluatedKey":
+                    scanResult.setLastEvaluatedKey(LAST_EVALUATED_KEY_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "ConsumedCapacity":
+                    scanResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
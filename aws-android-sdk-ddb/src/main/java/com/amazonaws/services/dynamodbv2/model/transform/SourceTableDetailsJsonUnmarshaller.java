@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 class SourceTableDetailsJsonUnmarshaller implements
         Unmarshaller<SourceTableDetails, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<KeySchemaElement> KEY_SCHEMA_UNMARSHALLER =
+            new ListUnmarshaller<KeySchemaElement>(KeySchemaElementJsonUnmarshaller.getInstance());
+
     public SourceTableDetails unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,35 +39,42 @@ class SourceTableDetailsJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TableName")) {
-                sourceTableDetails.setTableName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TableId")) {
-                sourceTableDetails.setTableId(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TableArn")) {
-                sourceTableDetails.setTableArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TableSizeBytes")) {
-                sourceTableDetails.setTableSizeBytes(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KeySchema")) {
-                sourceTableDetails.setKeySchema(new ListUnmarshaller<KeySchemaElement>(
-                        KeySchemaElementJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("TableCreationDateTime")) {
-                sourceTableDetails.setTableCreationDateTime(DateJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProvisionedThroughput")) {
-                sourceTableDetails.setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ItemCount")) {
-                sourceTableDetails.setItemCount(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TableName":
+                    sourceTableDetails.setTableName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TableId":
+                    sourceTableDetails.setTableId(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TableArn":
+                    sourceTableDetails.setTableArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TableSizeBytes":
+                    sourceTableDetails.setTableSizeBytes(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KeySchema":
+                    sourceTableDetails.setKeySchema(KEY_SCHEMA_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "TableCreationDateTime":
+                    sourceTableDetails.setTableCreationDateTime(DateJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProvisionedThroughput":
+                    sourceTableDetails.setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ItemCount":
+                    sourceTableDetails.setItemCount(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
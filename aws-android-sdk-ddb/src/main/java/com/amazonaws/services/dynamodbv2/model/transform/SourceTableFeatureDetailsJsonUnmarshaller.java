@@ -26,6 +26,13 @@ import com.amazonaws.util.json.AwsJsonReader;
 class SourceTableFeatureDetailsJsonUnmarshaller implements
         Unmarshaller<SourceTableFeatureDetails, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<LocalSecondaryIndexInfo> LOCAL_SECONDARY_INDEXES_UNMARSHALLER =
+            new ListUnmarshaller<LocalSecondaryIndexInfo>(
+                    LocalSecondaryIndexInfoJsonUnmarshaller.getInstance());
+    private static final ListUnmarshaller<GlobalSecondaryIndexInfo> GLOBAL_SECONDARY_INDEXES_UNMARSHALLER =
+            new ListUnmarshaller<GlobalSecondaryIndexInfo>(
+                    GlobalSecondaryIndexInfoJsonUnmarshaller.getInstance());
+
     public SourceTableFeatureDetails unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,33 +43,34 @@ class SourceTableFeatureDetailsJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("LocalSecondaryIndexes")) {
-                sourceTableFeatureDetails
-                        .setLocalSecondaryIndexes(new ListUnmarshaller<LocalSecondaryIndexInfo>(
-                                LocalSecondaryIndexInfoJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("GlobalSecondaryIndexes")) {
-                sourceTableFeatureDetails
-                        .setGlobalSecondaryIndexes(new ListUnmarshaller<GlobalSecondaryIndexInfo>(
-                                GlobalSecondaryIndexInfoJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("StreamDescription")) {
-                sourceTableFeatureDetails.setStreamDescription(StreamSpecificationJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TimeToLiveDescription")) {
-                sourceTableFeatureDetails
-                        .setTimeToLiveDescription(TimeToLiveDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("SSEDescription")) {
-                sourceTableFeatureDetails.setSSEDescription(SSEDescriptionJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "LocalSecondaryIndexes":
+                    sourceTableFeatureDetails.setLocalSecondaryIndexes(LOCAL_SECONDARY_INDEXES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "GlobalSecondaryIndexes":
+                    sourceTableFeatureDetails.setGlobalSecondaryIndexes(GLOBAL_SECONDARY_INDEXES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "StreamDescription":
+                    sourceTableFeatureDetails.setStreamDescription(StreamSpecificationJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TimeToLiveDescription":
+                    sourceTableFeatureDetails
+                            .setTimeToLiveDescription(TimeToLiveDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "SSEDescription":
+                    sourceTableFeatureDetails.setSSEDescription(SSEDescriptionJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -36,14 +36,18 @@ class StreamSpecificationJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("StreamEnabled")) {
-                streamSpecification.setStreamEnabled(BooleanJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("StreamViewType")) {
-                streamSpecification.setStreamViewType(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "StreamEnabled":
+                    streamSpecification.setStreamEnabled(BooleanJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "StreamViewType":
+                    streamSpecification.setStreamViewType(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
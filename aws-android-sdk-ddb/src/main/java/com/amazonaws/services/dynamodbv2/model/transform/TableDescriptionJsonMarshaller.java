@@ -21,7 +21,7 @@ import com.amazonaws.util.json.AwsJsonWriter;
 /**
  * JSON marshaller for POJO TableDescription
  */
-class TableDescriptionJsonMarshaller {
+public class TableDescriptionJsonMarshaller {
 
     public void marshall(TableDescription tableDescription, AwsJsonWriter jsonWriter)
             throws Exception {
@@ -23,9 +23,21 @@ import com.amazonaws.util.json.AwsJsonReader;
 /**
  * JSON unmarshaller for POJO TableDescription
  */
-class TableDescriptionJsonUnmarshaller implements
+public class TableDescriptionJsonUnmarshaller implements
         Unmarshaller<TableDescription, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<AttributeDefinition> ATTRIBUTE_DEFINITIONS_UNMARSHALLER =
+            new ListUnmarshaller<AttributeDefinition>(
+                    AttributeDefinitionJsonUnmarshaller.getInstance());
+    private static final ListUnmarshaller<KeySchemaElement> KEY_SCHEMA_UNMARSHALLER =
+            new ListUnmarshaller<KeySchemaElement>(KeySchemaElementJsonUnmarshaller.getInstance());
+    private static final ListUnmarshaller<LocalSecondaryIndexDescription> LOCAL_SECONDARY_INDEXES_UNMARSHALLER =
+            new ListUnmarshaller<LocalSecondaryIndexDescription>(
+                    LocalSecondaryIndexDescriptionJsonUnmarshaller.getInstance());
+    private static final ListUnmarshaller<GlobalSecondaryIndexDescription> GLOBAL_SECONDARY_INDEXES_UNMARSHALLER =
+            new ListUnmarshaller<GlobalSecondaryIndexDescription>(
+                    GlobalSecondaryIndexDescriptionJsonUnmarshaller.getInstance());
+
     public TableDescription unmarshall(JsonUnmarshallerContext context) throws Exception {
         AwsJsonReader reader = context.getReader();
         if (!reader.isContainer()) {
@@ -36,72 +48,80 @@ class TableDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("AttributeDefinitions")) {
-                tableDescription.setAttributeDefinitions(new ListUnmarshaller<AttributeDefinition>(
-                        AttributeDefinitionJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("TableName")) {
-                tableDescription.setTableName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("KeySchema")) {
-                tableDescription.setKeySchema(new ListUnmarshaller<KeySchemaElement>(
-                        KeySchemaElementJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("TableStatus")) {
-                tableDescription.setTableStatus(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("CreationDateTime")) {
-                tableDescription.setCreationDateTime(DateJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProvisionedThroughput")) {
-                tableDescription
-                        .setProvisionedThroughput(ProvisionedThroughputDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else if (name.equals("TableSizeBytes")) {
-                tableDescription.setTableSizeBytes(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ItemCount")) {
-                tableDescription.setItemCount(LongJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TableArn")) {
-                tableDescription.setTableArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("TableId")) {
-                tableDescription.setTableId(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("LocalSecondaryIndexes")) {
-                tableDescription
-                        .setLocalSecondaryIndexes(new ListUnmarshaller<LocalSecondaryIndexDescription>(
-                                LocalSecondaryIndexDescriptionJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("GlobalSecondaryIndexes")) {
-                tableDescription
-                        .setGlobalSecondaryIndexes(new ListUnmarshaller<GlobalSecondaryIndexDescription>(
-                                GlobalSecondaryIndexDescriptionJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("StreamSpecification")) {
-                tableDescription.setStreamSpecification(StreamSpecificationJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("LatestStreamLabel")) {
-                tableDescription.setLatestStreamLabel(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("LatestStreamArn")) {
-                tableDescription.setLatestStreamArn(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("RestoreSummary")) {
-                tableDescription.setRestoreSummary(RestoreSummaryJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("SSEDescription")) {
-                tableDescription.setSSEDescription(SSEDescriptionJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "AttributeDefinitions":
+                    tableDescription.setAttributeDefinitions(ATTRIBUTE_DEFINITIONS_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "TableName":
+                    tableDescription.setTableName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "KeySchema":
+                    tableDescription.setKeySchema(KEY_SCHEMA_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "TableStatus":
+                    tableDescription.setTableStatus(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "CreationDateTime":
+                    tableDescription.setCreationDateTime(DateJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProvisionedThroughput":
+                    tableDescription
+                            .setProvisionedThroughput(ProvisionedThroughputDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                case "TableSizeBytes":
+                    tableDescription.setTableSizeBytes(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ItemCount":
+                    tableDescription.setItemCount(LongJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TableArn":
+                    tableDescription.setTableArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "TableId":
+                    tableDescription.setTableId(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "LocalSecondaryIndexes":
+                    tableDescription.setLocalSecondaryIndexes(LOCAL_SECONDARY_INDEXES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "GlobalSecondaryIndexes":
+                    tableDescription.setGlobalSecondaryIndexes(GLOBAL_SECONDARY_INDEXES_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                case "StreamSpecification":
+                    tableDescription.setStreamSpecification(StreamSpecificationJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "LatestStreamLabel":
+                    tableDescription.setLatestStreamLabel(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "LatestStreamArn":
+                    tableDescription.setLatestStreamArn(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "RestoreSummary":
+                    tableDescription.setRestoreSummary(RestoreSummaryJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "SSEDescription":
+                    tableDescription.setSSEDescription(SSEDescriptionJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
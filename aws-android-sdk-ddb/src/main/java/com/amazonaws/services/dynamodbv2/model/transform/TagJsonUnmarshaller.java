@@ -35,14 +35,18 @@ class TagJsonUnmarshaller implements Unmarshaller<Tag, JsonUnmarshallerContext>
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Key")) {
-                tag.setKey(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("Value")) {
-                tag.setValue(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Key":
+                    tag.setKey(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "Value":
+                    tag.setValue(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -36,14 +36,18 @@ class TimeToLiveDescriptionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TimeToLiveStatus")) {
-                timeToLiveDescription.setTimeToLiveStatus(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("AttributeName")) {
-                timeToLiveDescription.setAttributeName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TimeToLiveStatus":
+                    timeToLiveDescription.setTimeToLiveStatus(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "AttributeName":
+                    timeToLiveDescription.setAttributeName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
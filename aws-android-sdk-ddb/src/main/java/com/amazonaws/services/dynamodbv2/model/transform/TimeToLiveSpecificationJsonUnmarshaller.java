@@ -36,14 +36,18 @@ class TimeToLiveSpecificationJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Enabled")) {
-                timeToLiveSpecification.setEnabled(BooleanJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("AttributeName")) {
-                timeToLiveSpecification.setAttributeName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Enabled":
+                    timeToLiveSpecification.setEnabled(BooleanJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "AttributeName":
+                    timeToLiveSpecification.setAttributeName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -34,13 +34,16 @@ public class UpdateContinuousBackupsResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("ContinuousBackupsDescription")) {
-                updateContinuousBackupsResult
-                        .setContinuousBackupsDescription(ContinuousBackupsDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "ContinuousBackupsDescription":
+                    updateContinuousBackupsResult
+                            .setContinuousBackupsDescription(ContinuousBackupsDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
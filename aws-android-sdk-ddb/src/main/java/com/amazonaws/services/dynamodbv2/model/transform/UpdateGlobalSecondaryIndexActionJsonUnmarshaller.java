@@ -37,16 +37,20 @@ class UpdateGlobalSecondaryIndexActionJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("IndexName")) {
-                updateGlobalSecondaryIndexAction.setIndexName(StringJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ProvisionedThroughput")) {
-                updateGlobalSecondaryIndexAction
-                        .setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "IndexName":
+                    updateGlobalSecondaryIndexAction.setIndexName(StringJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ProvisionedThroughput":
+                    updateGlobalSecondaryIndexAction
+                            .setProvisionedThroughput(ProvisionedThroughputJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
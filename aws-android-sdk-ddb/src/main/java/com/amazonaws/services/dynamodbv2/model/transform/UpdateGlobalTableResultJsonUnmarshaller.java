@@ -33,13 +33,16 @@ public class UpdateGlobalTableResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("GlobalTableDescription")) {
-                updateGlobalTableResult
-                        .setGlobalTableDescription(GlobalTableDescriptionJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "GlobalTableDescription":
+                    updateGlobalTableResult
+                            .setGlobalTableDescription(GlobalTableDescriptionJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
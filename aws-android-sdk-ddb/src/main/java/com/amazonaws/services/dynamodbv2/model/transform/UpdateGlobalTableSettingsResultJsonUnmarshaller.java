@@ -26,6 +26,10 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class UpdateGlobalTableSettingsResultJsonUnmarshaller implements
         Unmarshaller<UpdateGlobalTableSettingsResult, JsonUnmarshallerContext> {
 
+    private static final ListUnmarshaller<ReplicaSettingsDescription> REPLICA_SETTINGS_UNMARSHALLER =
+            new ListUnmarshaller<ReplicaSettingsDescription>(
+                    ReplicaSettingsDescriptionJsonUnmarshaller.getInstance());
+
     public UpdateGlobalTableSettingsResult unmarshall(JsonUnmarshallerContext context)
             throws Exception {
         UpdateGlobalTableSettingsResult updateGlobalTableSettingsResult = new UpdateGlobalTableSettingsResult();
@@ -34,18 +38,19 @@ public class UpdateGlobalTableSettingsResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("GlobalTableName")) {
-                updateGlobalTableSettingsResult.setGlobalTableName(StringJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ReplicaSettings")) {
-                updateGlobalTableSettingsResult
-                        .setReplicaSettings(new ListUnmarshaller<ReplicaSettingsDescription>(
-                                ReplicaSettingsDescriptionJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "GlobalTableName":
+                    updateGlobalTableSettingsResult.setGlobalTableName(StringJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ReplicaSettings":
+                    updateGlobalTableSettingsResult.setReplicaSettings(REPLICA_SETTINGS_UNMARSHALLER
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
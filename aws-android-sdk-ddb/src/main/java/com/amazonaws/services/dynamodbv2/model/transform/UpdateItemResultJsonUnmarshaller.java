@@ -26,6 +26,9 @@ import com.amazonaws.util.json.AwsJsonReader;
 public class UpdateItemResultJsonUnmarshaller implements
         Unmarshaller<UpdateItemResult, JsonUnmarshallerContext> {
 
+    private static final MapUnmarshaller<AttributeValue> ATTRIBUTES_UNMARSHALLER =
+            new MapUnmarshaller<AttributeValue>(AttributeValueJsonUnmarshaller.getInstance());
+
     public UpdateItemResult unmarshall(JsonUnmarshallerContext context) throws Exception {
         UpdateItemResult updateItemResult = new UpdateItemResult();
 
@@ -33,20 +36,22 @@ public class UpdateItemResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("Attributes")) {
-                updateItemResult.setAttributes(new MapUnmarshaller<AttributeValue>(
-                        AttributeValueJsonUnmarshaller.getInstance()
-                        )
-                                .unmarshall(context));
-            } else if (name.equals("ConsumedCapacity")) {
-                updateItemResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("ItemCollectionMetrics")) {
-                updateItemResult.setItemCollectionMetrics(ItemCollectionMetricsJsonUnmarshaller
-                        .getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "Attributes":
+                    updateItemResult.setAttributes(ATTRIBUTES_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "ConsumedCapacity":
+                    updateItemResult.setConsumedCapacity(ConsumedCapacityJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "ItemCollectionMetrics":
+                    updateItemResult.setItemCollectionMetrics(ItemCollectionMetricsJsonUnmarshaller
+                            .getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
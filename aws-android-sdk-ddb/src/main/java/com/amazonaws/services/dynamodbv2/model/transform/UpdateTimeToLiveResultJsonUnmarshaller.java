@@ -33,13 +33,16 @@ public class UpdateTimeToLiveResultJsonUnmarshaller implements
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("TimeToLiveSpecification")) {
-                updateTimeToLiveResult
-                        .setTimeToLiveSpecification(TimeToLiveSpecificationJsonUnmarshaller
-                                .getInstance()
-                                .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "TimeToLiveSpecification":
+                    updateTimeToLiveResult
+                            .setTimeToLiveSpecification(TimeToLiveSpecificationJsonUnmarshaller
+                                    .getInstance()
+                                    .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
@@ -35,14 +35,18 @@ class WriteRequestJsonUnmarshaller implements Unmarshaller<WriteRequest, JsonUnm
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            if (name.equals("PutRequest")) {
-                writeRequest.setPutRequest(PutRequestJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else if (name.equals("DeleteRequest")) {
-                writeRequest.setDeleteRequest(DeleteRequestJsonUnmarshaller.getInstance()
-                        .unmarshall(context));
-            } else {
-                reader.skipValue();
+            switch (name) {
+                case "PutRequest":
+                    writeRequest.setPutRequest(PutRequestJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                case "DeleteRequest":
+                    writeRequest.setDeleteRequest(DeleteRequestJsonUnmarshaller.getInstance()
+                            .unmarshall(context));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
         reader.endObject();
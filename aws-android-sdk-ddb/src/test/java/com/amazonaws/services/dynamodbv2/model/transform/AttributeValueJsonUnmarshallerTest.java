@@ -0,0 +1,131 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.dynamodbv2.model.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.transform.JsonUnmarshallerContext;
+import com.amazonaws.util.Base64;
+import com.amazonaws.util.StringUtils;
+import com.amazonaws.util.json.JsonUtils;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class AttributeValueJsonUnmarshallerTest {
+
+    @Test
+    public void testScalars() throws Exception {
+        assertEquals("text", unmarshall("{\"S\":\"text\"}").getS());
+        assertEquals("12.5", unmarshall("{\"N\":\"12.5\"}").getN());
+        assertEquals(bytes("binary"), unmarshall("{\"B\":\"" + b64("binary") + "\"}").getB());
+        assertEquals(Boolean.TRUE, unmarshall("{\"BOOL\":true}").getBOOL());
+        assertEquals(Boolean.TRUE, unmarshall("{\"NULL\":true}").getNULL());
+    }
+
+    @Test
+    public void testSets() throws Exception {
+        assertEquals(Arrays.asList("a", "b"), unmarshall("{\"SS\":[\"a\",\"b\"]}").getSS());
+        assertEquals(Arrays.asList("1", "2.5"), unmarshall("{\"NS\":[\"1\",\"2.5\"]}").getNS());
+        final AttributeValue bs = unmarshall("{\"BS\":[\"" + b64("x") + "\",\"" + b64("yz")
+                + "\",\"" + b64("abc") + "\"]}");
+        assertEquals(Arrays.asList(bytes("x"), bytes("yz"), bytes("abc")), bs.getBS());
+    }
+
+    @Test
+    public void testListAndMap() throws Exception {
+        final AttributeValue list = unmarshall(
+                "{\"L\":[{\"S\":\"a\"},{\"N\":\"1\"},{\"B\":\"" + b64("b") + "\"}]}");
+        assertEquals(3, list.getL().size());
+        assertEquals("a", list.getL().get(0).getS());
+        assertEquals("1", list.getL().get(1).getN());
+        assertEquals(bytes("b"), list.getL().get(2).getB());
+
+        final AttributeValue map = unmarshall("{\"M\":{\"k1\":{\"S\":\"v\"},\"k2\":{\"N\":\"2\"}}}");
+        assertEquals(2, map.getM().size());
+        assertEquals("v", map.getM().get("k1").getS());
+        assertEquals("2", map.getM().get("k2").getN());
+    }
+
+    @Test
+    public void testNestedValues() throws Exception {
+        final AttributeValue value = unmarshall("{\"M\":{"
+                + "\"list\":{\"L\":[{\"M\":{\"inner\":{\"L\":[{\"S\":\"deep\"},"
+                + "{\"BS\":[\"" + b64("one") + "\"]}]}}},{\"NULL\":true}]},"
+                + "\"set\":{\"SS\":[\"s\"]}}}");
+
+        final List<AttributeValue> list = value.getM().get("list").getL();
+        assertEquals(2, list.size());
+        final List<AttributeValue> inner = list.get(0).getM().get("inner").getL();
+        assertEquals("deep", inner.get(0).getS());
+        assertEquals(Arrays.asList(bytes("one")), inner.get(1).getBS());
+        assertEquals(Boolean.TRUE, list.get(1).getNULL());
+        assertEquals(Arrays.asList("s"), value.getM().get("set").getSS());
+    }
+
+    @Test
+    public void testUnknownFieldsAreSkipped() throws Exception {
+        final AttributeValue value = unmarshall(
+                "{\"X\":{\"nested\":[1,2]},\"S\":\"kept\",\"Y\":\"ignored\"}");
+        assertEquals("kept", value.getS());
+        assertNull(value.getN());
+    }
+
+    @Test
+    public void testQueryResult() throws Exception {
+        final String json = "{\"Count\":2,\"ScannedCount\":3,"
+                + "\"Items\":[{\"id\":{\"S\":\"1\"},\"data\":{\"B\":\"" + b64("d1") + "\"}},"
+                + "{\"id\":{\"S\":\"2\"},\"tags\":{\"L\":[{\"S\":\"t\"}]}}],"
+                + "\"LastEvaluatedKey\":{\"id\":{\"S\":\"2\"}},\"Unknown\":[]}";
+        final QueryResult result = QueryResultJsonUnmarshaller.getInstance()
+                .unmarshall(context(json));
+
+        assertEquals(Integer.valueOf(2), result.getCount());
+        assertEquals(Integer.valueOf(3), result.getScannedCount());
+        assertEquals(2, result.getItems().size());
+        final Map<String, AttributeValue> first = result.getItems().get(0);
+        assertEquals("1", first.get("id").getS());
+        assertEquals(bytes("d1"), first.get("data").getB());
+        assertEquals("t", result.getItems().get(1).get("tags").getL().get(0).getS());
+        assertEquals("2", result.getLastEvaluatedKey().get("id").getS());
+        assertTrue(result.getLastEvaluatedKey().size() == 1);
+    }
+
+    private static AttributeValue unmarshall(String json) throws Exception {
+        return AttributeValueJsonUnmarshaller.getInstance().unmarshall(context(json));
+    }
+
+    private static JsonUnmarshallerContext context(String json) {
+        return new JsonUnmarshallerContext(JsonUtils.getJsonReader(new StringReader(json)));
+    }
+
+    private static String b64(String text) {
+        return Base64.encodeAsString(text.getBytes(StringUtils.UTF8));
+    }
+
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StringUtils.UTF8));
+    }
+}
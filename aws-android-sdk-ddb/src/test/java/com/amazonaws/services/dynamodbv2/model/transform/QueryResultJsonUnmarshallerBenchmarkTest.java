@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.dynamodbv2.model.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.transform.JsonUnmarshallerContext;
+import com.amazonaws.util.Base64;
+import com.amazonaws.util.json.JsonUtils;
+
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Random;
+
+/**
+ * Measures how long it takes to unmarshall a 1 MB QueryResult of items with
+ * string, number, binary, list and map attributes. It only asserts that the
+ * result is complete; the timing is logged, not checked. It is a manual
+ * benchmark and is skipped in the regular unit test run; remove the
+ * {@link Ignore} annotation to run it.
+ */
+@Ignore("Manual benchmark")
+public class QueryResultJsonUnmarshallerBenchmarkTest {
+    private static final Log LOG = LogFactory.getLog(QueryResultJsonUnmarshallerBenchmarkTest.class);
+    private static final int TARGET_SIZE = 1024 * 1024;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+
+    private static String json;
+    private static int itemCount;
+
+    @BeforeClass
+    public static void buildResult() {
+        final Random random = new Random(42);
+        final byte[] blob = new byte[96];
+        final StringBuilder sb = new StringBuilder(TARGET_SIZE + 1024);
+        sb.append("{\"Items\":[");
+        while (sb.length() < TARGET_SIZE) {
+            if (itemCount > 0) {
+                sb.append(',');
+            }
+            random.nextBytes(blob);
+            sb.append("{\"pk\":{\"S\":\"user-").append(itemCount).append("\"},")
+                    .append("\"sk\":{\"N\":\"").append(random.nextInt()).append("\"},")
+                    .append("\"blob\":{\"B\":\"").append(Base64.encodeAsString(blob)).append("\"},")
+                    .append("\"tags\":{\"SS\":[\"red\",\"green\",\"blue\"]},")
+                    .append("\"history\":{\"L\":[{\"N\":\"1\"},{\"N\":\"2\"},{\"S\":\"three\"}]},")
+                    .append("\"profile\":{\"M\":{\"name\":{\"S\":\"name-").append(itemCount)
+                    .append("\"},\"active\":{\"BOOL\":true},\"address\":{\"M\":{")
+                    .append("\"city\":{\"S\":\"Seattle\"},\"zip\":{\"N\":\"98101\"}}}}}}");
+            itemCount++;
+        }
+        sb.append("],\"Count\":").append(itemCount)
+                .append(",\"ScannedCount\":").append(itemCount).append('}');
+        json = sb.toString();
+    }
+
+    @Test
+    public void benchmarkUnmarshallQueryResult() throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            unmarshall();
+        }
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long begin = System.nanoTime();
+            final QueryResult result = unmarshall();
+            total += System.nanoTime() - begin;
+            assertEquals(itemCount, result.getItems().size());
+        }
+        assertTrue(json.length() >= TARGET_SIZE);
+        LOG.info(String.format("Unmarshalled a %d byte QueryResult of %d items in %.2f ms on average",
+                json.length(), itemCount, total / 1e6 / ITERATIONS));
+    }
+
+    private static QueryResult unmarshall() throws Exception {
+        return QueryResultJsonUnmarshaller.getInstance().unmarshall(
+                new JsonUnmarshallerContext(JsonUtils.getJsonReader(new StringReader(json))));
+    }
+}
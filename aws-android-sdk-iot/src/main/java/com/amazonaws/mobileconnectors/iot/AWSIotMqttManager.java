@@ -41,6 +41,7 @@ import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
 import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
 
+import java.io.File;
 import java.security.KeyManagementException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
@@ -51,6 +52,7 @@ import java.util.HashMap;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.Map;
 
 import javax.net.SocketFactory;
@@ -158,6 +160,19 @@ public class AWSIotMqttManager {
     private boolean fullQueueKeepsOldest;
     /** Milliseconds between publishes when publishing queued messages (draining interval). */
     private long drainingInterval;
+    /** Thread publishing queued messages, started on first use. */
+    private HandlerThread drainThread;
+    private Handler drainHandler;
+    /** Executor running the message callbacks, null to run them on the receive thread. */
+    private Executor messageCallbackExecutor;
+    /** Number of messages queued per subscription when callbacks run on an executor. */
+    private int messageCallbackQueueBound;
+    /** What to do when a subscription has too many undelivered messages. */
+    private MessageDispatcher.OverflowPolicy messageCallbackOverflowPolicy;
+    /** Where undelivered messages spill with the spill overflow policy. */
+    private File messageCallbackSpillDirectory;
+    /** Delivers messages to the callbacks when an executor is set. */
+    private volatile MessageDispatcher messageDispatcher;
     /** Was this disconnect requested by the user? */
     private boolean userDisconnect;
     /** Do we need to resubscribe upon reconnecting? */
@@ -542,6 +557,107 @@ public class AWSIotMqttManager {
         fullQueueKeepsOldest = false;
     }
 
+    /**
+     * Set the executor running the callbacks of subscribed topics, so that the
+     * MQTT receive thread never runs application code and a slow callback
+     * doesn't delay keep-alives. The messages of each subscription are
+     * delivered one at a time in the order they arrived. By default,
+     * callbacks run on the receive thread.
+     *
+     * @param executor executor running the callbacks, or null to run them on
+     *            the receive thread, which drops the undelivered messages.
+     */
+    public void setMessageCallbackExecutor(Executor executor) {
+        messageCallbackExecutor = executor;
+        updateMessageDispatcher();
+    }
+
+    /**
+     * Set the number of messages kept per subscription while its callback is
+     * busy. Only used when a message callback executor is set.
+     *
+     * @param bound max number of undelivered messages per subscription.
+     */
+    public void setMessageCallbackQueueBound(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Message callback queue bound must be > 0");
+        }
+        messageCallbackQueueBound = bound;
+        updateMessageDispatcher();
+    }
+
+    /**
+     * Set the callback queue behavior on a full queue to drop the oldest
+     * undelivered message. This is the default.
+     */
+    public void setFullMessageCallbackQueueToDropOldestMessages() {
+        setMessageCallbackOverflow(MessageDispatcher.OverflowPolicy.DROP_OLDEST, null);
+    }
+
+    /**
+     * Set the callback queue behavior on a full queue to block the receive
+     * thread until the callback catches up. No message is lost, but a
+     * callback that stays slow delays all incoming traffic, including
+     * keep-alive responses, and can get the connection dropped.
+     */
+    public void setFullMessageCallbackQueueToBlock() {
+        setMessageCallbackOverflow(MessageDispatcher.OverflowPolicy.BLOCK, null);
+    }
+
+    /**
+     * Set the callback queue behavior on a full queue to spill the messages
+     * to files in the given directory. They are delivered in order once the
+     * callback catches up, and the files are deleted. The files are written
+     * on the message callback executor, not on the receive thread.
+     *
+     * @param directory directory for the spilled messages, such as a
+     *            subdirectory of the application cache directory.
+     */
+    public void setFullMessageCallbackQueueToSpill(File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Spill directory cannot be null");
+        }
+        setMessageCallbackOverflow(MessageDispatcher.OverflowPolicy.SPILL, directory);
+    }
+
+    private void setMessageCallbackOverflow(MessageDispatcher.OverflowPolicy policy,
+            File spillDirectory) {
+        messageCallbackOverflowPolicy = policy;
+        messageCallbackSpillDirectory = spillDirectory;
+        updateMessageDispatcher();
+    }
+
+    /**
+     * Applies the message callback settings to the dispatcher, which keeps
+     * delivering the queued messages in order. Without an executor, the
+     * undelivered messages are dropped, since the callbacks then run on the
+     * receive thread.
+     */
+    private synchronized void updateMessageDispatcher() {
+        final MessageDispatcher dispatcher = messageDispatcher;
+        if (messageCallbackExecutor == null) {
+            messageDispatcher = null;
+            if (dispatcher != null) {
+                dispatcher.clear();
+            }
+        } else if (dispatcher == null) {
+            messageDispatcher = new MessageDispatcher(messageCallbackExecutor,
+                    messageCallbackQueueBound, messageCallbackOverflowPolicy,
+                    messageCallbackSpillDirectory);
+        } else {
+            dispatcher.configure(messageCallbackExecutor, messageCallbackQueueBound,
+                    messageCallbackOverflowPolicy, messageCallbackSpillDirectory);
+        }
+    }
+
+    /**
+     * @return the dispatcher of the message callbacks, null if they run on
+     *         the receive thread.
+     */
+    MessageDispatcher getMessageDispatcher() {
+        return messageDispatcher;
+    }
+
     /**
      * Get the MQTT keep alive time.
      *
@@ -800,6 +916,8 @@ public class AWSIotMqttManager {
         offlinePublishQueueBound = DEFAULT_OFFLINE_PUBLISH_QUEUE_BOUND;
         drainingInterval = DEFAULT_MILLIS_BETWEEN_QUEUE_PUBLISHES;
         setFullQueueToKeepNewestMessages();
+        messageCallbackQueueBound = MessageDispatcher.DEFAULT_QUEUE_BOUND;
+        messageCallbackOverflowPolicy = MessageDispatcher.OverflowPolicy.DROP_OLDEST;
         connectionStabilityTime = DEFAULT_CONNECTION_STABILITY_TIME_SECONDS;
         unitTestMillisOverride = null;
         needResubscribe = true;
@@ -1264,6 +1382,11 @@ public class AWSIotMqttManager {
         userDisconnect = true;
         reset();
         topicListeners.clear();
+        final MessageDispatcher dispatcher = messageDispatcher;
+        if (dispatcher != null) {
+            dispatcher.clear();
+        }
+        stopDraining();
         connectionState = MqttManagerConnectionState.Disconnected;
         userConnectionCallback();
         return true;
@@ -1527,6 +1650,10 @@ public class AWSIotMqttManager {
                 throw new AmazonClientException("Client error while unsubscribing.", e);
             }
             topicListeners.remove(topic);
+            final MessageDispatcher dispatcher = messageDispatcher;
+            if (dispatcher != null) {
+                dispatcher.remove(topic);
+            }
         }
     }
 
@@ -1771,7 +1898,7 @@ public class AWSIotMqttManager {
                 }
             }
 
-            (new Handler(Looper.getMainLooper())).postDelayed(new Runnable() {
+            getDrainHandler().postDelayed(new Runnable() {
                 @Override
                 public void run() {
                     if (!mqttMessageQueue.isEmpty()) {
@@ -1784,6 +1911,31 @@ public class AWSIotMqttManager {
         }
     }
 
+    /**
+     * @return the handler of the thread publishing queued messages. Draining
+     *         runs off the main thread so that it never competes with the UI.
+     */
+    private synchronized Handler getDrainHandler() {
+        if (drainHandler == null) {
+            drainThread = new HandlerThread("Offline queue drain thread");
+            drainThread.start();
+            drainHandler = new Handler(drainThread.getLooper());
+        }
+        return drainHandler;
+    }
+
+    /**
+     * Stops the thread publishing queued messages. Messages still queued are
+     * published by a new thread on the next connection.
+     */
+    private synchronized void stopDraining() {
+        if (drainThread != null) {
+            drainThread.quit();
+            drainThread = null;
+            drainHandler = null;
+        }
+    }
+
     /**
      * Setup the MQTT client calbacks. The Paho MQTT client exposes callbacks
      * for connection status, publish status and incoming messages. The Android
@@ -1813,13 +1965,18 @@ public class AWSIotMqttManager {
             public void messageArrived(String topic, MqttMessage mqttMessage) throws Exception {
                 LOGGER.info("message arrived on topic: " + topic);
                 final byte[] data = mqttMessage.getPayload();
+                final MessageDispatcher dispatcher = messageDispatcher;
 
                 for (final String topicKey : topicListeners.keySet()) {
                     if (isTopicMatch(topicKey, topic)) {
                         final AWSIotMqttTopic topicModel = topicListeners.get(topicKey);
                         if (topicModel != null) {
                             if (topicModel.getCallback() != null) {
-                                topicModel.getCallback().onMessageArrived(topic, data);
+                                if (dispatcher != null) {
+                                    dispatcher.dispatch(topicKey, topicModel.getCallback(), topic, data);
+                                } else {
+                                    topicModel.getCallback().onMessageArrived(topic, data);
+                                }
                             }
                         }
                     }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.iot;
+
+import org.json.JSONObject;
+
+/**
+ * Enables an application to be notified of changes to the device shadows
+ * managed by {@link AWSIotShadowManager}.
+ */
+public interface AWSIotShadowCallback {
+    /**
+     * This method is called when the desired state of a thing differs from
+     * its reported state, either because the desired state was updated or
+     * because the shadow was refreshed.
+     *
+     * @param thingName the name of the thing.
+     * @param delta the desired fields that differ from the reported ones.
+     */
+    void onDelta(String thingName, JSONObject delta);
+
+    /**
+     * This method is called when an update of a shadow was rejected for a
+     * reason other than a version conflict, which the manager resolves by
+     * itself. The rejected changes are discarded.
+     *
+     * @param thingName the name of the thing.
+     * @param code the error code returned by AWS IoT.
+     * @param message the error message returned by AWS IoT.
+     */
+    void onUpdateRejected(String thingName, int code, String message);
+}
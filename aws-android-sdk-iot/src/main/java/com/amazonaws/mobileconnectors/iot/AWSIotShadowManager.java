@@ -0,0 +1,730 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.iot;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.util.StringUtils;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a local copy of the classic shadow of things over an
+ * {@link AWSIotMqttManager} connection. The copies are versioned and saved in
+ * a directory, so they are available before the connection is up.
+ * <p>
+ * The manager subscribes once to the shadow topics of all things, but only
+ * keeps the shadows of the things used through it: messages for a thing
+ * that was never read, updated or refreshed are ignored. Local
+ * updates made within an update interval are coalesced into one update of
+ * the shadow, which only carries the fields that changed. Updates carry the
+ * version of the local copy; when AWS IoT rejects one because the shadow
+ * changed in between, the manager fetches the shadow and sends the changes
+ * again against the new version.
+ * </p>
+ * <p>
+ * Call {@link #start()} once the MQTT manager is connected and
+ * {@link #stop()} before disconnecting it.
+ * </p>
+ */
+public class AWSIotShadowManager {
+
+    private static final Log LOGGER = LogFactory.getLog(AWSIotShadowManager.class);
+
+    /** Default time local updates are coalesced for. */
+    public static final long DEFAULT_UPDATE_INTERVAL_MILLIS = 1000L;
+    /**
+     * An update or a refresh not answered within this time is given up, and
+     * the changes are sent again.
+     */
+    static final long UPDATE_TIMEOUT_MILLIS = 30 * 1000L;
+    /** Error code of an update rejected because of a version conflict. */
+    static final int VERSION_CONFLICT = 409;
+    /** Error code of a get for a shadow that doesn't exist. */
+    static final int NOT_FOUND = 404;
+
+    private static final String TOPIC_PREFIX = "$aws/things/";
+    private static final String SHADOW = "/shadow/";
+    private static final String UPDATE = "update";
+    private static final String GET = "get";
+    private static final String DELTA = "update/delta";
+    private static final String UPDATE_ACCEPTED = "update/accepted";
+    private static final String UPDATE_REJECTED = "update/rejected";
+    private static final String GET_ACCEPTED = "get/accepted";
+    private static final String GET_REJECTED = "get/rejected";
+    private static final String[] SUBSCRIPTIONS = {
+            DELTA, UPDATE_ACCEPTED, UPDATE_REJECTED, GET_ACCEPTED, GET_REJECTED
+    };
+    private static final String FILE_EXTENSION = ".json";
+
+    private final AWSIotMqttManager mqttManager;
+    private final File directory;
+    private final long updateIntervalMillis;
+    private final long updateTimeoutMillis;
+    private final Map<String, Thing> things = new HashMap<String, Thing>();
+    private final AWSIotMqttNewMessageCallback messageCallback = new AWSIotMqttNewMessageCallback() {
+        @Override
+        public void onMessageArrived(String topic, byte[] data) {
+            handleMessage(topic, data);
+        }
+    };
+
+    private volatile AWSIotShadowCallback shadowCallback;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Local state of one thing.
+     */
+    private static final class Thing {
+        final String name;
+        final ShadowDocument document;
+        /** Local changes not sent yet, null if none. */
+        JSONObject pendingDesired;
+        JSONObject pendingReported;
+        /** The update waiting for an answer, null if none. */
+        Update inFlight;
+        boolean flushScheduled;
+        /** True while the shadow is fetched to resolve a conflict. */
+        boolean refreshing;
+        /** When the fetch to resolve a conflict was sent. */
+        long refreshSentAt;
+
+        Thing(String name, ShadowDocument document) {
+            this.name = name;
+            this.document = document;
+        }
+    }
+
+    /**
+     * An update sent to the shadow.
+     */
+    private static final class Update {
+        final String clientToken;
+        final JSONObject desired;
+        final JSONObject reported;
+        final long sentAt;
+
+        Update(String clientToken, JSONObject desired, JSONObject reported, long sentAt) {
+            this.clientToken = clientToken;
+            this.desired = desired;
+            this.reported = reported;
+            this.sentAt = sentAt;
+        }
+    }
+
+    /**
+     * A message to publish once the lock is released.
+     */
+    private static final class Publication {
+        final String thingName;
+        final String topic;
+        final String payload;
+
+        Publication(String thingName, String topic, String payload) {
+            this.thingName = thingName;
+            this.topic = topic;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Creates a shadow manager coalescing updates for
+     * {@link #DEFAULT_UPDATE_INTERVAL_MILLIS}.
+     *
+     * @param mqttManager the MQTT connection to AWS IoT.
+     * @param directory the directory the local copies are saved in.
+     */
+    public AWSIotShadowManager(AWSIotMqttManager mqttManager, File directory) {
+        this(mqttManager, directory, DEFAULT_UPDATE_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Creates a shadow manager.
+     *
+     * @param mqttManager the MQTT connection to AWS IoT.
+     * @param directory the directory the local copies are saved in.
+     * @param updateIntervalMillis the time local updates are coalesced for
+     *            before they are sent.
+     */
+    public AWSIotShadowManager(AWSIotMqttManager mqttManager, File directory,
+            long updateIntervalMillis) {
+        this(mqttManager, directory, updateIntervalMillis, UPDATE_TIMEOUT_MILLIS);
+    }
+
+    AWSIotShadowManager(AWSIotMqttManager mqttManager, File directory,
+            long updateIntervalMillis, long updateTimeoutMillis) {
+        if (mqttManager == null) {
+            throw new IllegalArgumentException("mqttManager cannot be null");
+        }
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        if (updateIntervalMillis < 0) {
+            throw new IllegalArgumentException("Update interval must be >= 0");
+        }
+        this.mqttManager = mqttManager;
+        this.directory = directory;
+        this.updateIntervalMillis = updateIntervalMillis;
+        this.updateTimeoutMillis = updateTimeoutMillis;
+    }
+
+    /**
+     * Set the callback notified of deltas and rejected updates. It runs on
+     * the thread delivering MQTT messages.
+     *
+     * @param callback the callback, or null.
+     */
+    public void setShadowCallback(AWSIotShadowCallback callback) {
+        shadowCallback = callback;
+    }
+
+    /**
+     * Subscribes to the shadow topics of all things and sends the local
+     * changes made while stopped.
+     */
+    public void start() {
+        final List<String> pending = new ArrayList<String>();
+        synchronized (this) {
+            if (scheduler != null) {
+                return;
+            }
+            scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    final Thread thread = new Thread(r, "Shadow update thread");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            for (final Thing thing : things.values()) {
+                if (thing.pendingDesired != null || thing.pendingReported != null
+                        || thing.inFlight != null || thing.refreshing) {
+                    pending.add(thing.name);
+                }
+            }
+        }
+        for (final String subscription : SUBSCRIPTIONS) {
+            mqttManager.subscribeToTopic(TOPIC_PREFIX + "+" + SHADOW + subscription,
+                    AWSIotMqttQos.QOS1, messageCallback);
+        }
+        for (final String thingName : pending) {
+            flush(thingName);
+        }
+    }
+
+    /**
+     * Unsubscribes from the shadow topics. Local changes not sent yet are
+     * kept and sent on the next {@link #start()}.
+     */
+    public void stop() {
+        synchronized (this) {
+            if (scheduler == null) {
+                return;
+            }
+            scheduler.shutdownNow();
+            scheduler = null;
+            for (final Thing thing : things.values()) {
+                thing.flushScheduled = false;
+            }
+        }
+        for (final String subscription : SUBSCRIPTIONS) {
+            try {
+                mqttManager.unsubscribeTopic(TOPIC_PREFIX + "+" + SHADOW + subscription);
+            } catch (final AmazonClientException e) {
+                LOGGER.warn("Failed to unsubscribe from shadow topic " + subscription, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the local copy of a shadow.
+     *
+     * @param thingName the name of the thing.
+     * @return a copy of the shadow as
+     *         {"state":{"desired":{..},"reported":{..}},"version":..}. The
+     *         version is 0 if the shadow was never received.
+     */
+    public synchronized JSONObject getShadow(String thingName) {
+        try {
+            return getThing(thingName).document.toJson();
+        } catch (final JSONException e) {
+            throw new AmazonClientException("Failed to read shadow of " + thingName, e);
+        }
+    }
+
+    /**
+     * Updates the desired state of a thing. Fields set to
+     * {@link JSONObject#NULL} are deleted. The change is sent with the others
+     * made within the update interval.
+     *
+     * @param thingName the name of the thing.
+     * @param desired the desired fields to change.
+     */
+    public void updateDesired(String thingName, JSONObject desired) {
+        update(thingName, desired, null);
+    }
+
+    /**
+     * Updates the reported state of a thing. Fields set to
+     * {@link JSONObject#NULL} are deleted. The change is sent with the others
+     * made within the update interval.
+     *
+     * @param thingName the name of the thing.
+     * @param reported the reported fields to change.
+     */
+    public void updateReported(String thingName, JSONObject reported) {
+        update(thingName, null, reported);
+    }
+
+    /**
+     * Fetches the shadow of a thing from AWS IoT, replacing the local copy.
+     *
+     * @param thingName the name of the thing.
+     */
+    public void refresh(String thingName) {
+        synchronized (this) {
+            getThing(thingName);
+        }
+        publish(new Publication(thingName, topic(thingName, GET), "{}"));
+    }
+
+    /**
+     * Sends the pending changes of all things without waiting for the end of
+     * the update interval.
+     */
+    public void flush() {
+        final List<String> names;
+        synchronized (this) {
+            names = new ArrayList<String>(things.keySet());
+        }
+        for (final String thingName : names) {
+            flush(thingName);
+        }
+    }
+
+    private void update(String thingName, JSONObject desired, JSONObject reported) {
+        if (thingName == null || thingName.length() == 0) {
+            throw new IllegalArgumentException("thingName is null or empty");
+        }
+        synchronized (this) {
+            final Thing thing = getThing(thingName);
+            try {
+                if (desired != null) {
+                    thing.pendingDesired = combine(thing.pendingDesired, desired);
+                }
+                if (reported != null) {
+                    thing.pendingReported = combine(thing.pendingReported, reported);
+                }
+            } catch (final JSONException e) {
+                throw new AmazonClientException("Invalid shadow update for " + thingName, e);
+            }
+            scheduleFlush(thing);
+        }
+    }
+
+    /**
+     * Sends the pending changes of a thing as one update, unless an update or
+     * a refresh is already waiting for an answer. One that timed out is given
+     * up.
+     */
+    void flush(String thingName) {
+        final Publication publication;
+        synchronized (this) {
+            final Thing thing = things.get(thingName);
+            if (thing == null) {
+                return;
+            }
+            thing.flushScheduled = false;
+            final long now = System.currentTimeMillis();
+            if (thing.refreshing) {
+                if (now - thing.refreshSentAt < updateTimeoutMillis) {
+                    return;
+                }
+                LOGGER.warn("Shadow refresh of " + thingName + " timed out. Sending the update.");
+                thing.refreshing = false;
+            }
+            if (thing.inFlight != null) {
+                if (now - thing.inFlight.sentAt < updateTimeoutMillis) {
+                    return;
+                }
+                LOGGER.warn("Shadow update of " + thingName + " timed out. Sending it again.");
+                requeue(thing);
+            }
+            try {
+                publication = prepareUpdate(thing, now);
+            } catch (final JSONException e) {
+                throw new AmazonClientException("Failed to build shadow update for " + thingName, e);
+            }
+        }
+        if (publication != null) {
+            publish(publication);
+        }
+    }
+
+    private Publication prepareUpdate(Thing thing, long now) throws JSONException {
+        final JSONObject desired = thing.pendingDesired == null ? null
+                : ShadowDocument.diff(thing.document.getDesired(), thing.pendingDesired);
+        final JSONObject reported = thing.pendingReported == null ? null
+                : ShadowDocument.diff(thing.document.getReported(), thing.pendingReported);
+        thing.pendingDesired = null;
+        thing.pendingReported = null;
+        final boolean hasDesired = desired != null && desired.length() > 0;
+        final boolean hasReported = reported != null && reported.length() > 0;
+        if (!hasDesired && !hasReported) {
+            return null;
+        }
+
+        final JSONObject state = new JSONObject();
+        if (hasDesired) {
+            state.put("desired", desired);
+        }
+        if (hasReported) {
+            state.put("reported", reported);
+        }
+        final String clientToken = UUID.randomUUID().toString();
+        final JSONObject message = new JSONObject();
+        message.put("state", state);
+        message.put("clientToken", clientToken);
+        if (thing.document.getVersion() > 0) {
+            message.put("version", thing.document.getVersion());
+        }
+        thing.inFlight = new Update(clientToken, hasDesired ? desired : null,
+                hasReported ? reported : null, now);
+        scheduleTimeout(thing);
+        return new Publication(thing.name, topic(thing.name, UPDATE), message.toString());
+    }
+
+    private void publish(Publication publication) {
+        try {
+            mqttManager.publishString(publication.payload, publication.topic, AWSIotMqttQos.QOS1);
+        } catch (final AmazonClientException e) {
+            LOGGER.warn("Failed to publish to " + publication.topic + ". Retrying later.", e);
+            synchronized (this) {
+                final Thing thing = things.get(publication.thingName);
+                if (thing != null && thing.inFlight != null) {
+                    requeue(thing);
+                    scheduleFlush(thing);
+                }
+            }
+        }
+    }
+
+    void handleMessage(String topic, byte[] data) {
+        final int shadow = topic.indexOf(SHADOW);
+        if (!topic.startsWith(TOPIC_PREFIX) || shadow < 0) {
+            return;
+        }
+        final String thingName = topic.substring(TOPIC_PREFIX.length(), shadow);
+        final String operation = topic.substring(shadow + SHADOW.length());
+        final JSONObject message;
+        try {
+            message = new JSONObject(new String(data, StringUtils.UTF8));
+        } catch (final JSONException e) {
+            LOGGER.warn("Ignoring malformed shadow message on " + topic, e);
+            return;
+        }
+
+        JSONObject delta = null;
+        int rejectedCode = 0;
+        String rejectedMessage = null;
+        Publication publication = null;
+        synchronized (this) {
+            final Thing thing = things.get(thingName);
+            if (thing == null) {
+                // not a thing of this manager
+                return;
+            }
+            try {
+                if (DELTA.equals(operation)) {
+                    delta = message.optJSONObject("state");
+                    if (delta != null) {
+                        thing.document.apply(wrap("desired", delta));
+                        save(thing);
+                    }
+                } else if (UPDATE_ACCEPTED.equals(operation)) {
+                    publication = onUpdateAccepted(thing, message);
+                } else if (UPDATE_REJECTED.equals(operation)) {
+                    rejectedCode = message.optInt("code");
+                    if (isOwnUpdate(thing, message) && rejectedCode == VERSION_CONFLICT) {
+                        LOGGER.info("Version conflict on shadow of " + thingName + ". Refreshing.");
+                        requeue(thing);
+                        publication = startRefresh(thing);
+                        rejectedCode = 0;
+                    } else if (isOwnUpdate(thing, message)) {
+                        thing.inFlight = null;
+                        rejectedMessage = message.optString("message");
+                        if (thing.pendingDesired != null || thing.pendingReported != null) {
+                            scheduleFlush(thing);
+                        }
+                    } else {
+                        rejectedCode = 0;
+                    }
+                } else if (GET_ACCEPTED.equals(operation)) {
+                    thing.document.replace(message.optJSONObject("state"),
+                            message.optLong("version"));
+                    save(thing);
+                    final JSONObject state = message.optJSONObject("state");
+                    delta = state == null ? null : state.optJSONObject("delta");
+                    publication = onRefreshed(thing);
+                } else if (GET_REJECTED.equals(operation)) {
+                    if (message.optInt("code") == NOT_FOUND) {
+                        thing.document.replace(null, 0L);
+                        save(thing);
+                    }
+                    publication = onRefreshed(thing);
+                }
+            } catch (final JSONException e) {
+                LOGGER.warn("Ignoring malformed shadow message on " + topic, e);
+                return;
+            }
+        }
+
+        if (publication != null) {
+            publish(publication);
+        }
+        final AWSIotShadowCallback callback = shadowCallback;
+        if (callback != null) {
+            if (delta != null && delta.length() > 0) {
+                callback.onDelta(thingName, delta);
+            }
+            if (rejectedCode != 0) {
+                callback.onUpdateRejected(thingName, rejectedCode, rejectedMessage);
+            }
+        }
+    }
+
+    private Publication onUpdateAccepted(Thing thing, JSONObject message) throws JSONException {
+        final long version = message.optLong("version");
+        final long localVersion = thing.document.getVersion();
+        Publication publication = null;
+        if (version > localVersion) {
+            thing.document.apply(message.optJSONObject("state"));
+            thing.document.setVersion(version);
+            save(thing);
+            if (localVersion > 0 && version > localVersion + 1) {
+                // updates were missed, the partial states can't be trusted
+                publication = startRefresh(thing);
+            }
+        }
+        if (isOwnUpdate(thing, message)) {
+            thing.inFlight = null;
+            if (thing.pendingDesired != null || thing.pendingReported != null) {
+                scheduleFlush(thing);
+            }
+        }
+        return publication;
+    }
+
+    /**
+     * Fetches the shadow of a thing before its changes are sent again. The
+     * changes are sent anyway if the shadow doesn't arrive in time.
+     */
+    private Publication startRefresh(Thing thing) {
+        thing.refreshing = true;
+        thing.refreshSentAt = System.currentTimeMillis();
+        scheduleTimeout(thing);
+        return new Publication(thing.name, topic(thing.name, GET), "{}");
+    }
+
+    /**
+     * Sends the changes of a thing again once its shadow was fetched.
+     */
+    private Publication onRefreshed(Thing thing) throws JSONException {
+        if (!thing.refreshing) {
+            return null;
+        }
+        thing.refreshing = false;
+        return thing.inFlight == null ? prepareUpdate(thing, System.currentTimeMillis()) : null;
+    }
+
+    private static boolean isOwnUpdate(Thing thing, JSONObject message) {
+        return thing.inFlight != null
+                && thing.inFlight.clientToken.equals(message.optString("clientToken"));
+    }
+
+    /**
+     * Moves the update in flight back in front of the pending changes.
+     */
+    private static void requeue(Thing thing) {
+        final Update update = thing.inFlight;
+        thing.inFlight = null;
+        try {
+            if (update.desired != null) {
+                thing.pendingDesired = prepend(update.desired, thing.pendingDesired);
+            }
+            if (update.reported != null) {
+                thing.pendingReported = prepend(update.reported, thing.pendingReported);
+            }
+        } catch (final JSONException e) {
+            LOGGER.error("Failed to requeue shadow update of " + thing.name, e);
+        }
+    }
+
+    private static JSONObject prepend(JSONObject earlier, JSONObject later) throws JSONException {
+        final JSONObject combined = ShadowDocument.copy(earlier);
+        if (later != null) {
+            ShadowDocument.combine(combined, later);
+        }
+        return combined;
+    }
+
+    private static JSONObject combine(JSONObject pending, JSONObject patch) throws JSONException {
+        final JSONObject combined = pending == null ? new JSONObject() : pending;
+        ShadowDocument.combine(combined, patch);
+        return combined;
+    }
+
+    private static JSONObject wrap(String key, JSONObject value) throws JSONException {
+        final JSONObject json = new JSONObject();
+        json.put(key, value);
+        return json;
+    }
+
+    private void scheduleFlush(Thing thing) {
+        if (thing.flushScheduled || scheduler == null) {
+            return;
+        }
+        thing.flushScheduled = true;
+        scheduler.schedule(flushTask(thing.name), updateIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Flushes a thing once the update or refresh just sent would time out.
+     * The flush does nothing if the answer arrived in the meantime.
+     */
+    private void scheduleTimeout(Thing thing) {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.schedule(flushTask(thing.name), updateTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Runnable flushTask(final String thingName) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    flush(thingName);
+                } catch (final AmazonClientException e) {
+                    LOGGER.error("Failed to send shadow update of " + thingName, e);
+                }
+            }
+        };
+    }
+
+    private static String topic(String thingName, String operation) {
+        return TOPIC_PREFIX + thingName + SHADOW + operation;
+    }
+
+    /**
+     * @return the state of a thing, loaded from disk on first use
+     */
+    private Thing getThing(String thingName) {
+        Thing thing = things.get(thingName);
+        if (thing == null) {
+            thing = new Thing(thingName, load(thingName));
+            things.put(thingName, thing);
+        }
+        return thing;
+    }
+
+    private ShadowDocument load(String thingName) {
+        final File file = new File(directory, thingName + FILE_EXTENSION);
+        if (!file.exists()) {
+            return new ShadowDocument();
+        }
+        InputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            final byte[] bytes = new byte[(int) file.length()];
+            int read = 0;
+            while (read < bytes.length) {
+                final int n = in.read(bytes, read, bytes.length - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            return ShadowDocument.fromJson(
+                    new JSONObject(new String(bytes, 0, read, StringUtils.UTF8)));
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to read shadow of " + thingName + ". Starting empty.", e);
+        } catch (final JSONException e) {
+            LOGGER.warn("Corrupted shadow of " + thingName + ". Starting empty.", e);
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (final IOException e) {
+                    LOGGER.error("failed to close shadow file", e);
+                }
+            }
+        }
+        return new ShadowDocument();
+    }
+
+    /**
+     * Writes the local copy of a thing to a temporary file renamed over the
+     * previous one, so that a crash never leaves a partial copy.
+     */
+    private void save(Thing thing) {
+        final File file = new File(directory, thing.name + FILE_EXTENSION);
+        final File tempFile = new File(directory, thing.name + FILE_EXTENSION + ".tmp");
+        OutputStream out = null;
+        try {
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Failed to create directory " + directory);
+            }
+            out = new FileOutputStream(tempFile);
+            out.write(thing.document.toJson().toString().getBytes(StringUtils.UTF8));
+            out.close();
+            out = null;
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("Failed to rename " + tempFile);
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Failed to save shadow of " + thing.name, e);
+        } catch (final JSONException e) {
+            LOGGER.error("Failed to save shadow of " + thing.name, e);
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (final IOException e) {
+                    LOGGER.error("failed to close shadow file", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,566 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.iot;
+
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Delivers incoming messages to the subscription callbacks on an executor.
+ * Each subscription has its own lane: its messages are delivered one at a
+ * time in the order they arrived, while different subscriptions run
+ * concurrently. A lane holds a bounded number of messages; what happens when
+ * it is full depends on the {@link OverflowPolicy}.
+ */
+class MessageDispatcher {
+
+    private static final Log LOGGER = LogFactory.getLog(MessageDispatcher.class);
+
+    /** Default number of messages a lane holds in memory. */
+    static final int DEFAULT_QUEUE_BOUND = 1000;
+
+    /**
+     * Messages a lane delivers before giving its thread back to the executor,
+     * so that a busy subscription doesn't starve the others.
+     */
+    private static final int MAX_MESSAGES_PER_RUN = 64;
+
+    /** Tasks a lane asks its caller to schedule, outside of the lane lock. */
+    private static final int RUN_LANE = 1;
+    private static final int RUN_WRITER = 2;
+
+    /**
+     * What to do with a message arriving on a full lane.
+     */
+    enum OverflowPolicy {
+        /** Drop the oldest queued message. */
+        DROP_OLDEST,
+        /**
+         * Block the receive thread until the lane has room. A slow callback
+         * then delays all incoming traffic, including keep-alives.
+         */
+        BLOCK,
+        /**
+         * Append the message to a file, delivered once the lane drains. The
+         * file is written by a task on the executor, never on the receive
+         * thread. Messages wait in memory for that task, up to the queue
+         * bound; if it falls further behind, the receive thread waits for it.
+         */
+        SPILL
+    }
+
+    private volatile Executor executor;
+    private volatile int queueBound;
+    private volatile OverflowPolicy policy;
+    private volatile File spillDirectory;
+    private final Map<String, Lane> lanes = new HashMap<String, Lane>();
+
+    private long droppedCount;
+
+    /**
+     * @param executor the executor running the callbacks
+     * @param queueBound the number of messages a lane holds in memory
+     * @param policy what to do when a lane is full
+     * @param spillDirectory where lanes spill, required by
+     *            {@link OverflowPolicy#SPILL}
+     */
+    MessageDispatcher(Executor executor, int queueBound, OverflowPolicy policy,
+            File spillDirectory) {
+        configure(executor, queueBound, policy, spillDirectory);
+    }
+
+    /**
+     * Changes the settings of the dispatcher. The queued messages are still
+     * delivered in order: each lane moves to the new executor once its
+     * current task ends, and a lane that is spilling keeps spilling until it
+     * has drained.
+     *
+     * @param executor the executor running the callbacks
+     * @param queueBound the number of messages a lane holds in memory
+     * @param policy what to do when a lane is full
+     * @param spillDirectory where lanes spill, required by
+     *            {@link OverflowPolicy#SPILL}
+     */
+    synchronized void configure(Executor executor, int queueBound, OverflowPolicy policy,
+            File spillDirectory) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        if (queueBound <= 0) {
+            throw new IllegalArgumentException("Callback queue bound must be > 0");
+        }
+        if (policy == OverflowPolicy.SPILL && spillDirectory == null) {
+            throw new IllegalArgumentException("Spill directory cannot be null");
+        }
+        this.executor = executor;
+        this.queueBound = queueBound;
+        this.policy = policy;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Queues a message for the callback of a subscription. It is called on
+     * the receive thread and only blocks with {@link OverflowPolicy#BLOCK},
+     * or with {@link OverflowPolicy#SPILL} while the spill writer is behind.
+     * Spilled messages are written to disk by a task on the executor.
+     *
+     * @param subscription the topic filter of the subscription
+     * @param callback the callback of the subscription
+     * @param topic the topic of the message
+     * @param data the payload of the message
+     */
+    void dispatch(String subscription, AWSIotMqttNewMessageCallback callback, String topic,
+            byte[] data) {
+        final Lane lane;
+        synchronized (this) {
+            Lane existing = lanes.get(subscription);
+            if (existing == null) {
+                existing = new Lane(subscription);
+                lanes.put(subscription, existing);
+            }
+            lane = existing;
+        }
+        final int tasks = lane.offer(new Message(callback, topic, data));
+        if ((tasks & RUN_WRITER) != 0) {
+            lane.execute(lane.writer);
+        }
+        if ((tasks & RUN_LANE) != 0) {
+            lane.execute(lane);
+        }
+    }
+
+    /**
+     * Drops the messages not yet delivered for a subscription.
+     *
+     * @param subscription the topic filter of the subscription
+     */
+    void remove(String subscription) {
+        final Lane lane;
+        synchronized (this) {
+            lane = lanes.remove(subscription);
+        }
+        if (lane != null) {
+            lane.close();
+        }
+    }
+
+    /**
+     * Drops the messages not yet delivered for all subscriptions.
+     */
+    void clear() {
+        final Lane[] closing;
+        synchronized (this) {
+            closing = lanes.values().toArray(new Lane[lanes.size()]);
+            lanes.clear();
+        }
+        for (final Lane lane : closing) {
+            lane.close();
+        }
+    }
+
+    /**
+     * @return the number of messages dropped because a lane was full or
+     *         couldn't spill
+     */
+    synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * @return the number of messages waiting in memory for a subscription
+     */
+    int getQueuedCount(String subscription) {
+        final Lane lane;
+        synchronized (this) {
+            lane = lanes.get(subscription);
+        }
+        return lane == null ? 0 : lane.queuedCount();
+    }
+
+    private synchronized void onDropped(int count) {
+        droppedCount += count;
+    }
+
+    /**
+     * An incoming message and the callback it is for.
+     */
+    private static final class Message {
+        final AWSIotMqttNewMessageCallback callback;
+        final String topic;
+        final byte[] data;
+
+        Message(AWSIotMqttNewMessageCallback callback, String topic, byte[] data) {
+            this.callback = callback;
+            this.topic = topic;
+            this.data = data;
+        }
+    }
+
+    /**
+     * The messages of one subscription. At most one executor task drains a
+     * lane at a time, which keeps its messages in order. Once the queue is
+     * full with {@link OverflowPolicy#SPILL}, every new message goes to the
+     * spill buffer and the writer task moves the buffer to the spill file.
+     * The buffer holds at most the queue bound of messages.
+     * Messages are delivered from the queue, then the file, then the buffer.
+     * File I/O never happens while holding the lane lock.
+     */
+    private final class Lane implements Runnable {
+        private final String subscription;
+        private final Queue<Message> queue = new LinkedList<Message>();
+        private final Runnable writer = new Runnable() {
+            @Override
+            public void run() {
+                writeSpill();
+            }
+        };
+        private LinkedList<Message> spillBuffer = new LinkedList<Message>();
+        private SpillFile spill;
+        /** The spill directory when the spill started. */
+        private File spillTo;
+        private AWSIotMqttNewMessageCallback spilledCallback;
+        /** Messages in the spill file not yet read. */
+        private int unreadSpilled;
+        private boolean spilling;
+        private boolean writing;
+        private boolean scheduled;
+        private boolean closed;
+
+        Lane(String subscription) {
+            this.subscription = subscription;
+        }
+
+        /**
+         * @return the tasks the caller has to schedule, a combination of
+         *         {@link #RUN_LANE} and {@link #RUN_WRITER}
+         */
+        synchronized int offer(Message message) {
+            if (closed) {
+                return 0;
+            }
+            // once spilling, every message goes through the spill to keep order
+            if (spilling) {
+                return spill(message);
+            }
+            while (queue.size() >= queueBound) {
+                if (policy == OverflowPolicy.DROP_OLDEST) {
+                    queue.poll();
+                    onDropped(1);
+                } else if (policy == OverflowPolicy.SPILL) {
+                    spilling = true;
+                    spillTo = spillDirectory;
+                    return spill(message);
+                } else {
+                    try {
+                        wait();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        onDropped(1);
+                        return 0;
+                    }
+                    if (closed) {
+                        return 0;
+                    }
+                }
+            }
+            queue.add(message);
+            return schedule();
+        }
+
+        synchronized int queuedCount() {
+            return queue.size();
+        }
+
+        void close() {
+            final SpillFile file;
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+                spillBuffer.clear();
+                unreadSpilled = 0;
+                file = spill;
+                spill = null;
+                notifyAll();
+            }
+            if (file != null) {
+                file.delete();
+            }
+        }
+
+        void execute(Runnable task) {
+            try {
+                executor.execute(task);
+            } catch (final RejectedExecutionException e) {
+                LOGGER.error("Message callback executor rejected the messages of "
+                        + subscription, e);
+                close();
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_MESSAGES_PER_RUN; i++) {
+                Message message;
+                SpillFile file = null;
+                SpillFile drained = null;
+                synchronized (this) {
+                    message = closed ? null : queue.poll();
+                    if (message == null && !closed && spilling) {
+                        if (unreadSpilled > 0) {
+                            unreadSpilled--;
+                            file = spill;
+                        } else if (!writing) {
+                            // the writer has flushed the buffer and the file is read
+                            message = spillBuffer.poll();
+                            if (message == null) {
+                                spilling = false;
+                                drained = spill;
+                                spill = null;
+                            }
+                        }
+                    }
+                    if (message == null && file == null) {
+                        scheduled = false;
+                    } else {
+                        notifyAll();
+                    }
+                }
+                if (drained != null) {
+                    drained.delete();
+                }
+                if (file != null) {
+                    message = readSpill(file);
+                }
+                if (message == null) {
+                    if (file == null) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    message.callback.onMessageArrived(message.topic, message.data);
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Message callback for " + subscription + " failed", e);
+                }
+            }
+            execute(this);
+        }
+
+        /**
+         * Adds a message to the spill buffer.
+         */
+        private int spill(Message message) {
+            // the writer takes the whole buffer, wait for it rather than grow
+            while (spillBuffer.size() >= queueBound) {
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    onDropped(1);
+                    return 0;
+                }
+                if (closed) {
+                    return 0;
+                }
+            }
+            spillBuffer.add(message);
+            spilledCallback = message.callback;
+            int tasks = 0;
+            if (!writing) {
+                writing = true;
+                tasks |= RUN_WRITER;
+            }
+            return tasks;
+        }
+
+        private int schedule() {
+            if (scheduled) {
+                return 0;
+            }
+            scheduled = true;
+            return RUN_LANE;
+        }
+
+        /**
+         * Reads the next message of the spill file. If it fails, the rest of
+         * the file is dropped.
+         */
+        private Message readSpill(SpillFile file) {
+            try {
+                final Message message = file.read(spilledCallback);
+                if (message != null) {
+                    return message;
+                }
+                throw new IOException("Spill file ended early");
+            } catch (final IOException e) {
+                LOGGER.error("Failed to read spilled messages of " + subscription
+                        + ". Dropping them.", e);
+            }
+            final boolean detached;
+            synchronized (this) {
+                detached = spill == file;
+                if (detached) {
+                    // the reserved message and the unread ones are lost
+                    onDropped(unreadSpilled + 1);
+                    unreadSpilled = 0;
+                    spill = null;
+                }
+            }
+            if (detached) {
+                file.delete();
+            }
+            return null;
+        }
+
+        /**
+         * Runs on the executor and moves the spill buffer to the spill file
+         * until the buffer is empty.
+         */
+        private void writeSpill() {
+            while (true) {
+                List<Message> batch = null;
+                SpillFile file = null;
+                boolean finish = false;
+                synchronized (this) {
+                    if (closed || spillBuffer.isEmpty()) {
+                        writing = false;
+                        // an idle lane has to end the spill once all is read
+                        finish = !closed && schedule() != 0;
+                    } else {
+                        batch = spillBuffer;
+                        spillBuffer = new LinkedList<Message>();
+                        file = spill;
+                        notifyAll();
+                    }
+                }
+                if (batch == null) {
+                    if (finish) {
+                        execute(this);
+                    }
+                    return;
+                }
+                if (file == null) {
+                    try {
+                        file = new SpillFile(spillTo);
+                    } catch (final IOException e) {
+                        LOGGER.error("Failed to spill messages of " + subscription
+                                + ". Dropping them.", e);
+                        onDropped(batch.size());
+                        continue;
+                    }
+                    final boolean open;
+                    synchronized (this) {
+                        open = !closed;
+                        if (open) {
+                            spill = file;
+                        }
+                    }
+                    if (!open) {
+                        file.delete();
+                        return;
+                    }
+                }
+                int written = 0;
+                try {
+                    for (final Message message : batch) {
+                        file.append(message);
+                        written++;
+                    }
+                } catch (final IOException e) {
+                    LOGGER.error("Failed to spill messages of " + subscription
+                            + ". Dropping them.", e);
+                    onDropped(batch.size() - written);
+                }
+                final boolean run;
+                synchronized (this) {
+                    if (spill == file) {
+                        unreadSpilled += written;
+                    } else if (!closed) {
+                        onDropped(written);
+                    }
+                    run = !closed && written > 0 && schedule() != 0;
+                }
+                if (run) {
+                    execute(this);
+                }
+            }
+        }
+    }
+
+    /**
+     * A file of messages read in the order they were appended. The writer
+     * task appends while the lane reads, so access is synchronized.
+     */
+    private static final class SpillFile {
+        private final File file;
+        private final RandomAccessFile raf;
+        private long readPosition;
+        private long writePosition;
+
+        SpillFile(File directory) throws IOException {
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Failed to create directory " + directory);
+            }
+            file = File.createTempFile("mqtt-messages", ".spill", directory);
+            raf = new RandomAccessFile(file, "rw");
+        }
+
+        synchronized void append(Message message) throws IOException {
+            raf.seek(writePosition);
+            raf.writeUTF(message.topic);
+            raf.writeInt(message.data.length);
+            raf.write(message.data);
+            writePosition = raf.getFilePointer();
+        }
+
+        /**
+         * @return the next message, or null once all were read
+         */
+        synchronized Message read(AWSIotMqttNewMessageCallback callback) throws IOException {
+            if (readPosition >= writePosition) {
+                return null;
+            }
+            raf.seek(readPosition);
+            final String topic = raf.readUTF();
+            final byte[] data = new byte[raf.readInt()];
+            raf.readFully(data);
+            readPosition = raf.getFilePointer();
+            return new Message(callback, topic, data);
+        }
+
+        synchronized void delete() {
+            try {
+                raf.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close spill file " + file, e);
+            }
+            if (!file.delete()) {
+                LOGGER.warn("Failed to delete spill file " + file);
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.iot;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+
+/**
+ * The local copy of a device shadow: its desired and reported states and the
+ * version they were read at. It also holds the JSON helpers the shadow
+ * manager uses to merge updates and compute the paths that changed. As in
+ * the shadow service, a null value deletes a field.
+ */
+class ShadowDocument {
+
+    private static final String STATE = "state";
+    private static final String DESIRED = "desired";
+    private static final String REPORTED = "reported";
+    private static final String VERSION = "version";
+
+    private JSONObject desired;
+    private JSONObject reported;
+    private long version;
+
+    ShadowDocument() {
+        this(new JSONObject(), new JSONObject(), 0L);
+    }
+
+    ShadowDocument(JSONObject desired, JSONObject reported, long version) {
+        this.desired = desired;
+        this.reported = reported;
+        this.version = version;
+    }
+
+    /**
+     * @return the desired state, owned by this document
+     */
+    JSONObject getDesired() {
+        return desired;
+    }
+
+    /**
+     * @return the reported state, owned by this document
+     */
+    JSONObject getReported() {
+        return reported;
+    }
+
+    /**
+     * @return the version of the shadow, 0 if unknown
+     */
+    long getVersion() {
+        return version;
+    }
+
+    void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Replaces the states, e.g. with the result of a get.
+     *
+     * @param state a state object with optional desired and reported states
+     * @param version the version of the state
+     * @throws JSONException if the state can't be copied
+     */
+    void replace(JSONObject state, long version) throws JSONException {
+        final JSONObject newDesired = state == null ? null : state.optJSONObject(DESIRED);
+        final JSONObject newReported = state == null ? null : state.optJSONObject(REPORTED);
+        desired = newDesired == null ? new JSONObject() : copy(newDesired);
+        reported = newReported == null ? new JSONObject() : copy(newReported);
+        this.version = version;
+    }
+
+    /**
+     * Applies a state object with optional desired and reported patches.
+     *
+     * @param state the state patch
+     * @throws JSONException if the patch can't be applied
+     */
+    void apply(JSONObject state) throws JSONException {
+        if (state == null) {
+            return;
+        }
+        final JSONObject desiredPatch = state.optJSONObject(DESIRED);
+        if (desiredPatch != null) {
+            apply(desired, desiredPatch);
+        } else if (state.isNull(DESIRED) && state.has(DESIRED)) {
+            desired = new JSONObject();
+        }
+        final JSONObject reportedPatch = state.optJSONObject(REPORTED);
+        if (reportedPatch != null) {
+            apply(reported, reportedPatch);
+        } else if (state.isNull(REPORTED) && state.has(REPORTED)) {
+            reported = new JSONObject();
+        }
+    }
+
+    /**
+     * @return the document as {"state":{"desired":..,"reported":..},"version":..}
+     * @throws JSONException if the document can't be serialized
+     */
+    JSONObject toJson() throws JSONException {
+        final JSONObject state = new JSONObject();
+        state.put(DESIRED, copy(desired));
+        state.put(REPORTED, copy(reported));
+        final JSONObject json = new JSONObject();
+        json.put(STATE, state);
+        json.put(VERSION, version);
+        return json;
+    }
+
+    /**
+     * @param json a document written by {@link #toJson()}
+     * @return the document
+     * @throws JSONException if the document is malformed
+     */
+    static ShadowDocument fromJson(JSONObject json) throws JSONException {
+        final ShadowDocument document = new ShadowDocument();
+        document.replace(json.optJSONObject(STATE), json.optLong(VERSION));
+        return document;
+    }
+
+    /**
+     * Applies a patch to a state: null values delete fields, objects are
+     * merged recursively and other values replace the current ones.
+     *
+     * @param target the state to modify
+     * @param patch the patch
+     * @throws JSONException if the patch can't be applied
+     */
+    static void apply(JSONObject target, JSONObject patch) throws JSONException {
+        final Iterator<String> keys = patch.keys();
+        while (keys.hasNext()) {
+            final String key = keys.next();
+            final Object value = patch.get(key);
+            final Object current = target.opt(key);
+            if (value == JSONObject.NULL) {
+                target.remove(key);
+            } else if (value instanceof JSONObject && current instanceof JSONObject) {
+                apply((JSONObject) current, (JSONObject) value);
+            } else if (value instanceof JSONObject) {
+                final JSONObject created = new JSONObject();
+                apply(created, (JSONObject) value);
+                target.put(key, created);
+            } else {
+                target.put(key, copyValue(value));
+            }
+        }
+    }
+
+    /**
+     * Combines two patches into one, the later one winning. Unlike
+     * {@link #apply(JSONObject, JSONObject)}, null values are kept.
+     *
+     * @param target the earlier patch, modified
+     * @param patch the later patch
+     * @throws JSONException if the patches can't be combined
+     */
+    static void combine(JSONObject target, JSONObject patch) throws JSONException {
+        final Iterator<String> keys = patch.keys();
+        while (keys.hasNext()) {
+            final String key = keys.next();
+            final Object value = patch.get(key);
+            final Object current = target.opt(key);
+            if (value instanceof JSONObject && current instanceof JSONObject) {
+                combine((JSONObject) current, (JSONObject) value);
+            } else {
+                target.put(key, copyValue(value));
+            }
+        }
+    }
+
+    /**
+     * Computes the part of a patch that changes a state.
+     *
+     * @param current the current state
+     * @param patch the patch to apply
+     * @return the fields of the patch that differ from the state, possibly
+     *         empty
+     * @throws JSONException if the patch can't be read
+     */
+    static JSONObject diff(JSONObject current, JSONObject patch) throws JSONException {
+        final JSONObject changes = new JSONObject();
+        final Iterator<String> keys = patch.keys();
+        while (keys.hasNext()) {
+            final String key = keys.next();
+            final Object value = patch.get(key);
+            final Object existing = current == null ? null : current.opt(key);
+            if (value == JSONObject.NULL) {
+                if (existing != null && existing != JSONObject.NULL) {
+                    changes.put(key, JSONObject.NULL);
+                }
+            } else if (value instanceof JSONObject && existing instanceof JSONObject) {
+                final JSONObject nested = diff((JSONObject) existing, (JSONObject) value);
+                if (nested.length() > 0) {
+                    changes.put(key, nested);
+                }
+            } else if (!jsonEquals(existing, value)) {
+                changes.put(key, copyValue(value));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * @return true if both values represent the same JSON value
+     */
+    static boolean jsonEquals(Object a, Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        if (a instanceof Number && b instanceof Number) {
+            if (isIntegral((Number) a) && isIntegral((Number) b)) {
+                return ((Number) a).longValue() == ((Number) b).longValue();
+            }
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue()) == 0;
+        }
+        if (a instanceof JSONObject && b instanceof JSONObject) {
+            final JSONObject x = (JSONObject) a;
+            final JSONObject y = (JSONObject) b;
+            if (x.length() != y.length()) {
+                return false;
+            }
+            final Iterator<String> keys = x.keys();
+            while (keys.hasNext()) {
+                final String key = keys.next();
+                if (!jsonEquals(x.opt(key), y.opt(key))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof JSONArray && b instanceof JSONArray) {
+            final JSONArray x = (JSONArray) a;
+            final JSONArray y = (JSONArray) b;
+            if (x.length() != y.length()) {
+                return false;
+            }
+            for (int i = 0; i < x.length(); i++) {
+                if (!jsonEquals(x.opt(i), y.opt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return a.equals(b);
+    }
+
+    /**
+     * @return a deep copy of the object
+     * @throws JSONException if the object can't be copied
+     */
+    static JSONObject copy(JSONObject object) throws JSONException {
+        return new JSONObject(object.toString());
+    }
+
+    private static Object copyValue(Object value) throws JSONException {
+        if (value instanceof JSONObject) {
+            return copy((JSONObject) value);
+        }
+        if (value instanceof JSONArray) {
+            return new JSONArray(value.toString());
+        }
+        return value;
+    }
+
+    private static boolean isIntegral(Number n) {
+        return n instanceof Integer || n instanceof Long || n instanceof Short
+                || n instanceof Byte;
+    }
+}
@@ -0,0 +1,276 @@
+package com.amazonaws.mobileconnectors.iot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.amazonaws.util.StringUtils;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class AWSIotShadowManagerTest {
+
+    private static final String THING = "lamp";
+    private static final String UPDATE_TOPIC = "$aws/things/lamp/shadow/update";
+    private static final String GET_TOPIC = "$aws/things/lamp/shadow/get";
+    private static final long NEVER = 60 * 60 * 1000L;
+
+    private AWSIotMqttManager mqttManager;
+    private File directory;
+    private AWSIotShadowManager shadowManager;
+
+    @Before
+    public void setUp() {
+        mqttManager = mock(AWSIotMqttManager.class);
+        directory = new File(System.getProperty("java.io.tmpdir"),
+                "shadow-test-" + System.nanoTime());
+        shadowManager = new AWSIotShadowManager(mqttManager, directory, NEVER);
+        shadowManager.start();
+        // the manager only keeps the shadows of the things it was asked about
+        shadowManager.getShadow(THING);
+    }
+
+    @After
+    public void tearDown() {
+        shadowManager.stop();
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testStartSubscribesOnceForAllThings() {
+        final ArgumentCaptor<String> topics = ArgumentCaptor.forClass(String.class);
+        verify(mqttManager, times(5)).subscribeToTopic(topics.capture(), eq(AWSIotMqttQos.QOS1),
+                any(AWSIotMqttNewMessageCallback.class));
+        assertTrue(topics.getAllValues().contains("$aws/things/+/shadow/update/delta"));
+        assertTrue(topics.getAllValues().contains("$aws/things/+/shadow/get/accepted"));
+    }
+
+    @Test
+    public void testUpdatesAreCoalescedAndOnlyCarryChanges() throws Exception {
+        receive("get/accepted", "{\"state\":{\"reported\":{\"color\":\"red\",\"level\":1}},"
+                + "\"version\":3}");
+
+        shadowManager.updateReported(THING, new JSONObject("{\"color\":\"red\",\"level\":2}"));
+        shadowManager.updateReported(THING, new JSONObject("{\"level\":3,\"on\":true}"));
+        shadowManager.flush(THING);
+
+        final JSONObject update = lastPublished(UPDATE_TOPIC);
+        assertEquals(3, update.getLong("version"));
+        assertTrue(ShadowDocument.jsonEquals(new JSONObject("{\"level\":3,\"on\":true}"),
+                update.getJSONObject("state").getJSONObject("reported")));
+        assertFalse(update.getJSONObject("state").has("desired"));
+    }
+
+    @Test
+    public void testNoUpdateWithoutChanges() throws Exception {
+        receive("get/accepted", "{\"state\":{\"reported\":{\"color\":\"red\"}},\"version\":3}");
+        shadowManager.updateReported(THING, new JSONObject("{\"color\":\"red\"}"));
+        shadowManager.flush(THING);
+        verify(mqttManager, never()).publishString(anyString(), eq(UPDATE_TOPIC),
+                any(AWSIotMqttQos.class));
+    }
+
+    @Test
+    public void testAcceptedUpdateIsApplied() throws Exception {
+        shadowManager.updateReported(THING, new JSONObject("{\"level\":2}"));
+        shadowManager.flush(THING);
+        final String token = lastPublished(UPDATE_TOPIC).getString("clientToken");
+
+        // changes made while an update is in flight wait for its answer
+        shadowManager.updateReported(THING, new JSONObject("{\"level\":4}"));
+        shadowManager.flush(THING);
+        assertEquals(1, published(UPDATE_TOPIC).size());
+
+        receive("update/accepted", "{\"state\":{\"reported\":{\"level\":2}},\"version\":1,"
+                + "\"clientToken\":\"" + token + "\"}");
+        final JSONObject shadow = shadowManager.getShadow(THING);
+        assertEquals(1, shadow.getLong("version"));
+        assertEquals(2, shadow.getJSONObject("state").getJSONObject("reported").getInt("level"));
+
+        shadowManager.flush(THING);
+        assertEquals(2, published(UPDATE_TOPIC).size());
+        assertEquals(4, lastPublished(UPDATE_TOPIC).getJSONObject("state")
+                .getJSONObject("reported").getInt("level"));
+    }
+
+    @Test
+    public void testVersionConflictIsResolved() throws Exception {
+        receive("get/accepted", "{\"state\":{\"reported\":{\"level\":1}},\"version\":3}");
+        shadowManager.updateReported(THING, new JSONObject("{\"level\":2,\"on\":true}"));
+        shadowManager.flush(THING);
+        final String token = lastPublished(UPDATE_TOPIC).getString("clientToken");
+
+        final TestShadowCallback callback = new TestShadowCallback();
+        shadowManager.setShadowCallback(callback);
+        receive("update/rejected", "{\"code\":409,\"message\":\"Version conflict\","
+                + "\"clientToken\":\"" + token + "\"}");
+        assertEquals(1, published(GET_TOPIC).size());
+        assertEquals(0, callback.rejections.size());
+
+        // another client already turned it on
+        receive("get/accepted", "{\"state\":{\"reported\":{\"level\":1,\"on\":true}},"
+                + "\"version\":5}");
+        final JSONObject retry = lastPublished(UPDATE_TOPIC);
+        assertEquals(2, published(UPDATE_TOPIC).size());
+        assertEquals(5, retry.getLong("version"));
+        assertTrue(ShadowDocument.jsonEquals(new JSONObject("{\"level\":2}"),
+                retry.getJSONObject("state").getJSONObject("reported")));
+    }
+
+    @Test
+    public void testOtherRejectionsAreReported() throws Exception {
+        shadowManager.updateDesired(THING, new JSONObject("{\"level\":2}"));
+        shadowManager.flush(THING);
+        final String token = lastPublished(UPDATE_TOPIC).getString("clientToken");
+
+        final TestShadowCallback callback = new TestShadowCallback();
+        shadowManager.setShadowCallback(callback);
+        receive("update/rejected", "{\"code\":400,\"message\":\"Bad request\","
+                + "\"clientToken\":\"" + token + "\"}");
+        assertEquals(1, callback.rejections.size());
+        assertEquals("400 Bad request", callback.rejections.get(0));
+    }
+
+    @Test
+    public void testDeltaUpdatesDesiredState() throws Exception {
+        final TestShadowCallback callback = new TestShadowCallback();
+        shadowManager.setShadowCallback(callback);
+        receive("update/delta", "{\"state\":{\"color\":\"green\"},\"version\":8}");
+
+        assertEquals(1, callback.deltas.size());
+        assertEquals("green", callback.deltas.get(0).getString("color"));
+        assertEquals("green", shadowManager.getShadow(THING).getJSONObject("state")
+                .getJSONObject("desired").getString("color"));
+    }
+
+    @Test
+    public void testMessagesOfOtherThingsAreIgnored() throws Exception {
+        final TestShadowCallback callback = new TestShadowCallback();
+        shadowManager.setShadowCallback(callback);
+        shadowManager.handleMessage("$aws/things/other/shadow/get/accepted",
+                "{\"state\":{\"desired\":{\"color\":\"red\"}},\"version\":9}"
+                        .getBytes(StringUtils.UTF8));
+        shadowManager.handleMessage("$aws/things/other/shadow/update/delta",
+                "{\"state\":{\"color\":\"green\"},\"version\":10}".getBytes(StringUtils.UTF8));
+
+        assertEquals(0, callback.deltas.size());
+        assertFalse(new File(directory, "other.json").exists());
+    }
+
+    @Test
+    public void testUnansweredUpdateIsSentAgain() throws Exception {
+        final AWSIotShadowManager manager = new AWSIotShadowManager(mqttManager, directory,
+                NEVER, 50L);
+        manager.start();
+        try {
+            manager.updateReported(THING, new JSONObject("{\"level\":2}"));
+            manager.flush(THING);
+            verify(mqttManager, timeout(5000).atLeast(2)).publishString(anyString(),
+                    eq(UPDATE_TOPIC), any(AWSIotMqttQos.class));
+            assertEquals(2, lastPublished(UPDATE_TOPIC).getJSONObject("state")
+                    .getJSONObject("reported").getInt("level"));
+        } finally {
+            manager.stop();
+        }
+    }
+
+    @Test
+    public void testUnansweredRefreshIsGivenUp() throws Exception {
+        final AWSIotShadowManager manager = new AWSIotShadowManager(mqttManager, directory,
+                NEVER, 50L);
+        manager.start();
+        try {
+            manager.updateReported(THING, new JSONObject("{\"level\":2}"));
+            manager.flush(THING);
+            final String token = lastPublished(UPDATE_TOPIC).getString("clientToken");
+            manager.handleMessage(UPDATE_TOPIC + "/rejected", ("{\"code\":409,"
+                    + "\"clientToken\":\"" + token + "\"}").getBytes(StringUtils.UTF8));
+            assertEquals(1, published(GET_TOPIC).size());
+
+            // the shadow never arrives, the changes are sent anyway
+            verify(mqttManager, timeout(5000).atLeast(2)).publishString(anyString(),
+                    eq(UPDATE_TOPIC), any(AWSIotMqttQos.class));
+            assertEquals(2, lastPublished(UPDATE_TOPIC).getJSONObject("state")
+                    .getJSONObject("reported").getInt("level"));
+        } finally {
+            manager.stop();
+        }
+    }
+
+    @Test
+    public void testShadowIsSavedToDisk() throws Exception {
+        receive("get/accepted", "{\"state\":{\"desired\":{\"color\":\"red\"}},\"version\":9}");
+
+        final AWSIotShadowManager reloaded = new AWSIotShadowManager(mqttManager, directory,
+                NEVER);
+        final JSONObject shadow = reloaded.getShadow(THING);
+        assertEquals(9, shadow.getLong("version"));
+        assertEquals("red", shadow.getJSONObject("state").getJSONObject("desired")
+                .getString("color"));
+    }
+
+    private void receive(String operation, String payload) {
+        shadowManager.handleMessage("$aws/things/" + THING + "/shadow/" + operation,
+                payload.getBytes(StringUtils.UTF8));
+    }
+
+    private List<String> published(String topic) {
+        final ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<String> topics = ArgumentCaptor.forClass(String.class);
+        verify(mqttManager, atLeast(0)).publishString(payloads.capture(),
+                topics.capture(), any(AWSIotMqttQos.class));
+        final List<String> result = new ArrayList<String>();
+        for (int i = 0; i < topics.getAllValues().size(); i++) {
+            if (topic.equals(topics.getAllValues().get(i))) {
+                result.add(payloads.getAllValues().get(i));
+            }
+        }
+        return result;
+    }
+
+    private JSONObject lastPublished(String topic) throws Exception {
+        final List<String> payloads = published(topic);
+        return new JSONObject(payloads.get(payloads.size() - 1));
+    }
+
+    private static class TestShadowCallback implements AWSIotShadowCallback {
+        final List<JSONObject> deltas = new ArrayList<JSONObject>();
+        final List<String> rejections = new ArrayList<String>();
+
+        @Override
+        public void onDelta(String thingName, JSONObject delta) {
+            deltas.add(delta);
+        }
+
+        @Override
+        public void onUpdateRejected(String thingName, int code, String message) {
+            rejections.add(code + " " + message);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.amazonaws.mobileconnectors.iot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.util.StringUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public class MessageDispatcherTest {
+
+    private ManualExecutor executor;
+    private File spillDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = new ManualExecutor();
+        spillDirectory = new File(System.getProperty("java.io.tmpdir"),
+                "mqtt-spill-test-" + System.nanoTime());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        final File[] files = spillDirectory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+        spillDirectory.delete();
+    }
+
+    @Test
+    public void testMessagesDeliveredInOrderOffReceiveThread() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 10,
+                MessageDispatcher.OverflowPolicy.BLOCK, null);
+        final RecordingCallback callback = new RecordingCallback();
+        for (int i = 0; i < 5; i++) {
+            dispatch(dispatcher, "unit/test/#", callback, i);
+        }
+        // nothing runs on the calling thread and the lane is scheduled once
+        assertEquals(0, callback.received.size());
+        assertEquals(1, executor.tasks.size());
+
+        executor.runAll();
+        assertEquals(messages(0, 5), callback.received);
+    }
+
+    @Test
+    public void testSubscriptionsHaveSeparateLanes() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 10,
+                MessageDispatcher.OverflowPolicy.BLOCK, null);
+        final RecordingCallback first = new RecordingCallback();
+        final RecordingCallback second = new RecordingCallback();
+        dispatch(dispatcher, "a", first, 0);
+        dispatch(dispatcher, "b", second, 1);
+        dispatch(dispatcher, "a", first, 2);
+        assertEquals(2, executor.tasks.size());
+
+        executor.runAll();
+        assertEquals(Collections.singletonList("topic 1"), second.received);
+        assertEquals(messages(0, 1), first.received.subList(0, 1));
+        assertEquals("topic 2", first.received.get(1));
+    }
+
+    @Test
+    public void testDropOldestWhenFull() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 3,
+                MessageDispatcher.OverflowPolicy.DROP_OLDEST, null);
+        final RecordingCallback callback = new RecordingCallback();
+        for (int i = 0; i < 5; i++) {
+            dispatch(dispatcher, "t", callback, i);
+        }
+        assertEquals(3, dispatcher.getQueuedCount("t"));
+        assertEquals(2, dispatcher.getDroppedCount());
+
+        executor.runAll();
+        assertEquals(messages(2, 5), callback.received);
+    }
+
+    @Test
+    public void testBlockWhenFull() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 2,
+                MessageDispatcher.OverflowPolicy.BLOCK, null);
+        final RecordingCallback callback = new RecordingCallback();
+        dispatch(dispatcher, "t", callback, 0);
+        dispatch(dispatcher, "t", callback, 1);
+
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread receiver = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                dispatch(dispatcher, "t", callback, 2);
+                done.countDown();
+            }
+        });
+        receiver.start();
+        assertEquals(false, done.await(100, TimeUnit.MILLISECONDS));
+
+        // delivering one message makes room
+        executor.tasks.peek().run();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.runAll();
+        assertEquals(messages(0, 3), callback.received);
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    public void testSpillWhenFull() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 100,
+                MessageDispatcher.OverflowPolicy.SPILL, spillDirectory);
+        final RecordingCallback callback = new RecordingCallback();
+        for (int i = 0; i < 200; i++) {
+            dispatch(dispatcher, "t", callback, i);
+        }
+        assertEquals(100, dispatcher.getQueuedCount("t"));
+        // the receive thread never touches the disk
+        assertFalse(spillDirectory.exists());
+
+        // the lane task, then the writer task
+        assertEquals(2, executor.tasks.size());
+        executor.tasks.removeLast().run();
+        assertEquals(1, spillDirectory.listFiles().length);
+
+        executor.runAll();
+        assertEquals(messages(0, 200), callback.received);
+        assertEquals(0, spillDirectory.listFiles().length);
+        assertEquals(0, dispatcher.getDroppedCount());
+
+        // once drained, messages are queued in memory again
+        dispatch(dispatcher, "t", callback, 200);
+        assertEquals(1, dispatcher.getQueuedCount("t"));
+    }
+
+    @Test
+    public void testSpillWaitsForWriterWhenBufferIsFull() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 2,
+                MessageDispatcher.OverflowPolicy.SPILL, spillDirectory);
+        final RecordingCallback callback = new RecordingCallback();
+        for (int i = 0; i < 4; i++) {
+            dispatch(dispatcher, "t", callback, i);
+        }
+
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread receiver = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                dispatch(dispatcher, "t", callback, 4);
+                done.countDown();
+            }
+        });
+        receiver.start();
+        assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+
+        // the writer takes the buffer
+        executor.tasks.removeLast().run();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.runAll();
+        assertEquals(messages(0, 5), callback.received);
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    public void testConfigureKeepsQueuedMessages() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 2,
+                MessageDispatcher.OverflowPolicy.DROP_OLDEST, null);
+        final RecordingCallback callback = new RecordingCallback();
+        dispatch(dispatcher, "t", callback, 0);
+        dispatch(dispatcher, "t", callback, 1);
+
+        final ManualExecutor newExecutor = new ManualExecutor();
+        dispatcher.configure(newExecutor, 10, MessageDispatcher.OverflowPolicy.BLOCK, null);
+        dispatch(dispatcher, "t", callback, 2);
+        // the lane task already scheduled delivers all of them
+        assertEquals(0, newExecutor.tasks.size());
+        executor.runAll();
+        assertEquals(messages(0, 3), callback.received);
+
+        dispatch(dispatcher, "t", callback, 3);
+        assertEquals(1, newExecutor.tasks.size());
+        newExecutor.runAll();
+        assertEquals(messages(0, 4), callback.received);
+    }
+
+    @Test
+    public void testSpillKeepsOrderWhileDelivering() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 5,
+                MessageDispatcher.OverflowPolicy.SPILL, spillDirectory);
+        final RecordingCallback callback = new RecordingCallback();
+        for (int i = 0; i < 10; i++) {
+            dispatch(dispatcher, "t", callback, i);
+        }
+        executor.tasks.removeLast().run();
+        dispatch(dispatcher, "t", callback, 10);
+        dispatch(dispatcher, "t", callback, 11);
+
+        // the lane delivers the queue and the file; 10 and 11 wait for the writer
+        executor.tasks.removeFirst().run();
+        assertEquals(messages(0, 10), callback.received);
+        dispatch(dispatcher, "t", callback, 12);
+
+        executor.runAll();
+        assertEquals(messages(0, 13), callback.received);
+        assertEquals(0, spillDirectory.listFiles().length);
+
+        // once drained, messages are queued in memory again
+        for (int i = 13; i < 20; i++) {
+            dispatch(dispatcher, "t", callback, i);
+            executor.runAll();
+        }
+        assertEquals(messages(0, 20), callback.received);
+        assertEquals(0, dispatcher.getDroppedCount());
+        assertEquals(0, spillDirectory.listFiles().length);
+    }
+
+    @Test
+    public void testRemoveWhileSpillingDeletesFile() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 3,
+                MessageDispatcher.OverflowPolicy.SPILL, spillDirectory);
+        final RecordingCallback callback = new RecordingCallback();
+        for (int i = 0; i < 5; i++) {
+            dispatch(dispatcher, "t", callback, i);
+        }
+        executor.tasks.removeLast().run();
+        assertEquals(1, spillDirectory.listFiles().length);
+
+        dispatcher.remove("t");
+        executor.runAll();
+        assertEquals(0, callback.received.size());
+        assertEquals(0, spillDirectory.listFiles().length);
+    }
+
+    @Test
+    public void testRemoveDropsUndeliveredMessages() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 10,
+                MessageDispatcher.OverflowPolicy.BLOCK, null);
+        final RecordingCallback callback = new RecordingCallback();
+        dispatch(dispatcher, "t", callback, 0);
+        dispatcher.remove("t");
+
+        executor.runAll();
+        assertEquals(0, callback.received.size());
+    }
+
+    @Test
+    public void testFailingCallbackDoesNotStopLane() throws Exception {
+        final MessageDispatcher dispatcher = new MessageDispatcher(executor, 10,
+                MessageDispatcher.OverflowPolicy.BLOCK, null);
+        final RecordingCallback callback = new RecordingCallback() {
+            @Override
+            public void onMessageArrived(String topic, byte[] data) {
+                super.onMessageArrived(topic, data);
+                throw new IllegalStateException("callback failure");
+            }
+        };
+        dispatch(dispatcher, "t", callback, 0);
+        dispatch(dispatcher, "t", callback, 1);
+
+        executor.runAll();
+        assertEquals(messages(0, 2), callback.received);
+    }
+
+    private static void dispatch(MessageDispatcher dispatcher, String subscription,
+            AWSIotMqttNewMessageCallback callback, int i) {
+        dispatcher.dispatch(subscription, callback, "topic",
+                String.valueOf(i).getBytes(StringUtils.UTF8));
+    }
+
+    private static List<String> messages(int from, int to) {
+        final List<String> messages = new ArrayList<String>();
+        for (int i = from; i < to; i++) {
+            messages.add("topic " + i);
+        }
+        return messages;
+    }
+
+    private static class RecordingCallback implements AWSIotMqttNewMessageCallback {
+        final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public void onMessageArrived(String topic, byte[] data) {
+            received.add(topic + " " + new String(data, StringUtils.UTF8));
+        }
+    }
+
+    private static class ManualExecutor implements Executor {
+        final LinkedList<Runnable> tasks = new LinkedList<Runnable>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (true) {
+                final Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                }
+                if (task == null) {
+                    return;
+                }
+                task.run();
+            }
+        }
+    }
+}
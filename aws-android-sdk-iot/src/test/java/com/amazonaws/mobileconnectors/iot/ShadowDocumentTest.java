@@ -0,0 +1,80 @@
+package com.amazonaws.mobileconnectors.iot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ShadowDocumentTest {
+
+    @Test
+    public void testDiffKeepsOnlyChangedPaths() throws Exception {
+        final JSONObject current = new JSONObject(
+                "{\"color\":\"red\",\"light\":{\"on\":true,\"level\":5},\"tags\":[1,2]}");
+        final JSONObject patch = new JSONObject(
+                "{\"color\":\"red\",\"light\":{\"on\":true,\"level\":6},\"tags\":[1,2],"
+                        + "\"gone\":null,\"mode\":\"auto\"}");
+
+        final JSONObject diff = ShadowDocument.diff(current, patch);
+        assertTrue(ShadowDocument.jsonEquals(
+                new JSONObject("{\"light\":{\"level\":6},\"mode\":\"auto\"}"), diff));
+    }
+
+    @Test
+    public void testDiffDeletesExistingFields() throws Exception {
+        final JSONObject current = new JSONObject("{\"color\":\"red\"}");
+        final JSONObject diff = ShadowDocument.diff(current,
+                new JSONObject("{\"color\":null}"));
+        assertTrue(diff.isNull("color"));
+        assertEquals(1, diff.length());
+    }
+
+    @Test
+    public void testApply() throws Exception {
+        final JSONObject target = new JSONObject(
+                "{\"color\":\"red\",\"light\":{\"on\":true,\"level\":5}}");
+        ShadowDocument.apply(target, new JSONObject(
+                "{\"color\":null,\"light\":{\"level\":6},\"mode\":{\"auto\":true}}"));
+        assertTrue(ShadowDocument.jsonEquals(new JSONObject(
+                "{\"light\":{\"on\":true,\"level\":6},\"mode\":{\"auto\":true}}"), target));
+    }
+
+    @Test
+    public void testCombineKeepsNulls() throws Exception {
+        final JSONObject earlier = new JSONObject("{\"a\":1,\"b\":{\"c\":2}}");
+        ShadowDocument.combine(earlier, new JSONObject("{\"a\":null,\"b\":{\"d\":3}}"));
+        assertTrue(earlier.isNull("a"));
+        assertTrue(ShadowDocument.jsonEquals(new JSONObject("{\"c\":2,\"d\":3}"),
+                earlier.getJSONObject("b")));
+    }
+
+    @Test
+    public void testJsonEquals() throws Exception {
+        assertTrue(ShadowDocument.jsonEquals(1, 1L));
+        assertTrue(ShadowDocument.jsonEquals(1.5, 1.5));
+        assertFalse(ShadowDocument.jsonEquals(1, 2));
+        assertFalse(ShadowDocument.jsonEquals("1", 1));
+        assertTrue(ShadowDocument.jsonEquals(new JSONObject("{\"a\":[1,{\"b\":2}]}"),
+                new JSONObject("{\"a\":[1,{\"b\":2}]}")));
+        assertFalse(ShadowDocument.jsonEquals(new JSONObject("{\"a\":[1,2]}"),
+                new JSONObject("{\"a\":[2,1]}")));
+    }
+
+    @Test
+    public void testJsonRoundTrip() throws Exception {
+        final ShadowDocument document = new ShadowDocument();
+        document.apply(new JSONObject(
+                "{\"desired\":{\"color\":\"red\"},\"reported\":{\"color\":\"blue\"}}"));
+        document.setVersion(7);
+
+        final ShadowDocument copy = ShadowDocument.fromJson(document.toJson());
+        assertEquals(7, copy.getVersion());
+        assertEquals("red", copy.getDesired().getString("color"));
+        assertEquals("blue", copy.getReported().getString("color"));
+    }
+}
@@ -25,9 +25,8 @@ import com.amazonaws.kinesisvideo.http.ParallelSimpleHttpClient;
 import com.amazonaws.kinesisvideo.signing.KinesisVideoSigner;
 import com.amazonaws.kinesisvideo.stream.throttling.BandwidthMeasuringOutputStream;
 import com.amazonaws.kinesisvideo.stream.throttling.BandwidthThrottledOutputStream;
-import com.amazonaws.kinesisvideo.stream.throttling.BandwidthThrottler;
-import com.amazonaws.kinesisvideo.stream.throttling.BandwidthThrottlerImpl;
 import com.amazonaws.kinesisvideo.stream.throttling.OpsPerSecondMeasurer;
+import com.amazonaws.kinesisvideo.stream.throttling.TokenBucketThrottler;
 import com.amazonaws.kinesisvideo.util.VersionUtil;
 
 import static com.amazonaws.kinesisvideo.common.preconditions.Preconditions.checkNotNull;
@@ -41,12 +40,15 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Client for making a PutMedia API call on Kinesis Video Streams.
  */
 public final class PutMediaClient {
     private static final double BYTES_IN_MB = 1024.0 * 1024.0;
+    private static final double BITS_IN_MB = 1024.0 * 1024.0;
     private static final long BITS_IN_A_KILOBIT = 1024L;
     private static final String STREAM_NAME_HEADER = "x-amzn-stream-name";
     private static final String FRAGMENT_TIME_CODE_TYPE_HEADER = "x-amzn-fragment-timecode-type";
@@ -62,6 +64,7 @@ public final class PutMediaClient {
     private final Builder mBuilder;
     private final Log log;
     private ParallelSimpleHttpClient httpClient;
+    private volatile TokenBucketThrottler mThrottler;
 
     private PutMediaClient(final Builder builder) {
         mBuilder = builder;
@@ -129,6 +132,8 @@ public final class PutMediaClient {
                     final byte[] buffer = new byte[BUFFER_SIZE];
                     int mkvBytesRead;
                     long counter = 0;
+                    final long fragmentIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fragmentThrottle);
+                    long nextWriteNanos = System.nanoTime();
                     boolean continueLoop = true;
                     while (continueLoop) {
                         mkvBytesRead = mBuilder.mMkvStream.read(buffer);
@@ -142,8 +147,13 @@ public final class PutMediaClient {
                         } else {
                             throttledOutputStream.write(ChunkEncoder.encode(buffer, mkvBytesRead));
                             tryWriteToFile(outputFileStream, buffer, mkvBytesRead);
-                            if (fragmentThrottle > 0) {
-                                Thread.sleep(fragmentThrottle);
+                            if (fragmentIntervalNanos > 0) {
+                                // Pace writes against a schedule so the time spent writing counts
+                                // towards the interval instead of adding to it. A write that ran
+                                // late moves the schedule instead of causing a burst to catch up.
+                                nextWriteNanos = Math.max(nextWriteNanos + fragmentIntervalNanos,
+                                        System.nanoTime());
+                                waitUntil(nextWriteNanos);
                             }
                         }
                     }
@@ -160,6 +170,16 @@ public final class PutMediaClient {
         };
     }
 
+    private static void waitUntil(final long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
     private OutputStream throttleAndMeasureOutput(final OutputStream rawOutputStream) {
         final OutputStream throttledOutputStream = throttleStream(rawOutputStream);
         return mBuilder.mLogUsedBandwidth ? logBytesPerSecond(throttledOutputStream) : throttledOutputStream;
@@ -167,7 +187,12 @@ public final class PutMediaClient {
 
     private OutputStream throttleStream(final OutputStream rawOutputStream) {
         if (mBuilder.upstreamKbps != null) {
-            final BandwidthThrottler throttler = new BandwidthThrottlerImpl(mBuilder.upstreamKbps * BITS_IN_A_KILOBIT);
+            final TokenBucketThrottler throttler =
+                    new TokenBucketThrottler(mBuilder.upstreamKbps * BITS_IN_A_KILOBIT);
+            if (mBuilder.mUpstreamBurstMillis != null) {
+                throttler.setBurstMillis(mBuilder.mUpstreamBurstMillis);
+            }
+            mThrottler = throttler;
             return new BandwidthThrottledOutputStream(rawOutputStream, throttler);
         }
         return rawOutputStream;
@@ -183,7 +208,13 @@ public final class PutMediaClient {
             @Override
             public void accept(final Long bytesWrittenPerSecond) {
                 final double megabitPerSecond = mbitPerSecond(bytesWrittenPerSecond);
-                System.out.println(String.format("%n   ===> actual megabit/sec: %.2f mbps", megabitPerSecond));
+                final TokenBucketThrottler throttler = mThrottler;
+                if (throttler == null) {
+                    log.debug("Actual megabit/sec: %.2f mbps", megabitPerSecond);
+                } else {
+                    log.debug("Actual megabit/sec: %.2f mbps, target: %.2f mbps",
+                            megabitPerSecond, throttler.getTargetBps() / BITS_IN_MB);
+                }
             }
         };
     }
@@ -219,6 +250,23 @@ public final class PutMediaClient {
         }
     }
 
+    /**
+     * @return the bitrate the upload is paced at, 0 if it isn't throttled
+     */
+    public long getTargetBitrate() {
+        final TokenBucketThrottler throttler = mThrottler;
+        return throttler == null ? 0 : throttler.getTargetBps();
+    }
+
+    /**
+     * @return the bitrate the throttler let the upload through at over the last second, 0 if it isn't
+     *         throttled
+     */
+    public long getAchievedBitrate() {
+        final TokenBucketThrottler throttler = mThrottler;
+        return throttler == null ? 0 : throttler.getAchievedBps();
+    }
+
     private double mbitPerSecond(final long bps) {
         return bps * Byte.SIZE / BYTES_IN_MB;
     }
@@ -236,6 +284,7 @@ public final class PutMediaClient {
         private boolean mLogUsedBandwidth;
         private String mFileOutputPath;
         private Long upstreamKbps;
+        private Long mUpstreamBurstMillis;
         private Consumer<Exception> mCompletion;
         // TODO: Set to correct output channel
         private Log mLog = new Log(Log.SYSTEM_OUT);
@@ -306,6 +355,15 @@ public final class PutMediaClient {
             return this;
         }
 
+        /**
+         * Sets how much data, as the time it takes to send it at the upstream rate, may be written
+         * at once when the upload is throttled with {@link #upstreamKbps(long)}.
+         */
+        public Builder upstreamBurstMillis(final long burstMillis) {
+            mUpstreamBurstMillis = burstMillis;
+            return this;
+        }
+
         public Builder log(final Log log) {
             mLog = Preconditions.checkNotNull(log);
             return this;
@@ -34,6 +34,7 @@ public final class ChunkDecoder {
     private static final int HEX_RADIX = 16;
     private static final int MAX_BUFFER_BYTES = 128 * 128;
     private static final int BUFFER_SIZE = 4 * 1024;
+    private static final int LINE_TERMINATOR_LENGTH = 2;
     private static final String LINE_DELIMITER = "\r\n";
     private static final String PAYLOAD_DELIMITER = "\r\n\r\n";
     // TODO: Set to correct output channel
@@ -102,17 +103,43 @@ public final class ChunkDecoder {
         return builder.toString();
     }
 
+    /**
+     * Reads up to and including the delimiter. The stream is read one byte at
+     * a time so that nothing past the delimiter is consumed; only the end of
+     * the buffer is compared with the delimiter, which keeps it linear.
+     */
     private static String readInputStream(final InputStream inputStream, final byte[] delimiter)
             throws IOException {
 
-        final byte[] buffer = new byte[BUFFER_SIZE];
-        int result = 0, offset = 0;
-        do {
-            result = inputStream.read(buffer, offset++, 1);
-        } while (result > -1 && arrayIndexOf(buffer, 0, offset, delimiter) == -1);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int offset = 0;
+        int next;
+        while ((next = inputStream.read()) != -1) {
+            if (offset == buffer.length) {
+                final byte[] larger = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, larger, 0, offset);
+                buffer = larger;
+            }
+            buffer[offset++] = (byte) next;
+            if (endsWith(buffer, offset, delimiter)) {
+                break;
+            }
+        }
         return new String(buffer, 0 , offset, Charset.forName("UTF-8"));
     }
 
+    private static boolean endsWith(final byte[] buffer, final int length, final byte[] suffix) {
+        if (length < suffix.length) {
+            return false;
+        }
+        for (int i = 0, j = length - suffix.length; i < suffix.length; i++, j++) {
+            if (buffer[j] != suffix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static int arrayIndexOf(final byte[] haystack, final int tail, final int head, final byte[] needle) {
         int index = tail;
         while (index != head) {
@@ -133,18 +160,44 @@ public final class ChunkDecoder {
         return -1;
     }
 
+    /**
+     * Parses the hexadecimal chunk size between tail and head of a ring
+     * buffer, ignoring surrounding white space and chunk extensions, without
+     * copying it.
+     *
+     * @throws NumberFormatException if the size is missing, malformed or
+     *         doesn't fit in an int
+     */
     public static int parseChunkSize(final byte[] buffer, final int tail, final int head) {
-        byte[] tmp;
-        if (tail < head) {
-            tmp = new byte[head - tail];
-            System.arraycopy(buffer, tail, tmp, 0, head - tail);
-        } else {
-            final int len = head + buffer.length - tail;
-            tmp = new byte[len];
-            System.arraycopy(buffer, tail, tmp, 0, buffer.length - tail);
-            System.arraycopy(buffer, 0, tmp, buffer.length - tail, head);
+        final int length = tail < head ? head - tail : head + buffer.length - tail;
+        int index = 0;
+        while (index < length && isWhitespace(buffer[(tail + index) % buffer.length])) {
+            index++;
+        }
+        long size = 0;
+        int digits = 0;
+        for (; index < length; index++) {
+            final int digit = Character.digit(buffer[(tail + index) % buffer.length], HEX_RADIX);
+            if (digit < 0) {
+                break;
+            }
+            size = size * HEX_RADIX + digit;
+            if (size > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Chunk size is too large");
+            }
+            digits++;
+        }
+        while (index < length && isWhitespace(buffer[(tail + index) % buffer.length])) {
+            index++;
+        }
+        if (digits == 0 || (index < length && buffer[(tail + index) % buffer.length] != ';')) {
+            throw new NumberFormatException("Invalid chunk size");
         }
-        return Integer.parseInt(new String(tmp, 0, tmp.length, Charset.forName("UTF-8")).trim(), HEX_RADIX);
+        return (int) size;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
     }
 
     public static Response parseStatusLineAndHeaders(final InputStream inputStream) {
@@ -185,6 +238,7 @@ public final class ChunkDecoder {
         String line;
         int chunkSize;
         int numBytesRead, offset, ackCount = 0;
+        char[] buff = new char[MAX_BUFFER_BYTES];
 
         try {
             skipResponseHeaders(reader);
@@ -198,16 +252,18 @@ public final class ChunkDecoder {
                     break;
                 }
 
-                final char[] buff = new char[MAX_BUFFER_BYTES];
+                if (buff.length < chunkSize + LINE_TERMINATOR_LENGTH) {
+                    buff = new char[chunkSize + LINE_TERMINATOR_LENGTH];
+                }
                 offset = 0;
                 do {
-                    numBytesRead = reader.read(buff, offset, chunkSize + 2 - offset);
+                    numBytesRead = reader.read(buff, offset, chunkSize + LINE_TERMINATOR_LENGTH - offset);
                     if (numBytesRead < 0) {
                         throw new RuntimeException("Unexpected end of stream while reading chunked data");
                     }
 
                     offset += numBytesRead;
-                } while (offset < chunkSize + 2);
+                } while (offset < chunkSize + LINE_TERMINATOR_LENGTH);
 
                 // send the ack string to ack consumer with the exact number of bytes
                 final String chunk = new String(buff, 0, chunkSize);
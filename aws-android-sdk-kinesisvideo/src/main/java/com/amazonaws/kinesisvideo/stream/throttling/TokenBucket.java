@@ -0,0 +1,230 @@
+/**
+ * Copyright 2017-2018 Amazon.com,
+ * Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Amazon Software License (the "License").
+ * You may not use this file except in compliance with the
+ * License. A copy of the License is located at
+ *
+ *     http://aws.amazon.com/asl/
+ *
+ * or in the "license" file accompanying this file. This file is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, express or implied. See the License
+ * for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.amazonaws.kinesisvideo.stream.throttling;
+
+import static com.amazonaws.kinesisvideo.common.preconditions.Preconditions.checkArgument;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A token bucket refilled continuously at a target rate, with nanosecond
+ * precision, up to a burst size.
+ * <p>
+ * {@link #acquire(int)} reserves tokens right away, letting the bucket go
+ * into debt, and then parks the caller until the debt is paid back. Callers
+ * are therefore paced evenly and in order instead of waking up together at
+ * the start of a period. Non-blocking callers use {@link #tryAcquire(int)}
+ * and {@link #schedulePermitAvailable} instead.
+ */
+public class TokenBucket {
+    private static final double NANOS_IN_A_SECOND = 1e9;
+    /** Length of the window the achieved rate is measured over. */
+    private static final long MEASUREMENT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Source of time, replaceable in tests.
+     */
+    interface Clock {
+        long nanoTime();
+
+        void parkNanos(long nanos);
+    }
+
+    static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void parkNanos(final long nanos) {
+            LockSupport.parkNanos(nanos);
+        }
+    };
+
+    private final Clock clock;
+    private double tokensPerNano;
+    private long burst;
+    private double tokens;
+    private long lastRefillNanos;
+
+    private long windowStartNanos;
+    private long windowTokens;
+    private double achievedRate;
+
+    /**
+     * @param tokensPerSecond the target rate
+     * @param burst the number of tokens that can be taken at once, also the
+     *        most that accumulates while the bucket is idle
+     */
+    public TokenBucket(final double tokensPerSecond, final long burst) {
+        this(tokensPerSecond, burst, SYSTEM_CLOCK);
+    }
+
+    TokenBucket(final double tokensPerSecond, final long burst, final Clock clock) {
+        this.clock = clock;
+        this.lastRefillNanos = clock.nanoTime();
+        this.windowStartNanos = lastRefillNanos;
+        setRate(tokensPerSecond);
+        setBurst(burst);
+        this.tokens = this.burst;
+    }
+
+    /**
+     * Changes the target rate. Tokens already accumulated are kept.
+     *
+     * @param tokensPerSecond the target rate
+     */
+    public synchronized void setRate(final double tokensPerSecond) {
+        checkArgument(tokensPerSecond > 0, "Token rate must be positive.");
+        refill(clock.nanoTime());
+        tokensPerNano = tokensPerSecond / NANOS_IN_A_SECOND;
+    }
+
+    /**
+     * Changes the burst size.
+     *
+     * @param burst the number of tokens that can be taken at once
+     */
+    public synchronized void setBurst(final long burst) {
+        checkArgument(burst > 0, "Burst must be positive.");
+        refill(clock.nanoTime());
+        this.burst = burst;
+        tokens = Math.min(tokens, burst);
+    }
+
+    /**
+     * @return the number of tokens that can be taken at once
+     */
+    public synchronized long getBurst() {
+        return burst;
+    }
+
+    /**
+     * Takes up to the given number of tokens, at most the burst size, and
+     * waits until the bucket has paid them back. An interrupted caller stops
+     * waiting and keeps its interrupt status.
+     *
+     * @param max the number of tokens wanted
+     * @return the number of tokens taken, at least one
+     */
+    public int acquire(final int max) {
+        checkArgument(max > 0, "Requested tokens must be positive.");
+        final long deadline;
+        final int granted;
+        synchronized (this) {
+            final long now = clock.nanoTime();
+            refill(now);
+            granted = (int) Math.min(max, burst);
+            tokens -= granted;
+            record(granted, now);
+            deadline = now + nanosToPay(-tokens);
+        }
+        long remaining;
+        while ((remaining = deadline - clock.nanoTime()) > 0
+                && !Thread.currentThread().isInterrupted()) {
+            clock.parkNanos(remaining);
+        }
+        return granted;
+    }
+
+    /**
+     * Takes up to the given number of tokens if they are available, without
+     * waiting.
+     *
+     * @param max the number of tokens wanted
+     * @return the number of tokens taken, 0 if none is available
+     */
+    public synchronized int tryAcquire(final int max) {
+        checkArgument(max > 0, "Requested tokens must be positive.");
+        final long now = clock.nanoTime();
+        refill(now);
+        final int granted = (int) Math.min(Math.min(max, burst), Math.floor(tokens));
+        if (granted <= 0) {
+            return 0;
+        }
+        tokens -= granted;
+        record(granted, now);
+        return granted;
+    }
+
+    /**
+     * @param count a number of tokens, capped at the burst size
+     * @return the time until that many tokens are available, 0 if they are
+     *         now
+     */
+    public synchronized long getNanosUntilAvailable(final int count) {
+        refill(clock.nanoTime());
+        return nanosToPay(Math.min(count, burst) - tokens);
+    }
+
+    /**
+     * Runs a listener once the given number of tokens is available, for
+     * writers that don't block. The tokens aren't reserved: the listener
+     * should take them with {@link #tryAcquire(int)}.
+     *
+     * @param count a number of tokens, capped at the burst size
+     * @param scheduler the scheduler running the listener
+     * @param listener the listener
+     * @return the future of the scheduled listener
+     */
+    public ScheduledFuture<?> schedulePermitAvailable(final int count,
+            final ScheduledExecutorService scheduler, final Runnable listener) {
+        return scheduler.schedule(listener, getNanosUntilAvailable(count), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the target rate in tokens per second
+     */
+    public synchronized double getTargetRate() {
+        return tokensPerNano * NANOS_IN_A_SECOND;
+    }
+
+    /**
+     * @return the rate tokens were taken at over the last complete
+     *         measurement window of one second, in tokens per second
+     */
+    public synchronized double getAchievedRate() {
+        record(0, clock.nanoTime());
+        return achievedRate;
+    }
+
+    private void refill(final long now) {
+        if (now > lastRefillNanos) {
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+        }
+    }
+
+    private long nanosToPay(final double missingTokens) {
+        return missingTokens <= 0 ? 0 : (long) Math.ceil(missingTokens / tokensPerNano);
+    }
+
+    private void record(final int taken, final long now) {
+        final long elapsed = now - windowStartNanos;
+        if (elapsed >= MEASUREMENT_WINDOW_NANOS) {
+            achievedRate = windowTokens * NANOS_IN_A_SECOND / elapsed;
+            windowTokens = 0;
+            windowStartNanos = now;
+        }
+        windowTokens += taken;
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright 2017-2018 Amazon.com,
+ * Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Amazon Software License (the "License").
+ * You may not use this file except in compliance with the
+ * License. A copy of the License is located at
+ *
+ *     http://aws.amazon.com/asl/
+ *
+ * or in the "license" file accompanying this file. This file is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, express or implied. See the License
+ * for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.amazonaws.kinesisvideo.stream.throttling;
+
+import static com.amazonaws.kinesisvideo.common.preconditions.Preconditions.checkArgument;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * A bandwidth throttler pacing writes with a {@link TokenBucket} of bytes.
+ * Instead of letting a period's worth of bytes through and then sleeping
+ * until the next period, it hands out at most one burst at a time and
+ * spaces the bursts evenly, so the output follows the target rate closely.
+ * <p>
+ * Note that, 'byte' will be explicitly called out. Any 'b' or 'B' (in
+ * variable names with camel case) will refer to bit.
+ */
+public class TokenBucketThrottler implements BandwidthThrottler {
+    private static final long BITS_IN_A_KILOBIT = 1024L;
+    private static final long BITS_IN_A_BYTE = 8L;
+    private static final long MILLIS_IN_A_SECOND = 1000L;
+    /** Default burst, as the time it takes to send it at the target rate. */
+    public static final long DEFAULT_BURST_MILLIS = 10L;
+    /** The burst never goes below one typical network packet. */
+    private static final long MIN_BURST_BYTES = 1400L;
+
+    private final TokenBucket bucket;
+    private final long absoluteMaxBps;
+    private long burstMillis = DEFAULT_BURST_MILLIS;
+
+    /**
+     * @param maxBps the overall maximum bitrate the throttler enforces, also
+     *        its initial target
+     */
+    public TokenBucketThrottler(final long maxBps) {
+        this(maxBps, TokenBucket.SYSTEM_CLOCK);
+    }
+
+    TokenBucketThrottler(final long maxBps, final TokenBucket.Clock clock) {
+        checkArgument(maxBps > 0, String.format("Given bandwidth value %d is not positive.", maxBps));
+        this.absoluteMaxBps = maxBps;
+        final double bytesPerSecond = (double) maxBps / BITS_IN_A_BYTE;
+        this.bucket = new TokenBucket(bytesPerSecond, burstBytes(bytesPerSecond), clock);
+    }
+
+    @Override
+    public synchronized void setUpstreamKbps(final long kbps) {
+        checkArgument(kbps > 0, String.format("Given bandwidth value %d is not positive.", kbps));
+        final long bps = Math.min(absoluteMaxBps, kbps * BITS_IN_A_KILOBIT);
+        final double bytesPerSecond = (double) bps / BITS_IN_A_BYTE;
+        bucket.setRate(bytesPerSecond);
+        bucket.setBurst(burstBytes(bytesPerSecond));
+    }
+
+    /**
+     * Sets the burst as the time it takes to send it at the target rate.
+     * Shorter bursts pace more smoothly, longer ones make fewer writes.
+     *
+     * @param millis the burst duration
+     */
+    public synchronized void setBurstMillis(final long millis) {
+        checkArgument(millis > 0, "Burst duration must be positive.");
+        burstMillis = millis;
+        bucket.setBurst(burstBytes(bucket.getTargetRate()));
+    }
+
+    /**
+     * Waits until bytes may be written. Never returns 0.
+     */
+    @Override
+    public int getAllowedBytes(final int len) {
+        return bucket.acquire(len);
+    }
+
+    /**
+     * Takes the bytes that may be written now, without waiting.
+     *
+     * @param len maximum number of bytes
+     * @return allowed bytes, 0 if none
+     */
+    public int tryGetAllowedBytes(final int len) {
+        return bucket.tryAcquire(len);
+    }
+
+    /**
+     * Runs a listener once the given number of bytes may be written, for
+     * writers that don't block.
+     *
+     * @param len number of bytes, capped at the burst size
+     * @param scheduler the scheduler running the listener
+     * @param listener the listener, which should then call
+     *        {@link #tryGetAllowedBytes(int)}
+     * @return the future of the scheduled listener
+     */
+    public ScheduledFuture<?> schedulePermitAvailable(final int len,
+            final ScheduledExecutorService scheduler, final Runnable listener) {
+        return bucket.schedulePermitAvailable(len, scheduler, listener);
+    }
+
+    /**
+     * @return the bitrate the throttler paces writes at
+     */
+    public long getTargetBps() {
+        return (long) (bucket.getTargetRate() * BITS_IN_A_BYTE);
+    }
+
+    /**
+     * @return the bitrate writes were allowed at over the last second
+     */
+    public long getAchievedBps() {
+        return (long) (bucket.getAchievedRate() * BITS_IN_A_BYTE);
+    }
+
+    private long burstBytes(final double bytesPerSecond) {
+        return Math.max(MIN_BURST_BYTES, (long) (bytesPerSecond * burstMillis / MILLIS_IN_A_SECOND));
+    }
+}
@@ -0,0 +1,47 @@
+package com.amazonaws.kinesisvideo.encoding;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+public class ChunkDecoderTest {
+
+    @Test
+    public void testParseChunkSizeInRingBuffer() {
+        final byte[] ring = " 1aF;ext\r\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(0x1af, ChunkDecoder.parseChunkSize(ring, 0, 4));
+        assertEquals(0x1af, ChunkDecoder.parseChunkSize(ring, 0, ring.length));
+
+        // size wrapping around the end of the buffer
+        final byte[] wrapped = "f\r\n.....1".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(0x1f, ChunkDecoder.parseChunkSize(wrapped, 8, 3));
+    }
+
+    @Test
+    public void testReadStatusLineAndHeadersStopAtDelimiter() throws Exception {
+        final StringBuilder longHeader = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            longHeader.append('x');
+        }
+        final InputStream in = stream("HTTP/1.1 200 OK\r\nx-amzn-RequestId: abc\r\nx-long: "
+                + longHeader + "\r\n\r\npayload");
+        assertEquals(200, ChunkDecoder.readStatusLine(in).getStatusCode());
+        assertEquals("abc", ChunkDecoder.decodeHeaders(in).get("x-amzn-RequestId"));
+        assertEquals('p', in.read());
+    }
+
+    @Test
+    public void testLoneCarriageReturnDoesNotEndHeaders() throws Exception {
+        final InputStream in = stream("a: 1\rb\r\nc: 2\r\n\r\nrest");
+        assertEquals("1\rb", ChunkDecoder.decodeHeaders(in).get("a"));
+        assertEquals('r', in.read());
+    }
+
+    private static InputStream stream(final String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,140 @@
+package com.amazonaws.kinesisvideo.stream.throttling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TokenBucketThrottlerTest {
+    private static final long NANOS_IN_A_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final FakeClock mClock = new FakeClock();
+
+    @Test
+    public void testBurstIsAvailableRightAway() {
+        final TokenBucket bucket = new TokenBucket(1000, 100, mClock);
+
+        assertEquals(100, bucket.acquire(500));
+        assertEquals(0, mClock.mParkedNanos);
+        assertEquals(0, bucket.tryAcquire(1));
+    }
+
+    @Test
+    public void testWaitsOnlyForTheMissingTokens() {
+        final TokenBucket bucket = new TokenBucket(1000, 100, mClock);
+        bucket.acquire(100);
+
+        assertEquals(10, bucket.acquire(10));
+        // 10 tokens at 1000 per second take 10ms, with no rounding to a period
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), mClock.mParkedNanos);
+    }
+
+    @Test
+    public void testRefillsWithSubMillisecondPrecision() {
+        final TokenBucket bucket = new TokenBucket(1000 * 1000, 1000, mClock);
+        bucket.acquire(1000);
+
+        mClock.advance(TimeUnit.MICROSECONDS.toNanos(250));
+
+        assertEquals(250, bucket.tryAcquire(1000));
+    }
+
+    @Test
+    public void testIdleTimeAccumulatesAtMostOneBurst() {
+        final TokenBucket bucket = new TokenBucket(1000, 100, mClock);
+        bucket.acquire(100);
+
+        mClock.advance(NANOS_IN_A_SECOND);
+
+        assertEquals(100, bucket.tryAcquire(1000));
+        assertEquals(0, bucket.tryAcquire(1000));
+    }
+
+    @Test
+    public void testPacesAtTargetRate() {
+        final TokenBucketThrottler throttler = new TokenBucketThrottler(8 * 1000 * 1000, mClock);
+        final long start = mClock.nanoTime();
+        long bytes = 0;
+        while (bytes < 10 * 1000 * 1000) {
+            bytes += throttler.getAllowedBytes(64 * 1024);
+        }
+
+        final double seconds = (double) (mClock.nanoTime() - start) / NANOS_IN_A_SECOND;
+        // 10 MB at 1 MB per second, less the initial burst
+        assertEquals(10.0, seconds, 0.05);
+        assertEquals(8 * 1000 * 1000, throttler.getTargetBps());
+        assertEquals(8 * 1000 * 1000, throttler.getAchievedBps(), 8 * 1000 * 10);
+    }
+
+    @Test
+    public void testUpstreamKbpsIsCappedAtMaximum() {
+        final TokenBucketThrottler throttler = new TokenBucketThrottler(1024 * 1000, mClock);
+
+        throttler.setUpstreamKbps(500);
+        assertEquals(1024 * 500, throttler.getTargetBps());
+
+        throttler.setUpstreamKbps(5000);
+        assertEquals(1024 * 1000, throttler.getTargetBps());
+    }
+
+    @Test
+    public void testPermitAvailableListenerRuns() throws Exception {
+        final TokenBucketThrottler throttler = new TokenBucketThrottler(8 * 1000 * 1000);
+        while (throttler.tryGetAllowedBytes(Integer.MAX_VALUE) > 0) {
+            // empty the bucket
+        }
+        final AtomicInteger allowed = new AtomicInteger();
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            throttler.schedulePermitAvailable(1000, scheduler, new Runnable() {
+                @Override
+                public void run() {
+                    allowed.set(throttler.tryGetAllowedBytes(1000));
+                }
+            }).get(1, TimeUnit.SECONDS);
+        } finally {
+            scheduler.shutdownNow();
+        }
+
+        assertEquals(1000, allowed.get());
+    }
+
+    @Test
+    public void testInterruptedCallerDoesNotWait() {
+        final TokenBucket bucket = new TokenBucket(1, 1);
+        bucket.acquire(1);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertEquals(1, bucket.acquire(1));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static final class FakeClock implements TokenBucket.Clock {
+        private long mNanos = 1;
+        private long mParkedNanos;
+
+        @Override
+        public long nanoTime() {
+            return mNanos;
+        }
+
+        @Override
+        public void parkNanos(final long nanos) {
+            mParkedNanos += nanos;
+            mNanos += nanos;
+        }
+
+        void advance(final long nanos) {
+            mNanos += nanos;
+        }
+    }
+}
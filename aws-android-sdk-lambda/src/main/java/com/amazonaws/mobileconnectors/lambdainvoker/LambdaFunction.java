@@ -32,6 +32,17 @@ import java.lang.annotation.Target;
  * }
  * </code>
  * </pre>
+ * <p>
+ * A method that returns a {@link java.util.concurrent.Future} of the result
+ * invokes the function on the executor of the {@link LambdaInvokerFactory}
+ * and returns immediately:
+ *
+ * <pre>
+ * <code>
+ *   {@literal @}LambdaFunction(functionName = "echo")
+ *   Future&lt;String&gt; echoAsync(String str);
+ * </code>
+ * </pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
@@ -70,4 +81,14 @@ public @interface LambdaFunction {
      * of the $LATEST version.
      */
     String qualifier() default "";
+
+    /**
+     * The number of seconds the result of a call is reused by calls with the
+     * same argument, or 0, the default, to invoke the function on every call.
+     * Only set it on idempotent functions. Function errors and calls with a
+     * log type other than 'None' are never cached. Results are kept per
+     * Cognito identity (or access key) and client context, and nothing is
+     * cached when the factory doesn't know the credentials provider.
+     */
+    int cacheTtlSeconds() default 0;
 }
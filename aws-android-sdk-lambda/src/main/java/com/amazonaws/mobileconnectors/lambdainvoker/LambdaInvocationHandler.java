@@ -1,6 +1,10 @@
 
 package com.amazonaws.mobileconnectors.lambdainvoker;
 
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.CognitoCredentialsProvider;
+import com.amazonaws.http.SharedExecutors;
 import com.amazonaws.mobileconnectors.util.ClientContext;
 import com.amazonaws.services.lambda.AWSLambda;
 import com.amazonaws.services.lambda.model.InvocationType;
@@ -16,8 +20,13 @@ import com.amazonaws.logging.LogFactory;
 import java.io.IOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Invocation handler for Lambda.
@@ -32,6 +41,9 @@ class LambdaInvocationHandler implements InvocationHandler {
     private final AWSLambda lambda;
     private final LambdaDataBinder binder;
     private final ClientContext clientContext;
+    private final ExecutorService executor;
+    private final LambdaResultCache resultCache;
+    private final AWSCredentialsProvider provider;
 
     // -------------------------------------------------------------
     // Constructors
@@ -43,16 +55,37 @@ class LambdaInvocationHandler implements InvocationHandler {
      */
     public LambdaInvocationHandler(AWSLambda lambda, LambdaDataBinder binder,
             ClientContext clientContext) {
+        this(lambda, binder, clientContext, null, null, null);
+    }
+
+    /**
+     * @param lambda lambda client
+     * @param binder data binder
+     * @param clientContext client context, null if unavailable
+     * @param executor executor of the methods returning a future, null for
+     *            the shared I/O executor
+     * @param resultCache cache of the results of cacheable functions, null to
+     *            disable caching
+     * @param provider the credentials provider of the lambda client, used to
+     *            tell callers apart in the result cache. Results are not
+     *            cached if it is null.
+     */
+    LambdaInvocationHandler(AWSLambda lambda, LambdaDataBinder binder,
+            ClientContext clientContext, ExecutorService executor,
+            LambdaResultCache resultCache, AWSCredentialsProvider provider) {
         this.lambda = lambda;
         this.binder = binder;
         this.clientContext = clientContext;
+        this.executor = executor;
+        this.resultCache = resultCache;
+        this.provider = provider;
     }
 
     // -------------------------------------------------------------
     // Implementation - InvocationHandler
     // -------------------------------------------------------------
     @Override
-    public Object invoke(Object proxy, Method method, Object[] args)
+    public Object invoke(Object proxy, final Method method, Object[] args)
             throws Throwable {
         validateInterfaceMethod(method, args);
 
@@ -60,9 +93,17 @@ class LambdaInvocationHandler implements InvocationHandler {
         // empty array when the method takes no arguments.
         final Object buildArg = (args == null || args.length == 0) ? null : args[0];
         final InvokeRequest invokeRequest = buildInvokeRequest(method, buildArg);
-        final InvokeResult invokeResult = lambda.invoke(invokeRequest);
-
-        return processInvokeResult(method, invokeResult);
+        if (Future.class.equals(method.getReturnType())) {
+            final ExecutorService service = executor != null ? executor
+                    : SharedExecutors.getIoExecutor();
+            return service.submit(new Callable<Object>() {
+                @Override
+                public Object call() throws IOException {
+                    return invokeFunction(method, invokeRequest);
+                }
+            });
+        }
+        return invokeFunction(method, invokeRequest);
     }
 
     // -------------------------------------------------------------
@@ -78,6 +119,61 @@ class LambdaInvocationHandler implements InvocationHandler {
             throw new UnsupportedOperationException(
                     "LambdaFunctions take either 0 or 1 arguments.");
         }
+
+        if (Future.class.equals(method.getReturnType()) && getResultType(method) == null) {
+            throw new UnsupportedOperationException("LambdaFunction " + method.getName()
+                    + " must declare the result type of its Future.");
+        }
+    }
+
+    /**
+     * Invokes the function, or reuses a cached result of a cacheable one.
+     */
+    Object invokeFunction(Method method, InvokeRequest invokeRequest) throws IOException {
+        final int ttlSeconds = method.getAnnotation(LambdaFunction.class).cacheTtlSeconds();
+        final String identity = resultCache != null && ttlSeconds > 0
+                && InvocationType.RequestResponse.toString()
+                        .equals(invokeRequest.getInvocationType())
+                && LogType.None.toString().equals(invokeRequest.getLogType())
+                ? getCallerIdentity() : null;
+        final boolean cacheable = identity != null;
+        String key = null;
+        if (cacheable) {
+            key = LambdaResultCache.key(invokeRequest.getFunctionName(),
+                    invokeRequest.getQualifier(), identity, invokeRequest.getClientContext(),
+                    invokeRequest.getPayload().array());
+            final LambdaResultCache.Entry cached = resultCache.get(key,
+                    System.currentTimeMillis());
+            if (cached != null) {
+                return deserializePayload(method, cached.statusCode,
+                        ByteBuffer.wrap(cached.payload));
+            }
+        }
+
+        final InvokeResult invokeResult = lambda.invoke(invokeRequest);
+        if (cacheable && invokeResult.getFunctionError() == null
+                && invokeResult.getPayload() != null && invokeResult.getStatusCode() != null) {
+            resultCache.put(key, invokeResult.getPayload().array(),
+                    invokeResult.getStatusCode(), ttlSeconds, System.currentTimeMillis());
+        }
+        return processInvokeResult(method, invokeResult);
+    }
+
+    /**
+     * Gets who the function is invoked as: the Cognito identity id, or the
+     * access key id of other credentials.
+     *
+     * @return the identity, or null if it is unknown
+     */
+    private String getCallerIdentity() {
+        if (provider == null) {
+            return null;
+        }
+        if (provider instanceof CognitoCredentialsProvider) {
+            return ((CognitoCredentialsProvider) provider).getIdentityId();
+        }
+        final AWSCredentials credentials = provider.getCredentials();
+        return credentials == null ? null : credentials.getAWSAccessKeyId();
     }
 
     InvokeRequest buildInvokeRequest(Method method, Object object) throws IOException {
@@ -126,13 +222,41 @@ class LambdaInvocationHandler implements InvocationHandler {
                     new String(invokeResult.getPayload().array(), StringUtils.UTF8));
         }
 
-        // deserialize payload
-        if (invokeResult.getStatusCode() == HttpURLConnection.HTTP_NO_CONTENT
-                || void.class.equals(method.getReturnType())) {
+        return deserializePayload(method, invokeResult.getStatusCode(),
+                invokeResult.getPayload());
+    }
+
+    private Object deserializePayload(Method method, Integer statusCode, ByteBuffer payload) {
+        final Class<?> resultType = getResultType(method);
+        if ((statusCode != null && statusCode == HttpURLConnection.HTTP_NO_CONTENT)
+                || void.class.equals(resultType) || Void.class.equals(resultType)) {
             return null;
         }
 
-        return binder.deserialize(invokeResult.getPayload().array(),
-                method.getReturnType());
+        return binder.deserialize(payload.array(), resultType);
+    }
+
+    /**
+     * Returns the type of the result of a method: its return type, or the
+     * type argument of the {@link Future} it returns.
+     *
+     * @return the result type, or null if the Future doesn't declare one
+     */
+    static Class<?> getResultType(Method method) {
+        if (!Future.class.equals(method.getReturnType())) {
+            return method.getReturnType();
+        }
+        final Type type = method.getGenericReturnType();
+        if (!(type instanceof ParameterizedType)) {
+            return null;
+        }
+        final Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+        if (argument instanceof Class) {
+            return (Class<?>) argument;
+        }
+        if (argument instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) argument).getRawType();
+        }
+        return null;
     }
 }
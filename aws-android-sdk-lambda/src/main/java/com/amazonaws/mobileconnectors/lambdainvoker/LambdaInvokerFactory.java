@@ -29,6 +29,7 @@ import com.amazonaws.services.lambda.AWSLambdaClient;
 import org.json.JSONObject;
 
 import java.lang.reflect.Proxy;
+import java.util.concurrent.ExecutorService;
 
 /**
  * A factory class that creates a dynamic proxy object backed by Lambda service.
@@ -42,6 +43,9 @@ public class LambdaInvokerFactory {
 
     private final AWSLambda lambda;
     private final ClientContext clientContext;
+    private final ExecutorService executor;
+    private final LambdaResultCache resultCache;
+    private final AWSCredentialsProvider provider;
     
     /**
      * Builder class for LambdaInvokerFactory
@@ -54,6 +58,8 @@ public class LambdaInvokerFactory {
         private AWSConfiguration awsConfig;
         private AWSLambda lambda;
         private ClientContext clientContext;
+        private ExecutorService executor;
+        private int resultCacheSize = LambdaResultCache.DEFAULT_MAX_ENTRIES;
         
         protected Builder() { }
         
@@ -122,6 +128,11 @@ public class LambdaInvokerFactory {
          * {@link #region(Regions)} or
          * {@link #awsConfiguration(AWSConfiguration)}
          * 
+         * Set {@link #credentialsProvider(AWSCredentialsProvider)} to the
+         * provider of this client as well, otherwise the results of the
+         * functions declared with {@link LambdaFunction#cacheTtlSeconds()}
+         * are not cached.
+         *
          * @param lambda The lambda client making the network calls
          * @return builder
          */
@@ -130,6 +141,31 @@ public class LambdaInvokerFactory {
             return this;
         }
 
+        /**
+         * Sets the executor that invokes the functions of the methods
+         * returning a {@link java.util.concurrent.Future}. The shared I/O
+         * executor of the SDK is used if it isn't set.
+         *
+         * @param executor the executor of asynchronous invocations
+         * @return builder
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of results kept for the functions declared
+         * with {@link LambdaFunction#cacheTtlSeconds()}. The default is 100.
+         *
+         * @param resultCacheSize the maximum number of cached results
+         * @return builder
+         */
+        public Builder resultCacheSize(int resultCacheSize) {
+            this.resultCacheSize = resultCacheSize;
+            return this;
+        }
+
         /**
          * This region will be overridden by {@link #region(Regions)}, if specified.
          * 
@@ -203,7 +239,8 @@ public class LambdaInvokerFactory {
                 this.lambda.setRegion(Region.getRegion(this.region));
             }
             
-            return new LambdaInvokerFactory(this.lambda, this.clientContext);
+            return new LambdaInvokerFactory(this.lambda, this.clientContext, this.executor,
+                    new LambdaResultCache(this.resultCacheSize), this.provider);
         }
     }
     
@@ -287,6 +324,9 @@ public class LambdaInvokerFactory {
         lambda = new AWSLambdaClient(provider, clientConfiguration);
         lambda.setRegion(Region.getRegion(region));
         clientContext = new ClientContext(context);
+        executor = null;
+        resultCache = new LambdaResultCache(LambdaResultCache.DEFAULT_MAX_ENTRIES);
+        this.provider = provider;
     }
 
     /**
@@ -300,8 +340,18 @@ public class LambdaInvokerFactory {
      *                                            .build();
      */
     LambdaInvokerFactory(AWSLambda lambda, ClientContext clientContext) {
+        this(lambda, clientContext, null,
+                new LambdaResultCache(LambdaResultCache.DEFAULT_MAX_ENTRIES), null);
+    }
+
+    LambdaInvokerFactory(AWSLambda lambda, ClientContext clientContext,
+            ExecutorService executor, LambdaResultCache resultCache,
+            AWSCredentialsProvider provider) {
         this.lambda = lambda;
         this.clientContext = clientContext;
+        this.executor = executor;
+        this.resultCache = resultCache;
+        this.provider = provider;
     }
 
     /**
@@ -329,7 +379,8 @@ public class LambdaInvokerFactory {
                 new Class<?>[] {
                     interfaceClass
                 },
-                new LambdaInvocationHandler(lambda, binder, clientContext));
+                new LambdaInvocationHandler(lambda, binder, clientContext, executor,
+                        resultCache, provider));
         return interfaceClass.cast(proxy);
     }
 
@@ -343,4 +394,13 @@ public class LambdaInvokerFactory {
     public ClientContext getClientContext() {
         return clientContext;
     }
+
+    /**
+     * Discards the results cached for the functions declared with
+     * {@link LambdaFunction#cacheTtlSeconds()}, e.g. after the data they read
+     * changed.
+     */
+    public void clearResultCache() {
+        resultCache.clear();
+    }
 }
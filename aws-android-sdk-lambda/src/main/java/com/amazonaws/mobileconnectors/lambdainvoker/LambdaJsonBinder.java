@@ -21,11 +21,6 @@ import androidx.annotation.Nullable;
 import com.amazonaws.util.StringUtils;
 import com.google.gson.Gson;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-
 /**
  * A Json data binder backed by Gson.
  */
@@ -51,9 +46,9 @@ public class LambdaJsonBinder implements LambdaDataBinder {
         if (content == null) {
             return null;
         }
-        Reader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content),
-                StringUtils.UTF8));
-        return gson.fromJson(reader, clazz);
+        // The payload is already in memory; decode it in one pass instead of
+        // through a chain of buffered readers.
+        return gson.fromJson(new String(content, StringUtils.UTF8), clazz);
     }
 
     @Override
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.lambdainvoker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the response payloads of functions declared with
+ * {@link LambdaFunction#cacheTtlSeconds()}. Entries are keyed by function,
+ * qualifier, caller identity, client context and request payload, so callers
+ * never see each other's results. They expire after the TTL of their
+ * function, and the least recently used entry is dropped when the cache is
+ * full. Payloads
+ * rather than results are kept, so every caller deserializes its own copy.
+ */
+class LambdaResultCache {
+
+    /** Default maximum number of cached results. */
+    static final int DEFAULT_MAX_ENTRIES = 100;
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * A cached response.
+     */
+    static final class Entry {
+        final byte[] payload;
+        final int statusCode;
+        final long expiresAt;
+
+        Entry(byte[] payload, int statusCode, long expiresAt) {
+            this.payload = payload;
+            this.statusCode = statusCode;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    LambdaResultCache(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Builds the key of an invocation.
+     *
+     * @param functionName the function name
+     * @param qualifier the version or alias, may be null
+     * @param identity the Cognito identity id or access key of the caller
+     * @param clientContext the Base64 encoded client context, may be null
+     * @param payload the request payload
+     * @return the key
+     */
+    static String key(String functionName, String qualifier, String identity,
+            String clientContext, byte[] payload) {
+        final StringBuilder key = new StringBuilder(payload.length + 128);
+        appendPart(key, functionName);
+        appendPart(key, qualifier);
+        appendPart(key, identity);
+        appendPart(key, clientContext);
+        for (final byte b : payload) {
+            key.append((char) (b & 0xFF));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Appends a length prefixed part, so that parts containing the separator
+     * can't make two keys equal.
+     */
+    private static void appendPart(StringBuilder key, String part) {
+        if (part == null) {
+            key.append('-');
+        } else {
+            key.append(part.length()).append(':').append(part);
+        }
+        key.append(':');
+    }
+
+    /**
+     * @param key the key of the invocation
+     * @param now the current time in milliseconds
+     * @return the cached response, or null if there is none or it expired
+     */
+    synchronized Entry get(String key, long now) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= now) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Caches a response.
+     *
+     * @param key the key of the invocation
+     * @param payload the response payload, not modified afterwards
+     * @param statusCode the status code of the response
+     * @param ttlSeconds the time to live of the entry
+     * @param now the current time in milliseconds
+     */
+    synchronized void put(String key, byte[] payload, int statusCode, int ttlSeconds,
+            long now) {
+        entries.put(key, new Entry(payload, statusCode, now + ttlSeconds * MILLIS_PER_SECOND));
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -17,7 +17,10 @@ package com.amazonaws.mobileconnectors.lambdainvoker;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.services.lambda.AWSLambda;
@@ -28,6 +31,7 @@ import com.amazonaws.util.StringUtils;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.CognitoCredentialsProvider;
 import com.amazonaws.internal.StaticCredentialsProvider;
 import com.amazonaws.mobile.config.AWSConfiguration;
 
@@ -41,6 +45,9 @@ import org.robolectric.RobolectricTestRunner;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @RunWith(RobolectricTestRunner.class)
 public class LambdaInvocationHandlerTest {
@@ -52,7 +59,9 @@ public class LambdaInvocationHandlerTest {
     @Before
     public void setup() {
         lambda = Mockito.mock(AWSLambda.class);
-        factory = new LambdaInvokerFactory(lambda, null);
+        factory = new LambdaInvokerFactory(lambda, null, null,
+                new LambdaResultCache(LambdaResultCache.DEFAULT_MAX_ENTRIES),
+                new StaticCredentialsProvider(new BasicAWSCredentials("access", "secret")));
         invoker = factory.build(MockInterface.class);
         handler = (LambdaInvocationHandler) Proxy.getInvocationHandler(invoker);
     }
@@ -83,6 +92,19 @@ public class LambdaInvocationHandlerTest {
 
         @LambdaFunction
         String echoNoArgument();
+
+        @LambdaFunction(functionName = "echo")
+        Future<String> echoAsync(String a);
+
+        @LambdaFunction(functionName = "echo")
+        @SuppressWarnings("rawtypes")
+        Future echoAsyncRaw(String a);
+
+        @LambdaFunction(functionName = "echo", cacheTtlSeconds = 60)
+        String echoCached(String a);
+
+        @LambdaFunction(functionName = "echo", invocationType = "Event", cacheTtlSeconds = 60)
+        String echoEventCached(String a);
     }
     
     @Test(expected=java.lang.IllegalArgumentException.class)
@@ -296,6 +318,147 @@ public class LambdaInvocationHandlerTest {
         }
     }
 
+    @Test
+    public void testInvokeAsync() throws Exception {
+        String input = "Hello world!";
+        InvokeResult invokeResult = createInvokeResult(200, null, "\"" + input + "\"");
+        Mockito.when(lambda.invoke(Matchers.any(InvokeRequest.class))).thenReturn(invokeResult);
+        Future<String> result = invoker.echoAsync(input);
+        assertEquals("echo", input, result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testInvokeAsyncException() throws Exception {
+        InvokeResult invokeResult = createInvokeResult(200, "Panic!", "Bulls eye");
+        Mockito.when(lambda.invoke(Matchers.any(InvokeRequest.class))).thenReturn(invokeResult);
+        try {
+            invoker.echoAsync("Hello world!").get(5, TimeUnit.SECONDS);
+            fail("Expected the function error");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof LambdaFunctionException);
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testInvokeAsyncWithoutResultType() {
+        invoker.echoAsyncRaw("Hello world!");
+    }
+
+    @Test
+    public void testInvokeCached() {
+        Mockito.when(lambda.invoke(Matchers.any(InvokeRequest.class)))
+                .thenReturn(createInvokeResult(200, null, "\"first\""))
+                .thenReturn(createInvokeResult(200, null, "\"second\""))
+                .thenReturn(createInvokeResult(200, null, "\"third\""));
+        assertEquals("first", invoker.echoCached("a"));
+        assertEquals("first", invoker.echoCached("a"));
+        assertEquals("second", invoker.echoCached("b"));
+        Mockito.verify(lambda, Mockito.times(2)).invoke(Matchers.any(InvokeRequest.class));
+
+        factory.clearResultCache();
+        assertEquals("third", invoker.echoCached("a"));
+    }
+
+    @Test
+    public void testFunctionErrorsAndEventsAreNotCached() {
+        InvokeResult error = createInvokeResult(200, "Panic!", "Bulls eye");
+        Mockito.when(lambda.invoke(Matchers.any(InvokeRequest.class)))
+                .thenReturn(error)
+                .thenReturn(createInvokeResult(200, null, "\"ok\""))
+                .thenReturn(createInvokeResult(202, null, ""))
+                .thenReturn(createInvokeResult(202, null, ""));
+        try {
+            invoker.echoCached("a");
+            fail("Expected the function error");
+        } catch (LambdaFunctionException lfe) {
+            // expected
+        }
+        assertEquals("ok", invoker.echoCached("a"));
+        invoker.echoEventCached("a");
+        invoker.echoEventCached("a");
+        Mockito.verify(lambda, Mockito.times(4)).invoke(Matchers.any(InvokeRequest.class));
+    }
+
+    @Test
+    public void testResultsAreCachedPerIdentity() {
+        CognitoCredentialsProvider provider = Mockito.mock(CognitoCredentialsProvider.class);
+        Mockito.when(provider.getIdentityId())
+                .thenReturn("us-east-1:alice")
+                .thenReturn("us-east-1:bob")
+                .thenReturn("us-east-1:alice");
+        Mockito.when(lambda.invoke(Matchers.any(InvokeRequest.class)))
+                .thenReturn(createInvokeResult(200, null, "\"alice\""))
+                .thenReturn(createInvokeResult(200, null, "\"bob\""));
+        MockInterface cognitoInvoker = new LambdaInvokerFactory(lambda, null, null,
+                new LambdaResultCache(LambdaResultCache.DEFAULT_MAX_ENTRIES), provider)
+                .build(MockInterface.class);
+
+        assertEquals("alice", cognitoInvoker.echoCached("a"));
+        assertEquals("bob", cognitoInvoker.echoCached("a"));
+        assertEquals("alice", cognitoInvoker.echoCached("a"));
+        Mockito.verify(lambda, Mockito.times(2)).invoke(Matchers.any(InvokeRequest.class));
+    }
+
+    @Test
+    public void testResultsAreCachedPerClientContext() throws Exception {
+        Mockito.when(lambda.invoke(Matchers.any(InvokeRequest.class)))
+                .thenReturn(createInvokeResult(200, null, "\"first\""))
+                .thenReturn(createInvokeResult(200, null, "\"second\""));
+        Method method = getMethod("echoCached", String.class);
+        InvokeRequest first = handler.buildInvokeRequest(method, "a");
+        first.setClientContext("Y29udGV4dDE=");
+        InvokeRequest second = handler.buildInvokeRequest(method, "a");
+        second.setClientContext("Y29udGV4dDI=");
+
+        assertEquals("first", handler.invokeFunction(method, first));
+        assertEquals("second", handler.invokeFunction(method, second));
+        assertEquals("first", handler.invokeFunction(method, first));
+        Mockito.verify(lambda, Mockito.times(2)).invoke(Matchers.any(InvokeRequest.class));
+    }
+
+    @Test
+    public void testResultsAreNotCachedWithoutCredentialsProvider() {
+        Mockito.when(lambda.invoke(Matchers.any(InvokeRequest.class)))
+                .thenReturn(createInvokeResult(200, null, "\"first\""))
+                .thenReturn(createInvokeResult(200, null, "\"second\""));
+        MockInterface uncached = new LambdaInvokerFactory(lambda, null)
+                .build(MockInterface.class);
+
+        assertEquals("first", uncached.echoCached("a"));
+        assertEquals("second", uncached.echoCached("a"));
+    }
+
+    @Test
+    public void testResultCacheKeys() {
+        byte[] payload = "1".getBytes(StringUtils.UTF8);
+        String key = LambdaResultCache.key("f", null, "id", "ctx", payload);
+        assertEquals(key, LambdaResultCache.key("f", null, "id", "ctx", payload));
+        assertTrue(!key.equals(LambdaResultCache.key("f", null, "id2", "ctx", payload)));
+        assertTrue(!key.equals(LambdaResultCache.key("f", null, "id", null, payload)));
+        assertTrue(!LambdaResultCache.key("f:a", null, "b", null, payload)
+                .equals(LambdaResultCache.key("f", null, "a:b", null, payload)));
+    }
+
+    @Test
+    public void testResultCacheExpiresAndEvicts() {
+        LambdaResultCache cache = new LambdaResultCache(2);
+        byte[] payload = "\"x\"".getBytes(StringUtils.UTF8);
+        String a = LambdaResultCache.key("f", null, "id", null, "1".getBytes(StringUtils.UTF8));
+        String b = LambdaResultCache.key("f", "v2", "id", null, "1".getBytes(StringUtils.UTF8));
+        String c = LambdaResultCache.key("f", null, "id", null, "2".getBytes(StringUtils.UTF8));
+        cache.put(a, payload, 200, 10, 0);
+        assertNotNull(cache.get(a, 9999));
+        assertNull(cache.get(a, 10000));
+
+        cache.put(a, payload, 200, 10, 0);
+        cache.put(b, payload, 200, 10, 0);
+        cache.get(a, 0);
+        cache.put(c, payload, 200, 10, 0);
+        assertEquals(2, cache.size());
+        assertNull(cache.get(b, 0));
+        assertNotNull(cache.get(a, 0));
+    }
+
     private Method getMethod(String name, Class<?>... classes)
             throws NoSuchMethodException, SecurityException {
         return MockInterface.class.getMethod(name, classes);
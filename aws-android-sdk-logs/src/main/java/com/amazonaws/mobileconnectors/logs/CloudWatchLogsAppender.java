@@ -0,0 +1,454 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.logs;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.logs.AmazonCloudWatchLogs;
+import com.amazonaws.services.logs.model.CreateLogStreamRequest;
+import com.amazonaws.services.logs.model.DataAlreadyAcceptedException;
+import com.amazonaws.services.logs.model.InputLogEvent;
+import com.amazonaws.services.logs.model.InvalidSequenceTokenException;
+import com.amazonaws.services.logs.model.PutLogEventsRequest;
+import com.amazonaws.services.logs.model.PutLogEventsResult;
+import com.amazonaws.services.logs.model.RejectedLogEventsInfo;
+import com.amazonaws.services.logs.model.ResourceAlreadyExistsException;
+import com.amazonaws.services.logs.model.ResourceNotFoundException;
+import com.amazonaws.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An asynchronous log appender for Amazon CloudWatch Logs. Appended events are
+ * kept in a bounded in-memory buffer, spooled to disk by a background thread
+ * and sent with PutLogEvents once enough events are pending or the flush
+ * interval elapses. Batches respect the service limits of 10,000 events and
+ * 1 MiB per call, are sent in chronological order and carry the sequence
+ * token returned by the previous call.
+ * <p>
+ * Events that are on disk survive process restarts and are sent by the next
+ * flush. Events appended while the in-memory buffer is full, or that don't fit
+ * in the storage limit, are dropped and counted in
+ * {@link #getDroppedEventCount()}.
+ * </p>
+ */
+public class CloudWatchLogsAppender {
+    private static final Log LOGGER = LogFactory.getLog(CloudWatchLogsAppender.class);
+    private static final String DIRECTORY_NAME = "cloudwatch_logs";
+    private static final int MAX_RETRY_COUNT = 3;
+    /**
+     * Maximum size in bytes of a single event, including the per-event
+     * overhead.
+     */
+    private static final int MAX_EVENT_SIZE_BYTES = 256 * 1024;
+
+    private static final Comparator<InputLogEvent> CHRONOLOGICAL = new Comparator<InputLogEvent>() {
+        @Override
+        public int compare(InputLogEvent lhs, InputLogEvent rhs) {
+            final long l = lhs.getTimestamp().longValue();
+            final long r = rhs.getTimestamp().longValue();
+            return l < r ? -1 : (l == r ? 0 : 1);
+        }
+    };
+
+    private final AmazonCloudWatchLogs client;
+    private final String logGroupName;
+    private final String logStreamName;
+    private final CloudWatchLogsAppenderConfig config;
+    private final LogEventStore eventStore;
+    private final BlockingQueue<InputLogEvent> buffer;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drainScheduled.set(false);
+            final int spooled = drainBuffer();
+            if (spooled > 0 && shouldFlush()) {
+                flushQuietly();
+            }
+        }
+    };
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushQuietly();
+        }
+    };
+
+    private volatile String sequenceToken;
+    private volatile long lastFailureTime;
+    private int pendingEvents;
+
+    /**
+     * Constructs a new appender with the default configuration.
+     *
+     * @param directory An empty directory the appender can use for storing
+     *            log events
+     * @param client the client used to send log events
+     * @param logGroupName the name of an existing log group
+     * @param logStreamName the name of the log stream
+     */
+    public CloudWatchLogsAppender(File directory, AmazonCloudWatchLogs client,
+            String logGroupName, String logStreamName) {
+        this(directory, client, logGroupName, logStreamName,
+                new CloudWatchLogsAppenderConfig());
+    }
+
+    /**
+     * Constructs a new appender.
+     *
+     * @param directory An empty directory the appender can use for storing
+     *            log events
+     * @param client the client used to send log events
+     * @param logGroupName the name of an existing log group
+     * @param logStreamName the name of the log stream
+     * @param config the appender configuration
+     */
+    public CloudWatchLogsAppender(File directory, AmazonCloudWatchLogs client,
+            String logGroupName, String logStreamName, CloudWatchLogsAppenderConfig config) {
+        this(new LogEventStore(new File(directory, DIRECTORY_NAME),
+                        fileName(logGroupName, logStreamName), config.getMaxStorageSize()),
+                client, logGroupName, logStreamName, config,
+                Executors.newSingleThreadScheduledExecutor());
+    }
+
+    CloudWatchLogsAppender(LogEventStore eventStore, AmazonCloudWatchLogs client,
+            String logGroupName, String logStreamName, CloudWatchLogsAppenderConfig config,
+            ScheduledExecutorService executor) {
+        if (client == null) {
+            throw new IllegalArgumentException("Client can't be null");
+        }
+        if (StringUtils.isBlank(logGroupName) || StringUtils.isBlank(logStreamName)) {
+            throw new IllegalArgumentException("Log group and log stream names are required");
+        }
+        this.eventStore = eventStore;
+        this.client = client;
+        this.logGroupName = logGroupName;
+        this.logStreamName = logStreamName;
+        this.config = new CloudWatchLogsAppenderConfig(config);
+        this.buffer = new LinkedBlockingQueue<InputLogEvent>(this.config.getMaxBufferedEvents());
+        this.executor = executor;
+
+        final long interval = this.config.getFlushInterval();
+        if (interval > 0) {
+            executor.scheduleWithFixedDelay(flushTask, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Appends a message with the current time as its timestamp. This method
+     * doesn't block and does no I/O, so it's safe to call from any thread.
+     *
+     * @param message the log message
+     */
+    public void append(String message) {
+        append(System.currentTimeMillis(), message);
+    }
+
+    /**
+     * Appends a message with the given timestamp. This method doesn't block
+     * and does no I/O, so it's safe to call from any thread.
+     *
+     * @param timestamp milliseconds since Jan 1, 1970 00:00:00 UTC
+     * @param message the log message
+     */
+    public void append(long timestamp, String message) {
+        if (message == null || message.length() == 0) {
+            return;
+        }
+        if (!buffer.offer(new InputLogEvent().withTimestamp(timestamp).withMessage(message))) {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(drainTask);
+            } catch (final RuntimeException e) {
+                drainScheduled.set(false);
+                LOGGER.warn("Appender is shut down, event stays in memory", e);
+            }
+        }
+    }
+
+    /**
+     * Requests that all pending events are sent on the background thread.
+     *
+     * @return a future that completes once the flush is done
+     */
+    public Future<?> flush() {
+        return executor.submit(flushTask);
+    }
+
+    /**
+     * Sends all pending events to Amazon CloudWatch Logs. Events that are sent
+     * successfully are removed from the device. Events that fail due to the
+     * device being offline or the service being unavailable stop the
+     * submission process and are kept. Events that fail due to other reasons
+     * (such as the request being invalid) are deleted. Note: this method makes
+     * network calls, do not call it on the main thread of your application.
+     *
+     * @throws AmazonClientException Thrown if there was an unrecoverable error
+     *             during submission.
+     */
+    public synchronized void submitAllEvents() {
+        drainBuffer();
+        pendingEvents = 0;
+
+        boolean streamCreated = false;
+        int retry = 0;
+        int count = 0;
+        try {
+            while (true) {
+                final LogEventStore.Batch batch = eventStore.peek(config.getMaxBatchCount(),
+                        config.getMaxBatchSize());
+                if (batch.lines == 0) {
+                    break;
+                }
+                if (batch.events.isEmpty()) {
+                    eventStore.remove(batch.lines);
+                    continue;
+                }
+                Collections.sort(batch.events, CHRONOLOGICAL);
+
+                try {
+                    final PutLogEventsResult result = client.putLogEvents(new PutLogEventsRequest()
+                            .withLogGroupName(logGroupName)
+                            .withLogStreamName(logStreamName)
+                            .withSequenceToken(sequenceToken)
+                            .withLogEvents(batch.events));
+                    sequenceToken = result.getNextSequenceToken();
+                    logRejectedEvents(result.getRejectedLogEventsInfo());
+                    eventStore.remove(batch.lines);
+                    count += batch.events.size();
+                    retry = 0;
+                } catch (final InvalidSequenceTokenException e) {
+                    // Another writer moved the stream forward, retry with the
+                    // token the service expects. The events are kept if the
+                    // stream keeps moving.
+                    sequenceToken = e.getExpectedSequenceToken();
+                    if (++retry >= MAX_RETRY_COUNT) {
+                        LOGGER.error("Failed to send log events after " + retry
+                                + " sequence token conflicts, they will be kept and retried later", e);
+                        throw e;
+                    }
+                } catch (final DataAlreadyAcceptedException e) {
+                    // The previous attempt went through but its response was
+                    // lost, so the batch must not be sent twice.
+                    sequenceToken = e.getExpectedSequenceToken();
+                    eventStore.remove(batch.lines);
+                } catch (final ResourceNotFoundException e) {
+                    if (!config.isCreateLogStream() || streamCreated) {
+                        throw e;
+                    }
+                    createLogStream();
+                    streamCreated = true;
+                    sequenceToken = null;
+                } catch (final AmazonClientException ace) {
+                    if (isRecoverable(ace)) {
+                        LOGGER.error("Failed to send log events, they will be kept and retried later",
+                                ace);
+                    } else {
+                        LOGGER.error("Failed to send log events, the batch is presumed to be the cause"
+                                + " and will be dropped", ace);
+                        eventStore.remove(batch.lines);
+                    }
+                    throw ace;
+                }
+            }
+            lastFailureTime = 0;
+        } catch (final AmazonClientException ace) {
+            lastFailureTime = System.currentTimeMillis();
+            throw ace;
+        } catch (final IOException e) {
+            lastFailureTime = System.currentTimeMillis();
+            throw new AmazonClientException("Failed to remove sent log events", e);
+        } finally {
+            LOGGER.debug(String.format("submitAllEvents sent %d events", count));
+        }
+    }
+
+    /**
+     * Stops the background thread. Buffered events are written to disk first
+     * so they can be sent by the next appender on this directory. Pending
+     * events are not sent, call {@link #flush()} before shutting down to send
+     * them.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.warn("Timed out waiting for the appender thread to finish");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainBuffer();
+    }
+
+    /**
+     * Removes all events from memory and disk without sending them.
+     */
+    public synchronized void deleteAllEvents() {
+        buffer.clear();
+        try {
+            eventStore.clear();
+        } catch (final IOException e) {
+            throw new AmazonClientException("Error deleting log events", e);
+        }
+    }
+
+    /**
+     * @return the number of events that were dropped because the in-memory
+     *         buffer or the disk storage was full.
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * @return the number of bytes currently used on disk.
+     */
+    public long getDiskBytesUsed() {
+        return eventStore.getFileSize();
+    }
+
+    /**
+     * @return the configuration of this appender.
+     */
+    public CloudWatchLogsAppenderConfig getConfig() {
+        return config;
+    }
+
+    String getSequenceToken() {
+        return sequenceToken;
+    }
+
+    /**
+     * Moves buffered events to disk.
+     *
+     * @return the number of events written to disk
+     */
+    private synchronized int drainBuffer() {
+        final List<InputLogEvent> events = new ArrayList<InputLogEvent>(buffer.size());
+        buffer.drainTo(events);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        for (final InputLogEvent event : events) {
+            truncate(event);
+        }
+        try {
+            final int stored = eventStore.put(events);
+            droppedEvents.addAndGet(events.size() - stored);
+            pendingEvents += stored;
+            return stored;
+        } catch (final IOException e) {
+            droppedEvents.addAndGet(events.size());
+            LOGGER.error("Failed to save log events", e);
+            return 0;
+        }
+    }
+
+    private synchronized boolean shouldFlush() {
+        if (lastFailureTime > 0
+                && System.currentTimeMillis() - lastFailureTime < config.getFlushInterval()) {
+            // Wait for the next scheduled flush instead of waking up the
+            // radio again right after a failure.
+            return false;
+        }
+        return pendingEvents >= config.getFlushThresholdCount()
+                || eventStore.getFileSize() >= config.getFlushThresholdBytes();
+    }
+
+    private void flushQuietly() {
+        try {
+            submitAllEvents();
+        } catch (final AmazonClientException ace) {
+            LOGGER.warn("Failed to flush log events", ace);
+        }
+    }
+
+    private void createLogStream() {
+        try {
+            client.createLogStream(new CreateLogStreamRequest()
+                    .withLogGroupName(logGroupName)
+                    .withLogStreamName(logStreamName));
+        } catch (final ResourceAlreadyExistsException e) {
+            LOGGER.debug("Log stream " + logStreamName + " already exists");
+        }
+    }
+
+    private void logRejectedEvents(RejectedLogEventsInfo info) {
+        if (info == null) {
+            return;
+        }
+        LOGGER.warn("Some log events were rejected: " + info);
+    }
+
+    static void truncate(InputLogEvent event) {
+        final int limit = MAX_EVENT_SIZE_BYTES - LogEventStore.EVENT_OVERHEAD_BYTES;
+        String message = event.getMessage();
+        // A char takes at most 3 bytes in UTF-8, so short messages always fit.
+        if (message.length() * 3 <= limit) {
+            return;
+        }
+        while (message.getBytes(StringUtils.UTF8).length > limit) {
+            int end = Math.min(limit, message.length() * 3 / 4);
+            // Don't split a surrogate pair, it would be encoded as '?'.
+            if (end > 0 && Character.isHighSurrogate(message.charAt(end - 1))) {
+                end--;
+            }
+            message = message.substring(0, end);
+        }
+        event.setMessage(message);
+    }
+
+    static boolean isRecoverable(AmazonClientException ace) {
+        if (ace instanceof AmazonServiceException) {
+            final AmazonServiceException ase = (AmazonServiceException) ace;
+            return RetryUtils.isThrottlingException(ase)
+                    || ase.getStatusCode() >= 500
+                    || "ServiceUnavailableException".equals(ase.getErrorCode())
+                    || "OperationAbortedException".equals(ase.getErrorCode());
+        } else {
+            return ace.getCause() != null && ace.getCause() instanceof IOException;
+        }
+    }
+
+    private static String fileName(String logGroupName, String logStreamName) {
+        return (logGroupName + "_" + logStreamName).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
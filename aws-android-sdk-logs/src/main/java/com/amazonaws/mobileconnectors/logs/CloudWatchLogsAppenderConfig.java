@@ -0,0 +1,244 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.logs;
+
+/**
+ * Allows configuration of certain CloudWatchLogsAppender parameters, such as
+ * the flush interval and the maximum storage size.
+ */
+public class CloudWatchLogsAppenderConfig {
+
+    /**
+     * Maximum number of log events allowed in a single PutLogEvents call.
+     */
+    static final int MAX_EVENTS_PER_BATCH = 10000;
+    /**
+     * Maximum size in bytes of a single PutLogEvents call. It is calculated
+     * as the sum of the UTF-8 message sizes plus 26 bytes per event.
+     */
+    static final int MAX_BATCH_SIZE_BYTES = 1024 * 1024;
+
+    private static final long DEFAULT_MAX_STORAGE_SIZE = 1024 * 1024 * 5L;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 60 * 1000L;
+    private static final int DEFAULT_FLUSH_THRESHOLD_COUNT = 1000;
+    private static final int DEFAULT_MAX_BUFFERED_EVENTS = 1024;
+
+    private long maxStorageSize = DEFAULT_MAX_STORAGE_SIZE;
+    private long flushIntervalMillis = DEFAULT_FLUSH_INTERVAL_MILLIS;
+    private int flushThresholdCount = DEFAULT_FLUSH_THRESHOLD_COUNT;
+    private int flushThresholdBytes = MAX_BATCH_SIZE_BYTES;
+    private int maxBatchCount = MAX_EVENTS_PER_BATCH;
+    private int maxBatchSize = MAX_BATCH_SIZE_BYTES;
+    private int maxBufferedEvents = DEFAULT_MAX_BUFFERED_EVENTS;
+    private boolean createLogStream = true;
+
+    /**
+     * Construct an instance of CloudWatchLogsAppenderConfig which has default
+     * values of maxStorageSize = 5MiB, flushInterval = 60 seconds,
+     * flushThresholdCount = 1000 events and maxBufferedEvents = 1024.
+     */
+    public CloudWatchLogsAppenderConfig() {
+    }
+
+    /**
+     * Creates a copy of the passed in CloudWatchLogsAppenderConfig.
+     *
+     * @param other the CloudWatchLogsAppenderConfig to copy.
+     */
+    public CloudWatchLogsAppenderConfig(CloudWatchLogsAppenderConfig other) {
+        this.maxStorageSize = other.maxStorageSize;
+        this.flushIntervalMillis = other.flushIntervalMillis;
+        this.flushThresholdCount = other.flushThresholdCount;
+        this.flushThresholdBytes = other.flushThresholdBytes;
+        this.maxBatchCount = other.maxBatchCount;
+        this.maxBatchSize = other.maxBatchSize;
+        this.maxBufferedEvents = other.maxBufferedEvents;
+        this.createLogStream = other.createLogStream;
+    }
+
+    /**
+     * Sets the max storage in bytes that the appender is allowed to use on
+     * disk. Events that exceed the max storage limit will be dropped.
+     *
+     * @param maxStorage the maximum storage.
+     * @return This class for chaining
+     */
+    public CloudWatchLogsAppenderConfig withMaxStorageSize(long maxStorage) {
+        this.maxStorageSize = maxStorage;
+        return this;
+    }
+
+    /**
+     * @return The current max storage in bytes that the appender is allowed
+     *         to use.
+     */
+    public long getMaxStorageSize() {
+        return maxStorageSize;
+    }
+
+    /**
+     * Sets the interval in milliseconds at which spooled events are sent
+     * regardless of how many are pending. A value of 0 disables time-based
+     * flushes.
+     *
+     * @param flushIntervalMillis the flush interval in milliseconds.
+     * @return This class for chaining
+     */
+    public CloudWatchLogsAppenderConfig withFlushInterval(long flushIntervalMillis) {
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("Flush interval can't be negative");
+        }
+        this.flushIntervalMillis = flushIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @return the interval in milliseconds between time-based flushes.
+     */
+    public long getFlushInterval() {
+        return flushIntervalMillis;
+    }
+
+    /**
+     * Sets the number of spooled events that triggers a flush before the
+     * flush interval elapses.
+     *
+     * @param count the number of events.
+     * @return This class for chaining
+     */
+    public CloudWatchLogsAppenderConfig withFlushThresholdCount(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Flush threshold count must be positive");
+        }
+        this.flushThresholdCount = count;
+        return this;
+    }
+
+    /**
+     * @return the number of spooled events that triggers a flush.
+     */
+    public int getFlushThresholdCount() {
+        return flushThresholdCount;
+    }
+
+    /**
+     * Sets the number of spooled bytes that triggers a flush before the flush
+     * interval elapses.
+     *
+     * @param bytes the number of bytes.
+     * @return This class for chaining
+     */
+    public CloudWatchLogsAppenderConfig withFlushThresholdBytes(int bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Flush threshold bytes must be positive");
+        }
+        this.flushThresholdBytes = bytes;
+        return this;
+    }
+
+    /**
+     * @return the number of spooled bytes that triggers a flush.
+     */
+    public int getFlushThresholdBytes() {
+        return flushThresholdBytes;
+    }
+
+    /**
+     * Sets the maximum number of events sent in one PutLogEvents call. The
+     * value is capped at the service limit of 10,000 events.
+     *
+     * @param count the maximum number of events per batch.
+     * @return This class for chaining
+     */
+    public CloudWatchLogsAppenderConfig withMaxBatchCount(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Max batch count must be positive");
+        }
+        this.maxBatchCount = Math.min(count, MAX_EVENTS_PER_BATCH);
+        return this;
+    }
+
+    /**
+     * @return the maximum number of events per PutLogEvents call.
+     */
+    public int getMaxBatchCount() {
+        return maxBatchCount;
+    }
+
+    /**
+     * Sets the maximum size in bytes of one PutLogEvents call. The value is
+     * capped at the service limit of 1 MiB.
+     *
+     * @param bytes the maximum batch size in bytes.
+     * @return This class for chaining
+     */
+    public CloudWatchLogsAppenderConfig withMaxBatchSize(int bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.maxBatchSize = Math.min(bytes, MAX_BATCH_SIZE_BYTES);
+        return this;
+    }
+
+    /**
+     * @return the maximum size in bytes of a PutLogEvents call.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of events held in memory before they are
+     * written to disk. Events appended while the buffer is full are dropped,
+     * which bounds the memory footprint of the appender.
+     *
+     * @param count the maximum number of buffered events.
+     * @return This class for chaining
+     */
+    public CloudWatchLogsAppenderConfig withMaxBufferedEvents(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Max buffered events must be positive");
+        }
+        this.maxBufferedEvents = count;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of events held in memory.
+     */
+    public int getMaxBufferedEvents() {
+        return maxBufferedEvents;
+    }
+
+    /**
+     * Sets whether the log stream is created when the service reports that
+     * it does not exist. The log group must already exist.
+     *
+     * @param createLogStream true to create a missing log stream.
+     * @return This class for chaining
+     */
+    public CloudWatchLogsAppenderConfig withCreateLogStream(boolean createLogStream) {
+        this.createLogStream = createLogStream;
+        return this;
+    }
+
+    /**
+     * @return true if a missing log stream is created on demand.
+     */
+    public boolean isCreateLogStream() {
+        return createLogStream;
+    }
+}
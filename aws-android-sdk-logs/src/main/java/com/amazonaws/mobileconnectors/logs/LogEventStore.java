@@ -0,0 +1,433 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.logs;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.services.logs.model.InputLogEvent;
+import com.amazonaws.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The LogEventStore spools log events to the Android disk until they are sent
+ * to Amazon CloudWatch Logs. Each event is stored as one line made of its
+ * timestamp and its escaped message, in the order they were appended.
+ * <p>
+ * Sent events are not removed from the file right away. The store keeps the
+ * offset of the first unsent line in a side file and only compacts the event
+ * file once most of it has been sent, so that removing a batch doesn't rewrite
+ * the whole backlog.
+ * </p>
+ */
+class LogEventStore {
+    private static final Log LOGGER = LogFactory.getLog(LogEventStore.class);
+
+    /**
+     * Fixed overhead the service adds to the size of every event.
+     */
+    static final int EVENT_OVERHEAD_BYTES = 26;
+    /**
+     * A batch of events can't span more than 24 hours.
+     */
+    static final long MAX_BATCH_SPAN_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private static final char SEPARATOR = '\t';
+    private static final String OFFSET_FILE_SUFFIX = ".offset";
+    /**
+     * Sent events are compacted away once they take at least this many bytes
+     * and more than half of the event file.
+     */
+    static final long MIN_COMPACTION_BYTES = 64 * 1024L;
+    private static final int COPY_BUFFER_SIZE = 8 * 1024;
+
+    private final ReentrantLock accessLock = new ReentrantLock(true);
+    private final File directory;
+    private final File eventFile;
+    private final File offsetFile;
+    private final long maxStorageSize;
+    /** Offset in bytes of the first unsent line of the event file. */
+    private long headOffset;
+
+    /**
+     * A batch of events read from the head of the store.
+     */
+    static class Batch {
+        /** The events in the order they were stored. */
+        final List<InputLogEvent> events;
+        /** The number of lines, including corrupted ones, the batch covers. */
+        final int lines;
+        /** The size of the batch as counted by the service. */
+        final int size;
+
+        Batch(List<InputLogEvent> events, int lines, int size) {
+            this.events = events;
+            this.lines = lines;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Creates the LogEventStore.
+     *
+     * @param directory The directory where the event file is kept
+     * @param fileName Name of the event file
+     * @param maxStorageSize Maximum storage size in bytes
+     */
+    LogEventStore(File directory, String fileName, long maxStorageSize) {
+        this.directory = directory;
+        this.eventFile = new File(directory, fileName);
+        this.offsetFile = new File(directory, fileName + OFFSET_FILE_SUFFIX);
+        this.maxStorageSize = maxStorageSize;
+        try {
+            tryCreateEventFile();
+            headOffset = readHeadOffset();
+        } catch (final IOException ioe) {
+            throw new AmazonClientException("Failed to create log event store", ioe);
+        }
+    }
+
+    /**
+     * Appends events to the end of the store. Events that would bring the
+     * store over its maximum size are dropped.
+     *
+     * @param events the events to append
+     * @return the number of events stored
+     * @throws IOException if the events can't be written
+     */
+    int put(List<InputLogEvent> events) throws IOException {
+        int stored = 0;
+        BufferedWriter writer = null;
+        accessLock.lock();
+        try {
+            tryCreateEventFile();
+            long size = eventFile.length() - headOffset;
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(eventFile, true), StringUtils.UTF8));
+            final StringBuilder line = new StringBuilder();
+            for (final InputLogEvent event : events) {
+                line.setLength(0);
+                line.append(event.getTimestamp().longValue()).append(SEPARATOR);
+                escape(event.getMessage(), line);
+                line.append('\n');
+                final int length = line.toString().getBytes(StringUtils.UTF8).length;
+                if (size + length > maxStorageSize) {
+                    continue;
+                }
+                writer.append(line);
+                size += length;
+                stored++;
+            }
+            writer.flush();
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+            accessLock.unlock();
+        }
+        return stored;
+    }
+
+    /**
+     * Reads, without removing them, the events at the head of the store that
+     * fit in one PutLogEvents call.
+     *
+     * @param maxCount maximum number of events in the batch
+     * @param maxSize maximum size of the batch as counted by the service
+     * @return the batch, possibly empty
+     * @throws IOException if the store can't be read
+     */
+    Batch peek(int maxCount, int maxSize) throws IOException {
+        final List<InputLogEvent> events = new ArrayList<InputLogEvent>();
+        int lines = 0;
+        int size = 0;
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+        BufferedReader reader = null;
+        accessLock.lock();
+        try {
+            if (!eventFile.exists()) {
+                return new Batch(events, 0, 0);
+            }
+            reader = new BufferedReader(new InputStreamReader(
+                    openAtHead(), StringUtils.UTF8));
+            String line;
+            while (events.size() < maxCount && (line = reader.readLine()) != null) {
+                final InputLogEvent event = parse(line);
+                if (event == null) {
+                    LOGGER.warn("Failed to read log event. Skip.");
+                    lines++;
+                    continue;
+                }
+                final long timestamp = event.getTimestamp().longValue();
+                final int eventSize = event.getMessage().getBytes(StringUtils.UTF8).length
+                        + EVENT_OVERHEAD_BYTES;
+                if (size + eventSize > maxSize && !events.isEmpty()) {
+                    break;
+                }
+                if (Math.max(maxTimestamp, timestamp) - Math.min(minTimestamp, timestamp)
+                        > MAX_BATCH_SPAN_MILLIS && !events.isEmpty()) {
+                    break;
+                }
+                minTimestamp = Math.min(minTimestamp, timestamp);
+                maxTimestamp = Math.max(maxTimestamp, timestamp);
+                events.add(event);
+                size += eventSize;
+                lines++;
+            }
+        } finally {
+            closeQuietly(reader);
+            accessLock.unlock();
+        }
+        return new Batch(events, lines, size);
+    }
+
+    /**
+     * Removes the given number of lines from the head of the store. This
+     * only moves the head offset forward, the event file is compacted once
+     * the lines sent take more than half of it.
+     *
+     * @param lineCount the number of lines to remove
+     * @throws IOException if the remaining events can't be persisted
+     */
+    void remove(int lineCount) throws IOException {
+        if (lineCount <= 0) {
+            return;
+        }
+        accessLock.lock();
+        try {
+            long offset = headOffset;
+            InputStream in = null;
+            try {
+                in = new BufferedInputStream(openAtHead());
+                int lines = 0;
+                int b;
+                while (lines < lineCount && (b = in.read()) != -1) {
+                    offset++;
+                    if (b == '\n') {
+                        lines++;
+                    }
+                }
+            } finally {
+                closeQuietly(in);
+            }
+
+            final long length = eventFile.length();
+            if (offset >= length) {
+                // Everything was sent, start over with an empty file.
+                if (!eventFile.delete()) {
+                    throw new IOException("Failed to delete sent log events");
+                }
+                tryCreateEventFile();
+                writeHeadOffset(0);
+            } else if (offset >= MIN_COMPACTION_BYTES && offset > length / 2) {
+                compact(offset);
+                writeHeadOffset(0);
+            } else {
+                writeHeadOffset(offset);
+            }
+        } finally {
+            accessLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all events from the store.
+     *
+     * @throws IOException if the event file can't be recreated
+     */
+    void clear() throws IOException {
+        accessLock.lock();
+        try {
+            if (eventFile.exists() && !eventFile.delete()) {
+                throw new IOException("Failed to delete log events");
+            }
+            tryCreateEventFile();
+            writeHeadOffset(0);
+        } finally {
+            accessLock.unlock();
+        }
+    }
+
+    /**
+     * @return the size in bytes of the unsent events in the event file
+     */
+    long getFileSize() {
+        return Math.max(0, eventFile.length() - headOffset);
+    }
+
+    private InputStream openAtHead() throws IOException {
+        final FileInputStream in = new FileInputStream(eventFile);
+        if (in.skip(headOffset) != headOffset) {
+            in.close();
+            throw new IOException("Event file is shorter than its head offset");
+        }
+        return in;
+    }
+
+    /**
+     * Copies the unsent lines, which start at the given offset, to a new
+     * event file.
+     */
+    private void compact(long offset) throws IOException {
+        final File tempFile = new File(directory, eventFile.getName() + ".tmp");
+        if (tempFile.exists() && !tempFile.delete()) {
+            throw new IOException("Failed to delete previous temp file");
+        }
+        headOffset = offset;
+        InputStream in = null;
+        OutputStream out = null;
+        try {
+            in = openAtHead();
+            out = new FileOutputStream(tempFile);
+            final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            if (out != null) {
+                out.close();
+            }
+            closeQuietly(in);
+        }
+        if (!eventFile.delete() || !tempFile.renameTo(eventFile)) {
+            throw new IOException("Failed to delete sent log events");
+        }
+    }
+
+    private long readHeadOffset() {
+        if (!offsetFile.exists()) {
+            return 0;
+        }
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(offsetFile), StringUtils.UTF8));
+            final long offset = Long.parseLong(reader.readLine().trim());
+            return offset >= 0 && offset <= eventFile.length() ? offset : 0;
+        } catch (final Exception e) {
+            LOGGER.warn("Failed to read the offset of unsent log events, resending all", e);
+            return 0;
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private void writeHeadOffset(long offset) throws IOException {
+        headOffset = offset;
+        if (offset == 0) {
+            if (offsetFile.exists() && !offsetFile.delete()) {
+                throw new IOException("Failed to delete " + offsetFile);
+            }
+            return;
+        }
+        final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(offsetFile), StringUtils.UTF8));
+        try {
+            writer.write(Long.toString(offset));
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (final IOException e) {
+            LOGGER.error("failed to close stream", e);
+        }
+    }
+
+    private void tryCreateEventFile() throws IOException {
+        if (eventFile.exists()) {
+            return;
+        }
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create directory " + directory);
+        }
+        if (!eventFile.createNewFile() && !eventFile.exists()) {
+            throw new IOException("Failed to create file " + eventFile);
+        }
+    }
+
+    static void escape(String message, StringBuilder out) {
+        for (int i = 0; i < message.length(); i++) {
+            final char c = message.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+
+    static InputLogEvent parse(String line) {
+        final int separator = line.indexOf(SEPARATOR);
+        if (separator <= 0) {
+            return null;
+        }
+        final long timestamp;
+        try {
+            timestamp = Long.parseLong(line.substring(0, separator));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+        final StringBuilder message = new StringBuilder(line.length() - separator);
+        for (int i = separator + 1; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                final char next = line.charAt(++i);
+                if (next == 'n') {
+                    message.append('\n');
+                } else if (next == 'r') {
+                    message.append('\r');
+                } else {
+                    message.append(next);
+                }
+            } else {
+                message.append(c);
+            }
+        }
+        return new InputLogEvent().withTimestamp(timestamp).withMessage(message.toString());
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Mobile connector for Amazon CloudWatch Logs.
+ * <p>
+ * CloudWatchLogsAppender buffers log events in memory, spools them to the
+ * device and sends them in batches with PutLogEvents. Batching by size and
+ * time keeps the number of calls low, which avoids throttling and lets the
+ * radio sleep between flushes.
+ * <p>
+ * The following is an example of CloudWatchLogsAppender.
+ * <pre>
+ * AmazonCloudWatchLogsClient client = new AmazonCloudWatchLogsClient(provider);
+ * client.setRegion(Region.getRegion(Regions.US_WEST_2));
+ * CloudWatchLogsAppender appender = new CloudWatchLogsAppender(
+ *         context.getCacheDir(), client, &quot;my-log-group&quot;, deviceId,
+ *         new CloudWatchLogsAppenderConfig().withFlushInterval(30 * 1000L));
+ * // safe to call from any thread, including the main thread
+ * appender.append(&quot;Checkout started&quot;);
+ * // send pending events when the app goes to the background
+ * appender.flush();
+ * </pre>
+ */
+
+package com.amazonaws.mobileconnectors.logs;
+
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.logs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.logs.AmazonCloudWatchLogs;
+import com.amazonaws.services.logs.model.InputLogEvent;
+import com.amazonaws.services.logs.model.InvalidSequenceTokenException;
+import com.amazonaws.services.logs.model.PutLogEventsRequest;
+import com.amazonaws.services.logs.model.PutLogEventsResult;
+import com.amazonaws.util.StringUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class CloudWatchLogsAppenderTest {
+
+    private static final String LOG_GROUP = "/app/test";
+    private static final String LOG_STREAM = "device-1";
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private AmazonCloudWatchLogs client;
+    private LogEventStore store;
+    private CloudWatchLogsAppender appender;
+
+    @Before
+    public void setup() throws IOException {
+        client = mock(AmazonCloudWatchLogs.class);
+        store = new LogEventStore(temp.newFolder(), "events", 1024 * 1024L);
+        appender = new CloudWatchLogsAppender(store, client, LOG_GROUP, LOG_STREAM,
+                new CloudWatchLogsAppenderConfig().withFlushInterval(0),
+                Executors.newSingleThreadScheduledExecutor());
+    }
+
+    @After
+    public void teardown() {
+        appender.shutdown();
+    }
+
+    @Test
+    public void testEscapeRoundTrip() {
+        String message = "line 1\nline 2\r\n\\n tab\there";
+        StringBuilder line = new StringBuilder("42\t");
+        LogEventStore.escape(message, line);
+        InputLogEvent event = LogEventStore.parse(line.toString());
+        assertEquals(42L, event.getTimestamp().longValue());
+        assertEquals(message, event.getMessage());
+        assertNull(LogEventStore.parse("not an event"));
+    }
+
+    @Test
+    public void testPeekRespectsBatchLimits() throws IOException {
+        store.put(Arrays.asList(event(1, "a"), event(2, "b"), event(3, "c")));
+        LogEventStore.Batch batch = store.peek(2, 1024);
+        assertEquals(2, batch.events.size());
+        assertEquals(2, batch.lines);
+        assertEquals(2 * (1 + LogEventStore.EVENT_OVERHEAD_BYTES), batch.size);
+
+        batch = store.peek(10, 2 * (1 + LogEventStore.EVENT_OVERHEAD_BYTES));
+        assertEquals(2, batch.events.size());
+
+        store.remove(2);
+        batch = store.peek(10, 1024);
+        assertEquals(1, batch.events.size());
+        assertEquals("c", batch.events.get(0).getMessage());
+    }
+
+    @Test
+    public void testPeekSplitsBatchesLongerThanOneDay() throws IOException {
+        store.put(Arrays.asList(event(0, "a"),
+                event(LogEventStore.MAX_BATCH_SPAN_MILLIS + 1, "b")));
+        assertEquals(1, store.peek(10, 1024).events.size());
+    }
+
+    @Test
+    public void testSubmitSendsEventsInChronologicalOrder() {
+        when(client.putLogEvents(any(PutLogEventsRequest.class)))
+                .thenReturn(new PutLogEventsResult().withNextSequenceToken("token-1"));
+        appender.append(3, "third");
+        appender.append(1, "first");
+        appender.append(2, "second");
+        appender.submitAllEvents();
+
+        ArgumentCaptor<PutLogEventsRequest> captor = ArgumentCaptor
+                .forClass(PutLogEventsRequest.class);
+        verify(client).putLogEvents(captor.capture());
+        List<InputLogEvent> events = captor.getValue().getLogEvents();
+        assertEquals(3, events.size());
+        assertEquals("first", events.get(0).getMessage());
+        assertEquals("third", events.get(2).getMessage());
+        assertEquals(LOG_GROUP, captor.getValue().getLogGroupName());
+        assertEquals("token-1", appender.getSequenceToken());
+        assertEquals(0, appender.getDiskBytesUsed());
+    }
+
+    @Test
+    public void testInvalidSequenceTokenIsRetried() {
+        InvalidSequenceTokenException e = new InvalidSequenceTokenException("invalid");
+        e.setExpectedSequenceToken("expected");
+        when(client.putLogEvents(any(PutLogEventsRequest.class)))
+                .thenThrow(e)
+                .thenReturn(new PutLogEventsResult().withNextSequenceToken("next"));
+        appender.append("message");
+        appender.submitAllEvents();
+
+        ArgumentCaptor<PutLogEventsRequest> captor = ArgumentCaptor
+                .forClass(PutLogEventsRequest.class);
+        verify(client, times(2)).putLogEvents(captor.capture());
+        assertEquals("expected", captor.getAllValues().get(1).getSequenceToken());
+        assertEquals("next", appender.getSequenceToken());
+        assertEquals(0, appender.getDiskBytesUsed());
+    }
+
+    @Test
+    public void testRepeatedInvalidSequenceTokenKeepsEvents() {
+        InvalidSequenceTokenException e = new InvalidSequenceTokenException("invalid");
+        e.setExpectedSequenceToken("expected");
+        when(client.putLogEvents(any(PutLogEventsRequest.class))).thenThrow(e);
+        appender.append("message");
+        try {
+            appender.submitAllEvents();
+            fail("expected exception");
+        } catch (InvalidSequenceTokenException expected) {
+            // expected
+        }
+        verify(client, times(3)).putLogEvents(any(PutLogEventsRequest.class));
+        assertTrue(appender.getDiskBytesUsed() > 0);
+    }
+
+    @Test
+    public void testRemoveKeepsOffsetAcrossRestarts() throws IOException {
+        File directory = temp.newFolder();
+        LogEventStore first = new LogEventStore(directory, "events", 1024 * 1024L);
+        first.put(Arrays.asList(event(1, "a"), event(2, "b"), event(3, "c")));
+        long size = first.getFileSize();
+        first.remove(1);
+        assertEquals(size - "1\ta\n".length(), first.getFileSize());
+
+        LogEventStore second = new LogEventStore(directory, "events", 1024 * 1024L);
+        LogEventStore.Batch batch = second.peek(10, 1024);
+        assertEquals(2, batch.events.size());
+        assertEquals("b", batch.events.get(0).getMessage());
+
+        second.remove(2);
+        assertEquals(0, second.getFileSize());
+        assertEquals(0, new File(directory, "events").length());
+    }
+
+    @Test
+    public void testRemoveCompactsSentEvents() throws IOException {
+        File directory = temp.newFolder();
+        char[] chars = new char[1024];
+        Arrays.fill(chars, 'x');
+        String message = new String(chars);
+        List<InputLogEvent> events = new ArrayList<InputLogEvent>();
+        for (int i = 0; i < 200; i++) {
+            events.add(event(i, message));
+        }
+        store = new LogEventStore(directory, "events", 1024 * 1024L);
+        store.put(events);
+        File eventFile = new File(directory, "events");
+        long length = eventFile.length();
+
+        store.remove(50);
+        assertEquals(length, eventFile.length());
+        store.remove(60);
+        assertTrue(eventFile.length() < length);
+        assertEquals(eventFile.length(), store.getFileSize());
+        LogEventStore.Batch batch = store.peek(1, 1024 * 1024);
+        assertEquals(110L, batch.events.get(0).getTimestamp().longValue());
+    }
+
+    @Test
+    public void testRecoverableErrorKeepsEvents() {
+        AmazonServiceException ase = new AmazonServiceException("unavailable");
+        ase.setStatusCode(503);
+        when(client.putLogEvents(any(PutLogEventsRequest.class))).thenThrow(ase);
+        appender.append("message");
+        try {
+            appender.submitAllEvents();
+            fail("expected exception");
+        } catch (AmazonServiceException expected) {
+            // expected
+        }
+        assertTrue(appender.getDiskBytesUsed() > 0);
+    }
+
+    @Test
+    public void testUnrecoverableErrorDropsBatch() {
+        AmazonServiceException ase = new AmazonServiceException("invalid");
+        ase.setStatusCode(400);
+        ase.setErrorCode("InvalidParameterException");
+        when(client.putLogEvents(any(PutLogEventsRequest.class))).thenThrow(ase);
+        appender.append("message");
+        try {
+            appender.submitAllEvents();
+            fail("expected exception");
+        } catch (AmazonServiceException expected) {
+            // expected
+        }
+        assertEquals(0, appender.getDiskBytesUsed());
+    }
+
+    @Test
+    public void testBufferIsBounded() throws IOException {
+        CloudWatchLogsAppender bounded = new CloudWatchLogsAppender(
+                new LogEventStore(temp.newFolder(), "events", 64L), client, LOG_GROUP,
+                LOG_STREAM, new CloudWatchLogsAppenderConfig().withFlushInterval(0),
+                Executors.newSingleThreadScheduledExecutor());
+        for (int i = 0; i < 100; i++) {
+            bounded.append(i, "message " + i);
+        }
+        bounded.shutdown();
+        assertTrue(bounded.getDroppedEventCount() > 0);
+    }
+
+    @Test
+    public void testTruncateKeepsSurrogatePairs() {
+        final StringBuilder message = new StringBuilder("a");
+        while (message.length() < 256 * 1024) {
+            // U+1F600, 4 bytes in UTF-8.
+            message.append("\uD83D\uDE00");
+        }
+        final InputLogEvent event = event(1L, message.toString());
+        CloudWatchLogsAppender.truncate(event);
+
+        final String truncated = event.getMessage();
+        assertTrue(truncated.length() < message.length());
+        assertTrue(truncated.getBytes(StringUtils.UTF8).length < 256 * 1024);
+        assertFalse(Character.isHighSurrogate(truncated.charAt(truncated.length() - 1)));
+        assertEquals(truncated, new String(truncated.getBytes(StringUtils.UTF8),
+                StringUtils.UTF8));
+    }
+
+    private static InputLogEvent event(long timestamp, String message) {
+        return new InputLogEvent().withTimestamp(timestamp).withMessage(message);
+    }
+}
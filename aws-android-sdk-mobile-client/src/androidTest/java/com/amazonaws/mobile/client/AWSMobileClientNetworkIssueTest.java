@@ -174,8 +174,8 @@ public class AWSMobileClientNetworkIssueTest extends AWSMobileClientTestBase {
         awsKeyValueStore.put(AWSMobileClient.IDENTITY_ID_KEY, "");
         writeUserPoolsTokens(appContext, auth.getConfiguration().optJsonObject("CognitoUserPool").getString("AppClientId"), username, -3600L);
 
-        Object originalClient = getField(auth.userpool, CognitoUserPool.class, "client");
-        setField(auth.userpool, CognitoUserPool.class, "client", mockLowLevel);
+        Object originalClient = getField(auth.userpool.get(), CognitoUserPool.class, "client");
+        setField(auth.userpool.get(), CognitoUserPool.class, "client", mockLowLevel);
 
         try {
             auth.getUserAttributes();
@@ -183,7 +183,7 @@ public class AWSMobileClientNetworkIssueTest extends AWSMobileClientTestBase {
         } catch (Exception e) {
             assertTrue("Deep cause should be network exception", e.getCause().getCause() instanceof UnknownHostException);
         } finally {
-            setField(auth.userpool, CognitoUserPool.class, "client", originalClient);
+            setField(auth.userpool.get(), CognitoUserPool.class, "client", originalClient);
         }
     }
 
@@ -199,7 +199,7 @@ public class AWSMobileClientNetworkIssueTest extends AWSMobileClientTestBase {
         writeUserPoolsTokens(appContext, auth.getConfiguration().optJsonObject("CognitoUserPool").getString("AppClientId"), username, -3600L);
         Field f1 = CognitoUserPool.class.getDeclaredField("client");
         f1.setAccessible(true);
-        f1.set(auth.userpool, mockLowLevel);
+        f1.set(auth.userpool.get(), mockLowLevel);
         try {
             auth.getTokens();
             fail("Should throw exception for network issue");
@@ -236,8 +236,8 @@ public class AWSMobileClientNetworkIssueTest extends AWSMobileClientTestBase {
         reinitialize();
         auth.signIn(USERNAME, PASSWORD, null);
 
-        Object originalCib = getField(auth.cognitoIdentity, CognitoCredentialsProvider.class, "cib");
-        setField(auth.cognitoIdentity, CognitoCredentialsProvider.class, "cib", mockIdentityLowLevelGetIdAndGetCredentials);
+        Object originalCib = getField(auth.cognitoIdentity.get(), CognitoCredentialsProvider.class, "cib");
+        setField(auth.cognitoIdentity.get(), CognitoCredentialsProvider.class, "cib", mockIdentityLowLevelGetIdAndGetCredentials);
 
         auth.mFederatedLoginsMap.clear();
         try {
@@ -246,7 +246,7 @@ public class AWSMobileClientNetworkIssueTest extends AWSMobileClientTestBase {
         } catch (Exception e) {
             assertTrue("Deep cause should be network exception", e.getCause().getCause() instanceof UnknownHostException);
         } finally {
-            setField(auth.cognitoIdentity, CognitoCredentialsProvider.class, "cib", originalCib);
+            setField(auth.cognitoIdentity.get(), CognitoCredentialsProvider.class, "cib", originalCib);
         }
     }
 
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.amazonaws.mobile.client;
+
+import android.util.Log;
+
+import com.amazonaws.mobile.client.test.R;
+import com.amazonaws.mobile.config.AWSConfiguration;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.amazonaws.testutils.util.InternetConnectivity.goOffline;
+import static com.amazonaws.testutils.util.InternetConnectivity.goOnline;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Measures how long initialize takes to produce the first user state, which
+ * is what an app waits for on a cold start. The client is offline so that the
+ * measurement only covers reading the configuration and the stored state.
+ */
+public final class AWSMobileClientStartupBenchmarkTest extends AWSMobileClientTestBase {
+    private static final String TAG = AWSMobileClientStartupBenchmarkTest.class.getSimpleName();
+    private static final int ITERATIONS = 5;
+
+    @BeforeClass
+    public static void beforeSuite() {
+        goOffline();
+    }
+
+    @AfterClass
+    public static void afterSuite() {
+        goOnline();
+    }
+
+    @Test
+    public void benchmarkInitialize() throws Exception {
+        final AWSConfiguration config =
+                new AWSConfiguration(getApplicationContext(), R.raw.fakeawsconfiguration);
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            final AWSMobileClient client = AWSMobileClient.getInstance(true);
+            final CountDownLatch latch = new CountDownLatch(1);
+            final AtomicReference<UserStateDetails> details = new AtomicReference<UserStateDetails>();
+            final long begin = System.nanoTime();
+            client.initialize(getApplicationContext(), config, new Callback<UserStateDetails>() {
+                @Override
+                public void onResult(UserStateDetails result) {
+                    details.set(result);
+                    latch.countDown();
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    Log.e(TAG, "Failed to initialize", e);
+                    latch.countDown();
+                }
+            });
+            latch.await();
+            final long end = System.nanoTime();
+            assertNotNull(details.get());
+            Log.d(TAG, "Initialize time (" + i + "): " + (end - begin) + " ns.");
+            total += end - begin;
+        }
+        Log.d(TAG, "Average initialize time: " + (total / ITERATIONS) + " ns.");
+    }
+}
@@ -215,13 +215,14 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
      */
     AWSConfiguration awsConfiguration;
     /**
-     * Federation into this identity pool
+     * Federation into this identity pool, null if none is configured
      */
-    CognitoCachingCredentialsProvider cognitoIdentity;
+    Lazy<CognitoCachingCredentialsProvider> cognitoIdentity;
     /**
-     * Object that encapuslates the high-level Cognito UserPools client
+     * Object that encapuslates the high-level Cognito UserPools client, null
+     * if no user pool is configured
      */
-    CognitoUserPool userpool;
+    Lazy<CognitoUserPool> userpool;
     String userpoolsLoginKey;
     Context mContext;
     Map<String, String> mFederatedLoginsMap;
@@ -368,8 +369,13 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
     }
 
     @VisibleForTesting
-    void setUserPool(CognitoUserPool userpool) {
-        this.userpool = userpool;
+    void setUserPool(final CognitoUserPool userpool) {
+        this.userpool = new Lazy<CognitoUserPool>() {
+            @Override
+            CognitoUserPool create() {
+                return userpool;
+            }
+        };
     }
 
     /**
@@ -397,8 +403,8 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                 Log.d(TAG, "getCredentials: Validated user is signed-in");
             }
 
-            AWSSessionCredentials credentials = cognitoIdentity.getCredentials();
-            mStore.set(IDENTITY_ID_KEY, cognitoIdentity.getIdentityId());
+            AWSSessionCredentials credentials = cognitoIdentity.get().getCredentials();
+            mStore.set(IDENTITY_ID_KEY, cognitoIdentity.get().getIdentityId());
             return credentials;
         } catch (NotAuthorizedException e) {
             Log.w(TAG, "getCredentials: Failed to getCredentials from Cognito Identity", e);
@@ -419,8 +425,8 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
             throw new AmazonClientException("Cognito Identity not configured");
         }
 
-        cognitoIdentity.refresh();
-        mStore.set(IDENTITY_ID_KEY, cognitoIdentity.getIdentityId());
+        cognitoIdentity.get().refresh();
+        mStore.set(IDENTITY_ID_KEY, cognitoIdentity.get().getIdentityId());
     }
 
     /**
@@ -457,7 +463,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
             throw new RuntimeException("Cognito Identity not configured");
         }
 
-        final String cachedIdentityId = cognitoIdentity.getCachedIdentityId();
+        final String cachedIdentityId = cognitoIdentity.get().getCachedIdentityId();
         if (cachedIdentityId == null) {
             return mStore.get(IDENTITY_ID_KEY);
         }
@@ -513,6 +519,10 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                     userAgentOverride = awsConfiguration.getUserAgentOverride();
                     mContext = context.getApplicationContext();
                     mStore = new AWSMobileClientStore(AWSMobileClient.this);
+                    // Read the values the initial user state depends on in one pass so that
+                    // the decryption key is retrieved once; later reads hit the in-memory cache.
+                    mStore.get(PROVIDER_KEY, TOKEN_KEY, IDENTITY_ID_KEY,
+                            FEDERATION_ENABLED_KEY, SIGN_IN_MODE, HOSTED_UI_KEY);
 
                     final IdentityManager identityManager = new IdentityManager(mContext);
                     identityManager.enableFederation(false);
@@ -570,12 +580,22 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                             cibClient.setRegion(Region.getRegion(regionStr));
                             provider = new AWSMobileClientCognitoIdentityProvider(
                                     null, poolId, cibClient);
-                            cognitoIdentity = new CognitoCachingCredentialsProvider(
-                                    mContext, provider, Regions.fromName(regionStr));
-                            cognitoIdentity.setPersistenceEnabled(mIsPersistenceEnabled);
-                            if (userAgentOverride != null) {
-                                cognitoIdentity.setUserAgentOverride(userAgentOverride);
-                            }
+                            final AWSMobileClientCognitoIdentityProvider identityProvider = provider;
+                            final Regions region = Regions.fromName(regionStr);
+                            // Created on first use, it reads its cached identity and credentials.
+                            cognitoIdentity = new Lazy<CognitoCachingCredentialsProvider>() {
+                                @Override
+                                CognitoCachingCredentialsProvider create() {
+                                    final CognitoCachingCredentialsProvider credentialsProvider =
+                                            new CognitoCachingCredentialsProvider(
+                                                    mContext, identityProvider, region);
+                                    credentialsProvider.setPersistenceEnabled(mIsPersistenceEnabled);
+                                    if (userAgentOverride != null) {
+                                        credentialsProvider.setUserAgentOverride(userAgentOverride);
+                                    }
+                                    return credentialsProvider;
+                                }
+                            };
                         } catch (Exception e) {
                             callback.onError(new RuntimeException("Failed to initialize Cognito Identity; please check your awsconfiguration.json", e));
                             return;
@@ -588,7 +608,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                             mUserPoolPoolId = userPoolJSON.getString("PoolId");
                             final String clientId = userPoolJSON.getString("AppClientId");
                             final String clientSecret = userPoolJSON.optString("AppClientSecret");
-                            final String pinpointEndpointId = CognitoPinpointSharedContext.getPinpointEndpoint(context, userPoolJSON.optString("PinpointAppId"));
+                            final String pinpointAppId = userPoolJSON.optString("PinpointAppId");
                             final String cognitoUserPoolCustomEndpoint = userPoolJSON.optString(COGNITO_USERPOOL_CUSTOM_ENDPOINT);
 
                             final ClientConfiguration clientConfig = new ClientConfiguration();
@@ -602,8 +622,22 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
 
                             userpoolsLoginKey = String.format("cognito-idp.%s.amazonaws.com/%s", userPoolJSON.getString("Region"), userPoolJSON.getString("PoolId"));
 
-                            userpool = new CognitoUserPool(mContext, mUserPoolPoolId, clientId, clientSecret, userpoolLL, pinpointEndpointId, cognitoUserPoolCustomEndpoint);
-                            userpool.setPersistenceEnabled(mIsPersistenceEnabled);
+                            final String userPoolId = mUserPoolPoolId;
+                            final AmazonCognitoIdentityProvider userPoolClient = userpoolLL;
+                            // Created on first use, it reads the Pinpoint endpoint and the device state.
+                            userpool = new Lazy<CognitoUserPool>() {
+                                @Override
+                                CognitoUserPool create() {
+                                    final String pinpointEndpointId = CognitoPinpointSharedContext
+                                            .getPinpointEndpoint(mContext, pinpointAppId);
+                                    final CognitoUserPool cognitoUserPool = new CognitoUserPool(
+                                            mContext, userPoolId, clientId, clientSecret,
+                                            userPoolClient, pinpointEndpointId,
+                                            cognitoUserPoolCustomEndpoint);
+                                    cognitoUserPool.setPersistenceEnabled(mIsPersistenceEnabled);
+                                    return cognitoUserPool;
+                                }
+                            };
 
                             mDeviceOperations = new DeviceOperations(AWSMobileClient.this, userpoolLL);
 
@@ -839,7 +873,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
     public String getUsername() {
         try {
             if (userpoolsLoginKey.equals(mStore.get(PROVIDER_KEY))) {
-                return userpool.getCurrentUser().getUserId();
+                return userpool.get().getCurrentUser().getUserId();
             }
             return null;
         } catch (Exception e) {
@@ -1071,7 +1105,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                     if (hasFederatedToken(providerKey, refreshedToken)) {
                         Log.d(TAG, "getUserStateDetails: token already federated just fetch credentials");
                         if (cognitoIdentity != null) {
-                            cognitoIdentity.getCredentials();
+                            cognitoIdentity.get().getCredentials();
                         }
                     } else {
                         federateWithCognitoIdentity(providerKey, refreshedToken);
@@ -1105,7 +1139,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                 else if (hasFederatedToken(providerKey, idToken)) {
                     try {
                         if (cognitoIdentity != null) {
-                            cognitoIdentity.getCredentials();
+                            cognitoIdentity.get().getCredentials();
                         }
                     } catch (Exception e) {
                         Log.w(TAG, "Failed to get or refresh credentials from Cognito Identity", e);
@@ -1251,7 +1285,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
             @Override
             public void run() {
                 try {
-                    userpool.getUser(username).getSession(
+                    userpool.get().getUser(username).getSession(
                         clientMetadata,
                         new AuthenticationHandler() {
                             @Override
@@ -1585,11 +1619,11 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
     public void signOut() {
         mCognitoUserSession = null;
         if (userpool != null) {
-            userpool.getCurrentUser().signOut();
-            userpool.getUser().signOut();
+            userpool.get().getCurrentUser().signOut();
+            userpool.get().getUser().signOut();
         }
         if (cognitoIdentity != null) {
-            cognitoIdentity.clear();
+            cognitoIdentity.get().clear();
         }
         if (IdentityManager.getDefaultIdentityManager() != null) {
             IdentityManager.getDefaultIdentityManager().signOut();
@@ -1659,7 +1693,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                 }
                 if (signOutOptions.isInvalidateTokens()) {
                     if (userpool != null) {
-                        userpool.getCurrentUser().revokeTokens();
+                        userpool.get().getCurrentUser().revokeTokens();
                     }
                     if (hostedUI != null) {
                         if (signOutOptions.getBrowserPackage() != null) {
@@ -1737,7 +1771,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                         "A user pool must be configured in order to delete a user."
                 ));
             } else {
-                CognitoUser currentUser = userpool.getCurrentUser();
+                CognitoUser currentUser = userpool.get().getCurrentUser();
                 currentUser.deleteUserInBackground(new GenericHandler() {
                     @Override
                     public void onSuccess() {
@@ -1885,8 +1919,8 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                     }
 
                     if (!token.equals(mFederatedLoginsMap.get(providerKey))) {
-                        cognitoIdentity.clear();
-                        cognitoIdentity.setLogins(loginsMap);
+                        cognitoIdentity.get().clear();
+                        cognitoIdentity.get().setLogins(loginsMap);
                     }
 
                     UserStateDetails userStateDetails = getUserStateDetails(true);
@@ -1929,16 +1963,16 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
 
                 final String customRoleArn = mStore.get(CUSTOM_ROLE_ARN_KEY);
                 if (!StringUtils.isBlank(customRoleArn)) {
-                    cognitoIdentity.setCustomRoleArn(customRoleArn);
+                    cognitoIdentity.get().setCustomRoleArn(customRoleArn);
                 }
 
                 HashMap<String, String> logins = new HashMap<String, String>();
                 logins.put(providerKey, token);
-                cognitoIdentity.setLogins(logins);
-                cognitoIdentity.refresh();
+                cognitoIdentity.get().setLogins(logins);
+                cognitoIdentity.get().refresh();
                 // Ensure cognitoIdentityId and credentials can be retrieved.
-                mStore.set(IDENTITY_ID_KEY, cognitoIdentity.getIdentityId());
-                mFederatedLoginsMap = cognitoIdentity.getLogins();
+                mStore.set(IDENTITY_ID_KEY, cognitoIdentity.get().getIdentityId());
+                mFederatedLoginsMap = cognitoIdentity.get().getLogins();
             }
         }
     }
@@ -2005,7 +2039,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                 }
 
                 try {
-                    userpool.getCurrentUser().getSession(
+                    userpool.get().getCurrentUser().getSession(
                         Collections.<String, String>emptyMap(),
                         new AuthenticationHandler() {
                             @Override
@@ -2191,7 +2225,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                     cognitoUserAttr.addAttribute(key, userAttributes.get(key));
                 }
 
-                userpool.signUp(username, password, cognitoUserAttr, validationData, clientMetadata, new SignUpHandler() {
+                userpool.get().signUp(username, password, cognitoUserAttr, validationData, clientMetadata, new SignUpHandler() {
                     @Override
                     public void onSuccess(final CognitoUser user,
                                           final com.amazonaws.services.cognitoidentityprovider.model.SignUpResult signUpResult) {
@@ -2307,7 +2341,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
         return new Runnable() {
             @Override
             public void run() {
-                userpool.getUser(username).confirmSignUp(signUpChallengeResponse,
+                userpool.get().getUser(username).confirmSignUp(signUpChallengeResponse,
                         false, clientMetadata, new GenericHandler() {
                     @Override
                     public void onSuccess() {
@@ -2396,7 +2430,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
         return new Runnable() {
             @Override
             public void run() {
-                userpool.getUser(username).resendConfirmationCodeInBackground(
+                userpool.get().getUser(username).resendConfirmationCodeInBackground(
                         clientMetadata,
                         new VerificationHandler() {
                             @Override
@@ -2488,7 +2522,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
             @Override
             public void run() {
                 forgotPasswordCallback = new InternalCallback<ForgotPasswordResult>(callback);
-                userpool.getUser(username).forgotPasswordInBackground(clientMetadata, new ForgotPasswordHandler() {
+                userpool.get().getUser(username).forgotPasswordInBackground(clientMetadata, new ForgotPasswordHandler() {
                     @Override
                     public void onSuccess() {
                         forgotPasswordCallback
@@ -2616,7 +2650,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
             }
         };
 
-        this.forgotPasswordContinuation = new ForgotPasswordContinuation(userpool.getUser(username),
+        this.forgotPasswordContinuation = new ForgotPasswordContinuation(userpool.get().getUser(username),
                                                                          null,
                                                                          true,
                                                                          forgotPasswordHandler);
@@ -2687,7 +2721,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
         return new Runnable() {
             @Override
             public void run() {
-                userpool.getCurrentUser().changePassword(
+                userpool.get().getCurrentUser().changePassword(
                         oldPassword,
                         newPassword,
                         new GenericHandler() {
@@ -2727,7 +2761,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                     return;
                 }
 
-                userpool.getCurrentUser().getDetails(new GetDetailsHandler() {
+                userpool.get().getCurrentUser().getDetails(new GetDetailsHandler() {
                     @Override
                     public void onSuccess(CognitoUserDetails cognitoUserDetails) {
                         callback.onResult(cognitoUserDetails.getAttributes().getAttributes());
@@ -2824,7 +2858,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                     }
                 }
 
-                userpool.getCurrentUser().updateAttributes(
+                userpool.get().getCurrentUser().updateAttributes(
                         cognitoUserAttributes,
                         clientMetadata,
                         new UpdateAttributesHandler() {
@@ -2917,7 +2951,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                     return;
                 }
 
-                userpool.getCurrentUser().getAttributeVerificationCodeInBackground(
+                userpool.get().getCurrentUser().getAttributeVerificationCodeInBackground(
                         clientMetadata,
                         attributeName,
                         new VerificationHandler() {
@@ -3010,7 +3044,7 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
                     return;
                 }
 
-                userpool.getCurrentUser().verifyAttribute(
+                userpool.get().getCurrentUser().verifyAttribute(
                         attributeName,
                         updateUserAttributeChallengeResponse,
                         new GenericHandler() {
@@ -4013,6 +4047,25 @@ public final class AWSMobileClient implements AWSCredentialsProvider {
             return this.providerPermissions;
         }
     }
+
+    /**
+     * A component created on first use rather than in initialize, so that
+     * the start of the app doesn't wait for its persistent state to be read.
+     */
+    abstract static class Lazy<T> {
+        private T value;
+        private boolean created;
+
+        abstract T create();
+
+        synchronized T get() {
+            if (!created) {
+                value = create();
+                created = true;
+            }
+            return value;
+        }
+    }
 }
 
 /**
@@ -19,7 +19,6 @@ package com.amazonaws.mobile.client;
 
 import com.amazonaws.internal.keyvaluestore.AWSKeyValueStore;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -42,11 +41,7 @@ final class AWSMobileClientStore implements KeyValueStore {
     public Map<String, String> get(final String... keys) {
         try {
             mReadWriteLock.readLock().lock();
-            HashMap<String, String> attributes = new HashMap<String, String>();
-            for (String key : keys) {
-                attributes.put(key, mAWSKeyValueStore.get(key));
-            }
-            return attributes;
+            return mAWSKeyValueStore.getAll(keys);
         } finally {
             mReadWriteLock.readLock().unlock();
         }
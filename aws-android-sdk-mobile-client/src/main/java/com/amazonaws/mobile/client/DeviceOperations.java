@@ -275,12 +275,12 @@ public class DeviceOperations {
      */
     private CognitoDevice getCognitoDevice(String deviceKey) {
         return new CognitoDevice(deviceKey != null ? deviceKey :
-                mobileClient.userpool.getCurrentUser().thisDevice().getDeviceKey(),
+                mobileClient.userpool.get().getCurrentUser().thisDevice().getDeviceKey(),
                 null,
                 null,
                 null,
                 null,
-                mobileClient.userpool.getCurrentUser(),
+                mobileClient.userpool.get().getCurrentUser(),
                 mobileClient.mContext
         );
     }
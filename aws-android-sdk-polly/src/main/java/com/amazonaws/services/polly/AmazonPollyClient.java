@@ -49,6 +49,9 @@ public class AmazonPollyClient extends AmazonWebServiceClient implements AmazonP
     /** Provider for AWS credentials. */
     private AWSCredentialsProvider awsCredentialsProvider;
 
+    /** Cache of synthesized speech, may be null. */
+    private volatile SpeechSynthesisCache speechSynthesisCache;
+
     /**
      * List of exception unmarshallers for all Amazon Polly exceptions.
      */
@@ -863,6 +866,39 @@ public class AmazonPollyClient extends AmazonWebServiceClient implements AmazonP
      */
     public SynthesizeSpeechResult synthesizeSpeech(SynthesizeSpeechRequest synthesizeSpeechRequest)
             throws AmazonServiceException, AmazonClientException {
+        final SpeechSynthesisCache cache = speechSynthesisCache;
+        if (cache == null) {
+            return executeSynthesizeSpeech(synthesizeSpeechRequest);
+        }
+        return cache.synthesizeSpeech(synthesizeSpeechRequest,
+                new SpeechSynthesisCache.Synthesizer() {
+                    @Override
+                    public SynthesizeSpeechResult synthesizeSpeech(SynthesizeSpeechRequest request) {
+                        return executeSynthesizeSpeech(request);
+                    }
+                });
+    }
+
+    /**
+     * Sets a disk cache of synthesized speech. Speech found in the cache is
+     * returned without calling Polly, and speech returned by Polly is added
+     * to it.
+     *
+     * @param cache the cache, or null to disable caching
+     */
+    public void setSpeechSynthesisCache(SpeechSynthesisCache cache) {
+        this.speechSynthesisCache = cache;
+    }
+
+    /**
+     * @return the cache of synthesized speech, or null
+     */
+    public SpeechSynthesisCache getSpeechSynthesisCache() {
+        return speechSynthesisCache;
+    }
+
+    private SynthesizeSpeechResult executeSynthesizeSpeech(
+            SynthesizeSpeechRequest synthesizeSpeechRequest) {
         ExecutionContext executionContext = createExecutionContext(synthesizeSpeechRequest);
         AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
         awsRequestMetrics.startEvent(Field.ClientExecuteTime);
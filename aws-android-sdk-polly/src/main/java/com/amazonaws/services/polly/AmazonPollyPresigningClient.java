@@ -31,6 +31,8 @@ import com.amazonaws.services.polly.internal.ServiceUtils;
 import com.amazonaws.services.polly.model.SynthesizeSpeechPresignRequest;
 import com.amazonaws.services.polly.model.transform.SynthesizeSpeechPresignRequestMarshaller;
 
+import java.io.File;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Date;
 
@@ -181,6 +183,17 @@ public class AmazonPollyPresigningClient extends AmazonPollyClient implements Am
      * using the owner's AWS account can be generated and passed to a system
      * media player.
      * </p>
+     * <p>
+     * If a {@link SpeechSynthesisCache} is set and already holds the speech,
+     * a {@code file://} URL of the cached audio is returned instead. Unlike a
+     * pre-signed URL it is only valid while the file stays in the cache:
+     * eviction or {@link SpeechSynthesisCache#clear()} may delete it, so it
+     * should be played right away. It is also only readable by this app;
+     * passing it to another app in an {@code Intent} throws
+     * {@code FileUriExposedException} on Android 7.0 (API 24) and later.
+     * Use {@link SpeechSynthesisCache#getFile(SynthesizeSpeechPresignRequest)}
+     * and a {@code FileProvider} to share cached audio instead.
+     * </p>
      *
      * @param synthesizeSpeechPresignRequest Object providing pre-signed synthesize speech
      *              request parameters.
@@ -189,6 +202,18 @@ public class AmazonPollyPresigningClient extends AmazonPollyClient implements Am
      *              that is possible to obtain using HTTP GET method.
      */
     public URL getPresignedSynthesizeSpeechUrl(SynthesizeSpeechPresignRequest synthesizeSpeechPresignRequest) {
+        final SpeechSynthesisCache cache = getSpeechSynthesisCache();
+        if (cache != null) {
+            final File file = cache.getFile(synthesizeSpeechPresignRequest);
+            if (file != null) {
+                try {
+                    return file.toURI().toURL();
+                } catch (final MalformedURLException e) {
+                    throw new AmazonClientException("Unable to convert " + file + " to a URL", e);
+                }
+            }
+        }
+
         Request<PresigningRequest> request = new SynthesizeSpeechPresignRequestMarshaller()
                 .marshall(synthesizeSpeechPresignRequest);
 
@@ -0,0 +1,432 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.polly;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.services.polly.model.SynthesizeSpeechPresignRequest;
+import com.amazonaws.services.polly.model.SynthesizeSpeechRequest;
+import com.amazonaws.services.polly.model.SynthesizeSpeechResult;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A disk cache of synthesized speech. Set on an {@link AmazonPollyClient},
+ * it serves repeated {@link AmazonPollyClient#synthesizeSpeech} calls from
+ * local files without calling Polly, and concurrent calls for the same speech
+ * share one call. Set on an {@link AmazonPollyPresigningClient}, cached speech
+ * is also returned as a file URL by
+ * {@link AmazonPollyPresigningClient#getPresignedSynthesizeSpeechUrl}.
+ * <p>
+ * Speech is keyed by its text, text type, voice, engine, language, lexicons,
+ * output format, sample rate and speech mark types. The least recently used
+ * files are deleted when the cache grows beyond its maximum size. Speech that
+ * isn't cached is downloaded completely before it is returned.
+ */
+public class SpeechSynthesisCache {
+    private static final Log LOGGER = LogFactory.getLog(SpeechSynthesisCache.class);
+
+    /**
+     * Default maximum size of the cache, 50 MB.
+     */
+    public static final long DEFAULT_MAX_BYTES = 50L * 1024 * 1024;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<String, String>();
+    private static final Map<String, String> EXTENSIONS = new HashMap<String, String>();
+
+    static {
+        CONTENT_TYPES.put("mp3", "audio/mpeg");
+        CONTENT_TYPES.put("ogg", "audio/ogg");
+        CONTENT_TYPES.put("pcm", "audio/pcm");
+        CONTENT_TYPES.put("json", "application/x-json-stream");
+        EXTENSIONS.put("mp3", "mp3");
+        EXTENSIONS.put("ogg_vorbis", "ogg");
+        EXTENSIONS.put("pcm", "pcm");
+        EXTENSIONS.put("json", "json");
+    }
+
+    /**
+     * Calls Polly for speech that isn't cached.
+     */
+    interface Synthesizer {
+        SynthesizeSpeechResult synthesizeSpeech(SynthesizeSpeechRequest request);
+    }
+
+    private final File directory;
+    private final long maxBytes;
+    /** File sizes by file name, least recently used first. */
+    private final LinkedHashMap<String, Long> files =
+            new LinkedHashMap<String, Long>(16, 0.75f, true);
+    private final Map<String, FutureTask<File>> inFlight = new HashMap<String, FutureTask<File>>();
+    private long totalBytes;
+
+    /**
+     * Creates a cache of at most {@link #DEFAULT_MAX_BYTES}.
+     *
+     * @param directory the directory of the cache, typically in the app's
+     *            cache directory. It must not be used for anything else.
+     */
+    public SpeechSynthesisCache(File directory) {
+        this(directory, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param directory the directory of the cache, typically in the app's
+     *            cache directory. It must not be used for anything else.
+     * @param maxBytes the maximum size of the cached files
+     */
+    public SpeechSynthesisCache(File directory, long maxBytes) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory must not be null");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new AmazonClientException("Failed to create " + directory);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        load();
+    }
+
+    /**
+     * Returns cached speech.
+     *
+     * @param request the request of the speech
+     * @return the result with a stream of the cached file, or null if the
+     *         speech isn't cached
+     */
+    public SynthesizeSpeechResult get(SynthesizeSpeechRequest request) {
+        final String name = fileName(request);
+        final File file = getFile(name);
+        return file == null ? null : openResult(file, name);
+    }
+
+    /**
+     * Returns the cached file of speech. The file may be deleted when it is
+     * evicted to make room for newer speech.
+     *
+     * @param request the presign request of the speech
+     * @return the file, or null if the speech isn't cached
+     */
+    public File getFile(SynthesizeSpeechPresignRequest request) {
+        return getFile(fileName(request));
+    }
+
+    /**
+     * Removes cached speech.
+     *
+     * @param request the request of the speech
+     */
+    public synchronized void remove(SynthesizeSpeechRequest request) {
+        delete(fileName(request));
+    }
+
+    /**
+     * Removes all cached speech.
+     */
+    public synchronized void clear() {
+        for (final String name : new ArrayList<String>(files.keySet())) {
+            delete(name);
+        }
+    }
+
+    /**
+     * @return the size of the cached files in bytes
+     */
+    public synchronized long getSizeInBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return the number of cached files
+     */
+    public synchronized int size() {
+        return files.size();
+    }
+
+    /**
+     * Returns cached speech, synthesizing it if it isn't cached. Concurrent
+     * calls for the same speech wait for the first one.
+     */
+    SynthesizeSpeechResult synthesizeSpeech(final SynthesizeSpeechRequest request,
+            final Synthesizer synthesizer) {
+        final String name = fileName(request);
+        FutureTask<File> task;
+        boolean owner = false;
+        synchronized (this) {
+            final File file = getFile(name);
+            if (file != null) {
+                return openResult(file, name);
+            }
+            task = inFlight.get(name);
+            if (task == null) {
+                task = new FutureTask<File>(new Callable<File>() {
+                    @Override
+                    public File call() {
+                        return download(name, synthesizer.synthesizeSpeech(request));
+                    }
+                });
+                inFlight.put(name, task);
+                owner = true;
+            }
+        }
+        if (owner) {
+            try {
+                task.run();
+            } finally {
+                synchronized (this) {
+                    inFlight.remove(name);
+                }
+            }
+        }
+        return openResult(await(task), name);
+    }
+
+    private File download(String name, SynthesizeSpeechResult result) {
+        final File temp = new File(directory, name + TEMP_SUFFIX);
+        final InputStream in = result.getAudioStream();
+        OutputStream out = null;
+        long size = 0;
+        try {
+            out = new FileOutputStream(temp);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                size += read;
+            }
+            out.close();
+            out = null;
+        } catch (final IOException e) {
+            delete(temp);
+            throw new AmazonClientException("Failed to cache synthesized speech", e);
+        } finally {
+            close(in);
+            close(out);
+        }
+        final File file = new File(directory, name);
+        if (!temp.renameTo(file)) {
+            delete(temp);
+            throw new AmazonClientException("Failed to cache synthesized speech to " + file);
+        }
+        synchronized (this) {
+            final Long previous = files.put(name, size);
+            totalBytes += size - (previous == null ? 0 : previous);
+            evict();
+        }
+        return file;
+    }
+
+    private synchronized File getFile(String name) {
+        if (files.get(name) == null) {
+            return null;
+        }
+        final File file = new File(directory, name);
+        // keeps the order of use across launches
+        if (!file.setLastModified(System.currentTimeMillis()) && !file.exists()) {
+            totalBytes -= files.remove(name);
+            return null;
+        }
+        return file;
+    }
+
+    private SynthesizeSpeechResult openResult(File file, String name) {
+        final SynthesizeSpeechResult result = new SynthesizeSpeechResult();
+        try {
+            result.setAudioStream(new FileInputStream(file));
+        } catch (final FileNotFoundException e) {
+            throw new AmazonClientException("Cached speech was deleted: " + file, e);
+        }
+        final String extension = name.substring(name.lastIndexOf('.') + 1);
+        result.setContentType(CONTENT_TYPES.get(extension));
+        // no characters were billed
+        result.setRequestCharacters(0);
+        return result;
+    }
+
+    private static File await(FutureTask<File> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new AmazonClientException("Failed to synthesize speech", cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<String, Long>> it = files.entrySet().iterator();
+        // the newest file is kept even if it alone exceeds the maximum size
+        while (totalBytes > maxBytes && files.size() > 1) {
+            final Map.Entry<String, Long> eldest = it.next();
+            totalBytes -= eldest.getValue();
+            it.remove();
+            delete(new File(directory, eldest.getKey()));
+        }
+    }
+
+    private void delete(String name) {
+        final Long size = files.remove(name);
+        if (size != null) {
+            totalBytes -= size;
+            delete(new File(directory, name));
+        }
+    }
+
+    private void load() {
+        final File[] existing = directory.listFiles();
+        if (existing == null) {
+            return;
+        }
+        Arrays.sort(existing, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                final long diff = a.lastModified() - b.lastModified();
+                return diff < 0 ? -1 : (diff == 0 ? 0 : 1);
+            }
+        });
+        for (final File file : existing) {
+            if (file.getName().endsWith(TEMP_SUFFIX)) {
+                // left by a download that was interrupted
+                delete(file);
+            } else if (file.isFile()) {
+                files.put(file.getName(), file.length());
+                totalBytes += file.length();
+            }
+        }
+        evict();
+    }
+
+    private static String fileName(SynthesizeSpeechRequest request) {
+        return fileName(request.getText(), request.getTextType(), request.getVoiceId(),
+                request.getEngine(), request.getLanguageCode(), request.getLexiconNames(),
+                request.getOutputFormat(), request.getSampleRate(),
+                request.getSpeechMarkTypes());
+    }
+
+    private static String fileName(SynthesizeSpeechPresignRequest request) {
+        return fileName(request.getText(), request.getTextType(), request.getVoiceId(),
+                request.getEngine() == null ? null : request.getEngine().toString(),
+                request.getLanguageCode(), request.getLexiconNames(),
+                request.getOutputFormat(), request.getSampleRate(),
+                request.getSpeechMarkTypes());
+    }
+
+    /**
+     * Returns the file name of speech, the SHA-256 hash of its parameters and
+     * an extension for its format.
+     */
+    static String fileName(String text, String textType, String voiceId, String engine,
+            String languageCode, List<String> lexiconNames, String outputFormat,
+            String sampleRate, List<String> speechMarkTypes) {
+        final StringBuilder key = new StringBuilder();
+        append(key, textType);
+        append(key, voiceId);
+        append(key, engine);
+        append(key, languageCode);
+        // lexicons are applied in order
+        append(key, lexiconNames == null ? null : lexiconNames.toString());
+        append(key, outputFormat);
+        append(key, sampleRate);
+        if (speechMarkTypes != null) {
+            final List<String> sorted = new ArrayList<String>(speechMarkTypes);
+            Collections.sort(sorted);
+            append(key, sorted.toString());
+        } else {
+            append(key, null);
+        }
+        key.append(text);
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new AmazonClientException("SHA-256 is not available", e);
+        }
+        final String hash = BinaryUtils.toHex(digest.digest(key.toString().getBytes(
+                StringUtils.UTF8)));
+        final String extension = outputFormat == null ? null
+                : EXTENSIONS.get(outputFormat.toLowerCase(Locale.US));
+        return extension == null ? hash : hash + "." + extension;
+    }
+
+    private static void append(StringBuilder key, String value) {
+        key.append(value == null ? "" : value).append('\n');
+    }
+
+    private static void delete(File file) {
+        if (!file.delete() && file.exists()) {
+            LOGGER.warn("Failed to delete " + file);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to close stream", e);
+        }
+    }
+}
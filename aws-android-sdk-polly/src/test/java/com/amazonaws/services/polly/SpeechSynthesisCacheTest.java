@@ -0,0 +1,175 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.polly;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.services.polly.model.OutputFormat;
+import com.amazonaws.services.polly.model.SynthesizeSpeechPresignRequest;
+import com.amazonaws.services.polly.model.SynthesizeSpeechRequest;
+import com.amazonaws.services.polly.model.SynthesizeSpeechResult;
+import com.amazonaws.services.polly.model.VoiceId;
+import com.amazonaws.util.IOUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SpeechSynthesisCacheTest {
+
+    private File directory;
+    private CountingSynthesizer synthesizer;
+
+    @Before
+    public void setup() throws IOException {
+        directory = File.createTempFile("polly-cache", "");
+        assertTrue(directory.delete());
+        synthesizer = new CountingSynthesizer();
+    }
+
+    @After
+    public void tearDown() {
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testRepeatedSpeechIsServedFromDisk() throws IOException {
+        final SpeechSynthesisCache cache = new SpeechSynthesisCache(directory);
+        assertEquals("Hello", read(cache.synthesizeSpeech(request("Hello"), synthesizer)));
+        final SynthesizeSpeechResult cached = cache.synthesizeSpeech(request("Hello"), synthesizer);
+        assertEquals("Hello", read(cached));
+        assertEquals("audio/mpeg", cached.getContentType());
+        assertEquals(1, synthesizer.calls.get());
+
+        assertNull(cache.get(request("Hello").withVoiceId(VoiceId.Matthew)));
+        assertEquals("Hello", read(new SpeechSynthesisCache(directory).get(request("Hello"))));
+    }
+
+    @Test
+    public void testPresignRequestFindsCachedFile() throws IOException {
+        final SpeechSynthesisCache cache = new SpeechSynthesisCache(directory);
+        final SynthesizeSpeechPresignRequest presignRequest = new SynthesizeSpeechPresignRequest()
+                .withText("Hello").withVoiceId(VoiceId.Joanna).withOutputFormat(OutputFormat.Mp3);
+        assertNull(cache.getFile(presignRequest));
+        read(cache.synthesizeSpeech(request("Hello"), synthesizer));
+        final File file = cache.getFile(presignRequest);
+        assertNotNull(file);
+        assertTrue(file.getName().endsWith(".mp3"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSpeechIsEvicted() throws IOException {
+        final SpeechSynthesisCache cache = new SpeechSynthesisCache(directory, 10);
+        read(cache.synthesizeSpeech(request("aaaa"), synthesizer));
+        read(cache.synthesizeSpeech(request("bbbb"), synthesizer));
+        read(cache.get(request("aaaa")));
+        read(cache.synthesizeSpeech(request("cccc"), synthesizer));
+
+        assertEquals(2, cache.size());
+        assertEquals(8, cache.getSizeInBytes());
+        assertNotNull(cache.get(request("aaaa")));
+        assertNull(cache.get(request("bbbb")));
+        assertNotNull(cache.get(request("cccc")));
+    }
+
+    @Test
+    public void testConcurrentRequestsAreMerged() throws Exception {
+        final SpeechSynthesisCache cache = new SpeechSynthesisCache(directory);
+        synthesizer.gate = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<Thread>();
+        final AtomicInteger hits = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if ("Hello".equals(read(cache.synthesizeSpeech(request("Hello"),
+                                synthesizer)))) {
+                            hits.incrementAndGet();
+                        }
+                    } catch (final IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        Thread.sleep(100);
+        synthesizer.gate.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4, hits.get());
+        assertEquals(1, synthesizer.calls.get());
+    }
+
+    @Test
+    public void testLexiconOrderIsPartOfTheKey() {
+        final String a = SpeechSynthesisCache.fileName("Hi", null, "Joanna", null, null,
+                Arrays.asList("one", "two"), "mp3", null, null);
+        final String b = SpeechSynthesisCache.fileName("Hi", null, "Joanna", null, null,
+                Arrays.asList("two", "one"), "mp3", null, null);
+        assertFalse(a.equals(b));
+    }
+
+    private static SynthesizeSpeechRequest request(String text) {
+        return new SynthesizeSpeechRequest().withText(text).withVoiceId(VoiceId.Joanna)
+                .withOutputFormat(OutputFormat.Mp3);
+    }
+
+    private static String read(SynthesizeSpeechResult result) throws IOException {
+        return IOUtils.toString(result.getAudioStream());
+    }
+
+    private static final class CountingSynthesizer implements SpeechSynthesisCache.Synthesizer {
+        final AtomicInteger calls = new AtomicInteger();
+        volatile CountDownLatch gate;
+
+        @Override
+        public SynthesizeSpeechResult synthesizeSpeech(SynthesizeSpeechRequest request) {
+            calls.incrementAndGet();
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new SynthesizeSpeechResult().withAudioStream(
+                    new ByteArrayInputStream(request.getText().getBytes()));
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.s3.transferutility;
+
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.telephony.TelephonyManager;
+
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Dispatches part tasks to an executor while adapting the number of parts in
+ * flight to the link, in the spirit of TCP congestion control. The limit
+ * grows by one part per round of completions while the aggregate throughput
+ * keeps improving, shrinks by one when extra parallelism stops paying off,
+ * and is halved on errors and throttling. Tasks above the limit wait in a
+ * queue; they are never dropped while the scheduler is running.
+ */
+class AdaptivePartScheduler {
+
+    private static final Log LOGGER = LogFactory.getLog(AdaptivePartScheduler.class);
+
+    /** Part limits on Wi-Fi and wired networks. */
+    static final int WIFI_INITIAL_LIMIT = 8;
+    static final int WIFI_MAX_LIMIT = 16;
+    /** Part limits on 3G and faster cellular networks. */
+    static final int MOBILE_INITIAL_LIMIT = 2;
+    static final int MOBILE_MAX_LIMIT = 4;
+    /** Part limits on 2G cellular networks. */
+    static final int POOR_MOBILE_INITIAL_LIMIT = 1;
+    static final int POOR_MOBILE_MAX_LIMIT = 2;
+    /** The limit never goes below this many parts. */
+    static final int MIN_LIMIT = 1;
+
+    /** Throughput has to improve by this ratio to grow the limit. */
+    private static final double GROWTH_THRESHOLD = 1.05;
+    /** Throughput falling below this ratio of the best shrinks the limit. */
+    private static final double DECLINE_THRESHOLD = 0.8;
+    /** Decay applied to the best throughput so the estimate follows the link. */
+    private static final double BEST_DECAY = 0.95;
+    private static final double NANOS_PER_SECOND = 1000000000.0;
+
+    private final Executor executor;
+    private final Queue<FutureTask<?>> pending = new LinkedList<FutureTask<?>>();
+
+    private boolean shutdown;
+    private int inFlight;
+    private int limit;
+    private int maxLimit;
+
+    private int windowParts;
+    private long windowBytes;
+    private long windowStartNanos;
+    private double bestThroughput;
+    private int partsSinceDecrease;
+    private int partsBeforeDecrease;
+
+    /**
+     * Creates a scheduler starting with the Wi-Fi limits.
+     *
+     * @param executor the executor running the part tasks. It should have at
+     *            least {@link #WIFI_MAX_LIMIT} threads.
+     */
+    AdaptivePartScheduler(Executor executor) {
+        this.executor = executor;
+        this.limit = WIFI_INITIAL_LIMIT;
+        this.maxLimit = WIFI_MAX_LIMIT;
+        this.partsSinceDecrease = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Queues a part task. It starts as soon as the number of parts in flight
+     * is below the current limit.
+     *
+     * @param task the part task
+     * @param <T> the result type
+     * @return the future of the task, already cancelled if the scheduler
+     *         has been shut down
+     */
+    <T> Future<T> submit(Callable<T> task) {
+        final FutureTask<T> future = new FutureTask<T>(task);
+        synchronized (this) {
+            if (shutdown) {
+                future.cancel(false);
+                return future;
+            }
+            pending.add(future);
+        }
+        dispatch();
+        return future;
+    }
+
+    /**
+     * Records a part that was uploaded successfully.
+     *
+     * @param bytes the size of the part
+     * @param elapsedNanos the time the part took
+     */
+    synchronized void onPartCompleted(long bytes, long elapsedNanos) {
+        onPartCompleted(bytes, elapsedNanos, System.nanoTime());
+    }
+
+    synchronized void onPartCompleted(long bytes, long elapsedNanos, long nowNanos) {
+        if (partsSinceDecrease != Integer.MAX_VALUE) {
+            partsSinceDecrease++;
+        }
+        if (windowParts == 0) {
+            windowStartNanos = nowNanos - elapsedNanos;
+        }
+        windowParts++;
+        windowBytes += bytes;
+        if (windowParts < limit) {
+            return;
+        }
+
+        final long windowNanos = Math.max(nowNanos - windowStartNanos, 1L);
+        final double throughput = windowBytes * NANOS_PER_SECOND / windowNanos;
+        if (throughput > bestThroughput * GROWTH_THRESHOLD) {
+            bestThroughput = throughput;
+            if (limit < maxLimit) {
+                limit++;
+                LOGGER.debug("Increasing part concurrency to " + limit);
+            }
+        } else if (throughput < bestThroughput * DECLINE_THRESHOLD) {
+            bestThroughput *= BEST_DECAY;
+            if (limit > MIN_LIMIT) {
+                limit--;
+                LOGGER.debug("Decreasing part concurrency to " + limit);
+            }
+        } else {
+            bestThroughput = Math.max(bestThroughput * BEST_DECAY, throughput);
+        }
+        resetWindow();
+        dispatch();
+    }
+
+    /**
+     * Records a failed attempt to upload a part. The limit is halved at most
+     * once per round of parts, so a burst of failures among the parts already
+     * in flight counts as one congestion event.
+     */
+    synchronized void onPartFailed() {
+        if (partsSinceDecrease != Integer.MAX_VALUE) {
+            partsSinceDecrease++;
+        }
+        if (partsSinceDecrease < partsBeforeDecrease) {
+            return;
+        }
+        // The parts in flight when the limit dropped may still fail.
+        partsBeforeDecrease = Math.max(limit, inFlight);
+        limit = Math.max(MIN_LIMIT, limit / 2);
+        partsSinceDecrease = 0;
+        resetWindow();
+        LOGGER.debug("Part failed. Decreasing part concurrency to " + limit);
+    }
+
+    /**
+     * Applies the limits for the given network. Switching to a different
+     * kind of network restarts the estimation from its initial limit.
+     *
+     * @param info the active network, may be null
+     */
+    synchronized void onNetworkChanged(NetworkInfo info) {
+        if (info == null || !info.isConnected()) {
+            return;
+        }
+        final int initialLimit;
+        final int newMaxLimit;
+        if (info.getType() != ConnectivityManager.TYPE_MOBILE) {
+            initialLimit = WIFI_INITIAL_LIMIT;
+            newMaxLimit = WIFI_MAX_LIMIT;
+        } else if (isPoorMobileNetwork(info.getSubtype())) {
+            initialLimit = POOR_MOBILE_INITIAL_LIMIT;
+            newMaxLimit = POOR_MOBILE_MAX_LIMIT;
+        } else {
+            initialLimit = MOBILE_INITIAL_LIMIT;
+            newMaxLimit = MOBILE_MAX_LIMIT;
+        }
+        if (newMaxLimit == maxLimit) {
+            return;
+        }
+        LOGGER.info("Network changed. Part concurrency limit is now " + initialLimit
+                + " of at most " + newMaxLimit);
+        maxLimit = newMaxLimit;
+        limit = initialLimit;
+        bestThroughput = 0;
+        partsSinceDecrease = Integer.MAX_VALUE;
+        resetWindow();
+        dispatch();
+    }
+
+    /**
+     * Stops dispatching and cancels the parts still waiting for a slot so
+     * that callers blocked on their futures are released. Parts already
+     * handed to the executor are left to it.
+     */
+    void shutdown() {
+        final List<FutureTask<?>> cancelled;
+        synchronized (this) {
+            shutdown = true;
+            cancelled = new ArrayList<FutureTask<?>>(pending);
+            pending.clear();
+        }
+        for (final FutureTask<?> future : cancelled) {
+            future.cancel(false);
+        }
+        if (!cancelled.isEmpty()) {
+            LOGGER.debug("Cancelled " + cancelled.size() + " queued parts on shutdown");
+        }
+    }
+
+    /**
+     * @return the current number of parts allowed in flight
+     */
+    synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the upper bound of the limit on the current network
+     */
+    synchronized int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * @return the number of parts running
+     */
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return the number of parts waiting for a slot
+     */
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private static boolean isPoorMobileNetwork(int subtype) {
+        switch (subtype) {
+            case TelephonyManager.NETWORK_TYPE_GPRS:
+            case TelephonyManager.NETWORK_TYPE_EDGE:
+            case TelephonyManager.NETWORK_TYPE_CDMA:
+            case TelephonyManager.NETWORK_TYPE_1xRTT:
+            case TelephonyManager.NETWORK_TYPE_IDEN:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void resetWindow() {
+        windowParts = 0;
+        windowBytes = 0;
+    }
+
+    private void dispatch() {
+        while (true) {
+            final Runnable task;
+            synchronized (this) {
+                if (shutdown || inFlight >= limit || pending.isEmpty()) {
+                    return;
+                }
+                task = pending.poll();
+                inFlight++;
+            }
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run();
+                    } finally {
+                        synchronized (AdaptivePartScheduler.this) {
+                            inFlight--;
+                        }
+                        dispatch();
+                    }
+                }
+            });
+        }
+    }
+}
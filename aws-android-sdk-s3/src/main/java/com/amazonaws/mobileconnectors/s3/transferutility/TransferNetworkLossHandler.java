@@ -111,6 +111,7 @@ public class TransferNetworkLossHandler extends BroadcastReceiver {
 
             final boolean networkConnected = isNetworkConnected();
             LOGGER.info("Network connected: " + networkConnected);
+            TransferThreadPool.onNetworkChanged(connManager.getActiveNetworkInfo());
 
             /**
              * Scanning the database for transfers and pausing/resuming them can be
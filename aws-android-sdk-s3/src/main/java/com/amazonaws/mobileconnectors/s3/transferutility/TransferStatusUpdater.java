@@ -35,6 +35,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A class that tracks active transfers. It has a static map that holds weak
@@ -57,6 +64,30 @@ class TransferStatusUpdater {
     static final Map<Integer, List<TransferListener>> LISTENERS = new ConcurrentHashMap<Integer, List<TransferListener>>() {
     };
 
+    /**
+     * Minimum interval between two writes of the progress of a transfer to
+     * the database. Progress in between is coalesced.
+     */
+    static final long PROGRESS_PERSIST_INTERVAL_MILLIS = 1000L;
+
+    /**
+     * Progress of the active transfers, kept in memory between database writes
+     * and listener notifications.
+     */
+    private final ConcurrentHashMap<Integer, TransferProgress> progress =
+            new ConcurrentHashMap<Integer, TransferProgress>();
+
+    /**
+     * Minimum interval between two progress notifications of a transfer.
+     */
+    private volatile long progressUpdateIntervalMillis =
+            TransferUtilityOptions.getDefaultProgressUpdateIntervalMillis();
+
+    /**
+     * Runs the coalesced database writes and notifications.
+     */
+    private ScheduledExecutorService progressFlusher;
+
     /**
      * A map of active transfers.
      */
@@ -68,9 +99,9 @@ class TransferStatusUpdater {
     private static TransferDBUtil dbUtil;
     
     /**
-     * The handler of main thread that runs callbacks.
+     * Runs callbacks on the main thread.
      */
-    private final Handler mainHandler;
+    private final Executor mainThread;
 
     /**
      * Context required to stop TransferService on all transfers completed
@@ -96,9 +127,24 @@ class TransferStatusUpdater {
      * the object of the updater.
      */
     TransferStatusUpdater(TransferDBUtil dbUtilInstance, Context context) {
+        this(dbUtilInstance, context, new Executor() {
+            private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+            @Override
+            public void execute(Runnable command) {
+                mainHandler.post(command);
+            }
+        });
+    }
+
+    /**
+     * Creates an updater that runs callbacks on the given executor, in the
+     * order they are submitted.
+     */
+    TransferStatusUpdater(TransferDBUtil dbUtilInstance, Context context, Executor mainThread) {
         dbUtil = dbUtilInstance;
         this.context = context;
-        mainHandler = new Handler(Looper.getMainLooper());
+        this.mainThread = mainThread;
         transfers = new ConcurrentHashMap<Integer, TransferRecord>();
     }
 
@@ -154,6 +200,7 @@ class TransferStatusUpdater {
             LISTENERS.remove(id);
         }
         transfers.remove(id);
+        progress.remove(id);
     }
     
     /**
@@ -218,6 +265,13 @@ class TransferStatusUpdater {
             removeTransferRecordFromDB(id);
         }
 
+        // Deliver coalesced progress first so that listeners see the latest
+        // progress before the state change, and before they are released.
+        final TransferProgress current = progress.get(id);
+        if (current != null && current.notifyPending) {
+            notifyProgress(id, current, System.currentTimeMillis());
+        }
+
         synchronized (LISTENERS) {
             final List<TransferListener> list = LISTENERS.get(id);
             if (list != null && !list.isEmpty()) {
@@ -228,7 +282,7 @@ class TransferStatusUpdater {
                     if (l instanceof TransferObserver.TransferStatusListener) {
                         l.onStateChanged(id, newState);
                     } else {
-                        mainHandler.post(new Runnable() {
+                        mainThread.execute(new Runnable() {
                             @Override
                             public void run() {
                                 l.onStateChanged(id, newState);
@@ -264,17 +318,21 @@ class TransferStatusUpdater {
     }
 
     /**
-     * Updates the transfer progress of a transfer. It will trigger
-     * {@link TransferListener#onProgressChanged(int, long, long)} of associated
-     * LISTENERS if the update exceeds either time threshold.
+     * Updates the transfer progress of a transfer. The progress is kept in
+     * memory and written to the database at most once per
+     * {@link #PROGRESS_PERSIST_INTERVAL_MILLIS}, or right away when the
+     * listeners are not notified or the transfer has reached its total. It
+     * triggers {@link TransferListener#onProgressChanged(int, long, long)} of
+     * associated LISTENERS at most once per progress update interval; the
+     * latest progress is always delivered.
      *
      * @param id id of the transfer
      * @param bytesCurrent current transferred bytes
      * @param bytesTotal total bytes
      */
-    synchronized void updateProgress(final int id, 
-        final long bytesCurrent, 
-        final long bytesTotal, 
+    void updateProgress(final int id,
+        final long bytesCurrent,
+        final long bytesTotal,
         final boolean notifyListener) {
 
         final TransferRecord transfer = transfers.get(id);
@@ -283,24 +341,103 @@ class TransferStatusUpdater {
             transfer.bytesTotal = bytesTotal;
         }
 
+        final TransferProgress current = getProgress(id);
+        current.bytesCurrent.set(bytesCurrent);
+        current.bytesTotal.set(bytesTotal);
+
+        final long now = System.currentTimeMillis();
+        final boolean boundary = !notifyListener || bytesCurrent >= bytesTotal;
+
         // update bytes transferred so that the transfer observer may pick it
         // up.
-        dbUtil.updateBytesTransferred(id, bytesCurrent);
+        if (boundary || now - current.lastPersistTime >= PROGRESS_PERSIST_INTERVAL_MILLIS) {
+            persistProgress(id, current, now);
+        } else {
+            current.persistPending = true;
+            scheduleFlush(id, current, PROGRESS_PERSIST_INTERVAL_MILLIS);
+        }
 
         if (!notifyListener) {
             return;
         }
 
-        // invoke LISTENERS
-        synchronized (LISTENERS) {
+        final long interval = progressUpdateIntervalMillis;
+        if (boundary || now - current.lastNotifyTime >= interval) {
+            notifyProgress(id, current, now);
+        } else {
+            current.notifyPending = true;
+            scheduleFlush(id, current, interval);
+        }
+    }
+
+    /**
+     * Writes the latest progress of a transfer to the database if it hasn't
+     * been written yet, e.g. when a part of a multipart upload completes.
+     *
+     * @param id id of the transfer
+     */
+    void persistProgress(final int id) {
+        final TransferProgress current = progress.get(id);
+        if (current != null) {
+            persistProgress(id, current, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Sets the minimum interval between two progress notifications of a
+     * transfer. It applies to all transfers.
+     *
+     * @param intervalMillis the interval in milliseconds, 0 to notify every
+     *            update
+     */
+    void setProgressUpdateInterval(final long intervalMillis) {
+        progressUpdateIntervalMillis = Math.max(0, intervalMillis);
+    }
+
+    private TransferProgress getProgress(final int id) {
+        TransferProgress current = progress.get(id);
+        if (current == null) {
+            final TransferProgress created = new TransferProgress();
+            current = progress.putIfAbsent(id, created);
+            if (current == null) {
+                current = created;
+            }
+        }
+        return current;
+    }
+
+    private void persistProgress(final int id, final TransferProgress current, final long now) {
+        // Writes of the same transfer are ordered, other transfers don't wait.
+        synchronized (current) {
+            current.persistPending = false;
+            current.lastPersistTime = now;
+            final long bytes = current.bytesCurrent.get();
+            if (bytes != current.persistedBytes) {
+                dbUtil.updateBytesTransferred(id, bytes);
+                current.persistedBytes = bytes;
+            }
+        }
+    }
+
+    private void notifyProgress(final int id, final TransferProgress current, final long now) {
+        // The updating thread and the flusher both notify. Reading and posting
+        // under one lock keeps a later read from being posted first.
+        synchronized (current.notifyLock) {
+            current.notifyPending = false;
+            current.lastNotifyTime = now;
+
+            // LISTENERS holds copy-on-write lists, so they can be read without
+            // holding the lock that guards registration.
             final List<TransferListener> list = LISTENERS.get(id);
             if (list == null || list.isEmpty()) {
                 return;
             }
 
+            final long bytesCurrent = current.bytesCurrent.get();
+            final long bytesTotal = current.bytesTotal.get();
             for (final TransferListener l : list) {
                 // invoke on main thread
-                mainHandler.post(new Runnable() {
+                mainThread.execute(new Runnable() {
                     @Override
                     public void run() {
                         l.onProgressChanged(id, bytesCurrent, bytesTotal);
@@ -310,6 +447,55 @@ class TransferStatusUpdater {
         }
     }
 
+    private void scheduleFlush(final int id, final TransferProgress current, final long delayMillis) {
+        if (!current.flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        getProgressFlusher().schedule(new Runnable() {
+            @Override
+            public void run() {
+                current.flushScheduled.set(false);
+                final long now = System.currentTimeMillis();
+                if (current.persistPending) {
+                    persistProgress(id, current, now);
+                }
+                if (current.notifyPending) {
+                    notifyProgress(id, current, now);
+                }
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized ScheduledExecutorService getProgressFlusher() {
+        if (progressFlusher == null) {
+            progressFlusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    final Thread t = new Thread(r, "TransferProgressFlusher");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+        return progressFlusher;
+    }
+
+    /**
+     * The in-memory progress of a transfer.
+     */
+    private static final class TransferProgress {
+        final AtomicLong bytesCurrent = new AtomicLong();
+        final AtomicLong bytesTotal = new AtomicLong();
+        final AtomicBoolean flushScheduled = new AtomicBoolean();
+        /** Held while notifying, apart from the lock of database writes. */
+        final Object notifyLock = new Object();
+        volatile boolean persistPending;
+        volatile boolean notifyPending;
+        volatile long lastNotifyTime;
+        volatile long lastPersistTime;
+        long persistedBytes = -1;
+    }
+
     /**
      * Throws an error to transfer. It triggers
      * {@link TransferListener#onError(int, Exception)} of associated LISTENERS.
@@ -327,7 +513,7 @@ class TransferStatusUpdater {
 
             for (final TransferListener l : list) {
                 // invoke on main thread
-                mainHandler.post(new Runnable() {
+                mainThread.execute(new Runnable() {
                     @Override
                     public void run() {
                         l.onError(id, e);
@@ -345,6 +531,7 @@ class TransferStatusUpdater {
             LISTENERS.clear();
         }
         transfers.clear();
+        progress.clear();
     }
 
     /**
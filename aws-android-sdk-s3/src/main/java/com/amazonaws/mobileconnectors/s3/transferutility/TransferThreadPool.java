@@ -15,6 +15,8 @@
 
 package com.amazonaws.mobileconnectors.s3.transferutility;
 
+import android.net.NetworkInfo;
+
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -31,8 +33,21 @@ class TransferThreadPool {
 
     private static ExecutorService executorMainTask;
     private static ExecutorService executorPartTask;
+    private static AdaptivePartScheduler partScheduler;
 
     static synchronized void init(final int transferThreadPoolSize) {
+        init(transferThreadPoolSize, false);
+    }
+
+    /**
+     * Initializes the thread pools if they don't exist yet.
+     *
+     * @param transferThreadPoolSize the total number of threads
+     * @param adaptivePartConcurrency true to let an {@link AdaptivePartScheduler}
+     *            decide how many parts are uploaded in parallel
+     */
+    static synchronized void init(final int transferThreadPoolSize,
+            final boolean adaptivePartConcurrency) {
         LOGGER.debug("Initializing the thread pool of size: " + transferThreadPoolSize);
 
         final int poolSize = Math.max((int) (Math.ceil((double) transferThreadPoolSize / 2)), 1);
@@ -41,20 +56,76 @@ class TransferThreadPool {
             executorMainTask = buildExecutor(poolSize);
         }
         if (executorPartTask == null) {
-            executorPartTask = buildExecutor(poolSize);
+            if (adaptivePartConcurrency) {
+                executorPartTask = buildExecutor(AdaptivePartScheduler.WIFI_MAX_LIMIT);
+                partScheduler = new AdaptivePartScheduler(executorPartTask);
+            } else {
+                executorPartTask = buildExecutor(poolSize);
+            }
         }
     }
 
     public static <T> Future<T> submitTask(Callable<T> c) {
-        init(TransferUtilityOptions.getDefaultThreadPoolSize());
-        if (c instanceof UploadPartTask) {
-            return executorPartTask.submit(c);
-        } else {
-            return executorMainTask.submit(c);
+        final AdaptivePartScheduler scheduler;
+        synchronized (TransferThreadPool.class) {
+            init(TransferUtilityOptions.getDefaultThreadPoolSize());
+            if (!(c instanceof UploadPartTask)) {
+                return executorMainTask.submit(c);
+            }
+            if (partScheduler == null) {
+                return executorPartTask.submit(c);
+            }
+            scheduler = partScheduler;
+        }
+        return scheduler.submit(c);
+    }
+
+    /**
+     * Reports a successfully uploaded part to the adaptive scheduler, if any.
+     *
+     * @param bytes the size of the part
+     * @param elapsedNanos the time the upload took
+     */
+    static void onPartCompleted(long bytes, long elapsedNanos) {
+        final AdaptivePartScheduler scheduler = getPartScheduler();
+        if (scheduler != null) {
+            scheduler.onPartCompleted(bytes, elapsedNanos);
         }
     }
 
-    public static void closeThreadPool() {
+    /**
+     * Reports a failed part upload attempt to the adaptive scheduler, if any.
+     */
+    static void onPartFailed() {
+        final AdaptivePartScheduler scheduler = getPartScheduler();
+        if (scheduler != null) {
+            scheduler.onPartFailed();
+        }
+    }
+
+    /**
+     * Adjusts the part concurrency limits of the adaptive scheduler, if any,
+     * to the active network.
+     *
+     * @param info the active network, may be null
+     */
+    static void onNetworkChanged(NetworkInfo info) {
+        final AdaptivePartScheduler scheduler = getPartScheduler();
+        if (scheduler != null) {
+            scheduler.onNetworkChanged(info);
+        }
+    }
+
+    private static synchronized AdaptivePartScheduler getPartScheduler() {
+        return partScheduler;
+    }
+
+    public static synchronized void closeThreadPool() {
+        if (partScheduler != null) {
+            // Queued parts would otherwise never run nor complete.
+            partScheduler.shutdown();
+            partScheduler = null;
+        }
         if (executorPartTask != null) {
             shutdown(executorPartTask);
             executorPartTask = null;
@@ -326,8 +326,13 @@ public class TransferUtility {
         this.transferUtilityOptions = tuOptions;
         this.dbUtil = new TransferDBUtil(context.getApplicationContext());
         this.updater = TransferStatusUpdater.getInstance(context.getApplicationContext());
-        TransferThreadPool.init(this.transferUtilityOptions.getTransferThreadPoolSize());
+        this.updater.setProgressUpdateInterval(this.transferUtilityOptions.getProgressUpdateIntervalMillis());
+        TransferThreadPool.init(this.transferUtilityOptions.getTransferThreadPoolSize(),
+                this.transferUtilityOptions.isAdaptivePartConcurrency());
         this.connManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (this.connManager != null) {
+            TransferThreadPool.onNetworkChanged(this.connManager.getActiveNetworkInfo());
+        }
     }
 
     /**
@@ -49,6 +49,11 @@ public class TransferUtilityOptions implements Serializable {
      */
     private static final int MILLIS_IN_MINUTE = 60 * 1000;
 
+    /**
+     * Default minimum interval between two progress notifications, none.
+     */
+    private static final long DEFAULT_PROGRESS_UPDATE_INTERVAL_MILLIS = 0L;
+
     /**
      * TransferService checks for the transfers that are waiting or in progress
      * and restarts the transfer for every time interval in milliseconds.
@@ -68,6 +73,17 @@ public class TransferUtilityOptions implements Serializable {
      * Type of connection to use for transfers.
      */
     protected TransferNetworkConnectionType transferNetworkConnectionType;
+
+    /**
+     * Whether the number of parts uploaded in parallel adapts to the network.
+     */
+    private boolean adaptivePartConcurrency;
+
+    /**
+     * Minimum interval in milliseconds between two progress notifications
+     * of a transfer.
+     */
+    private long progressUpdateIntervalMillis;
     
     /**
      * Constructor that sets the options to the
@@ -78,6 +94,7 @@ public class TransferUtilityOptions implements Serializable {
         this.transferServiceCheckTimeInterval = getDefaultCheckTimeInterval();
         this.transferThreadPoolSize = getDefaultThreadPoolSize();
         this.transferNetworkConnectionType = getDefaultTransferNetworkConnectionType();
+        this.progressUpdateIntervalMillis = getDefaultProgressUpdateIntervalMillis();
     }
 
     /**
@@ -93,6 +110,7 @@ public class TransferUtilityOptions implements Serializable {
         this.transferServiceCheckTimeInterval = getDefaultCheckTimeInterval();
         this.transferThreadPoolSize = transferThreadPoolSize;
         this.transferNetworkConnectionType = transferNetworkConnectionType;
+        this.progressUpdateIntervalMillis = getDefaultProgressUpdateIntervalMillis();
     }
 
     /**
@@ -153,6 +171,59 @@ public class TransferUtilityOptions implements Serializable {
         return transferNetworkConnectionType;
     }
 
+    /**
+     * Returns whether the number of parts of multipart uploads sent in
+     * parallel adapts to the measured throughput and error rate.
+     *
+     * @return true if the part concurrency is adaptive
+     */
+    public boolean isAdaptivePartConcurrency() {
+        return adaptivePartConcurrency;
+    }
+
+    /**
+     * Set whether the number of parts of multipart uploads sent in parallel
+     * adapts to the network instead of being fixed by the thread pool size.
+     * When enabled, up to 16 parts are sent in parallel on Wi-Fi and up to 4
+     * (2 on 2G networks) on cellular. The number grows while the throughput
+     * improves and is halved on errors and throttling. This setting only
+     * applies to the first {@link TransferUtility} created in the process.
+     *
+     * @param adaptivePartConcurrency true to adapt the part concurrency
+     */
+    public void setAdaptivePartConcurrency(final boolean adaptivePartConcurrency) {
+        this.adaptivePartConcurrency = adaptivePartConcurrency;
+    }
+
+    /**
+     * Retrieve the minimum interval between two progress notifications of a
+     * transfer.
+     *
+     * @return the interval in milliseconds
+     */
+    public long getProgressUpdateIntervalMillis() {
+        return progressUpdateIntervalMillis;
+    }
+
+    /**
+     * Set the minimum interval between two calls of
+     * {@link TransferListener#onProgressChanged(int, long, long)} for a
+     * transfer. Progress in between is coalesced and the latest progress is
+     * always delivered. By default, and with 0, every progress update is
+     * notified. If it's negative, then set the default value. The interval
+     * applies to all transfers of the process and is set by the last
+     * {@link TransferUtility} created.
+     *
+     * @param progressUpdateIntervalMillis the interval in milliseconds
+     */
+    public void setProgressUpdateIntervalMillis(final long progressUpdateIntervalMillis) {
+        if (progressUpdateIntervalMillis < 0) {
+            this.progressUpdateIntervalMillis = getDefaultProgressUpdateIntervalMillis();
+        } else {
+            this.progressUpdateIntervalMillis = progressUpdateIntervalMillis;
+        }
+    }
+
     /**
      * Return the default thread pool size.
      * 
@@ -162,6 +233,15 @@ public class TransferUtilityOptions implements Serializable {
         return 2 * (Runtime.getRuntime().availableProcessors() + 1);
     }
 
+    /**
+     * Return the default progress update interval.
+     *
+     * @return 0, every progress update is notified
+     */
+    static long getDefaultProgressUpdateIntervalMillis() {
+        return DEFAULT_PROGRESS_UPDATE_INTERVAL_MILLIS;
+    }
+
     /**
      * Return the default check time interval.
      * 
@@ -60,9 +60,13 @@ class UploadPartTask implements Callable<Boolean> {
         int retried = 1;
         while (true) {
             try {
+                final long startNanos = System.nanoTime();
                 final UploadPartResult putPartResult = s3.uploadPart(uploadPartRequest);
+                TransferThreadPool.onPartCompleted(uploadPartRequest.getPartSize(),
+                        System.nanoTime() - startNanos);
                 setTaskState(TransferState.PART_COMPLETED);
                 dbUtil.updateETag(uploadPartRequest.getId(), putPartResult.getETag());
+                uploadPartTaskProgressListener.uploadTaskProgressListener.onPartCompleted();
                 return true;
             } catch (AbortedException e) {
                 // If request got aborted, operation was paused or canceled. do not retry.
@@ -92,6 +96,10 @@ class UploadPartTask implements Callable<Boolean> {
                     LOGGER.error("TransferUtilityException: [" + transferUtilityException + "]");
                 }
 
+                // Errors and throttling other than network loss mean the link
+                // is congested, so fewer parts should be in flight.
+                TransferThreadPool.onPartFailed();
+
                 if (retried >= RETRY_COUNT) {
                     setTaskState(TransferState.FAILED);
                     LOGGER.error("Encountered error uploading part ", e);
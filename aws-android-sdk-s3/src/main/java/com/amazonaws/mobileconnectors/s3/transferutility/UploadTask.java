@@ -509,6 +509,13 @@ class UploadTask implements Callable<Boolean> {
             // No-op
         }
 
+        /**
+         * Persists the progress of the upload at a part boundary.
+         */
+        void onPartCompleted() {
+            updater.persistProgress(UploadTask.this.upload.id);
+        }
+
         public synchronized void onProgressChanged(final int partNum,
                                                    final long bytesTransferredSoFarForPartNum) {
             UploadPartTaskMetadata partNumTask = uploadPartTasks.get(partNum);
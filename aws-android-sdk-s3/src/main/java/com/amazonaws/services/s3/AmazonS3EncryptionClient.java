@@ -28,6 +28,7 @@ import com.amazonaws.services.kms.AWSKMSClient;
 import com.amazonaws.services.s3.internal.MultiFileOutputStream;
 import com.amazonaws.services.s3.internal.PartCreationEvent;
 import com.amazonaws.services.s3.internal.S3Direct;
+import com.amazonaws.services.s3.internal.crypto.ContentKeyCache;
 import com.amazonaws.services.s3.internal.crypto.CryptoModuleDispatcher;
 import com.amazonaws.services.s3.internal.crypto.S3CryptoModule;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
@@ -36,11 +37,13 @@ import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
 import com.amazonaws.services.s3.model.CopyPartRequest;
 import com.amazonaws.services.s3.model.CopyPartResult;
 import com.amazonaws.services.s3.model.CryptoConfiguration;
+import com.amazonaws.services.s3.model.CryptoMode;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
 import com.amazonaws.services.s3.model.EncryptedInitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.EncryptedPutObjectRequest;
 import com.amazonaws.services.s3.model.EncryptionMaterials;
 import com.amazonaws.services.s3.model.EncryptionMaterialsProvider;
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.GroupGrantee;
 import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
@@ -62,8 +65,11 @@ import com.amazonaws.util.VersionInfoUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -99,6 +105,7 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
         AmazonS3Encryption {
     public static final String USER_AGENT = AmazonS3EncryptionClient.class.getName()
             + "/" + VersionInfoUtils.getVersion();
+    private static final int PARALLEL_GET_BUFFER_SIZE = 1024 * 64;
     private final S3CryptoModule<?> crypto;
     private final AWSKMSClient kms;
     /**
@@ -108,6 +115,11 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * to shut down the KMS client. 
      */
     private final boolean isKMSClientInternal;
+    /**
+     * The crypto mode the client was configured with; ranged gets, and
+     * therefore parallel downloads, are not allowed in strict mode.
+     */
+    private final CryptoMode cryptoMode;
 
     // ///////////////////// Constructors ////////////////
     /**
@@ -458,6 +470,7 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
             : kms;
         this.crypto = new CryptoModuleDispatcher(this.kms, new S3DirectImpl(),
                 credentialsProvider, kekMaterialsProvider, cryptoConfig);
+        this.cryptoMode = cryptoConfig.getCryptoMode();
     }
     
     /**
@@ -511,6 +524,214 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
         return crypto.getObjectSecurely(req, dest);
     }
 
+    /**
+     * Downloads and decrypts an object into the specified file by fetching
+     * consecutive byte ranges of <code>partSize</code> bytes concurrently on
+     * the given executor. Each range is decrypted independently, the same way
+     * a ranged {@link #getObject(GetObjectRequest)} is, and written at its
+     * offset in the destination file.
+     * <p>
+     * As with any ranged get of an object encrypted in authenticated
+     * encryption mode, the GCM authentication tag is not verified. For this
+     * reason, when the client is configured with
+     * {@link CryptoMode#StrictAuthenticatedEncryption}, or the object is not
+     * larger than a single part, the object is downloaded with a single
+     * request by {@link #getObject(GetObjectRequest, File)}.
+     * </p>
+     *
+     * @param req the request; an optional range restricts the download to
+     *            that range.
+     * @param dest the file the decrypted content is written to.
+     * @param partSize the size in bytes of each ranged request.
+     * @param es the executor the ranged requests run on. It is not shut
+     *            down by this method.
+     * @return the metadata of the first downloaded part, or null if the
+     *         request constraints were not met.
+     * @throws InterruptedException if the current thread was interrupted
+     *             while waiting
+     * @throws ExecutionException if one of the ranged requests failed
+     */
+    public ObjectMetadata getObjectInParallel(final GetObjectRequest req, final File dest,
+            long partSize, ExecutorService es)
+            throws InterruptedException, ExecutionException {
+        assertParameterNotNull(req, "The request parameter must be specified");
+        assertParameterNotNull(dest, "The destination file parameter must be specified");
+        assertParameterNotNull(es, "The executor service parameter must be specified");
+        if (partSize <= 0) {
+            throw new IllegalArgumentException("partSize must be positive");
+        }
+        if (cryptoMode == CryptoMode.StrictAuthenticatedEncryption
+                || req.getPartNumber() != null) {
+            return getObject(req, dest);
+        }
+
+        final GetObjectMetadataRequest headReq = new GetObjectMetadataRequest(
+                req.getBucketName(), req.getKey(), req.getVersionId());
+        headReq.setSSECustomerKey(req.getSSECustomerKey());
+        // The content length of the stored object is the length of the cipher
+        // text, which is never shorter than the plain text.
+        final long length = super.getObjectMetadata(headReq).getContentLength();
+        final long[] range = req.getRange();
+        final long first = range == null ? 0 : range[0];
+        final long last = range == null ? length - 1 : Math.min(range[1], length - 1);
+        if (last < first || last - first + 1 <= partSize) {
+            return getObject(req, dest);
+        }
+
+        // The content key is decrypted, and the instruction file fetched, only
+        // once for all the parts.
+        final ContentKeyCache cekCache = new ContentKeyCache();
+        final PartTracker tracker = new PartTracker();
+        final List<Future<ObjectMetadata>> futures = new ArrayList<Future<ObjectMetadata>>();
+        final long[] written = new long[(int) ((last - first) / partSize) + 1];
+        boolean success = false;
+        try {
+            new RandomAccessFile(dest, "rw").close();
+            int index = 0;
+            for (long start = first; start <= last; start += partSize) {
+                final int partIndex = index++;
+                final long partStart = start;
+                final long partEnd = Math.min(start + partSize - 1, last);
+                futures.add(es.submit(new Callable<ObjectMetadata>() {
+                    @Override
+                    public ObjectMetadata call() throws IOException {
+                        if (!tracker.start()) {
+                            return null;
+                        }
+                        try {
+                            final GetObjectRequest partReq = (GetObjectRequest) req.clone();
+                            partReq.setRange(partStart, partEnd);
+                            final S3Object part = crypto.getObjectSecurely(partReq, cekCache);
+                            if (part == null) {
+                                return null;
+                            }
+                            written[partIndex] = writePart(part, dest, partStart - first,
+                                    tracker);
+                            return part.getObjectMetadata();
+                        } finally {
+                            tracker.finish();
+                        }
+                    }
+                }));
+            }
+
+            ObjectMetadata metadata = null;
+            long total = 0;
+            boolean truncated = false;
+            for (int i = 0; i < futures.size(); i++) {
+                final ObjectMetadata partMetadata = futures.get(i).get();
+                if (i == 0) {
+                    if (partMetadata == null) {
+                        return null;
+                    }
+                    metadata = partMetadata;
+                }
+                if (truncated && written[i] > 0) {
+                    throw new AmazonClientException("Unexpected short part while downloading "
+                            + req.getKey());
+                }
+                truncated = written[i] < Math.min(partSize, last - first + 1 - i * partSize);
+                total += written[i];
+            }
+            // The cipher text is longer than the plain text, so the last
+            // parts may have been shorter than requested.
+            final RandomAccessFile file = new RandomAccessFile(dest, "rw");
+            try {
+                file.setLength(total);
+            } finally {
+                file.close();
+            }
+            success = true;
+            return metadata;
+        } catch (final IOException e) {
+            throw new AmazonClientException(
+                    "Unable to store object contents to disk: " + e.getMessage(), e);
+        } finally {
+            if (!success) {
+                tracker.abort();
+                for (final Future<ObjectMetadata> future : futures) {
+                    future.cancel(true);
+                }
+                // The parts already running may still be writing to the file.
+                tracker.awaitFinished();
+                // best effort removal of the incomplete download
+                dest.delete();
+            }
+        }
+    }
+
+    private static long writePart(S3Object part, File dest, long offset, PartTracker tracker)
+            throws IOException {
+        final InputStream in = part.getObjectContent();
+        final RandomAccessFile file = new RandomAccessFile(dest, "rw");
+        try {
+            file.seek(offset);
+            final byte[] buffer = new byte[PARALLEL_GET_BUFFER_SIZE];
+            long count = 0;
+            int read;
+            while (!tracker.isAborted() && (read = in.read(buffer)) > -1) {
+                file.write(buffer, 0, read);
+                count += read;
+            }
+            return count;
+        } finally {
+            file.close();
+            if (tracker.isAborted()) {
+                part.getObjectContent().abort();
+            } else {
+                in.close();
+            }
+        }
+    }
+
+    /**
+     * Tracks the parts of a parallel download that are running, so that a
+     * failed download waits for them to stop writing before deleting the
+     * destination file.
+     */
+    private static final class PartTracker {
+        private int running;
+        private boolean aborted;
+
+        /**
+         * @return false if the download was aborted and the part must not run
+         */
+        synchronized boolean start() {
+            if (aborted) {
+                return false;
+            }
+            running++;
+            return true;
+        }
+
+        synchronized void finish() {
+            running--;
+            notifyAll();
+        }
+
+        synchronized void abort() {
+            aborted = true;
+        }
+
+        synchronized boolean isAborted() {
+            return aborted;
+        }
+
+        synchronized void awaitFinished() {
+            boolean interrupted = false;
+            while (running > 0) {
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Override
     public void deleteObject(DeleteObjectRequest req) {
         req.getRequestClientOptions().appendUserAgent(USER_AGENT);
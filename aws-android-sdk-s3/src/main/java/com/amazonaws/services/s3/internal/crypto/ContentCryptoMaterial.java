@@ -311,6 +311,30 @@ final class ContentCryptoMaterial {
         }
     }
 
+    /**
+     * Same as {@link #cek(byte[], String, EncryptionMaterials, Provider, ContentCryptoScheme, AWSKMSClient)}
+     * but looks the key up in the given cache first, if any.
+     */
+    private static SecretKey cek(byte[] cekSecured, String keyWrapAlgo,
+            EncryptionMaterials materials, Provider securityProvider,
+            ContentCryptoScheme contentCryptoScheme, AWSKMSClient kms,
+            ContentKeyCache cekCache) {
+        if (cekCache == null) {
+            return cek(cekSecured, keyWrapAlgo, materials, securityProvider,
+                    contentCryptoScheme, kms);
+        }
+        final String keyAlgo = contentCryptoScheme.getKeyGeneratorAlgorithm();
+        synchronized (cekCache) {
+            SecretKey cek = cekCache.getKey(cekSecured, keyWrapAlgo, keyAlgo);
+            if (cek == null) {
+                cek = cek(cekSecured, keyWrapAlgo, materials, securityProvider,
+                        contentCryptoScheme, kms);
+                cekCache.putKey(cekSecured, keyWrapAlgo, keyAlgo, cek);
+            }
+            return cek;
+        }
+    }
+
     /**
      * Decrypts the secured CEK via KMS; involves network calls.
      *
@@ -337,7 +361,8 @@ final class ContentCryptoMaterial {
             boolean keyWrapExpected,
             AWSKMSClient kms) {
         return fromObjectMetadata0(metadata, kekMaterialAccessor,
-                securityProvider, null, ExtraMaterialsDescription.NONE, keyWrapExpected, kms);
+                securityProvider, null, ExtraMaterialsDescription.NONE, keyWrapExpected, kms,
+                null);
     }
 
     /**
@@ -356,7 +381,28 @@ final class ContentCryptoMaterial {
             boolean keyWrapExpected,
             AWSKMSClient kms) {
         return fromObjectMetadata0(metadata, kekMaterialAccessor,
-                securityProvider, range, extra, keyWrapExpected, kms);
+                securityProvider, range, extra, keyWrapExpected, kms, null);
+    }
+
+    /**
+     * Same as
+     * {@link #fromObjectMetadata(ObjectMetadata, EncryptionMaterialsAccessor, Provider, long[], ExtraMaterialsDescription, boolean, AWSKMSClient)}
+     * but reuses the content encrypting key decrypted by a previous call with
+     * the same cache.
+     *
+     * @return a non-null content crypto material.
+     */
+    static ContentCryptoMaterial fromObjectMetadata(
+            ObjectMetadata metadata,
+            EncryptionMaterialsAccessor kekMaterialAccessor,
+            Provider securityProvider,
+            long[] range,
+            ExtraMaterialsDescription extra,
+            boolean keyWrapExpected,
+            AWSKMSClient kms,
+            ContentKeyCache cekCache) {
+        return fromObjectMetadata0(metadata, kekMaterialAccessor,
+                securityProvider, range, extra, keyWrapExpected, kms, cekCache);
     }
 
     /**
@@ -369,7 +415,8 @@ final class ContentCryptoMaterial {
             long[] range,
             ExtraMaterialsDescription extra,
             boolean keyWrapExpected,
-            AWSKMSClient kms) {
+            AWSKMSClient kms,
+            ContentKeyCache cekCache) {
         // CEK and IV
         final Map<String, String> userMeta = metadata.getUserMetadata();
         String b64key = userMeta.get(Headers.CRYPTO_KEY_V2);
@@ -434,7 +481,7 @@ final class ContentCryptoMaterial {
             throw newKeyWrapException();
         }
         final SecretKey cek = cek(cekWrapped, keyWrapAlgo, materials,
-                securityProvider, contentCryptoScheme, kms);
+                securityProvider, contentCryptoScheme, kms, cekCache);
         return new ContentCryptoMaterial(merged, cekWrapped, keyWrapAlgo,
                 contentCryptoScheme.createCipherLite(cek, iv,
                         Cipher.DECRYPT_MODE, securityProvider));
@@ -455,7 +502,8 @@ final class ContentCryptoMaterial {
             boolean keyWrapExpected,
             AWSKMSClient kms) {
         return fromInstructionFile0(instFile, kekMaterialAccessor,
-                securityProvider, null, ExtraMaterialsDescription.NONE, keyWrapExpected, kms);
+                securityProvider, null, ExtraMaterialsDescription.NONE, keyWrapExpected, kms,
+                null);
     }
 
     /**
@@ -474,7 +522,28 @@ final class ContentCryptoMaterial {
             boolean keyWrapExpected,
             AWSKMSClient kms) {
         return fromInstructionFile0(instFile, kekMaterialAccessor,
-                securityProvider, range, extra, keyWrapExpected, kms);
+                securityProvider, range, extra, keyWrapExpected, kms, null);
+    }
+
+    /**
+     * Same as
+     * {@link #fromInstructionFile(Map, EncryptionMaterialsAccessor, Provider, long[], ExtraMaterialsDescription, boolean, AWSKMSClient)}
+     * but reuses the content encrypting key decrypted by a previous call with
+     * the same cache.
+     *
+     * @return a non-null content crypto material.
+     */
+    static ContentCryptoMaterial fromInstructionFile(
+            Map<String, String> instFile,
+            EncryptionMaterialsAccessor kekMaterialAccessor,
+            Provider securityProvider,
+            long[] range,
+            ExtraMaterialsDescription extra,
+            boolean keyWrapExpected,
+            AWSKMSClient kms,
+            ContentKeyCache cekCache) {
+        return fromInstructionFile0(instFile, kekMaterialAccessor,
+                securityProvider, range, extra, keyWrapExpected, kms, cekCache);
     }
 
     /**
@@ -487,7 +556,8 @@ final class ContentCryptoMaterial {
             long[] range,
             ExtraMaterialsDescription extra,
             boolean keyWrapExpected,
-            AWSKMSClient kms) {
+            AWSKMSClient kms,
+            ContentKeyCache cekCache) {
         // CEK and IV
         String b64key = instFile.get(Headers.CRYPTO_KEY_V2);
         if (b64key == null) {
@@ -554,7 +624,7 @@ final class ContentCryptoMaterial {
             throw newKeyWrapException();
         }
         final SecretKey cek = cek(cekWrapped, keyWrapAlgo, materials,
-                securityProvider, contentCryptoScheme, kms);
+                securityProvider, contentCryptoScheme, kms, cekCache);
         return new ContentCryptoMaterial(merged, cekWrapped, keyWrapAlgo,
                 contentCryptoScheme.createCipherLite(cek, iv,
                         Cipher.DECRYPT_MODE, securityProvider));
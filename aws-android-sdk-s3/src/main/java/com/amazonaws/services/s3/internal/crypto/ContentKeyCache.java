@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.s3.internal.crypto;
+import com.amazonaws.services.s3.model.S3ObjectId;
+import com.amazonaws.util.Base64;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Decryption material shared by the ranged gets of a single download, so that
+ * the instruction file of an object is fetched, and its content encrypting key
+ * is unwrapped or decrypted via KMS, only once rather than once per range.
+ * Lookups are serialized on the cache, so that concurrent ranges wait for the
+ * first one instead of repeating its work.
+ *
+ * @deprecated See {@link com.amazonaws.services.s3.AmazonS3EncryptionClient}
+ *             for further details.
+ */
+@Deprecated
+public final class ContentKeyCache {
+    private final Map<String, SecretKey> keys = new HashMap<String, SecretKey>();
+    private final Map<String, String> instructionFiles = new HashMap<String, String>();
+
+    /**
+     * Returns the decrypted content encrypting key for the given secured
+     * key, or null if it hasn't been decrypted yet.
+     */
+    SecretKey getKey(byte[] cekSecured, String keyWrapAlgo, String keyAlgo) {
+        return keys.get(keyId(cekSecured, keyWrapAlgo, keyAlgo));
+    }
+
+    void putKey(byte[] cekSecured, String keyWrapAlgo, String keyAlgo, SecretKey cek) {
+        keys.put(keyId(cekSecured, keyWrapAlgo, keyAlgo), cek);
+    }
+
+    /**
+     * Returns the content of the instruction file of the given object, or
+     * null if it hasn't been fetched yet.
+     */
+    String getInstructionFile(S3ObjectId id, String suffix) {
+        return instructionFiles.get(instructionFileId(id, suffix));
+    }
+
+    void putInstructionFile(S3ObjectId id, String suffix, String json) {
+        instructionFiles.put(instructionFileId(id, suffix), json);
+    }
+
+    private static String keyId(byte[] cekSecured, String keyWrapAlgo, String keyAlgo) {
+        return Base64.encodeAsString(cekSecured) + "/" + keyWrapAlgo + "/" + keyAlgo;
+    }
+
+    private static String instructionFileId(S3ObjectId id, String suffix) {
+        return id.getBucket() + "/" + id.getKey() + "/" + id.getVersionId() + "/" + suffix;
+    }
+}
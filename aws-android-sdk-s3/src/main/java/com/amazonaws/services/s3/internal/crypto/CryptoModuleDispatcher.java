@@ -127,6 +127,12 @@ public class CryptoModuleDispatcher extends S3CryptoModule<MultipartUploadContex
         return ae.getObjectSecurely(req);
     }
 
+    @Override
+    public S3Object getObjectSecurely(GetObjectRequest req, ContentKeyCache cekCache) {
+        // AE module can handle S3 objects encrypted in either AE or EO format
+        return ae.getObjectSecurely(req, cekCache);
+    }
+
     @Override
     public ObjectMetadata getObjectSecurely(GetObjectRequest req,
             File destinationFile) {
@@ -60,6 +60,19 @@ public abstract class S3CryptoModule<T extends MultipartUploadContext> {
      */
     public abstract S3Object getObjectSecurely(GetObjectRequest req);
 
+    /**
+     * Same as {@link #getObjectSecurely(GetObjectRequest)} but shares the
+     * decryption material through the given cache, for ranged gets of the
+     * same object. This implementation ignores the cache.
+     *
+     * @param req the GetObjectRequest.
+     * @param cekCache the cache shared by the ranged gets of one download.
+     * @return the S3Object.
+     */
+    public S3Object getObjectSecurely(GetObjectRequest req, ContentKeyCache cekCache) {
+        return getObjectSecurely(req);
+    }
+
     /**
      * @param req the GetObjectRequest.
      * @param dest the destination file.
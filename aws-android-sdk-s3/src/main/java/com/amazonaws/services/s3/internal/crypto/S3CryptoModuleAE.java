@@ -110,6 +110,11 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
 
     @Override
     public S3Object getObjectSecurely(GetObjectRequest req) {
+        return getObjectSecurely(req, (ContentKeyCache) null);
+    }
+
+    @Override
+    public S3Object getObjectSecurely(GetObjectRequest req, ContentKeyCache cekCache) {
         appendUserAgent(req, USER_AGENT);
         // Adjust the crypto range to retrieve all of the cipher blocks needed to contain the user's desired
         // range of bytes.
@@ -135,9 +140,9 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
         }
         try {
             return suffix == null || suffix.trim().isEmpty()
-                    ? decipher(req, desiredRange, adjustedCryptoRange, retrieved)
+                    ? decipher(req, desiredRange, adjustedCryptoRange, retrieved, cekCache)
                     : decipherWithInstFileSuffix(req,
-                    desiredRange, adjustedCryptoRange, retrieved, suffix);
+                    desiredRange, adjustedCryptoRange, retrieved, suffix, cekCache);
         } catch (final RuntimeException ex) {
             // If we're unable to set up the decryption, make sure we close the
             // HTTP connection
@@ -151,23 +156,17 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
 
     private S3Object decipher(GetObjectRequest req,
             long[] desiredRange, long[] cryptoRange,
-            S3Object retrieved) {
+            S3Object retrieved, ContentKeyCache cekCache) {
         final S3ObjectWrapper wrapped = new S3ObjectWrapper(retrieved, req.getS3ObjectId());
         // Check if encryption info is in object metadata
         if (wrapped.hasEncryptionInfo()) {
-            return decipherWithMetadata(req, desiredRange, cryptoRange, wrapped);
+            return decipherWithMetadata(req, desiredRange, cryptoRange, wrapped, cekCache);
         }
         // Check if encrypted info is in an instruction file
-        final S3ObjectWrapper ifile = fetchInstructionFile(req.getS3ObjectId(), null);
-        if (ifile != null) {
-            try {
-                if (ifile.isInstructionFile()) {
-                    return decipherWithInstructionFile(req, desiredRange,
-                            cryptoRange, wrapped, ifile);
-                }
-            } finally {
-                closeQuietly(ifile, log);
-            }
+        final String json = instructionFile(req.getS3ObjectId(), null, cekCache);
+        if (json != null) {
+            return decipherWithInstructionFile(req, desiredRange,
+                    cryptoRange, wrapped, json, cekCache);
         }
 
         if (isStrict() || !cryptoConfig.isIgnoreMissingInstructionFile()) {
@@ -196,9 +195,33 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
      */
     private S3Object decipherWithInstFileSuffix(GetObjectRequest req,
             long[] desiredRange, long[] cryptoRange, S3Object retrieved,
-            String instFileSuffix) {
+            String instFileSuffix, ContentKeyCache cekCache) {
         final S3ObjectId id = req.getS3ObjectId();
         // Check if encrypted info is in an instruction file
+        String json;
+        if (cekCache == null) {
+            json = fetchInstructionFileJson(id, instFileSuffix, retrieved);
+        } else {
+            synchronized (cekCache) {
+                json = cekCache.getInstructionFile(id, instFileSuffix);
+                if (json == null) {
+                    json = fetchInstructionFileJson(id, instFileSuffix, retrieved);
+                    cekCache.putInstructionFile(id, instFileSuffix, json);
+                }
+            }
+        }
+        return decipherWithInstructionFile(req, desiredRange,
+                cryptoRange, new S3ObjectWrapper(retrieved, id), json, cekCache);
+    }
+
+    /**
+     * Returns the content of the instruction file with the specified suffix.
+     *
+     * @throws AmazonClientException if the instruction file is missing or
+     *             invalid
+     */
+    private String fetchInstructionFileJson(S3ObjectId id, String instFileSuffix,
+            S3Object retrieved) {
         final S3ObjectWrapper ifile = fetchInstructionFile(id, instFileSuffix);
         if (ifile == null) {
             throw new AmazonClientException("Instruction file with suffix "
@@ -206,8 +229,7 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
         }
         try {
             if (ifile.isInstructionFile()) {
-                return decipherWithInstructionFile(req, desiredRange,
-                        cryptoRange, new S3ObjectWrapper(retrieved, id), ifile);
+                return ifile.toJsonString();
             } else {
                 throw new AmazonClientException(
                         "Invalid Instruction file with suffix "
@@ -218,9 +240,42 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
         }
     }
 
+    /**
+     * Returns the content of the default instruction file of an object, or
+     * null if it doesn't have one. With a cache, the instruction file is
+     * fetched only once for all the ranges of a download.
+     */
+    private String instructionFile(S3ObjectId id, String suffix, ContentKeyCache cekCache) {
+        if (cekCache == null) {
+            return fetchInstructionFileJson(id, suffix);
+        }
+        synchronized (cekCache) {
+            String json = cekCache.getInstructionFile(id, suffix);
+            if (json == null) {
+                json = fetchInstructionFileJson(id, suffix);
+                if (json != null) {
+                    cekCache.putInstructionFile(id, suffix, json);
+                }
+            }
+            return json;
+        }
+    }
+
+    private String fetchInstructionFileJson(S3ObjectId id, String suffix) {
+        final S3ObjectWrapper ifile = fetchInstructionFile(id, suffix);
+        if (ifile == null) {
+            return null;
+        }
+        try {
+            return ifile.isInstructionFile() ? ifile.toJsonString() : null;
+        } finally {
+            closeQuietly(ifile, log);
+        }
+    }
+
     private S3Object decipherWithInstructionFile(GetObjectRequest req,
             long[] desiredRange, long[] cryptoRange, S3ObjectWrapper retrieved,
-            S3ObjectWrapper instructionFile) {
+            String json, ContentKeyCache cekCache) {
         ExtraMaterialsDescription extraMatDesc = NONE;
         boolean keyWrapExpected = isStrict();
         if (req instanceof EncryptedGetObjectRequest) {
@@ -230,7 +285,6 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
                 keyWrapExpected = ereq.isKeyWrapExpected();
             }
         }
-        final String json = instructionFile.toJsonString();
         @SuppressWarnings("unchecked")
         final Map<String, String> matdesc =
                 Collections.unmodifiableMap(JsonUtils.jsonToMap(json));
@@ -242,7 +296,8 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
                     cryptoRange,   // range is sometimes necessary to compute the adjusted IV
                     extraMatDesc,
                     keyWrapExpected,
-                    kms
+                    kms,
+                    cekCache
             );
         securityCheck(cekMaterial, retrieved);
         final S3ObjectWrapper decrypted = decrypt(retrieved, cekMaterial, cryptoRange);
@@ -254,7 +309,7 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
 
     private S3Object decipherWithMetadata(GetObjectRequest req,
             long[] desiredRange,
-            long[] cryptoRange, S3ObjectWrapper retrieved) {
+            long[] cryptoRange, S3ObjectWrapper retrieved, ContentKeyCache cekCache) {
         ExtraMaterialsDescription extraMatDesc = NONE;
         boolean keyWrapExpected = isStrict();
         if (req instanceof EncryptedGetObjectRequest) {
@@ -272,7 +327,8 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
                 cryptoRange,
                 extraMatDesc,
                 keyWrapExpected,
-                kms
+                kms,
+                cekCache
             );
         securityCheck(cekMaterial, retrieved);
         final S3ObjectWrapper decrypted = decrypt(retrieved, cekMaterial, cryptoRange);
@@ -419,7 +475,7 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
             ContentCryptoMaterial cekMaterial, long[] range) {
         final S3ObjectInputStream objectContent = wrapper.getObjectContent();
         wrapper.setObjectContent(new S3ObjectInputStream(new CipherLiteInputStream(
-            objectContent, cekMaterial.getCipherLite(), DEFAULT_BUFFER_SIZE
+            objectContent, cekMaterial.getCipherLite(), cryptoConfig.getCipherBufferSize()
         )));
         return wrapper;
     }
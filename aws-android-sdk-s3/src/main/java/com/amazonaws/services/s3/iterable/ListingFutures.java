@@ -0,0 +1,56 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.s3.iterable;
+
+import com.amazonaws.AmazonClientException;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helper for waiting on listing pages that were requested in the background.
+ */
+final class ListingFutures {
+
+    private ListingFutures() {
+    }
+
+    /**
+     * Waits for a prefetched listing page. Exceptions thrown by the listing
+     * call are rethrown as they would have been by a synchronous call.
+     *
+     * @param future the pending listing page.
+     * @return the listing page.
+     */
+    static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException("Interrupted while waiting for listing", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new AmazonClientException("Unable to list objects", cause);
+        }
+    }
+}
@@ -20,7 +20,15 @@ import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Provides an easy way to iterate Amazon S3 objects in a "foreach" statement.
@@ -35,13 +43,33 @@ import java.util.Iterator;
  * The list of {@link S3ObjectSummary}s will be fetched lazily, a page at a
  * time, as they are needed. The size of the page can be controlled with the
  * {@link S3Objects#withBatchSize(int)} method.
+ * <p>
+ * When an executor is supplied with {@link S3Objects#withPrefetch(ExecutorService)},
+ * the next page is requested in the background while the current one is
+ * being consumed, so at most one extra page per prefix is held in memory.
+ * Several prefixes, for example the common prefixes returned by a delimited
+ * listing, can be listed concurrently with
+ * {@link S3Objects#withPrefixes(AmazonS3, String, Collection)}:
+ *
+ * <pre class="brush: java">
+ * ExecutorService executor = Executors.newFixedThreadPool(4);
+ * for (S3ObjectSummary summary : S3Objects.withPrefixes(s3, &quot;my-bucket&quot;, prefixes)
+ *         .withPrefetch(executor)) {
+ *     reconcile(summary);
+ * }
+ * </pre>
  */
 public final class S3Objects implements Iterable<S3ObjectSummary> {
 
+    private static final int DEFAULT_MAX_CONCURRENT_PREFIXES = 4;
+
     private AmazonS3 s3;
     private String prefix = null;
+    private List<String> prefixes = null;
     private String bucketName;
     private Integer batchSize = null;
+    private ExecutorService executor = null;
+    private int maxConcurrentPrefixes = DEFAULT_MAX_CONCURRENT_PREFIXES;
 
     private S3Objects(AmazonS3 s3, String bucketName) {
         this.s3 = s3;
@@ -75,6 +103,28 @@ public final class S3Objects implements Iterable<S3ObjectSummary> {
         return objects;
     }
 
+    /**
+     * Constructs an iterable that covers the objects in an Amazon S3 bucket
+     * where the key begins with any of the given prefixes. Objects are
+     * returned grouped by prefix, in the order the prefixes are given. The
+     * prefixes should not overlap, otherwise objects are returned once per
+     * matching prefix.
+     *
+     * @param s3 The Amazon S3 client.
+     * @param bucketName The bucket name.
+     * @param prefixes The prefixes.
+     * @return An iterator for object summaries.
+     */
+    public static S3Objects withPrefixes(AmazonS3 s3, String bucketName,
+            Collection<String> prefixes) {
+        if (prefixes == null) {
+            throw new IllegalArgumentException("Prefixes can't be null");
+        }
+        S3Objects objects = new S3Objects(s3, bucketName);
+        objects.prefixes = new ArrayList<String>(prefixes);
+        return objects;
+    }
+
     /**
      * Sets the batch size, i.e., how many {@link S3ObjectSummary}s will be
      * fetched at once.
@@ -88,6 +138,42 @@ public final class S3Objects implements Iterable<S3ObjectSummary> {
         return this;
     }
 
+    /**
+     * Enables prefetching: the next page of each listing is requested on the
+     * given executor while the current page is being consumed, and in
+     * {@link #withPrefixes(AmazonS3, String, Collection)} mode several
+     * prefixes are listed at once. The executor is not shut down by this
+     * class.
+     *
+     * @param executor The executor used to request pages, or null to fetch
+     *            pages synchronously.
+     * @return the S3Objects.
+     */
+    @SuppressWarnings("checkstyle:hiddenfield")
+    public S3Objects withPrefetch(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets how many prefixes are listed at once in
+     * {@link #withPrefixes(AmazonS3, String, Collection)} mode. Each active
+     * prefix holds at most two pages in memory. Only used when prefetching
+     * is enabled.
+     *
+     * @param maxConcurrentPrefixes The maximum number of prefixes listed at
+     *            once.
+     * @return the S3Objects.
+     */
+    @SuppressWarnings("checkstyle:hiddenfield")
+    public S3Objects withMaxConcurrentPrefixes(int maxConcurrentPrefixes) {
+        if (maxConcurrentPrefixes < 1) {
+            throw new IllegalArgumentException("maxConcurrentPrefixes must be at least 1");
+        }
+        this.maxConcurrentPrefixes = maxConcurrentPrefixes;
+        return this;
+    }
+
     public Integer getBatchSize() {
         return batchSize;
     }
@@ -96,6 +182,18 @@ public final class S3Objects implements Iterable<S3ObjectSummary> {
         return prefix;
     }
 
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    public ExecutorService getPrefetchExecutor() {
+        return executor;
+    }
+
+    public int getMaxConcurrentPrefixes() {
+        return maxConcurrentPrefixes;
+    }
+
     public String getBucketName() {
         return bucketName;
     }
@@ -106,10 +204,18 @@ public final class S3Objects implements Iterable<S3ObjectSummary> {
 
     private class S3ObjectIterator implements Iterator<S3ObjectSummary> {
 
+        private final String listingPrefix;
+
         private ObjectListing currentListing = null;
 
         private Iterator<S3ObjectSummary> currentIterator = null;
 
+        private Future<ObjectListing> nextListing = null;
+
+        S3ObjectIterator(String listingPrefix) {
+            this.listingPrefix = listingPrefix;
+        }
+
         @Override
         public boolean hasNext() {
             prepareCurrentListing();
@@ -127,21 +233,109 @@ public final class S3Objects implements Iterable<S3ObjectSummary> {
             throw new UnsupportedOperationException();
         }
 
+        /**
+         * Requests the first page in the background so that it's ready by
+         * the time the iterator is consumed.
+         */
+        void prefetchFirstPage() {
+            if (executor != null && currentListing == null && nextListing == null) {
+                nextListing = executor.submit(new Callable<ObjectListing>() {
+                    @Override
+                    public ObjectListing call() {
+                        return listFirstPage();
+                    }
+                });
+            }
+        }
+
+        private ObjectListing listFirstPage() {
+            ListObjectsRequest req = new ListObjectsRequest();
+            req.setBucketName(getBucketName());
+            req.setPrefix(listingPrefix);
+            req.setMaxKeys(getBatchSize());
+            return getS3().listObjects(req);
+        }
+
         private void prepareCurrentListing() {
             while (currentListing == null
                     || (!currentIterator.hasNext() && currentListing.isTruncated())) {
 
-                if (currentListing == null) {
-                    ListObjectsRequest req = new ListObjectsRequest();
-                    req.setBucketName(getBucketName());
-                    req.setPrefix(getPrefix());
-                    req.setMaxKeys(getBatchSize());
-                    currentListing = getS3().listObjects(req);
+                if (nextListing != null) {
+                    final Future<ObjectListing> pending = nextListing;
+                    nextListing = null;
+                    currentListing = ListingFutures.await(pending);
+                } else if (currentListing == null) {
+                    currentListing = listFirstPage();
                 } else {
                     currentListing = getS3().listNextBatchOfObjects(currentListing);
                 }
 
                 currentIterator = currentListing.getObjectSummaries().iterator();
+                prefetchNextPage();
+            }
+        }
+
+        private void prefetchNextPage() {
+            if (executor == null || !currentListing.isTruncated()) {
+                return;
+            }
+            final ObjectListing previousListing = currentListing;
+            nextListing = executor.submit(new Callable<ObjectListing>() {
+                @Override
+                public ObjectListing call() {
+                    return getS3().listNextBatchOfObjects(previousListing);
+                }
+            });
+        }
+
+    }
+
+    /**
+     * Iterates several prefixes one after the other while keeping up to
+     * {@link #getMaxConcurrentPrefixes()} of them listing ahead.
+     */
+    private class MultiPrefixIterator implements Iterator<S3ObjectSummary> {
+
+        private final Iterator<String> pendingPrefixes = getPrefixes().iterator();
+
+        private final LinkedList<S3ObjectIterator> activeIterators =
+                new LinkedList<S3ObjectIterator>();
+
+        MultiPrefixIterator() {
+            startPrefixes();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!activeIterators.isEmpty()) {
+                if (activeIterators.getFirst().hasNext()) {
+                    return true;
+                }
+                activeIterators.removeFirst();
+                startPrefixes();
+            }
+            return false;
+        }
+
+        @Override
+        public S3ObjectSummary next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return activeIterators.getFirst().next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void startPrefixes() {
+            final int window = executor == null ? 1 : getMaxConcurrentPrefixes();
+            while (activeIterators.size() < window && pendingPrefixes.hasNext()) {
+                S3ObjectIterator iterator = new S3ObjectIterator(pendingPrefixes.next());
+                iterator.prefetchFirstPage();
+                activeIterators.add(iterator);
             }
         }
 
@@ -149,7 +343,10 @@ public final class S3Objects implements Iterable<S3ObjectSummary> {
 
     @Override
     public Iterator<S3ObjectSummary> iterator() {
-        return new S3ObjectIterator();
+        if (prefixes != null) {
+            return new MultiPrefixIterator();
+        }
+        return new S3ObjectIterator(getPrefix());
     }
 
 }
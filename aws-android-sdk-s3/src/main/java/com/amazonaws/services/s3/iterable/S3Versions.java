@@ -21,6 +21,9 @@ import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.VersionListing;
 
 import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Provides an easy way to iterate Amazon S3 object versions in a "foreach"
@@ -34,7 +37,9 @@ import java.util.Iterator;
  * <p>
  * The list of {@link S3VersionSummary}s will be fetched lazily, a page at a
  * time, as they are needed. The size of the page can be controlled with the
- * {@link S3Versions#withBatchSize(int)} method.
+ * {@link S3Versions#withBatchSize(int)} method. When an executor is supplied
+ * with {@link S3Versions#withPrefetch(ExecutorService)}, the next page is
+ * requested in the background while the current one is being consumed.
  */
 public final class S3Versions implements Iterable<S3VersionSummary> {
 
@@ -43,6 +48,7 @@ public final class S3Versions implements Iterable<S3VersionSummary> {
     private String prefix;
     private String key;
     private Integer batchSize;
+    private ExecutorService executor;
 
     private S3Versions(AmazonS3 s3, String bucketName) {
         this.s3 = s3;
@@ -105,6 +111,25 @@ public final class S3Versions implements Iterable<S3VersionSummary> {
         return this;
     }
 
+    /**
+     * Enables prefetching: the next page is requested on the given executor
+     * while the current page is being consumed, so at most one extra page is
+     * held in memory. The executor is not shut down by this class.
+     *
+     * @param executor The executor used to request pages, or null to fetch
+     *            pages synchronously.
+     * @return S3Versions.
+     */
+    @SuppressWarnings("checkstyle:hiddenfield")
+    public S3Versions withPrefetch(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public ExecutorService getPrefetchExecutor() {
+        return executor;
+    }
+
     public Integer getBatchSize() {
         return batchSize;
     }
@@ -130,6 +155,7 @@ public final class S3Versions implements Iterable<S3VersionSummary> {
         private VersionListing currentListing = null;
         private Iterator<S3VersionSummary> currentIterator = null;
         private S3VersionSummary nextSummary = null;
+        private Future<VersionListing> nextListing = null;
 
         @Override
         public boolean hasNext() {
@@ -164,7 +190,11 @@ public final class S3Versions implements Iterable<S3VersionSummary> {
             while (currentListing == null
                     || (!currentIterator.hasNext() && currentListing
                             .isTruncated())) {
-                if (currentListing == null) {
+                if (nextListing != null) {
+                    final Future<VersionListing> pending = nextListing;
+                    nextListing = null;
+                    currentListing = ListingFutures.await(pending);
+                } else if (currentListing == null) {
                     ListVersionsRequest req = new ListVersionsRequest();
                     req.setBucketName(getBucketName());
 
@@ -182,6 +212,7 @@ public final class S3Versions implements Iterable<S3VersionSummary> {
                 }
                 currentIterator = currentListing.getVersionSummaries()
                         .iterator();
+                prefetchNextPage();
             }
 
             if (nextSummary == null && currentIterator.hasNext()) {
@@ -189,6 +220,19 @@ public final class S3Versions implements Iterable<S3VersionSummary> {
             }
         }
 
+        private void prefetchNextPage() {
+            if (executor == null || !currentListing.isTruncated()) {
+                return;
+            }
+            final VersionListing previousListing = currentListing;
+            nextListing = executor.submit(new Callable<VersionListing>() {
+                @Override
+                public VersionListing call() {
+                    return getS3().listNextBatchOfVersions(previousListing);
+                }
+            });
+        }
+
     }
 
     @Override
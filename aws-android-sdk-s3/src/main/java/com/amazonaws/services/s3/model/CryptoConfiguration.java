@@ -36,6 +36,16 @@ public class CryptoConfiguration implements Cloneable, Serializable {
 
     private static final long serialVersionUID = -8646831898339939580L;
 
+    /**
+     * Cipher buffers must be a multiple of this size.
+     */
+    private static final int CIPHER_BUFFER_UNIT = 512;
+    /**
+     * Default size of the buffer data is read into before being encrypted or
+     * decrypted.
+     */
+    public static final int DEFAULT_CIPHER_BUFFER_SIZE = 1024 * 2;
+
     private CryptoMode cryptoMode;
     private CryptoStorageMode storageMode;
     private Provider cryptoProvider;
@@ -52,6 +62,11 @@ public class CryptoConfiguration implements Cloneable, Serializable {
      * null if no explicit KMS region is specified.
      */
     private transient com.amazonaws.regions.Region awskmsRegion;
+    /**
+     * Size of the buffer data is read into before being encrypted or
+     * decrypted.
+     */
+    private int cipherBufferSize = DEFAULT_CIPHER_BUFFER_SIZE;
 
     /**
      * Creates a new CryptoConfiguration object with default storage mode and
@@ -216,6 +231,41 @@ public class CryptoConfiguration implements Cloneable, Serializable {
         return this;
     }
 
+    /**
+     * Returns the size in bytes of the buffer data is read into before being
+     * encrypted or decrypted. Default is 2 KB.
+     */
+    public int getCipherBufferSize() {
+        return cipherBufferSize;
+    }
+
+    /**
+     * Sets the size in bytes of the buffer data is read into before being
+     * encrypted or decrypted. Larger buffers, such as 64 KB, reduce the
+     * number of cipher calls when transferring large objects, at the cost of
+     * memory held by each open stream.
+     *
+     * @param cipherBufferSize a positive multiple of 512.
+     */
+    public void setCipherBufferSize(int cipherBufferSize) {
+        if (cipherBufferSize <= 0 || cipherBufferSize % CIPHER_BUFFER_UNIT != 0) {
+            throw new IllegalArgumentException("cipherBufferSize (" + cipherBufferSize
+                    + ") must be a positive multiple of " + CIPHER_BUFFER_UNIT);
+        }
+        this.cipherBufferSize = cipherBufferSize;
+    }
+
+    /**
+     * Fluent API to set the size in bytes of the buffer data is read into
+     * before being encrypted or decrypted.
+     *
+     * @param cipherBufferSize a positive multiple of 512.
+     */
+    public CryptoConfiguration withCipherBufferSize(int cipherBufferSize) {
+        setCipherBufferSize(cipherBufferSize);
+        return this;
+    }
+
     /**
      * Checks if the crypto mode is supported by the runtime.
      *
@@ -276,6 +326,12 @@ public class CryptoConfiguration implements Cloneable, Serializable {
                 boolean ignoreMissingInstructionFile) {
             throw new UnsupportedOperationException();
         }
+        @Override public void setCipherBufferSize(int cipherBufferSize) {
+            throw new UnsupportedOperationException();
+        }
+        @Override public CryptoConfiguration withCipherBufferSize(int cipherBufferSize) {
+            throw new UnsupportedOperationException();
+        }
         @Override public void setKmsRegion(Regions kmsRegion) {
             throw new UnsupportedOperationException();
         }
@@ -305,6 +361,7 @@ public class CryptoConfiguration implements Cloneable, Serializable {
         that.cryptoProvider = this.cryptoProvider;
         that.ignoreMissingInstructionFile = this.ignoreMissingInstructionFile;
         that.awskmsRegion = this.awskmsRegion;
+        that.cipherBufferSize = this.cipherBufferSize;
         return that;
     }
 
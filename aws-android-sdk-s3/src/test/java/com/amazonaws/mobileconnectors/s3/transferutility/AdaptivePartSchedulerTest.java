@@ -0,0 +1,224 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.s3.transferutility;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.telephony.TelephonyManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class AdaptivePartSchedulerTest {
+
+    private static final long PART_SIZE = 5 * 1024 * 1024L;
+    private static final long SECOND = 1000000000L;
+
+    private Queue<Runnable> started;
+    private AdaptivePartScheduler scheduler;
+
+    @Before
+    public void setup() {
+        started = new LinkedList<Runnable>();
+        scheduler = new AdaptivePartScheduler(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                started.add(command);
+            }
+        });
+    }
+
+    @Test
+    public void testQueuesTasksAboveLimit() throws Exception {
+        final int tasks = AdaptivePartScheduler.WIFI_INITIAL_LIMIT + 3;
+        final Queue<Future<Boolean>> futures = new LinkedList<Future<Boolean>>();
+        for (int i = 0; i < tasks; i++) {
+            futures.add(scheduler.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return true;
+                }
+            }));
+        }
+        assertEquals(AdaptivePartScheduler.WIFI_INITIAL_LIMIT, started.size());
+        assertEquals(3, scheduler.getPendingCount());
+
+        while (!started.isEmpty()) {
+            started.poll().run();
+        }
+        assertEquals(0, scheduler.getPendingCount());
+        assertEquals(0, scheduler.getInFlight());
+        for (final Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+    }
+
+    @Test
+    public void testShutdownCancelsQueuedTasks() throws Exception {
+        final Queue<Future<Boolean>> futures = new LinkedList<Future<Boolean>>();
+        for (int i = 0; i < AdaptivePartScheduler.WIFI_INITIAL_LIMIT + 2; i++) {
+            futures.add(scheduler.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return true;
+                }
+            }));
+        }
+        scheduler.shutdown();
+        assertEquals(0, scheduler.getPendingCount());
+
+        // Parts already handed to the executor still complete.
+        while (!started.isEmpty()) {
+            started.poll().run();
+        }
+        int cancelled = 0;
+        for (final Future<Boolean> future : futures) {
+            if (future.isCancelled()) {
+                cancelled++;
+                try {
+                    future.get();
+                    fail("Expected CancellationException");
+                } catch (final CancellationException e) {
+                    // expected
+                }
+            } else {
+                assertTrue(future.get());
+            }
+        }
+        assertEquals(2, cancelled);
+
+        final Future<Boolean> late = scheduler.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return true;
+            }
+        });
+        assertTrue(late.isCancelled());
+        assertTrue(started.isEmpty());
+    }
+
+    @Test
+    public void testGrowsWhileThroughputImproves() {
+        long now = 0;
+        int limit = scheduler.getLimit();
+        // Each round completes one more part in the same time.
+        for (int round = 0; round < 20; round++) {
+            now += SECOND;
+            for (int i = 0; i < limit; i++) {
+                scheduler.onPartCompleted(PART_SIZE, SECOND, now);
+            }
+            assertEquals(Math.min(limit + 1, AdaptivePartScheduler.WIFI_MAX_LIMIT),
+                    scheduler.getLimit());
+            limit = scheduler.getLimit();
+        }
+        assertEquals(AdaptivePartScheduler.WIFI_MAX_LIMIT, scheduler.getLimit());
+    }
+
+    @Test
+    public void testShrinksWhenThroughputDeclines() {
+        long now = SECOND;
+        for (int i = 0; i < AdaptivePartScheduler.WIFI_INITIAL_LIMIT; i++) {
+            scheduler.onPartCompleted(PART_SIZE, SECOND, now);
+        }
+        final int limit = scheduler.getLimit();
+
+        // The next round takes twice as long for the same amount of data.
+        now += 2 * SECOND * limit;
+        for (int i = 0; i < limit; i++) {
+            scheduler.onPartCompleted(PART_SIZE / 2, SECOND, now);
+        }
+        assertEquals(limit - 1, scheduler.getLimit());
+    }
+
+    @Test
+    public void testHalvesOncePerRoundOnFailure() {
+        final int limit = scheduler.getLimit();
+        for (int i = 0; i < limit; i++) {
+            scheduler.onPartFailed();
+        }
+        assertEquals(limit / 2, scheduler.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.onPartFailed();
+        }
+        assertEquals(AdaptivePartScheduler.MIN_LIMIT, scheduler.getLimit());
+    }
+
+    @Test
+    public void testNetworkLimits() {
+        scheduler.onNetworkChanged(network(ConnectivityManager.TYPE_MOBILE,
+                TelephonyManager.NETWORK_TYPE_LTE));
+        assertEquals(AdaptivePartScheduler.MOBILE_INITIAL_LIMIT, scheduler.getLimit());
+        assertEquals(AdaptivePartScheduler.MOBILE_MAX_LIMIT, scheduler.getMaxLimit());
+
+        scheduler.onNetworkChanged(network(ConnectivityManager.TYPE_MOBILE,
+                TelephonyManager.NETWORK_TYPE_EDGE));
+        assertEquals(AdaptivePartScheduler.POOR_MOBILE_INITIAL_LIMIT, scheduler.getLimit());
+        assertEquals(AdaptivePartScheduler.POOR_MOBILE_MAX_LIMIT, scheduler.getMaxLimit());
+
+        scheduler.onNetworkChanged(null);
+        assertEquals(AdaptivePartScheduler.POOR_MOBILE_MAX_LIMIT, scheduler.getMaxLimit());
+
+        scheduler.onNetworkChanged(network(ConnectivityManager.TYPE_WIFI, 0));
+        assertEquals(AdaptivePartScheduler.WIFI_INITIAL_LIMIT, scheduler.getLimit());
+        assertEquals(AdaptivePartScheduler.WIFI_MAX_LIMIT, scheduler.getMaxLimit());
+    }
+
+    @Test
+    public void testLowerLimitHoldsBackQueuedTasks() {
+        scheduler.onNetworkChanged(network(ConnectivityManager.TYPE_MOBILE,
+                TelephonyManager.NETWORK_TYPE_GPRS));
+        for (int i = 0; i < 4; i++) {
+            scheduler.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return true;
+                }
+            });
+        }
+        assertEquals(AdaptivePartScheduler.POOR_MOBILE_INITIAL_LIMIT, started.size());
+        started.poll().run();
+        assertEquals(1, started.size());
+        assertFalse(scheduler.getPendingCount() == 0);
+    }
+
+    private static NetworkInfo network(int type, int subtype) {
+        final NetworkInfo info = mock(NetworkInfo.class);
+        when(info.isConnected()).thenReturn(true);
+        when(info.getType()).thenReturn(type);
+        when(info.getSubtype()).thenReturn(subtype);
+        return info;
+    }
+}
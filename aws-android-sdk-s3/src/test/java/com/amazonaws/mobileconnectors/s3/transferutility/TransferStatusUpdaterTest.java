@@ -0,0 +1,189 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.mobileconnectors.s3.transferutility;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class TransferStatusUpdaterTest {
+
+    private static final int ID = 7;
+    private static final long TOTAL = 100L;
+
+    private TransferDBUtil dbUtil;
+    private TransferStatusUpdater updater;
+    private List<String> events;
+
+    @Before
+    public void setup() {
+        events = Collections.synchronizedList(new ArrayList<String>());
+        dbUtil = mock(TransferDBUtil.class);
+        when(dbUtil.updateTransferRecord(any(TransferRecord.class))).thenReturn(1);
+
+        // Runs callbacks right away, in submission order.
+        updater = new TransferStatusUpdater(dbUtil, mock(Context.class), new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+        updater.clear();
+        final TransferRecord transfer = new TransferRecord(ID);
+        transfer.bytesTotal = TOTAL;
+        transfer.state = TransferState.IN_PROGRESS;
+        updater.addTransfer(transfer);
+    }
+
+    @After
+    public void teardown() {
+        updater.clear();
+    }
+
+    @Test
+    public void testEveryUpdateIsNotifiedByDefault() throws Exception {
+        TransferStatusUpdater.registerListener(ID, new RecordingListener("l"));
+
+        for (int i = 1; i <= 3; i++) {
+            updater.updateProgress(ID, i, TOTAL, true);
+        }
+
+        assertEquals(Arrays.asList("l:progress:1", "l:progress:2", "l:progress:3"),
+                snapshot());
+    }
+
+    @Test
+    public void testBurstOfProgressIsCoalesced() throws Exception {
+        updater.setProgressUpdateInterval(200);
+        TransferStatusUpdater.registerListener(ID, new RecordingListener("l"));
+
+        for (int i = 1; i < 50; i++) {
+            updater.updateProgress(ID, i, TOTAL, true);
+        }
+
+        // the first update goes out right away, the rest wait for the timer
+        assertEquals(Arrays.asList("l:progress:1"), snapshot());
+        verify(dbUtil, times(1)).updateBytesTransferred(anyInt(), anyLong());
+
+        waitForEvents(2);
+        assertEquals(Arrays.asList("l:progress:1", "l:progress:49"), snapshot());
+    }
+
+    @Test
+    public void testFinalProgressAndStateChangeAreDelivered() throws Exception {
+        updater.setProgressUpdateInterval(60 * 1000);
+        TransferStatusUpdater.registerListener(ID, new RecordingListener("l"));
+
+        for (int i = 1; i <= TOTAL; i++) {
+            updater.updateProgress(ID, i, TOTAL, true);
+        }
+        updater.updateState(ID, TransferState.COMPLETED);
+
+        assertEquals(Arrays.asList("l:progress:1", "l:progress:100", "l:state:COMPLETED"),
+                snapshot());
+        verify(dbUtil).updateBytesTransferred(eq(ID), eq(TOTAL));
+    }
+
+    @Test
+    public void testCoalescedProgressIsDeliveredBeforeStateChange() throws Exception {
+        updater.setProgressUpdateInterval(60 * 1000);
+        TransferStatusUpdater.registerListener(ID, new RecordingListener("l"));
+
+        updater.updateProgress(ID, 10, TOTAL, true);
+        updater.updateProgress(ID, 40, TOTAL, true);
+        updater.updateState(ID, TransferState.FAILED);
+
+        assertEquals(Arrays.asList("l:progress:10", "l:progress:40", "l:state:FAILED"),
+                snapshot());
+    }
+
+    @Test
+    public void testListenerOrderIsKept() throws Exception {
+        updater.setProgressUpdateInterval(60 * 1000);
+        TransferStatusUpdater.registerListener(ID, new RecordingListener("a"));
+        TransferStatusUpdater.registerListener(ID, new RecordingListener("b"));
+        TransferStatusUpdater.registerListener(ID, new RecordingListener("c"));
+
+        updater.updateProgress(ID, 10, TOTAL, true);
+        updater.updateProgress(ID, 20, TOTAL, true);
+        updater.updateState(ID, TransferState.COMPLETED);
+
+        assertEquals(Arrays.asList(
+                "a:progress:10", "b:progress:10", "c:progress:10",
+                "a:progress:20", "b:progress:20", "c:progress:20",
+                "a:state:COMPLETED", "b:state:COMPLETED", "c:state:COMPLETED"),
+                snapshot());
+    }
+
+    private List<String> snapshot() {
+        synchronized (events) {
+            return new ArrayList<String>(events);
+        }
+    }
+
+    private void waitForEvents(int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private final class RecordingListener implements TransferListener {
+        private final String name;
+
+        RecordingListener(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onStateChanged(int id, TransferState state) {
+            events.add(name + ":state:" + state);
+        }
+
+        @Override
+        public void onProgressChanged(int id, long bytesCurrent, long bytesTotal) {
+            events.add(name + ":progress:" + bytesCurrent);
+        }
+
+        @Override
+        public void onError(int id, Exception ex) {
+            events.add(name + ":error");
+        }
+    }
+}
@@ -0,0 +1,446 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.s3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.internal.StaticCredentialsProvider;
+import com.amazonaws.services.kms.AWSKMSClient;
+import com.amazonaws.services.kms.model.DecryptRequest;
+import com.amazonaws.services.kms.model.DecryptResult;
+import com.amazonaws.services.kms.model.GenerateDataKeyRequest;
+import com.amazonaws.services.kms.model.GenerateDataKeyResult;
+import com.amazonaws.services.s3.model.CryptoConfiguration;
+import com.amazonaws.services.s3.model.CryptoMode;
+import com.amazonaws.services.s3.model.CryptoStorageMode;
+import com.amazonaws.services.s3.model.EncryptionMaterials;
+import com.amazonaws.services.s3.model.EncryptionMaterialsProvider;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.KMSEncryptionMaterialsProvider;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.StaticEncryptionMaterialsProvider;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.Md5Utils;
+import com.amazonaws.util.StringUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Tests {@link AmazonS3EncryptionClient#getObjectInParallel} against an
+ * in-process HTTP server that stores objects and serves ranged gets.
+ */
+public class AmazonS3EncryptionClientParallelGetTest {
+    private static final String BUCKET = "bucket";
+    private static final String KEY = "object.bin";
+    private static final int OBJECT_SIZE = 100 * 1024 + 5;
+    private static final long PART_SIZE = 16 * 1024 + 3;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private FakeS3 server;
+    private ExecutorService executor;
+    private byte[] data;
+
+    @Before
+    public void setup() throws IOException {
+        server = new FakeS3();
+        executor = Executors.newFixedThreadPool(4);
+        data = new byte[OBJECT_SIZE];
+        new Random(42).nextBytes(data);
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+        server.stop();
+    }
+
+    @Test
+    public void testParallelGetWithMetadataEnvelopeMatchesSingleGet() throws Exception {
+        final AWSKMSClient kms = fakeKms();
+        final AmazonS3EncryptionClient s3 = client(kms,
+                new KMSEncryptionMaterialsProvider("key-id"),
+                new CryptoConfiguration(CryptoMode.AuthenticatedEncryption));
+        put(s3);
+
+        final File single = temp.newFile();
+        s3.getObject(new GetObjectRequest(BUCKET, KEY), single);
+        final File parallel = temp.newFile();
+        s3.getObjectInParallel(new GetObjectRequest(BUCKET, KEY), parallel, PART_SIZE,
+                executor);
+
+        assertArrayEquals(data, read(single));
+        assertArrayEquals(data, read(parallel));
+        // once for the single get, once for all the parts
+        verify(kms, times(2)).decrypt(any(DecryptRequest.class));
+        assertTrue(server.rangedGets.get() > 1);
+    }
+
+    @Test
+    public void testParallelGetOfRangeMatchesRangedGet() throws Exception {
+        final AmazonS3EncryptionClient s3 = client(fakeKms(), symmetricMaterials(),
+                new CryptoConfiguration(CryptoMode.AuthenticatedEncryption));
+        put(s3);
+
+        final File parallel = temp.newFile();
+        final GetObjectRequest req = new GetObjectRequest(BUCKET, KEY);
+        req.setRange(1000, 60000);
+        s3.getObjectInParallel(req, parallel, PART_SIZE, executor);
+
+        final byte[] expected = new byte[60001 - 1000];
+        System.arraycopy(data, 1000, expected, 0, expected.length);
+        assertArrayEquals(expected, read(parallel));
+    }
+
+    @Test
+    public void testParallelGetWithInstructionFileMatchesSingleGet() throws Exception {
+        final AmazonS3EncryptionClient s3 = client(fakeKms(), symmetricMaterials(),
+                new CryptoConfiguration(CryptoMode.AuthenticatedEncryption)
+                        .withStorageMode(CryptoStorageMode.InstructionFile));
+        put(s3);
+        assertTrue(server.objects.containsKey("/" + BUCKET + "/" + KEY + ".instruction"));
+
+        final File single = temp.newFile();
+        s3.getObject(new GetObjectRequest(BUCKET, KEY), single);
+        assertEquals(1, server.instructionFileGets.get());
+
+        final File parallel = temp.newFile();
+        s3.getObjectInParallel(new GetObjectRequest(BUCKET, KEY), parallel, PART_SIZE,
+                executor);
+
+        assertArrayEquals(data, read(single));
+        assertArrayEquals(data, read(parallel));
+        // the instruction file is fetched once for all the parts
+        assertEquals(2, server.instructionFileGets.get());
+    }
+
+    @Test
+    public void testFailedPartDeletesFileAfterOtherPartsStop() throws Exception {
+        final AmazonS3EncryptionClient s3 = client(fakeKms(), symmetricMaterials(),
+                new CryptoConfiguration(CryptoMode.AuthenticatedEncryption));
+        put(s3);
+        server.failRangesFrom = 2 * PART_SIZE;
+        server.rangeDelayMillis = 300;
+
+        final File parallel = new File(temp.getRoot(), "parallel.bin");
+        try {
+            s3.getObjectInParallel(new GetObjectRequest(BUCKET, KEY), parallel, PART_SIZE,
+                    executor);
+            fail("expected exception");
+        } catch (final ExecutionException expected) {
+            // expected
+        }
+        assertFalse(parallel.exists());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        // no part wrote to the file after it was deleted
+        assertFalse(parallel.exists());
+    }
+
+    private AmazonS3EncryptionClient client(AWSKMSClient kms,
+            EncryptionMaterialsProvider materials, CryptoConfiguration cryptoConfig) {
+        final ClientConfiguration clientConfig = new ClientConfiguration()
+                .withMaxErrorRetry(0)
+                .withSignerOverride("NoOpSignerType");
+        final AWSCredentialsProvider credentials = new StaticCredentialsProvider(
+                new BasicAWSCredentials("accessKey", "secretKey"));
+        final AmazonS3EncryptionClient s3 = new AmazonS3EncryptionClient(kms, credentials,
+                materials, clientConfig, cryptoConfig, null);
+        s3.setEndpoint("http://127.0.0.1:" + server.getPort());
+        s3.setS3ClientOptions(S3ClientOptions.builder().setPathStyleAccess(true).build());
+        return s3;
+    }
+
+    private void put(AmazonS3EncryptionClient s3) {
+        final ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(data.length);
+        s3.putObject(new PutObjectRequest(BUCKET, KEY, new ByteArrayInputStream(data),
+                metadata));
+    }
+
+    private static EncryptionMaterialsProvider symmetricMaterials() {
+        final byte[] key = new byte[32];
+        new Random(7).nextBytes(key);
+        return new StaticEncryptionMaterialsProvider(
+                new EncryptionMaterials(new SecretKeySpec(key, "AES")));
+    }
+
+    /**
+     * A KMS client that "encrypts" data keys by reversing their bytes.
+     */
+    private static AWSKMSClient fakeKms() {
+        final AWSKMSClient kms = mock(AWSKMSClient.class);
+        when(kms.generateDataKey(any(GenerateDataKeyRequest.class)))
+                .thenAnswer(new Answer<GenerateDataKeyResult>() {
+                    @Override
+                    public GenerateDataKeyResult answer(InvocationOnMock invocation) {
+                        final byte[] key = new byte[32];
+                        new Random(11).nextBytes(key);
+                        return new GenerateDataKeyResult().withKeyId("key-id")
+                                .withPlaintext(ByteBuffer.wrap(key))
+                                .withCiphertextBlob(reverse(ByteBuffer.wrap(key)));
+                    }
+                });
+        when(kms.decrypt(any(DecryptRequest.class))).thenAnswer(new Answer<DecryptResult>() {
+            @Override
+            public DecryptResult answer(InvocationOnMock invocation) {
+                final DecryptRequest req = (DecryptRequest) invocation.getArguments()[0];
+                return new DecryptResult().withKeyId("key-id")
+                        .withPlaintext(reverse(req.getCiphertextBlob()));
+            }
+        });
+        return kms;
+    }
+
+    private static ByteBuffer reverse(ByteBuffer buffer) {
+        final byte[] bytes = BinaryUtils.copyAllBytesFrom(buffer);
+        final byte[] reversed = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            reversed[i] = bytes[bytes.length - 1 - i];
+        }
+        return ByteBuffer.wrap(reversed);
+    }
+
+    private static byte[] read(File file) throws IOException {
+        final FileInputStream in = new FileInputStream(file);
+        try {
+            return IOUtils.toByteArray(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Stores objects in memory and serves PUT, HEAD and ranged GET requests
+     * with path style addressing. Each connection serves a single request.
+     */
+    private static final class FakeS3 implements Runnable {
+        final Map<String, StoredObject> objects = new ConcurrentHashMap<String, StoredObject>();
+        final AtomicInteger rangedGets = new AtomicInteger();
+        final AtomicInteger instructionFileGets = new AtomicInteger();
+        volatile long failRangesFrom = Long.MAX_VALUE;
+        volatile long rangeDelayMillis;
+        private final ServerSocket serverSocket;
+        private final ExecutorService handlers = Executors.newCachedThreadPool();
+
+        FakeS3() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+            handlers.execute(this);
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        void stop() {
+            try {
+                serverSocket.close();
+            } catch (final IOException e) {
+                // ignored
+            }
+            handlers.shutdownNow();
+        }
+
+        @Override
+        public void run() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    final Socket socket = serverSocket.accept();
+                    handlers.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            handle(socket);
+                        }
+                    });
+                } catch (final IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void handle(Socket socket) {
+            try {
+                final InputStream in = new BufferedInputStream(socket.getInputStream());
+                final OutputStream out = socket.getOutputStream();
+                final String[] requestLine = readLine(in).split(" ");
+                final String method = requestLine[0];
+                final String path = URI.create(requestLine[1]).getPath();
+                final Map<String, String> headers = new HashMap<String, String>();
+                for (String line = readLine(in); line.length() > 0; line = readLine(in)) {
+                    final int colon = line.indexOf(':');
+                    headers.put(line.substring(0, colon).trim().toLowerCase(),
+                            line.substring(colon + 1).trim());
+                }
+
+                if ("PUT".equals(method)) {
+                    if ("100-continue".equalsIgnoreCase(headers.get("expect"))) {
+                        out.write("HTTP/1.1 100 Continue\r\n\r\n".getBytes(StringUtils.UTF8));
+                        out.flush();
+                    }
+                    final StoredObject object = new StoredObject();
+                    object.body = new byte[Integer.parseInt(headers.get("content-length"))];
+                    new DataInputStream(in).readFully(object.body);
+                    for (final Map.Entry<String, String> e : headers.entrySet()) {
+                        if (e.getKey().startsWith("x-amz-meta-")) {
+                            object.metadata.put(e.getKey(), e.getValue());
+                        }
+                    }
+                    objects.put(path, object);
+                    respond(out, 200, "OK", "ETag: " + object.etag() + "\r\n", null, 0, 0);
+                    return;
+                }
+                if (path.endsWith(".instruction")) {
+                    instructionFileGets.incrementAndGet();
+                }
+                final StoredObject object = objects.get(path);
+                if (object == null) {
+                    error(out, 404, "NoSuchKey");
+                    return;
+                }
+                final String range = headers.get("range");
+                if ("HEAD".equals(method)) {
+                    respond(out, 200, "OK", object.headers(), null, 0, object.body.length);
+                } else if (range == null) {
+                    respond(out, 200, "OK", object.headers(), object.body, 0,
+                            object.body.length);
+                } else {
+                    rangedGets.incrementAndGet();
+                    final String[] bounds = range.substring("bytes=".length()).split("-");
+                    final int start = Integer.parseInt(bounds[0]);
+                    final int end = (int) Math.min(Long.parseLong(bounds[1]),
+                            object.body.length - 1);
+                    if (start >= failRangesFrom) {
+                        error(out, 403, "AccessDenied");
+                        return;
+                    }
+                    if (rangeDelayMillis > 0 && start > 0) {
+                        Thread.sleep(rangeDelayMillis);
+                    }
+                    respond(out, 206, "Partial Content", object.headers()
+                            + "Content-Range: bytes " + start + "-" + end + "/"
+                            + object.body.length + "\r\n",
+                            object.body, start, end - start + 1);
+                }
+            } catch (final Exception e) {
+                // the client went away
+            } finally {
+                try {
+                    socket.close();
+                } catch (final IOException e) {
+                    // ignored
+                }
+            }
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            final StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = in.read()) != -1 && c != '\n') {
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+
+        private static void respond(OutputStream out, int status, String reason,
+                String headers, byte[] body, int offset, int length) throws IOException {
+            final String head = "HTTP/1.1 " + status + " " + reason + "\r\n"
+                    + headers
+                    + "Content-Length: " + length + "\r\n"
+                    + "Connection: close\r\n\r\n";
+            out.write(head.getBytes(StringUtils.UTF8));
+            if (body != null) {
+                out.write(body, offset, length);
+            }
+            out.flush();
+        }
+
+        private static void error(OutputStream out, int status, String code)
+                throws IOException {
+            final byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<Error><Code>" + code + "</Code><Message>" + code + "</Message>"
+                    + "<RequestId>request</RequestId></Error>").getBytes(StringUtils.UTF8);
+            respond(out, status, code, "Content-Type: application/xml\r\n", body, 0,
+                    body.length);
+        }
+    }
+
+    private static final class StoredObject {
+        byte[] body;
+        final Map<String, String> metadata = new HashMap<String, String>();
+
+        String etag() {
+            return "\"" + BinaryUtils.toHex(Md5Utils.computeMD5Hash(body)) + "\"";
+        }
+
+        String headers() {
+            final StringBuilder headers = new StringBuilder()
+                    .append("ETag: ").append(etag()).append("\r\n")
+                    .append("Content-Type: application/octet-stream\r\n");
+            for (final Map.Entry<String, String> e : metadata.entrySet()) {
+                headers.append(e.getKey()).append(": ").append(e.getValue()).append("\r\n");
+            }
+            return headers.toString();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.amazonaws.services.s3.iterable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class S3ObjectsWithPrefetchTest extends S3ObjectsTestCommon {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newFixedThreadPool(2);
+        s3Objects = S3Objects.withPrefix(s3, "my-bucket", "photos/").withPrefetch(executor);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSetsPrefetchExecutor() throws Exception {
+        assertSame(executor, s3Objects.getPrefetchExecutor());
+    }
+
+    @Test
+    public void testPrefetchesNextPageBeforeCurrentIsConsumed() throws Exception {
+        S3ObjectSummary summary = mock(S3ObjectSummary.class);
+        ObjectListing firstPage = mock(ObjectListing.class);
+        when(firstPage.isTruncated()).thenReturn(true);
+        when(firstPage.getObjectSummaries()).thenReturn(Arrays.asList(summary));
+        when(s3.listObjects(any(ListObjectsRequest.class))).thenReturn(firstPage);
+
+        ObjectListing secondPage = mock(ObjectListing.class);
+        when(secondPage.isTruncated()).thenReturn(false);
+        when(secondPage.getObjectSummaries()).thenReturn(new ArrayList<S3ObjectSummary>());
+        when(s3.listNextBatchOfObjects(firstPage)).thenReturn(secondPage);
+
+        Iterator<S3ObjectSummary> iter = s3Objects.iterator();
+        assertTrue(iter.hasNext());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS));
+        // the second page was requested while the first one was still unread
+        verify(s3).listNextBatchOfObjects(firstPage);
+
+        assertSame(summary, iter.next());
+        assertFalse(iter.hasNext());
+    }
+
+    @Test
+    public void testPrefetchErrorIsRethrown() throws Exception {
+        ObjectListing firstPage = mock(ObjectListing.class);
+        when(firstPage.isTruncated()).thenReturn(true);
+        when(firstPage.getObjectSummaries()).thenReturn(new ArrayList<S3ObjectSummary>());
+        when(s3.listObjects(any(ListObjectsRequest.class))).thenReturn(firstPage);
+        when(s3.listNextBatchOfObjects(firstPage)).thenThrow(new AmazonServiceException("boom"));
+
+        try {
+            s3Objects.iterator().hasNext();
+            fail("expected exception");
+        } catch (AmazonServiceException expected) {
+            assertEquals("boom", expected.getErrorMessage());
+        }
+    }
+
+    @Test
+    public void testListsPrefixesInOrder() throws Exception {
+        S3ObjectSummary a = mock(S3ObjectSummary.class);
+        S3ObjectSummary b = mock(S3ObjectSummary.class);
+        S3ObjectSummary c = mock(S3ObjectSummary.class);
+        stubPrefix("a/", Arrays.asList(a));
+        stubPrefix("b/", new ArrayList<S3ObjectSummary>());
+        stubPrefix("c/", Arrays.asList(b, c));
+
+        S3Objects objects = S3Objects.withPrefixes(s3, "my-bucket", Arrays.asList("a/", "b/", "c/"))
+                .withPrefetch(executor)
+                .withMaxConcurrentPrefixes(2);
+        assertEquals(Arrays.asList("a/", "b/", "c/"), objects.getPrefixes());
+
+        List<S3ObjectSummary> summaries = new ArrayList<S3ObjectSummary>();
+        for (S3ObjectSummary summary : objects) {
+            summaries.add(summary);
+        }
+        assertEquals(Arrays.asList(a, b, c), summaries);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsZeroConcurrentPrefixes() throws Exception {
+        s3Objects.withMaxConcurrentPrefixes(0);
+    }
+
+    private void stubPrefix(final String prefix, List<S3ObjectSummary> summaries) {
+        ObjectListing listing = mock(ObjectListing.class);
+        when(listing.isTruncated()).thenReturn(false);
+        when(listing.getObjectSummaries()).thenReturn(summaries);
+        when(s3.listObjects(argThat(new ArgumentMatcher<ListObjectsRequest>() {
+            @Override
+            public boolean matches(Object argument) {
+                return argument != null
+                        && prefix.equals(((ListObjectsRequest) argument).getPrefix());
+            }
+        }))).thenReturn(listing);
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.amazonaws.services.s3.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class CryptoConfigurationTest {
+
+    @Test
+    public void defaultCipherBufferSize() {
+        assertEquals(CryptoConfiguration.DEFAULT_CIPHER_BUFFER_SIZE,
+                new CryptoConfiguration().getCipherBufferSize());
+    }
+
+    @Test
+    public void cipherBufferSizeIsCopied() {
+        CryptoConfiguration config = new CryptoConfiguration().withCipherBufferSize(64 * 1024);
+        assertEquals(64 * 1024, config.clone().getCipherBufferSize());
+        assertEquals(64 * 1024, config.readOnly().getCipherBufferSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cipherBufferSizeMustBeMultipleOfBlockBuffer() {
+        new CryptoConfiguration().setCipherBufferSize(1000);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void readOnlyCipherBufferSize() {
+        new CryptoConfiguration().readOnly().setCipherBufferSize(4096);
+    }
+}
@@ -18,6 +18,8 @@ package com.amazonaws.services.sqs;
 import org.w3c.dom.*;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.amazonaws.*;
 import com.amazonaws.auth.*;
@@ -2839,4 +2841,17 @@ public class AmazonSQSClient extends AmazonWebServiceClient implements AmazonSQS
                 exceptionUnmarshallers);
         return client.execute(request, responseHandler, errorResponseHandler, executionContext);
     }
+
+    /**
+     * Executes a request on the asynchronous path of the http client with the
+     * XML response and error handlers of this client.
+     */
+    <X, Y extends AmazonWebServiceRequest> Future<X> invokeAsync(Y originalRequest,
+            Marshaller<Request<Y>, Y> marshaller,
+            Unmarshaller<X, StaxUnmarshallerContext> unmarshaller,
+            AsyncHandler<Y, X> asyncHandler, ExecutorService executor) {
+        return invokeAsync(originalRequest, marshaller, new StaxResponseHandler<X>(unmarshaller),
+                new DefaultErrorResponseHandler(exceptionUnmarshallers), awsCredentialsProvider,
+                asyncHandler, executor);
+    }
 }
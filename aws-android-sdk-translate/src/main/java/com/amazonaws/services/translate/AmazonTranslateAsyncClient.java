@@ -15,7 +15,6 @@
 
 package com.amazonaws.services.translate;
 
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -29,6 +28,7 @@ import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 
 import com.amazonaws.services.translate.model.*;
+import com.amazonaws.services.translate.model.transform.*;
 
 /**
  * Interface for accessing Amazon Translate asynchronously.
@@ -287,11 +287,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<CreateParallelDataResult> createParallelDataAsync(
             final CreateParallelDataRequest createParallelDataRequest)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<CreateParallelDataResult>() {
-            public CreateParallelDataResult call() throws Exception {
-                return createParallelData(createParallelDataRequest);
-            }
-        });
+        return invokeAsync(createParallelDataRequest, new CreateParallelDataRequestMarshaller(),
+                new CreateParallelDataResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -325,19 +322,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final CreateParallelDataRequest createParallelDataRequest,
             final AsyncHandler<CreateParallelDataRequest, CreateParallelDataResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<CreateParallelDataResult>() {
-            public CreateParallelDataResult call() throws Exception {
-                CreateParallelDataResult result = null;
-                try {
-                    result = createParallelData(createParallelDataRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(createParallelDataRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(createParallelDataRequest, new CreateParallelDataRequestMarshaller(),
+                new CreateParallelDataResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -364,11 +350,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<DeleteParallelDataResult> deleteParallelDataAsync(
             final DeleteParallelDataRequest deleteParallelDataRequest)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<DeleteParallelDataResult>() {
-            public DeleteParallelDataResult call() throws Exception {
-                return deleteParallelData(deleteParallelDataRequest);
-            }
-        });
+        return invokeAsync(deleteParallelDataRequest, new DeleteParallelDataRequestMarshaller(),
+                new DeleteParallelDataResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -396,19 +379,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final DeleteParallelDataRequest deleteParallelDataRequest,
             final AsyncHandler<DeleteParallelDataRequest, DeleteParallelDataResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<DeleteParallelDataResult>() {
-            public DeleteParallelDataResult call() throws Exception {
-                DeleteParallelDataResult result = null;
-                try {
-                    result = deleteParallelData(deleteParallelDataRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(deleteParallelDataRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(deleteParallelDataRequest, new DeleteParallelDataRequestMarshaller(),
+                new DeleteParallelDataResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -435,12 +407,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<Void> deleteTerminologyAsync(
             final DeleteTerminologyRequest deleteTerminologyRequest) throws AmazonServiceException,
             AmazonClientException {
-        return executorService.submit(new Callable<Void>() {
-            public Void call() throws Exception {
-                deleteTerminology(deleteTerminologyRequest);
-                return null;
-            }
-        });
+        return this.<Void, DeleteTerminologyRequest> invokeAsync(deleteTerminologyRequest,
+                new DeleteTerminologyRequestMarshaller(), null, null, executorService);
     }
 
     /**
@@ -468,19 +436,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final DeleteTerminologyRequest deleteTerminologyRequest,
             final AsyncHandler<DeleteTerminologyRequest, Void> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<Void>() {
-            public Void call() throws Exception {
-                Void result = null;
-                try {
-                    deleteTerminology(deleteTerminologyRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(deleteTerminologyRequest, result);
-                return result;
-            }
-        });
+        return this.<Void, DeleteTerminologyRequest> invokeAsync(deleteTerminologyRequest,
+                new DeleteTerminologyRequestMarshaller(), null, asyncHandler, executorService);
     }
 
     /**
@@ -508,11 +465,9 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<DescribeTextTranslationJobResult> describeTextTranslationJobAsync(
             final DescribeTextTranslationJobRequest describeTextTranslationJobRequest)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<DescribeTextTranslationJobResult>() {
-            public DescribeTextTranslationJobResult call() throws Exception {
-                return describeTextTranslationJob(describeTextTranslationJobRequest);
-            }
-        });
+        return invokeAsync(describeTextTranslationJobRequest,
+                new DescribeTextTranslationJobRequestMarshaller(),
+                new DescribeTextTranslationJobResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -541,19 +496,10 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final DescribeTextTranslationJobRequest describeTextTranslationJobRequest,
             final AsyncHandler<DescribeTextTranslationJobRequest, DescribeTextTranslationJobResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<DescribeTextTranslationJobResult>() {
-            public DescribeTextTranslationJobResult call() throws Exception {
-                DescribeTextTranslationJobResult result = null;
-                try {
-                    result = describeTextTranslationJob(describeTextTranslationJobRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(describeTextTranslationJobRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(describeTextTranslationJobRequest,
+                new DescribeTextTranslationJobRequestMarshaller(),
+                new DescribeTextTranslationJobResultJsonUnmarshaller(), asyncHandler,
+                executorService);
     }
 
     /**
@@ -579,11 +525,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<GetParallelDataResult> getParallelDataAsync(
             final GetParallelDataRequest getParallelDataRequest) throws AmazonServiceException,
             AmazonClientException {
-        return executorService.submit(new Callable<GetParallelDataResult>() {
-            public GetParallelDataResult call() throws Exception {
-                return getParallelData(getParallelDataRequest);
-            }
-        });
+        return invokeAsync(getParallelDataRequest, new GetParallelDataRequestMarshaller(),
+                new GetParallelDataResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -610,19 +553,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final GetParallelDataRequest getParallelDataRequest,
             final AsyncHandler<GetParallelDataRequest, GetParallelDataResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<GetParallelDataResult>() {
-            public GetParallelDataResult call() throws Exception {
-                GetParallelDataResult result = null;
-                try {
-                    result = getParallelData(getParallelDataRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(getParallelDataRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(getParallelDataRequest, new GetParallelDataRequestMarshaller(),
+                new GetParallelDataResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -648,11 +580,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<GetTerminologyResult> getTerminologyAsync(
             final GetTerminologyRequest getTerminologyRequest) throws AmazonServiceException,
             AmazonClientException {
-        return executorService.submit(new Callable<GetTerminologyResult>() {
-            public GetTerminologyResult call() throws Exception {
-                return getTerminology(getTerminologyRequest);
-            }
-        });
+        return invokeAsync(getTerminologyRequest, new GetTerminologyRequestMarshaller(),
+                new GetTerminologyResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -679,19 +608,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final GetTerminologyRequest getTerminologyRequest,
             final AsyncHandler<GetTerminologyRequest, GetTerminologyResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<GetTerminologyResult>() {
-            public GetTerminologyResult call() throws Exception {
-                GetTerminologyResult result = null;
-                try {
-                    result = getTerminology(getTerminologyRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(getTerminologyRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(getTerminologyRequest, new GetTerminologyRequestMarshaller(),
+                new GetTerminologyResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -728,11 +646,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<ImportTerminologyResult> importTerminologyAsync(
             final ImportTerminologyRequest importTerminologyRequest) throws AmazonServiceException,
             AmazonClientException {
-        return executorService.submit(new Callable<ImportTerminologyResult>() {
-            public ImportTerminologyResult call() throws Exception {
-                return importTerminology(importTerminologyRequest);
-            }
-        });
+        return invokeAsync(importTerminologyRequest, new ImportTerminologyRequestMarshaller(),
+                new ImportTerminologyResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -770,19 +685,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final ImportTerminologyRequest importTerminologyRequest,
             final AsyncHandler<ImportTerminologyRequest, ImportTerminologyResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<ImportTerminologyResult>() {
-            public ImportTerminologyResult call() throws Exception {
-                ImportTerminologyResult result = null;
-                try {
-                    result = importTerminology(importTerminologyRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(importTerminologyRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(importTerminologyRequest, new ImportTerminologyRequestMarshaller(),
+                new ImportTerminologyResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -809,11 +713,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<ListLanguagesResult> listLanguagesAsync(
             final ListLanguagesRequest listLanguagesRequest) throws AmazonServiceException,
             AmazonClientException {
-        return executorService.submit(new Callable<ListLanguagesResult>() {
-            public ListLanguagesResult call() throws Exception {
-                return listLanguages(listLanguagesRequest);
-            }
-        });
+        return invokeAsync(listLanguagesRequest, new ListLanguagesRequestMarshaller(),
+                new ListLanguagesResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -841,19 +742,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final ListLanguagesRequest listLanguagesRequest,
             final AsyncHandler<ListLanguagesRequest, ListLanguagesResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<ListLanguagesResult>() {
-            public ListLanguagesResult call() throws Exception {
-                ListLanguagesResult result = null;
-                try {
-                    result = listLanguages(listLanguagesRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(listLanguagesRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(listLanguagesRequest, new ListLanguagesRequestMarshaller(),
+                new ListLanguagesResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -878,11 +768,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<ListParallelDataResult> listParallelDataAsync(
             final ListParallelDataRequest listParallelDataRequest) throws AmazonServiceException,
             AmazonClientException {
-        return executorService.submit(new Callable<ListParallelDataResult>() {
-            public ListParallelDataResult call() throws Exception {
-                return listParallelData(listParallelDataRequest);
-            }
-        });
+        return invokeAsync(listParallelDataRequest, new ListParallelDataRequestMarshaller(),
+                new ListParallelDataResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -908,19 +795,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final ListParallelDataRequest listParallelDataRequest,
             final AsyncHandler<ListParallelDataRequest, ListParallelDataResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<ListParallelDataResult>() {
-            public ListParallelDataResult call() throws Exception {
-                ListParallelDataResult result = null;
-                try {
-                    result = listParallelData(listParallelDataRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(listParallelDataRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(listParallelDataRequest, new ListParallelDataRequestMarshaller(),
+                new ListParallelDataResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -946,11 +822,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<ListTerminologiesResult> listTerminologiesAsync(
             final ListTerminologiesRequest listTerminologiesRequest) throws AmazonServiceException,
             AmazonClientException {
-        return executorService.submit(new Callable<ListTerminologiesResult>() {
-            public ListTerminologiesResult call() throws Exception {
-                return listTerminologies(listTerminologiesRequest);
-            }
-        });
+        return invokeAsync(listTerminologiesRequest, new ListTerminologiesRequestMarshaller(),
+                new ListTerminologiesResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -977,19 +850,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final ListTerminologiesRequest listTerminologiesRequest,
             final AsyncHandler<ListTerminologiesRequest, ListTerminologiesResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<ListTerminologiesResult>() {
-            public ListTerminologiesResult call() throws Exception {
-                ListTerminologiesResult result = null;
-                try {
-                    result = listTerminologies(listTerminologiesRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(listTerminologiesRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(listTerminologiesRequest, new ListTerminologiesRequestMarshaller(),
+                new ListTerminologiesResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -1016,11 +878,9 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<ListTextTranslationJobsResult> listTextTranslationJobsAsync(
             final ListTextTranslationJobsRequest listTextTranslationJobsRequest)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<ListTextTranslationJobsResult>() {
-            public ListTextTranslationJobsResult call() throws Exception {
-                return listTextTranslationJobs(listTextTranslationJobsRequest);
-            }
-        });
+        return invokeAsync(listTextTranslationJobsRequest,
+                new ListTextTranslationJobsRequestMarshaller(),
+                new ListTextTranslationJobsResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -1048,19 +908,9 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final ListTextTranslationJobsRequest listTextTranslationJobsRequest,
             final AsyncHandler<ListTextTranslationJobsRequest, ListTextTranslationJobsResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<ListTextTranslationJobsResult>() {
-            public ListTextTranslationJobsResult call() throws Exception {
-                ListTextTranslationJobsResult result = null;
-                try {
-                    result = listTextTranslationJobs(listTextTranslationJobsRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(listTextTranslationJobsRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(listTextTranslationJobsRequest,
+                new ListTextTranslationJobsRequestMarshaller(),
+                new ListTextTranslationJobsResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -1103,11 +953,9 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<StartTextTranslationJobResult> startTextTranslationJobAsync(
             final StartTextTranslationJobRequest startTextTranslationJobRequest)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<StartTextTranslationJobResult>() {
-            public StartTextTranslationJobResult call() throws Exception {
-                return startTextTranslationJob(startTextTranslationJobRequest);
-            }
-        });
+        return invokeAsync(startTextTranslationJobRequest,
+                new StartTextTranslationJobRequestMarshaller(),
+                new StartTextTranslationJobResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -1151,19 +999,9 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final StartTextTranslationJobRequest startTextTranslationJobRequest,
             final AsyncHandler<StartTextTranslationJobRequest, StartTextTranslationJobResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<StartTextTranslationJobResult>() {
-            public StartTextTranslationJobResult call() throws Exception {
-                StartTextTranslationJobResult result = null;
-                try {
-                    result = startTextTranslationJob(startTextTranslationJobRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(startTextTranslationJobRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(startTextTranslationJobRequest,
+                new StartTextTranslationJobRequestMarshaller(),
+                new StartTextTranslationJobResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -1202,11 +1040,9 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<StopTextTranslationJobResult> stopTextTranslationJobAsync(
             final StopTextTranslationJobRequest stopTextTranslationJobRequest)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<StopTextTranslationJobResult>() {
-            public StopTextTranslationJobResult call() throws Exception {
-                return stopTextTranslationJob(stopTextTranslationJobRequest);
-            }
-        });
+        return invokeAsync(stopTextTranslationJobRequest,
+                new StopTextTranslationJobRequestMarshaller(),
+                new StopTextTranslationJobResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -1246,19 +1082,9 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final StopTextTranslationJobRequest stopTextTranslationJobRequest,
             final AsyncHandler<StopTextTranslationJobRequest, StopTextTranslationJobResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<StopTextTranslationJobResult>() {
-            public StopTextTranslationJobResult call() throws Exception {
-                StopTextTranslationJobResult result = null;
-                try {
-                    result = stopTextTranslationJob(stopTextTranslationJobRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(stopTextTranslationJobRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(stopTextTranslationJobRequest,
+                new StopTextTranslationJobRequestMarshaller(),
+                new StopTextTranslationJobResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -1290,11 +1116,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<TranslateTextResult> translateTextAsync(
             final TranslateTextRequest translateTextRequest) throws AmazonServiceException,
             AmazonClientException {
-        return executorService.submit(new Callable<TranslateTextResult>() {
-            public TranslateTextResult call() throws Exception {
-                return translateText(translateTextRequest);
-            }
-        });
+        return invokeAsync(translateTextRequest, new TranslateTextRequestMarshaller(),
+                new TranslateTextResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -1327,19 +1150,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final TranslateTextRequest translateTextRequest,
             final AsyncHandler<TranslateTextRequest, TranslateTextResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<TranslateTextResult>() {
-            public TranslateTextResult call() throws Exception {
-                TranslateTextResult result = null;
-                try {
-                    result = translateText(translateTextRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(translateTextRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(translateTextRequest, new TranslateTextRequestMarshaller(),
+                new TranslateTextResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
     /**
@@ -1371,11 +1183,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
     public Future<UpdateParallelDataResult> updateParallelDataAsync(
             final UpdateParallelDataRequest updateParallelDataRequest)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<UpdateParallelDataResult>() {
-            public UpdateParallelDataResult call() throws Exception {
-                return updateParallelData(updateParallelDataRequest);
-            }
-        });
+        return invokeAsync(updateParallelDataRequest, new UpdateParallelDataRequestMarshaller(),
+                new UpdateParallelDataResultJsonUnmarshaller(), null, executorService);
     }
 
     /**
@@ -1408,19 +1217,8 @@ public class AmazonTranslateAsyncClient extends AmazonTranslateClient implements
             final UpdateParallelDataRequest updateParallelDataRequest,
             final AsyncHandler<UpdateParallelDataRequest, UpdateParallelDataResult> asyncHandler)
             throws AmazonServiceException, AmazonClientException {
-        return executorService.submit(new Callable<UpdateParallelDataResult>() {
-            public UpdateParallelDataResult call() throws Exception {
-                UpdateParallelDataResult result = null;
-                try {
-                    result = updateParallelData(updateParallelDataRequest);
-                } catch (Exception ex) {
-                    asyncHandler.onError(ex);
-                    throw ex;
-                }
-                asyncHandler.onSuccess(updateParallelDataRequest, result);
-                return result;
-            }
-        });
+        return invokeAsync(updateParallelDataRequest, new UpdateParallelDataRequestMarshaller(),
+                new UpdateParallelDataResultJsonUnmarshaller(), asyncHandler, executorService);
     }
 
 }
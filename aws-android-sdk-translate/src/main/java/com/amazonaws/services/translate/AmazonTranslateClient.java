@@ -16,6 +16,8 @@
 package com.amazonaws.services.translate;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.amazonaws.*;
 import com.amazonaws.auth.*;
@@ -1216,4 +1218,17 @@ public class AmazonTranslateClient extends AmazonWebServiceClient implements Ama
                 errorResponseHandler, executionContext);
         return result;
     }
+
+    /**
+     * Executes a request on the asynchronous path of the http client with the
+     * JSON response and error handlers of this client.
+     */
+    <X, Y extends AmazonWebServiceRequest> Future<X> invokeAsync(Y originalRequest,
+            Marshaller<Request<Y>, Y> marshaller,
+            Unmarshaller<X, JsonUnmarshallerContext> unmarshaller,
+            AsyncHandler<Y, X> asyncHandler, ExecutorService executor) {
+        return invokeAsync(originalRequest, marshaller, new JsonResponseHandler<X>(unmarshaller),
+                new JsonErrorResponseHandler(jsonErrorUnmarshallers), awsCredentialsProvider,
+                asyncHandler, executor);
+    }
 }
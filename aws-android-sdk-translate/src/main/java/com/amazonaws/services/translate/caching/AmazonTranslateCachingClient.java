@@ -0,0 +1,412 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.translate.caching;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.http.AsyncResponseFuture;
+import com.amazonaws.http.SharedExecutors;
+import com.amazonaws.services.translate.AmazonTranslateAsync;
+import com.amazonaws.services.translate.model.AppliedTerminology;
+import com.amazonaws.services.translate.model.Term;
+import com.amazonaws.services.translate.model.TranslateTextRequest;
+import com.amazonaws.services.translate.model.TranslateTextResult;
+import com.amazonaws.services.translate.model.TranslationSettings;
+import com.amazonaws.services.translate.model.transform.TranslateTextResultJsonUnmarshaller;
+import com.amazonaws.transform.JsonUnmarshallerContext;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.StringUtils;
+import com.amazonaws.util.json.AwsJsonWriter;
+import com.amazonaws.util.json.JsonUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * AmazonTranslateCachingClient caches the results of translateText calls
+ * made with an {@link AmazonTranslateAsync} client, such as
+ * AmazonTranslateAsyncClient. Translations are kept in a bounded memory tier
+ * and, optionally, in a persistent tier on disk. Concurrent calls for the
+ * same translation share one call to the service.
+ * <br>
+ * Translations are keyed by a hash of the text, the source and target
+ * languages, the terminology names and the formality and profanity settings.
+ * A translation is not updated when a terminology changes; call
+ * {@link #clear()} after changing one.
+ * <br>
+ * AmazonTranslateCachingClient is thread-safe.<br>
+ */
+public class AmazonTranslateCachingClient {
+
+    /** Default number of translations kept in memory. */
+    public static final int DEFAULT_MAX_MEMORY_ENTRIES = 1000;
+
+    /** Default number of translations kept on disk. */
+    public static final int DEFAULT_MAX_PERSISTED_ENTRIES = 10000;
+
+    /** Default time to live of the translations kept on disk, 30 days. */
+    public static final long DEFAULT_PERSISTED_TTL_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+    private final AmazonTranslateAsync translate;
+    private final LinkedHashMap<String, String> memory;
+    private final TranslationDiskCache disk;
+    private final Map<String, List<Waiter>> inFlight = new HashMap<String, List<Waiter>>();
+
+    /**
+     * Creates a client with a memory tier only.
+     *
+     * @param translate the client that sends the calls
+     */
+    public AmazonTranslateCachingClient(AmazonTranslateAsync translate) {
+        this(translate, DEFAULT_MAX_MEMORY_ENTRIES, null);
+    }
+
+    /**
+     * Creates a client.
+     *
+     * @param translate the client that sends the calls
+     * @param maxMemoryEntries the number of translations kept in memory
+     * @param directory the directory of the persistent tier, typically in the
+     *            app's cache directory, or null to keep translations in
+     *            memory only. It must not be used for anything else.
+     */
+    public AmazonTranslateCachingClient(AmazonTranslateAsync translate, int maxMemoryEntries,
+            File directory) {
+        this(translate, maxMemoryEntries, directory, DEFAULT_MAX_PERSISTED_ENTRIES,
+                DEFAULT_PERSISTED_TTL_MILLIS);
+    }
+
+    /**
+     * Creates a client.
+     *
+     * @param translate the client that sends the calls
+     * @param maxMemoryEntries the number of translations kept in memory
+     * @param directory the directory of the persistent tier, typically in the
+     *            app's cache directory, or null to keep translations in
+     *            memory only. It must not be used for anything else.
+     * @param maxPersistedEntries the number of translations kept on disk
+     * @param persistedTtlMillis how long translations are kept on disk
+     */
+    public AmazonTranslateCachingClient(AmazonTranslateAsync translate,
+            final int maxMemoryEntries, File directory, int maxPersistedEntries,
+            long persistedTtlMillis) {
+        if (maxMemoryEntries <= 0 || maxPersistedEntries <= 0) {
+            throw new IllegalArgumentException("The maximum number of entries must be positive");
+        }
+        this.translate = translate;
+        this.memory = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxMemoryEntries;
+            }
+        };
+        this.disk = directory == null ? null
+                : new TranslationDiskCache(directory, maxPersistedEntries, persistedTtlMillis);
+    }
+
+    /**
+     * Translates text, from the cache if possible.
+     *
+     * @param translateTextRequest the request
+     * @return the translation
+     * @throws AmazonServiceException if the service rejected the request
+     * @throws AmazonClientException if the service couldn't be reached
+     */
+    public TranslateTextResult translateText(TranslateTextRequest translateTextRequest) {
+        try {
+            return translateTextAsync(translateTextRequest).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException("Interrupted while waiting for the translation", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof AmazonClientException) {
+                throw (AmazonClientException) cause;
+            }
+            throw new AmazonClientException("Failed to translate", cause);
+        }
+    }
+
+    /**
+     * Translates text, from the cache if possible. A translation found in
+     * memory completes the future right away.
+     *
+     * @param translateTextRequest the request
+     * @return the future translation
+     */
+    public Future<TranslateTextResult> translateTextAsync(
+            TranslateTextRequest translateTextRequest) {
+        return translateTextAsync(translateTextRequest, null);
+    }
+
+    /**
+     * Translates text, from the cache if possible. A translation found in
+     * memory completes the future, and notifies the handler, right away.
+     *
+     * @param translateTextRequest the request
+     * @param asyncHandler notified of the result, may be null
+     * @return the future translation
+     */
+    public Future<TranslateTextResult> translateTextAsync(
+            final TranslateTextRequest translateTextRequest,
+            AsyncHandler<TranslateTextRequest, TranslateTextResult> asyncHandler) {
+        final Waiter waiter = new Waiter(translateTextRequest, asyncHandler);
+        final String key = cacheKey(translateTextRequest);
+        final String cached;
+        synchronized (this) {
+            cached = memory.get(key);
+            if (cached == null) {
+                final List<Waiter> waiters = inFlight.get(key);
+                if (waiters != null) {
+                    waiters.add(waiter);
+                    return waiter.future;
+                }
+                final List<Waiter> first = new ArrayList<Waiter>();
+                first.add(waiter);
+                inFlight.put(key, first);
+            }
+        }
+        if (cached != null) {
+            waiter.succeed(fromJson(cached));
+            return waiter.future;
+        }
+        if (disk == null) {
+            send(key, translateTextRequest);
+        } else {
+            SharedExecutors.getIoExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    final String stored = disk.get(key);
+                    if (stored != null && isReadable(stored)) {
+                        complete(key, stored, false);
+                    } else {
+                        send(key, translateTextRequest);
+                    }
+                }
+            });
+        }
+        return waiter.future;
+    }
+
+    /**
+     * Removes all translations, including the persisted ones.
+     */
+    public void clear() {
+        synchronized (this) {
+            memory.clear();
+        }
+        if (disk != null) {
+            disk.clear();
+        }
+    }
+
+    /**
+     * @return the number of translations kept in memory
+     */
+    public synchronized int size() {
+        return memory.size();
+    }
+
+    private void send(final String key, TranslateTextRequest request) {
+        try {
+            translate.translateTextAsync(request,
+                    new AsyncHandler<TranslateTextRequest, TranslateTextResult>() {
+                        @Override
+                        public void onError(Exception exception) {
+                            fail(key, exception);
+                        }
+
+                        @Override
+                        public void onSuccess(TranslateTextRequest request,
+                                TranslateTextResult result) {
+                            complete(key, toJson(result), true);
+                        }
+                    });
+        } catch (final RuntimeException e) {
+            // the executor of the client rejected the call
+            fail(key, e);
+        }
+    }
+
+    private void complete(String key, String json, boolean persist) {
+        final List<Waiter> waiters;
+        synchronized (this) {
+            memory.put(key, json);
+            waiters = inFlight.remove(key);
+        }
+        if (persist && disk != null) {
+            disk.put(key, json);
+        }
+        if (waiters != null) {
+            for (final Waiter waiter : waiters) {
+                // each caller gets its own copy
+                waiter.succeed(fromJson(json));
+            }
+        }
+    }
+
+    private void fail(String key, Exception e) {
+        final List<Waiter> waiters;
+        synchronized (this) {
+            waiters = inFlight.remove(key);
+        }
+        if (waiters != null) {
+            for (final Waiter waiter : waiters) {
+                waiter.fail(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the key of a translation, the SHA-256 hash of its parameters.
+     */
+    static String cacheKey(TranslateTextRequest request) {
+        final StringBuilder key = new StringBuilder();
+        append(key, request.getSourceLanguageCode());
+        append(key, request.getTargetLanguageCode());
+        append(key, request.getTerminologyNames() == null ? null
+                : request.getTerminologyNames().toString());
+        final TranslationSettings settings = request.getSettings();
+        append(key, settings == null ? null : settings.getFormality());
+        append(key, settings == null ? null : settings.getProfanity());
+        key.append(request.getText());
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new AmazonClientException("SHA-256 is not available", e);
+        }
+        return BinaryUtils.toHex(digest.digest(key.toString().getBytes(StringUtils.UTF8)));
+    }
+
+    private static void append(StringBuilder key, String value) {
+        key.append(value == null ? "" : value).append('\n');
+    }
+
+    /**
+     * Writes a result with the same field names as the service response, so
+     * it is read back with the response unmarshaller.
+     */
+    static String toJson(TranslateTextResult result) {
+        final StringWriter out = new StringWriter();
+        final AwsJsonWriter writer = JsonUtils.getJsonWriter(out);
+        try {
+            writer.beginObject();
+            writeString(writer, "TranslatedText", result.getTranslatedText());
+            writeString(writer, "SourceLanguageCode", result.getSourceLanguageCode());
+            writeString(writer, "TargetLanguageCode", result.getTargetLanguageCode());
+            if (result.getAppliedTerminologies() != null) {
+                writer.name("AppliedTerminologies").beginArray();
+                for (final AppliedTerminology terminology : result.getAppliedTerminologies()) {
+                    writer.beginObject();
+                    writeString(writer, "Name", terminology.getName());
+                    if (terminology.getTerms() != null) {
+                        writer.name("Terms").beginArray();
+                        for (final Term term : terminology.getTerms()) {
+                            writer.beginObject();
+                            writeString(writer, "SourceText", term.getSourceText());
+                            writeString(writer, "TargetText", term.getTargetText());
+                            writer.endObject();
+                        }
+                        writer.endArray();
+                    }
+                    writer.endObject();
+                }
+                writer.endArray();
+            }
+            final TranslationSettings settings = result.getAppliedSettings();
+            if (settings != null) {
+                writer.name("AppliedSettings").beginObject();
+                writeString(writer, "Formality", settings.getFormality());
+                writeString(writer, "Profanity", settings.getProfanity());
+                writer.endObject();
+            }
+            writer.endObject();
+            writer.close();
+        } catch (final IOException e) {
+            throw new AmazonClientException("Unable to write the translation to JSON", e);
+        }
+        return out.toString();
+    }
+
+    static TranslateTextResult fromJson(String json) {
+        try {
+            return TranslateTextResultJsonUnmarshaller.getInstance().unmarshall(
+                    new JsonUnmarshallerContext(JsonUtils.getJsonReader(new StringReader(json))));
+        } catch (final Exception e) {
+            throw new AmazonClientException("Unable to read the cached translation", e);
+        }
+    }
+
+    private static boolean isReadable(String json) {
+        try {
+            fromJson(json);
+            return true;
+        } catch (final AmazonClientException e) {
+            return false;
+        }
+    }
+
+    private static void writeString(AwsJsonWriter writer, String name, String value)
+            throws IOException {
+        if (value != null) {
+            writer.name(name).value(value);
+        }
+    }
+
+    /**
+     * A caller waiting for a translation. Each caller has its own future, so
+     * cancelling it doesn't affect other callers sharing the same call.
+     */
+    private static final class Waiter {
+        final TranslateTextRequest request;
+        final AsyncHandler<TranslateTextRequest, TranslateTextResult> handler;
+        final AsyncResponseFuture<TranslateTextResult> future =
+                new AsyncResponseFuture<TranslateTextResult>();
+
+        Waiter(TranslateTextRequest request,
+                AsyncHandler<TranslateTextRequest, TranslateTextResult> handler) {
+            this.request = request;
+            this.handler = handler;
+        }
+
+        void succeed(TranslateTextResult result) {
+            if (future.setResult(result) && handler != null) {
+                handler.onSuccess(request, result);
+            }
+        }
+
+        void fail(Exception e) {
+            if (future.setFailure(e) && handler != null) {
+                handler.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.translate.caching;
+
+import com.amazonaws.logging.Log;
+import com.amazonaws.logging.LogFactory;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * The persistent tier of the translation cache: one file per translation,
+ * named by its key. The least recently written files are deleted beyond the
+ * maximum number of entries, and entries older than the time to live are
+ * ignored.
+ */
+final class TranslationDiskCache {
+    private static final Log LOGGER = LogFactory.getLog(TranslationDiskCache.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final int maxEntries;
+    private final long ttlMillis;
+    /** Keys, least recently written first. Loaded on first use. */
+    private LinkedHashSet<String> keys;
+
+    TranslationDiskCache(File directory, int maxEntries, long ttlMillis) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return the stored translation, or null
+     */
+    synchronized String get(String key) {
+        if (!load().contains(key)) {
+            return null;
+        }
+        final File file = new File(directory, key);
+        final long age = System.currentTimeMillis() - file.lastModified();
+        if (age < 0 || age >= ttlMillis) {
+            remove(key);
+            return null;
+        }
+        InputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            return IOUtils.toString(in);
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to read cached translation " + file, e);
+            remove(key);
+            return null;
+        } finally {
+            close(in);
+        }
+    }
+
+    synchronized void put(String key, String json) {
+        // creates the directory
+        final LinkedHashSet<String> loaded = load();
+        final File temp = new File(directory, key + TEMP_SUFFIX);
+        OutputStream out = null;
+        try {
+            out = new FileOutputStream(temp);
+            out.write(json.getBytes(StringUtils.UTF8));
+            out.close();
+            out = null;
+            if (!temp.renameTo(new File(directory, key))) {
+                LOGGER.warn("Failed to store cached translation " + key);
+                delete(temp);
+                return;
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to store cached translation " + key, e);
+            delete(temp);
+            return;
+        } finally {
+            close(out);
+        }
+        loaded.remove(key);
+        loaded.add(key);
+        final Iterator<String> it = loaded.iterator();
+        while (loaded.size() > maxEntries) {
+            final String eldest = it.next();
+            it.remove();
+            delete(new File(directory, eldest));
+        }
+    }
+
+    synchronized void clear() {
+        for (final String key : new ArrayList<String>(load())) {
+            remove(key);
+        }
+    }
+
+    private void remove(String key) {
+        keys.remove(key);
+        delete(new File(directory, key));
+    }
+
+    private LinkedHashSet<String> load() {
+        if (keys != null) {
+            return keys;
+        }
+        keys = new LinkedHashSet<String>();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            LOGGER.warn("Failed to create " + directory);
+            return keys;
+        }
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return keys;
+        }
+        final List<File> sorted = new ArrayList<File>(Arrays.asList(files));
+        Collections.sort(sorted, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                final long diff = a.lastModified() - b.lastModified();
+                return diff < 0 ? -1 : (diff == 0 ? 0 : 1);
+            }
+        });
+        for (final File file : sorted) {
+            if (file.getName().endsWith(TEMP_SUFFIX)) {
+                delete(file);
+            } else if (file.isFile()) {
+                keys.add(file.getName());
+            }
+        }
+        return keys;
+    }
+
+    private static void delete(File file) {
+        if (!file.delete() && file.exists()) {
+            LOGGER.warn("Failed to delete " + file);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to close stream", e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.translate.caching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.translate.AmazonTranslateAsync;
+import com.amazonaws.services.translate.model.TranslateTextRequest;
+import com.amazonaws.services.translate.model.TranslateTextResult;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class AmazonTranslateCachingClientTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private AmazonTranslateAsync translate;
+    private File directory;
+    /** The handlers of the calls that haven't been answered yet. */
+    private List<AsyncHandler<TranslateTextRequest, TranslateTextResult>> pending;
+    private boolean answerRightAway;
+
+    @Before
+    public void setup() throws Exception {
+        directory = File.createTempFile("translations", "");
+        assertTrue(directory.delete());
+        pending = new ArrayList<AsyncHandler<TranslateTextRequest, TranslateTextResult>>();
+        answerRightAway = true;
+        translate = newTranslate();
+    }
+
+    @After
+    public void teardown() {
+        new TranslationDiskCache(directory, 1, 1).clear();
+        directory.delete();
+    }
+
+    @Test
+    public void testMemoryHit() throws Exception {
+        final AmazonTranslateCachingClient client = new AmazonTranslateCachingClient(translate);
+
+        final TranslateTextResult first = client.translateText(request("hello"));
+        final TranslateTextResult second = client.translateText(request("hello"));
+
+        verify(translate, times(1)).translateTextAsync(any(TranslateTextRequest.class),
+                any(AsyncHandler.class));
+        assertEquals("[de] hello", second.getTranslatedText());
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        // another target language is another translation
+        client.translateText(request("hello").withTargetLanguageCode("fr"));
+        verify(translate, times(2)).translateTextAsync(any(TranslateTextRequest.class),
+                any(AsyncHandler.class));
+    }
+
+    @Test
+    public void testDiskHit() throws Exception {
+        new AmazonTranslateCachingClient(translate, 10, directory).translateText(request("hello"));
+
+        final AmazonTranslateAsync restarted = newTranslate();
+        final AmazonTranslateCachingClient client =
+                new AmazonTranslateCachingClient(restarted, 10, directory);
+        assertEquals("[de] hello", client.translateText(request("hello")).getTranslatedText());
+        verify(restarted, never()).translateTextAsync(any(TranslateTextRequest.class),
+                any(AsyncHandler.class));
+        assertEquals(1, client.size());
+    }
+
+    @Test
+    public void testExpiredTranslationIsSentAgain() throws Exception {
+        new AmazonTranslateCachingClient(translate, 10, directory, 10, 50)
+                .translateText(request("hello"));
+        Thread.sleep(100);
+
+        final AmazonTranslateAsync restarted = newTranslate();
+        new AmazonTranslateCachingClient(restarted, 10, directory, 10, 50)
+                .translateText(request("hello"));
+        verify(restarted, times(1)).translateTextAsync(any(TranslateTextRequest.class),
+                any(AsyncHandler.class));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTranslationIsEvicted() throws Exception {
+        final AmazonTranslateCachingClient client =
+                new AmazonTranslateCachingClient(translate, 2, null);
+        client.translateText(request("a"));
+        client.translateText(request("b"));
+        client.translateText(request("a"));
+        client.translateText(request("c"));
+        assertEquals(2, client.size());
+        verify(translate, times(3)).translateTextAsync(any(TranslateTextRequest.class),
+                any(AsyncHandler.class));
+
+        // "b" was evicted, "a" was used more recently
+        client.translateText(request("a"));
+        verify(translate, times(3)).translateTextAsync(any(TranslateTextRequest.class),
+                any(AsyncHandler.class));
+        client.translateText(request("b"));
+        verify(translate, times(4)).translateTextAsync(any(TranslateTextRequest.class),
+                any(AsyncHandler.class));
+    }
+
+    @Test
+    public void testConcurrentIdenticalRequestsShareOneCall() throws Exception {
+        answerRightAway = false;
+        final AmazonTranslateCachingClient client = new AmazonTranslateCachingClient(translate);
+
+        final Future<TranslateTextResult> first = client.translateTextAsync(request("hello"));
+        final Future<TranslateTextResult> second = client.translateTextAsync(request("hello"));
+        assertFalse(first.isDone());
+        assertEquals(1, pending.size());
+
+        answer(0);
+        final TranslateTextResult firstResult = first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        final TranslateTextResult secondResult = second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals("[de] hello", firstResult.getTranslatedText());
+        assertEquals(firstResult, secondResult);
+        // each caller gets its own copy
+        assertNotSame(firstResult, secondResult);
+        verify(translate, times(1)).translateTextAsync(any(TranslateTextRequest.class),
+                any(AsyncHandler.class));
+    }
+
+    @Test
+    public void testFailureIsGivenToEveryCallerAndNotCached() throws Exception {
+        answerRightAway = false;
+        final AmazonTranslateCachingClient client = new AmazonTranslateCachingClient(translate);
+        final Future<TranslateTextResult> first = client.translateTextAsync(request("hello"));
+        final Future<TranslateTextResult> second = client.translateTextAsync(request("hello"));
+
+        final AmazonServiceException throttled = new AmazonServiceException("Rate exceeded");
+        pending.get(0).onError(throttled);
+        for (final Future<?> future : new Future<?>[] {
+                first, second
+        }) {
+            try {
+                future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                fail("Expected the failure of the call");
+            } catch (final ExecutionException e) {
+                assertSame(throttled, e.getCause());
+            }
+        }
+        assertEquals(0, client.size());
+        client.translateTextAsync(request("hello"));
+        assertEquals(2, pending.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private AmazonTranslateAsync newTranslate() {
+        final AmazonTranslateAsync client = mock(AmazonTranslateAsync.class);
+        when(client.translateTextAsync(any(TranslateTextRequest.class), any(AsyncHandler.class)))
+                .thenAnswer(new Answer<Future<TranslateTextResult>>() {
+                    @Override
+                    public Future<TranslateTextResult> answer(InvocationOnMock invocation) {
+                        final TranslateTextRequest request =
+                                (TranslateTextRequest) invocation.getArguments()[0];
+                        final AsyncHandler<TranslateTextRequest, TranslateTextResult> handler =
+                                (AsyncHandler<TranslateTextRequest, TranslateTextResult>)
+                                invocation.getArguments()[1];
+                        synchronized (pending) {
+                            pending.add(handler);
+                        }
+                        if (answerRightAway) {
+                            handler.onSuccess(request, translation(request));
+                        }
+                        return null;
+                    }
+                });
+        return client;
+    }
+
+    private void answer(int call) {
+        pending.get(call).onSuccess(request("hello"), translation(request("hello")));
+    }
+
+    private static TranslateTextResult translation(TranslateTextRequest request) {
+        return new TranslateTextResult()
+                .withTranslatedText("[" + request.getTargetLanguageCode() + "] "
+                        + request.getText())
+                .withSourceLanguageCode(request.getSourceLanguageCode())
+                .withTargetLanguageCode(request.getTargetLanguageCode());
+    }
+
+    private static TranslateTextRequest request(String text) {
+        return new TranslateTextRequest().withText(text).withSourceLanguageCode("en")
+                .withTargetLanguageCode("de");
+    }
+}
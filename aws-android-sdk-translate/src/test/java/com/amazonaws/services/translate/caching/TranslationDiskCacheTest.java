@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.translate.caching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+public class TranslationDiskCacheTest {
+
+    private File directory;
+
+    @Before
+    public void setup() throws Exception {
+        directory = File.createTempFile("translations", "");
+        assertTrue(directory.delete());
+    }
+
+    @After
+    public void teardown() {
+        new TranslationDiskCache(directory, 1, 1).clear();
+        directory.delete();
+    }
+
+    @Test
+    public void testEntriesAreReadAfterRestart() {
+        new TranslationDiskCache(directory, 10, 60 * 1000).put("key", "{}");
+        assertEquals("{}", new TranslationDiskCache(directory, 10, 60 * 1000).get("key"));
+        assertNull(new TranslationDiskCache(directory, 10, 60 * 1000).get("other"));
+    }
+
+    @Test
+    public void testExpiredEntryIsDeleted() throws Exception {
+        final TranslationDiskCache cache = new TranslationDiskCache(directory, 10, 50);
+        cache.put("key", "{}");
+        Thread.sleep(100);
+        assertNull(cache.get("key"));
+        assertFalse(new File(directory, "key").exists());
+    }
+
+    @Test
+    public void testLeastRecentlyWrittenEntryIsEvicted() {
+        final TranslationDiskCache cache = new TranslationDiskCache(directory, 2, 60 * 1000);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("a", "3");
+        cache.put("c", "4");
+
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("a"));
+        assertEquals("4", cache.get("c"));
+        assertEquals(2, directory.list().length);
+    }
+
+    @Test
+    public void testClear() {
+        final TranslationDiskCache cache = new TranslationDiskCache(directory, 10, 60 * 1000);
+        cache.put("a", "1");
+        cache.clear();
+        assertNull(cache.get("a"));
+        assertEquals(0, directory.list().length);
+    }
+}